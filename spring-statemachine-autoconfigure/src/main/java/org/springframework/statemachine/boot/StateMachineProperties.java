@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,7 @@ public class StateMachineProperties {
 	 */
 	public static class StateMachineMonitoringProperties {
 		private boolean enabled = false;
+		private StateMachineTraceProperties trace = new StateMachineTraceProperties();
 
 		public boolean isEnabled() {
 			return enabled;
@@ -49,5 +50,46 @@ public class StateMachineProperties {
 		public void setEnabled(boolean enabled) {
 			this.enabled = enabled;
 		}
+
+		public StateMachineTraceProperties getTrace() {
+			return trace;
+		}
+
+		public void setTrace(StateMachineTraceProperties trace) {
+			this.trace = trace;
+		}
+	}
+
+	/**
+	 * Config props for "spring.statemachine.monitor.trace".
+	 */
+	public static class StateMachineTraceProperties {
+		private boolean enabled = true;
+		private int capacity = 128;
+		private int sampleRate = 1;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getCapacity() {
+			return capacity;
+		}
+
+		public void setCapacity(int capacity) {
+			this.capacity = capacity;
+		}
+
+		public int getSampleRate() {
+			return sampleRate;
+		}
+
+		public void setSampleRate(int sampleRate) {
+			this.sampleRate = sampleRate;
+		}
 	}
 }
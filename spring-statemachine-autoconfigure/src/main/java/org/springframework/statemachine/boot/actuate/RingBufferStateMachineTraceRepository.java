@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.boot.actuate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * Lock free implementation of {@link StateMachineTraceRepository} keeping
+ * traces in a fixed size ring buffer. Writers claim a slot from a shared
+ * sequence and never block each other, and once buffer is full oldest traces
+ * are overwritten. Readers skip slots which have already been overwritten by
+ * a newer trace, so a snapshot may contain less traces than a capacity while
+ * writers are active.
+ * <p>
+ * Sampling can be used to only keep one in every {@code N} added traces.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class RingBufferStateMachineTraceRepository implements StateMachineTraceRepository {
+
+	/** Default capacity */
+	public final static int DEFAULT_CAPACITY = 128;
+	private final AtomicReferenceArray<Slot> slots;
+	private final int mask;
+	private final int sampleRate;
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicLong offered = new AtomicLong();
+	private volatile boolean reverse = true;
+
+	/**
+	 * Instantiates a new ring buffer state machine trace repository with
+	 * a default capacity and without sampling.
+	 */
+	public RingBufferStateMachineTraceRepository() {
+		this(DEFAULT_CAPACITY, 1);
+	}
+
+	/**
+	 * Instantiates a new ring buffer state machine trace repository. Capacity
+	 * is rounded up to a next power of two.
+	 *
+	 * @param capacity the capacity
+	 * @param sampleRate keep one in every {@code sampleRate} traces
+	 */
+	public RingBufferStateMachineTraceRepository(int capacity, int sampleRate) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than zero");
+		Assert.isTrue(capacity <= 1 << 30, "Capacity too large");
+		Assert.isTrue(sampleRate > 0, "Sample rate must be greater than zero");
+		int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+		this.sampleRate = sampleRate;
+	}
+
+	/**
+	 * Flag to say that the repository lists traces in reverse order.
+	 *
+	 * @param reverse flag value (default true)
+	 */
+	public void setReverse(boolean reverse) {
+		this.reverse = reverse;
+	}
+
+	/**
+	 * Gets the capacity.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return slots.length();
+	}
+
+	/**
+	 * Gets the sample rate.
+	 *
+	 * @return the sample rate
+	 */
+	public int getSampleRate() {
+		return sampleRate;
+	}
+
+	@Override
+	public List<StateMachineTrace> findAll() {
+		return find(Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	@Override
+	public List<StateMachineTrace> findAll(Date from, Date to) {
+		return find(from != null ? from.getTime() : Long.MIN_VALUE, to != null ? to.getTime() : Long.MAX_VALUE);
+	}
+
+	@Override
+	public void add(Map<String, Object> traceInfo) {
+		if (sampleRate > 1 && offered.getAndIncrement() % sampleRate != 0) {
+			return;
+		}
+		long seq = sequence.getAndIncrement();
+		slots.lazySet((int) (seq & mask), new Slot(seq, new StateMachineTrace(new Date(), traceInfo)));
+	}
+
+	private List<StateMachineTrace> find(long from, long to) {
+		long end = sequence.get();
+		long start = Math.max(0, end - slots.length());
+		List<StateMachineTrace> traces = new ArrayList<>((int) (end - start));
+		for (long seq = start; seq < end; seq++) {
+			Slot slot = slots.get((int) (seq & mask));
+			if (slot == null || slot.sequence != seq) {
+				continue;
+			}
+			long time = slot.trace.getTimestamp().getTime();
+			if (time >= from && time <= to) {
+				traces.add(slot.trace);
+			}
+		}
+		if (reverse) {
+			Collections.reverse(traces);
+		}
+		return Collections.unmodifiableList(traces);
+	}
+
+	private static class Slot {
+
+		final long sequence;
+		final StateMachineTrace trace;
+
+		Slot(long sequence, StateMachineTrace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
+		}
+	}
+}
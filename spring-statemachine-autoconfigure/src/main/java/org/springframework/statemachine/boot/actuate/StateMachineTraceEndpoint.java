@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,10 +15,12 @@
  */
 package org.springframework.statemachine.boot.actuate;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -42,8 +44,27 @@ public class StateMachineTraceEndpoint {
 		this.repository = repository;
 	}
 
-	@ReadOperation
+	/**
+	 * Gets all traces.
+	 *
+	 * @return the traces
+	 */
 	public List<StateMachineTrace> invoke() {
 		return this.repository.findAll();
 	}
+
+	/**
+	 * Gets traces within an optional time window given as epoch milliseconds.
+	 *
+	 * @param from the earliest timestamp, may be {@code NULL}
+	 * @param to the latest timestamp, may be {@code NULL}
+	 * @return the traces
+	 */
+	@ReadOperation
+	public List<StateMachineTrace> traces(@Nullable Long from, @Nullable Long to) {
+		if (from == null && to == null) {
+			return this.repository.findAll();
+		}
+		return this.repository.findAll(from != null ? new Date(from) : null, to != null ? new Date(to) : null);
+	}
 }
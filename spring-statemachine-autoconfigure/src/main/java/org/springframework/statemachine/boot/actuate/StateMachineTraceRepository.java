@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 the original author or authors.
+ * Copyright 2018-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,7 +15,9 @@
  */
 package org.springframework.statemachine.boot.actuate;
 
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.Map;
 
 /**
@@ -33,6 +35,21 @@ public interface StateMachineTraceRepository {
 	 */
 	List<StateMachineTrace> findAll();
 
+	/**
+	 * Find {@link StateMachineTrace} objects with a timestamp within a given
+	 * window. Both ends are inclusive and {@code NULL} leaves that end open.
+	 *
+	 * @param from the earliest timestamp, may be {@code NULL}
+	 * @param to the latest timestamp, may be {@code NULL}
+	 * @return the results
+	 */
+	default List<StateMachineTrace> findAll(Date from, Date to) {
+		return findAll().stream()
+				.filter(t -> from == null || !t.getTimestamp().before(from))
+				.filter(t -> to == null || !t.getTimestamp().after(to))
+				.collect(Collectors.toList());
+	}
+
 	/**
 	 * Add a new {@link StateMachineTrace} object at the current time.
 	 *
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2023 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.web.ManagementContextConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -26,12 +27,14 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.statemachine.boot.StateMachineProperties;
-import org.springframework.statemachine.boot.actuate.InMemoryStateMachineTraceRepository;
+import org.springframework.statemachine.boot.StateMachineProperties.StateMachineTraceProperties;
+import org.springframework.statemachine.boot.actuate.RingBufferStateMachineTraceRepository;
 import org.springframework.statemachine.boot.actuate.StateMachineTraceEndpoint;
 import org.springframework.statemachine.boot.actuate.StateMachineTraceRepository;
 import org.springframework.statemachine.boot.support.BootStateMachineMonitor;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for Spring Statemachine.
@@ -47,6 +50,7 @@ public class StateMachineAutoConfiguration {
 	@ManagementContextConfiguration
 	public static class StateMachineTraceEndpointConfiguration {
 
+		@ConditionalOnBean(StateMachineTraceRepository.class)
 		@Bean
 		public StateMachineTraceEndpoint stateMachineTraceEndpoint(StateMachineTraceRepository stateMachineTraceRepository) {
 			return new StateMachineTraceEndpoint(stateMachineTraceRepository);
@@ -54,12 +58,18 @@ public class StateMachineAutoConfiguration {
 	}
 
 	@Configuration
+	@ConditionalOnProperty(prefix = "spring.statemachine.monitor.trace", name = "enabled", havingValue = "true", matchIfMissing = true)
 	public static class StateMachineTraceRepositoryConfiguration {
 
 		@ConditionalOnMissingBean(StateMachineTraceRepository.class)
 		@Bean
-		public InMemoryStateMachineTraceRepository stateMachineTraceRepository() {
-			return new InMemoryStateMachineTraceRepository();
+		public RingBufferStateMachineTraceRepository stateMachineTraceRepository(StateMachineProperties properties) {
+			StateMachineTraceProperties trace = properties.getMonitor() != null ? properties.getMonitor().getTrace()
+					: null;
+			if (trace == null) {
+				trace = new StateMachineTraceProperties();
+			}
+			return new RingBufferStateMachineTraceRepository(trace.getCapacity(), trace.getSampleRate());
 		}
 	}
 
@@ -68,17 +78,20 @@ public class StateMachineAutoConfiguration {
 
 		private final MeterRegistry meterRegistry;
 		private final StateMachineTraceRepository stateMachineTraceRepository;
+		private final ObservationRegistry observationRegistry;
 
 		public StateMachineMonitoringConfiguration(
 				ObjectProvider<MeterRegistry> meterRegistryProvider,
-				ObjectProvider<StateMachineTraceRepository> traceRepositoryProvider) {
+				ObjectProvider<StateMachineTraceRepository> traceRepositoryProvider,
+				ObjectProvider<ObservationRegistry> observationRegistryProvider) {
 			this.meterRegistry = meterRegistryProvider.getIfAvailable();
 			this.stateMachineTraceRepository = traceRepositoryProvider.getIfAvailable();
+			this.observationRegistry = observationRegistryProvider.getIfAvailable();
 		}
 
 		@Bean
 		public BootStateMachineMonitor<?, ?> bootStateMachineMonitor() {
-			return new BootStateMachineMonitor<>(meterRegistry, stateMachineTraceRepository);
+			return new BootStateMachineMonitor<>(meterRegistry, stateMachineTraceRepository, observationRegistry);
 		}
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2019 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,29 +15,73 @@
  */
 package org.springframework.statemachine.boot.support;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import org.springframework.messaging.Message;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
 import org.springframework.statemachine.boot.actuate.StateMachineTraceRepository;
 import org.springframework.statemachine.monitor.AbstractStateMachineMonitor;
+import org.springframework.statemachine.monitor.ObservedOperation;
 import org.springframework.statemachine.monitor.StateMachineMonitor;
 import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.support.StateMachineExecutor;
 import org.springframework.statemachine.transition.Transition;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 import org.springframework.util.ObjectUtils;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
  * Implementation of a {@link StateMachineMonitor} which converts monitoring
  * events and bridges those into supported format handled by Spring Boot's
  * tracing and metrics frameworks.
+ * <p>
+ * Meters are registered once per transition and action instance and cached
+ * weakly, so that names are not computed and registry is not consulted for
+ * every monitoring event. Durations are recorded with a precision given by a
+ * machine, which is nanoseconds. Trace information is only created if a trace
+ * repository exists.
+ * <p>
+ * Event results of top level machines are counted into
+ * {@code ssm.event.result} with tags {@code machine} having a machine id and
+ * {@code result} being one of {@code accepted}, {@code denied} or
+ * {@code deferred}. Machine id is used as a machine type and should have a low
+ * cardinality, meaning that machines from a same configuration should share it.
+ * <p>
+ * Executors are tracked per machine id as well. Gauges
+ * {@code ssm.executor.queued} and {@code ssm.executor.deferred} sum queue
+ * sizes of all live executors, timers {@code ssm.executor.wait},
+ * {@code ssm.executor.run} and {@code ssm.timer.lag} record trigger queue wait,
+ * run to completion step and timer lag, and {@code ssm.executor.emit.retry}
+ * counts retried queue emits. Timer {@code ssm.state.do.wait} records how
+ * long state do actions waited in a state do action executor queue and
+ * {@code ssm.state.do.rejected} counts actions an executor rejected.
+ * <p>
+ * Meters tagged with a machine id are removed from a registry once a last
+ * executor of that machine id stops, so that short lived machines having
+ * unique ids don't grow a registry without bound.
+ * <p>
+ * If an {@link ObservationRegistry} is given, observed operations are
+ * delegated to an {@link ObservationStateMachineMonitor}.
  *
  * @author Janne Valkealahti
  *
@@ -46,8 +90,15 @@ import reactor.core.publisher.Mono;
  */
 public class BootStateMachineMonitor<S, E> extends AbstractStateMachineMonitor<S, E> {
 
+	private final static String UNKNOWN_MACHINE = "none";
 	private final StateMachineTraceRepository traceRepository;
 	private final MeterRegistry meterRegistry;
+	private final Map<Object, TimedMeters> meters = new ConcurrentReferenceHashMap<>(16, ReferenceType.WEAK);
+	private final Map<String, Counter[]> eventCounters = new ConcurrentHashMap<>();
+	private final Map<String, ExecutorMeters> executorMeters = new ConcurrentHashMap<>();
+	private final Map<StateMachineExecutor<?, ?>, String> executors = new ConcurrentReferenceHashMap<>(16,
+			ReferenceType.WEAK);
+	private final ObservationStateMachineMonitor<S, E> observationMonitor;
 
 	/**
 	 * Instantiates a new boot state machine monitor.
@@ -57,68 +108,290 @@ public class BootStateMachineMonitor<S, E> extends AbstractStateMachineMonitor<S
 	 */
 	public BootStateMachineMonitor(MeterRegistry meterRegistry,
 			StateMachineTraceRepository stateMachineTraceRepository) {
+		this(meterRegistry, stateMachineTraceRepository, null);
+	}
+
+	/**
+	 * Instantiates a new boot state machine monitor.
+	 *
+	 * @param meterRegistry the meter registry
+	 * @param stateMachineTraceRepository the statemachine trace repository
+	 * @param observationRegistry the observation registry, may be {@code NULL}
+	 */
+	public BootStateMachineMonitor(MeterRegistry meterRegistry,
+			StateMachineTraceRepository stateMachineTraceRepository, ObservationRegistry observationRegistry) {
 		this.meterRegistry = meterRegistry;
 		this.traceRepository = stateMachineTraceRepository;
+		this.observationMonitor = observationRegistry != null ? new ObservationStateMachineMonitor<>(observationRegistry)
+				: null;
 	}
 
 	@Override
 	public void transition(StateMachine<S, E> stateMachine, Transition<S, E> transition, long duration) {
-		getTransitionCounterBuilder(transition).register(meterRegistry).increment();
-		getTransitionTimerBuilder(transition).register(meterRegistry).record(duration, TimeUnit.MILLISECONDS);
-		Map<String, Object> traceInfo = new HashMap<>();
-		traceInfo.put("transition", transitionToName(transition));
-		traceInfo.put("duration", duration);
-		traceInfo.put("machine", stateMachine.getId());
-		traceRepository.add(traceInfo);
+		transition(stateMachine, transition, duration, TimeUnit.MILLISECONDS);
 	}
 
 	@Override
 	public void action(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action, long duration) {
-		String actionName = actionFunctionToName(action);
-		getActionCounterBuilder(action).register(meterRegistry).increment();
-		getActionTimerBuilder(action).register(meterRegistry).record(duration, TimeUnit.MILLISECONDS);
-		Map<String, Object> traceInfo = new HashMap<>();
-		traceInfo.put("action", actionName);
-		traceInfo.put("duration", duration);
-		traceInfo.put("machine", stateMachine.getId());
-		traceRepository.add(traceInfo);
-	}
-
-	private Counter.Builder getTransitionCounterBuilder(Transition<S, E> transition) {
-		String transitionName = transitionToName(transition);
-		Counter.Builder builder = Counter.builder("ssm.transition.transit")
-				.tags("transitionName", transitionName)
-				.description("Counter of Transition");
-		return builder;
+		action(stateMachine, action, duration, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void transition(StateMachine<S, E> stateMachine, Transition<S, E> transition, long duration,
+			TimeUnit unit) {
+		TimedMeters timed = meters.get(transition);
+		if (timed == null) {
+			timed = meters.computeIfAbsent(transition, t -> createTransitionMeters(transitionToName(transition)));
+		}
+		timed.record(duration, unit);
+		if (traceRepository != null) {
+			Map<String, Object> traceInfo = new HashMap<>();
+			traceInfo.put("transition", timed.name);
+			traceInfo.put("duration", unit.toMillis(duration));
+			traceInfo.put("machine", stateMachine.getId());
+			traceRepository.add(traceInfo);
+		}
+	}
+
+	@Override
+	public void action(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			long duration, TimeUnit unit) {
+		TimedMeters timed = meters.get(action);
+		if (timed == null) {
+			timed = meters.computeIfAbsent(action, a -> createActionMeters(actionToName(action)));
+		}
+		timed.record(duration, unit);
+		if (traceRepository != null) {
+			Map<String, Object> traceInfo = new HashMap<>();
+			traceInfo.put("action", timed.name);
+			traceInfo.put("duration", unit.toMillis(duration));
+			traceInfo.put("machine", stateMachine.getId());
+			traceRepository.add(traceInfo);
+		}
+	}
+
+	@Override
+	public void event(StateMachine<S, E> stateMachine, Message<E> event, ResultType resultType) {
+		if (meterRegistry == null || resultType == null) {
+			return;
+		}
+		String machine = machineId(stateMachine);
+		Counter[] counters = eventCounters.get(machine);
+		if (counters == null) {
+			counters = eventCounters.computeIfAbsent(machine, this::createEventCounters);
+		}
+		counters[resultType.ordinal()].increment();
+	}
+
+	@Override
+	public void executorStarted(StateMachine<S, E> stateMachine, StateMachineExecutor<S, E> executor) {
+		if (meterRegistry == null) {
+			return;
+		}
+		String machine = machineId(stateMachine);
+		synchronized (executors) {
+			executors.put(executor, machine);
+			executorMeters.computeIfAbsent(machine, this::createExecutorMeters);
+		}
+	}
+
+	@Override
+	public void executorStopped(StateMachine<S, E> stateMachine, StateMachineExecutor<S, E> executor) {
+		if (meterRegistry == null) {
+			return;
+		}
+		synchronized (executors) {
+			// machine id may have changed while running, use one executor was started with
+			String machine = executors.remove(executor);
+			if (machine == null || executors.containsValue(machine)) {
+				return;
+			}
+			ExecutorMeters removed = executorMeters.remove(machine);
+			if (removed != null) {
+				removed.meters.forEach(meterRegistry::remove);
+			}
+			Counter[] counters = eventCounters.remove(machine);
+			if (counters != null) {
+				for (Counter counter : counters) {
+					meterRegistry.remove(counter);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void executorTriggerWait(StateMachine<S, E> stateMachine, long duration, TimeUnit unit) {
+		ExecutorMeters executorMeters = getExecutorMeters(machineId(stateMachine));
+		if (executorMeters != null) {
+			executorMeters.wait.record(duration, unit);
+		}
+	}
+
+	@Override
+	public void executorRunToCompletion(StateMachine<S, E> stateMachine, long duration, TimeUnit unit) {
+		ExecutorMeters executorMeters = getExecutorMeters(machineId(stateMachine));
+		if (executorMeters != null) {
+			executorMeters.run.record(duration, unit);
+		}
+	}
+
+	@Override
+	public void executorEmitRetry(StateMachine<S, E> stateMachine) {
+		ExecutorMeters executorMeters = getExecutorMeters(machineId(stateMachine));
+		if (executorMeters != null) {
+			executorMeters.emitRetry.increment();
+		}
+	}
+
+	@Override
+	public void timerTriggerLag(StateMachine<S, E> stateMachine, long lag, TimeUnit unit) {
+		ExecutorMeters executorMeters = getExecutorMeters(machineId(stateMachine));
+		if (executorMeters != null) {
+			executorMeters.timerLag.record(lag, unit);
+		}
+	}
+
+	@Override
+	public void stateDoActionWait(StateMachine<S, E> stateMachine, long duration, TimeUnit unit) {
+		ExecutorMeters executorMeters = getExecutorMeters(machineId(stateMachine));
+		if (executorMeters != null) {
+			executorMeters.doActionWait.record(duration, unit);
+		}
+	}
+
+	@Override
+	public void stateDoActionRejected(StateMachine<S, E> stateMachine) {
+		ExecutorMeters executorMeters = getExecutorMeters(machineId(stateMachine));
+		if (executorMeters != null) {
+			executorMeters.doActionRejected.increment();
+		}
+	}
+
+	@Override
+	public <T> Mono<T> observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			Mono<T> execution) {
+		return observationMonitor != null ? observationMonitor.observe(stateMachine, operation, subject, execution)
+				: execution;
 	}
 
-	private Timer.Builder getTransitionTimerBuilder(Transition<S, E> transition) {
-		String transitionName = transitionToName(transition);
-		Timer.Builder builder = Timer.builder("ssm.transition.duration")
+	@Override
+	public <T> Flux<T> observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			Flux<T> execution) {
+		return observationMonitor != null ? observationMonitor.observe(stateMachine, operation, subject, execution)
+				: execution;
+	}
+
+	@Override
+	public <T> T observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			ContextView context, Supplier<T> execution) {
+		return observationMonitor != null
+				? observationMonitor.observe(stateMachine, operation, subject, context, execution)
+				: execution.get();
+	}
+
+	private TimedMeters createTransitionMeters(String transitionName) {
+		if (meterRegistry == null) {
+			return new TimedMeters(transitionName, null, null);
+		}
+		Counter counter = Counter.builder("ssm.transition.transit")
+				.tags("transitionName", transitionName)
+				.description("Counter of Transition")
+				.register(meterRegistry);
+		Timer timer = Timer.builder("ssm.transition.duration")
 				.tags("transitionName", transitionName)
-				.description("Timer of Transition");
-		builder.publishPercentileHistogram();
-		return builder;
+				.description("Timer of Transition")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+		return new TimedMeters(transitionName, counter, timer);
 	}
 
-	private Counter.Builder getActionCounterBuilder(Function<StateContext<S, E>, Mono<Void>> action) {
-		String actionName = actionToName(action);
-		Counter.Builder builder = Counter.builder("ssm.action.execute")
+	private TimedMeters createActionMeters(String actionName) {
+		if (meterRegistry == null) {
+			return new TimedMeters(actionName, null, null);
+		}
+		Counter counter = Counter.builder("ssm.action.execute")
 				.tags("actionName", actionName)
-				.description("Counter of Action");
-		return builder;
+				.description("Counter of Action")
+				.register(meterRegistry);
+		Timer timer = Timer.builder("ssm.action.duration")
+				.tags("actionName", actionName)
+				.description("Timer of Action")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+		return new TimedMeters(actionName, counter, timer);
 	}
 
-	private Timer.Builder getActionTimerBuilder(Function<StateContext<S, E>, Mono<Void>> action) {
-		String actionName = actionToName(action);
-		Timer.Builder builder = Timer.builder("ssm.action.duration")
-				.tags("actionName", actionName)
-				.description("Timer of Action");
-		builder.publishPercentileHistogram();
-		return builder;
+	private ExecutorMeters getExecutorMeters(String machine) {
+		// meters are created when an executor starts, late events of a
+		// stopped machine are not allowed to register them again
+		return meterRegistry != null ? executorMeters.get(machine) : null;
 	}
 
-	private static <S, E> String transitionToName(Transition<S, E> transition) {
+	private ExecutorMeters createExecutorMeters(String machine) {
+		Gauge queued = Gauge.builder("ssm.executor.queued", this, monitor -> monitor.sumExecutors(machine, false))
+				.tags("machine", machine)
+				.description("Gauge of Queued Triggers")
+				.register(meterRegistry);
+		Gauge deferred = Gauge.builder("ssm.executor.deferred", this, monitor -> monitor.sumExecutors(machine, true))
+				.tags("machine", machine)
+				.description("Gauge of Deferred Events")
+				.register(meterRegistry);
+		Timer wait = Timer.builder("ssm.executor.wait")
+				.tags("machine", machine)
+				.description("Timer of Trigger Queue Wait")
+				.register(meterRegistry);
+		Timer run = Timer.builder("ssm.executor.run")
+				.tags("machine", machine)
+				.description("Timer of Run to Completion Step")
+				.register(meterRegistry);
+		Counter emitRetry = Counter.builder("ssm.executor.emit.retry")
+				.tags("machine", machine)
+				.description("Counter of Trigger Emit Retries")
+				.register(meterRegistry);
+		Timer timerLag = Timer.builder("ssm.timer.lag")
+				.tags("machine", machine)
+				.description("Timer of Timer Trigger Lag")
+				.register(meterRegistry);
+		Timer doActionWait = Timer.builder("ssm.state.do.wait")
+				.tags("machine", machine)
+				.description("Timer of State Do Action Queue Wait")
+				.register(meterRegistry);
+		Counter doActionRejected = Counter.builder("ssm.state.do.rejected")
+				.tags("machine", machine)
+				.description("Counter of Rejected State Do Actions")
+				.register(meterRegistry);
+		return new ExecutorMeters(wait, run, emitRetry, timerLag, doActionWait, doActionRejected,
+				Arrays.asList(queued, deferred, wait, run, emitRetry, timerLag, doActionWait, doActionRejected));
+	}
+
+	private double sumExecutors(String machine, boolean deferred) {
+		double sum = 0;
+		for (Map.Entry<StateMachineExecutor<?, ?>, String> entry : executors.entrySet()) {
+			StateMachineExecutor<?, ?> executor = entry.getKey();
+			if (executor != null && machine.equals(entry.getValue())) {
+				sum += deferred ? executor.getDeferredEventCount() : executor.getQueuedTriggerCount();
+			}
+		}
+		return sum;
+	}
+
+	private static String machineId(StateMachine<?, ?> stateMachine) {
+		return stateMachine.getId() != null ? stateMachine.getId() : UNKNOWN_MACHINE;
+	}
+
+	private Counter[] createEventCounters(String machine) {
+		ResultType[] types = ResultType.values();
+		Counter[] counters = new Counter[types.length];
+		for (ResultType type : types) {
+			counters[type.ordinal()] = Counter.builder("ssm.event.result")
+					.tags("machine", machine, "result", type.name().toLowerCase(Locale.ROOT))
+					.description("Counter of Event Results")
+					.register(meterRegistry);
+		}
+		return counters;
+	}
+
+	static <S, E> String transitionToName(Transition<S, E> transition) {
 		String sourceId = nullStateId(transition.getSource());
 		String targetId = nullStateId(transition.getTarget());
 		StringBuilder buf = new StringBuilder();
@@ -138,10 +411,6 @@ public class BootStateMachineMonitor<S, E> extends AbstractStateMachineMonitor<S
 		return ObjectUtils.getDisplayString(action);
 	}
 
-	private static <S, E> String actionFunctionToName(Function<StateContext<S, E>, Mono<Void>> action) {
-		return ObjectUtils.getDisplayString(action);
-	}
-
 	private static <S, E> String nullStateId(State<S, E> state) {
 		if (state == null) {
 			return null;
@@ -149,4 +418,46 @@ public class BootStateMachineMonitor<S, E> extends AbstractStateMachineMonitor<S
 		S id = state.getId();
 		return id != null ? id.toString() : null;
 	}
+
+	private static class ExecutorMeters {
+
+		final Timer wait;
+		final Timer run;
+		final Counter emitRetry;
+		final Timer timerLag;
+		final Timer doActionWait;
+		final Counter doActionRejected;
+		final List<Meter> meters;
+
+		ExecutorMeters(Timer wait, Timer run, Counter emitRetry, Timer timerLag, Timer doActionWait,
+				Counter doActionRejected, List<Meter> meters) {
+			this.wait = wait;
+			this.run = run;
+			this.emitRetry = emitRetry;
+			this.timerLag = timerLag;
+			this.doActionWait = doActionWait;
+			this.doActionRejected = doActionRejected;
+			this.meters = meters;
+		}
+	}
+
+	private static class TimedMeters {
+
+		final String name;
+		final Counter counter;
+		final Timer timer;
+
+		TimedMeters(String name, Counter counter, Timer timer) {
+			this.name = name;
+			this.counter = counter;
+			this.timer = timer;
+		}
+
+		void record(long duration, TimeUnit unit) {
+			if (counter != null) {
+				counter.increment();
+				timer.record(duration, unit);
+			}
+		}
+	}
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.boot.support;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.monitor.AbstractStateMachineMonitor;
+import org.springframework.statemachine.monitor.ObservedOperation;
+import org.springframework.statemachine.monitor.StateMachineMonitor;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Implementation of a {@link StateMachineMonitor} which opens a Micrometer
+ * {@link Observation} for every {@link ObservedOperation}. Observations are
+ * named {@code spring.statemachine.<operation>}, for example
+ * {@code spring.statemachine.transition.selection}, and nest as operations
+ * nest. Current observation is passed via a reactor context under
+ * {@link #OBSERVATION_CONTEXT_KEY}, and if an event sender has an
+ * observation in its context or in a current scope it becomes a parent of an
+ * event observation.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class ObservationStateMachineMonitor<S, E> extends AbstractStateMachineMonitor<S, E> {
+
+	/**
+	 * Reactor context key for a current observation, same as used by
+	 * Micrometer's {@code ObservationThreadLocalAccessor}.
+	 */
+	public final static String OBSERVATION_CONTEXT_KEY = "micrometer.observation";
+	private final static String UNKNOWN_MACHINE = "none";
+	private final static Map<ObservedOperation, String> NAMES = new EnumMap<>(ObservedOperation.class);
+	private final ObservationRegistry observationRegistry;
+
+	static {
+		for (ObservedOperation operation : ObservedOperation.values()) {
+			NAMES.put(operation,
+					"spring.statemachine." + operation.name().toLowerCase(Locale.ROOT).replace('_', '.'));
+		}
+	}
+
+	/**
+	 * Instantiates a new observation state machine monitor.
+	 *
+	 * @param observationRegistry the observation registry
+	 */
+	public ObservationStateMachineMonitor(ObservationRegistry observationRegistry) {
+		Assert.notNull(observationRegistry, "Observation registry must be set");
+		this.observationRegistry = observationRegistry;
+	}
+
+	/**
+	 * Gets an observation name for an operation.
+	 *
+	 * @param operation the observed operation
+	 * @return the observation name
+	 */
+	public static String getObservationName(ObservedOperation operation) {
+		return NAMES.get(operation);
+	}
+
+	@Override
+	public <T> Mono<T> observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			Mono<T> execution) {
+		if (observationRegistry.isNoop()) {
+			return execution;
+		}
+		return Mono.deferContextual(ctx -> {
+			Observation observation = createObservation(stateMachine, operation, subject, ctx).start();
+			return execution
+				.doOnError(observation::error)
+				.doFinally(signal -> observation.stop())
+				.contextWrite(c -> c.put(OBSERVATION_CONTEXT_KEY, observation));
+		});
+	}
+
+	@Override
+	public <T> Flux<T> observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			Flux<T> execution) {
+		if (observationRegistry.isNoop()) {
+			return execution;
+		}
+		return Flux.deferContextual(ctx -> {
+			Observation observation = createObservation(stateMachine, operation, subject, ctx).start();
+			return execution
+				.doOnError(observation::error)
+				.doFinally(signal -> observation.stop())
+				.contextWrite(c -> c.put(OBSERVATION_CONTEXT_KEY, observation));
+		});
+	}
+
+	@Override
+	public <T> T observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			ContextView context, Supplier<T> execution) {
+		if (observationRegistry.isNoop()) {
+			return execution.get();
+		}
+		return createObservation(stateMachine, operation, subject, context).observe(execution);
+	}
+
+	private Observation createObservation(StateMachine<S, E> stateMachine, ObservedOperation operation,
+			Object subject, ContextView context) {
+		Observation parent = context.getOrDefault(OBSERVATION_CONTEXT_KEY, null);
+		if (parent == null) {
+			parent = observationRegistry.getCurrentObservation();
+		}
+		String machineId = stateMachine != null && stateMachine.getId() != null ? stateMachine.getId()
+				: UNKNOWN_MACHINE;
+		Observation observation = Observation.createNotStarted(NAMES.get(operation), observationRegistry)
+				.parentObservation(parent)
+				.lowCardinalityKeyValue("machine", machineId);
+		if (subject instanceof Message) {
+			Object payload = ((Message<?>) subject).getPayload();
+			observation.lowCardinalityKeyValue("event", String.valueOf(payload));
+		} else if (subject instanceof Transition) {
+			observation.lowCardinalityKeyValue("transition",
+					BootStateMachineMonitor.transitionToName((Transition<?, ?>) subject));
+		} else if (subject instanceof State) {
+			observation.lowCardinalityKeyValue("state", String.valueOf(((State<?, ?>) subject).getId()));
+		} else if (subject != null) {
+			observation.highCardinalityKeyValue(operation == ObservedOperation.ACTION ? "action" : "subject",
+					ObjectUtils.getDisplayString(subject));
+		}
+		return observation;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.boot.actuate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class RingBufferStateMachineTraceRepositoryTests {
+
+	@Test
+	public void testOverwriteOldest() {
+		RingBufferStateMachineTraceRepository repository = new RingBufferStateMachineTraceRepository(4, 1);
+		for (int i = 0; i < 6; i++) {
+			repository.add(Collections.singletonMap("i", i));
+		}
+		assertThat(ids(repository.findAll())).containsExactly(5, 4, 3, 2);
+		repository.setReverse(false);
+		assertThat(ids(repository.findAll())).containsExactly(2, 3, 4, 5);
+	}
+
+	@Test
+	public void testCapacityRoundedUp() {
+		assertThat(new RingBufferStateMachineTraceRepository(100, 1).getCapacity()).isEqualTo(128);
+		assertThat(new RingBufferStateMachineTraceRepository(1, 1).getCapacity()).isEqualTo(1);
+	}
+
+	@Test
+	public void testSampling() {
+		RingBufferStateMachineTraceRepository repository = new RingBufferStateMachineTraceRepository(16, 3);
+		for (int i = 0; i < 9; i++) {
+			repository.add(Collections.singletonMap("i", i));
+		}
+		assertThat(ids(repository.findAll())).containsExactly(6, 3, 0);
+	}
+
+	@Test
+	public void testTimeWindow() {
+		RingBufferStateMachineTraceRepository repository = new RingBufferStateMachineTraceRepository();
+		repository.add(Collections.singletonMap("i", 0));
+		Date now = new Date();
+		assertThat(repository.findAll(null, now)).hasSize(1);
+		assertThat(repository.findAll(new Date(now.getTime() + 1000), null)).isEmpty();
+		assertThat(new StateMachineTraceEndpoint(repository).traces(now.getTime() + 1000, null)).isEmpty();
+		assertThat(new StateMachineTraceEndpoint(repository).traces(null, null)).hasSize(1);
+	}
+
+	@Test
+	public void testConcurrentWriters() throws Exception {
+		RingBufferStateMachineTraceRepository repository = new RingBufferStateMachineTraceRepository(64, 1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		CountDownLatch latch = new CountDownLatch(4);
+		for (int t = 0; t < 4; t++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 1000; i++) {
+					repository.add(Collections.singletonMap("i", i));
+				}
+				latch.countDown();
+			});
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+		assertThat(repository.findAll()).hasSize(64);
+	}
+
+	private static List<Object> ids(List<StateMachineTrace> traces) {
+		return traces.stream().map(t -> t.getInfo().get("i")).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.boot.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.boot.actuate.InMemoryStateMachineTraceRepository;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+public class BootStateMachineMonitorTests {
+
+	@Test
+	public void testMetersAndEventResults() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		InMemoryStateMachineTraceRepository traceRepository = new InMemoryStateMachineTraceRepository();
+		BootStateMachineMonitor<String, String> monitor = new BootStateMachineMonitor<>(registry, traceRepository);
+		StateMachine<String, String> machine = buildMachine(monitor);
+
+		machine.startReactively().block();
+		sendEvent(machine, "E1");
+		sendEvent(machine, "E2");
+		sendEvent(machine, "E1");
+		sendEvent(machine, "E3");
+
+		Timer timer = registry.get("ssm.transition.duration").tags("transitionName", "EXTERNAL_S1_S2").timer();
+		assertThat(timer.count()).isEqualTo(2);
+		assertThat(registry.get("ssm.transition.transit").tags("transitionName", "EXTERNAL_S1_S2").counter()
+				.count()).isEqualTo(2);
+		assertThat(registry.get("ssm.event.result").tags("machine", "m1", "result", "accepted").counter().count())
+				.isEqualTo(3);
+		assertThat(registry.get("ssm.event.result").tags("machine", "m1", "result", "denied").counter().count())
+				.isEqualTo(1);
+		assertThat(registry.get("ssm.event.result").tags("machine", "m1", "result", "deferred").counter().count())
+				.isEqualTo(0);
+		// initial and three external transitions
+		assertThat(traceRepository.findAll()).hasSize(4);
+	}
+
+	@Test
+	public void testWithoutTraceRepository() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BootStateMachineMonitor<String, String> monitor = new BootStateMachineMonitor<>(registry, null);
+		StateMachine<String, String> machine = buildMachine(monitor);
+
+		machine.startReactively().block();
+		sendEvent(machine, "E1");
+
+		assertThat(registry.get("ssm.transition.duration").tags("transitionName", "EXTERNAL_S1_S2").timer()
+				.count()).isEqualTo(1);
+	}
+
+	@Test
+	public void testExecutorMeters() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BootStateMachineMonitor<String, String> monitor = new BootStateMachineMonitor<>(registry, null);
+		StateMachine<String, String> machine = buildMachine(monitor);
+
+		machine.startReactively().block();
+		sendEvent(machine, "E9");
+		sendEvent(machine, "E1");
+		sendEvent(machine, "E2");
+
+		assertThat(registry.get("ssm.event.result").tags("machine", "m1", "result", "deferred").counter().count())
+				.isEqualTo(1);
+		assertThat(registry.get("ssm.executor.deferred").tags("machine", "m1").gauge().value()).isEqualTo(1);
+		assertThat(registry.get("ssm.executor.queued").tags("machine", "m1").gauge().value()).isEqualTo(0);
+		assertThat(registry.get("ssm.executor.run").tags("machine", "m1").timer().count()).isGreaterThanOrEqualTo(2);
+		assertThat(registry.get("ssm.executor.wait").tags("machine", "m1").timer().count())
+				.isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	public void testMachineMetersRemovedWhenLastExecutorStops() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BootStateMachineMonitor<String, String> monitor = new BootStateMachineMonitor<>(registry, null);
+		StateMachine<String, String> machine1 = buildMachine(monitor);
+		StateMachine<String, String> machine2 = buildMachine(monitor);
+
+		machine1.startReactively().block();
+		machine2.startReactively().block();
+		sendEvent(machine1, "E1");
+		assertThat(registry.find("ssm.executor.queued").tags("machine", "m1").gauge()).isNotNull();
+
+		machine1.stopReactively().block();
+		assertThat(registry.find("ssm.executor.queued").tags("machine", "m1").gauge()).isNotNull();
+		assertThat(registry.find("ssm.event.result").tags("machine", "m1").counters()).isNotEmpty();
+
+		machine2.stopReactively().block();
+		assertThat(registry.find("ssm.executor.queued").tags("machine", "m1").gauge()).isNull();
+		assertThat(registry.find("ssm.executor.deferred").tags("machine", "m1").gauge()).isNull();
+		assertThat(registry.find("ssm.executor.run").tags("machine", "m1").timer()).isNull();
+		assertThat(registry.find("ssm.event.result").tags("machine", "m1").counters()).isEmpty();
+		// transition meters are not tagged with a machine id
+		assertThat(registry.find("ssm.transition.transit").counters()).isNotEmpty();
+	}
+
+	@Test
+	public void testStateDoActionMeters() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BootStateMachineMonitor<String, String> monitor = new BootStateMachineMonitor<>(registry, null);
+		StateMachine<String, String> machine = buildMachine(monitor);
+
+		machine.startReactively().block();
+		monitor.stateDoActionWait(machine, 5, TimeUnit.MILLISECONDS);
+		monitor.stateDoActionRejected(machine);
+		assertThat(registry.get("ssm.state.do.wait").tags("machine", "m1").timer().count()).isEqualTo(1);
+		assertThat(registry.get("ssm.state.do.rejected").tags("machine", "m1").counter().count()).isEqualTo(1);
+
+		machine.stopReactively().block();
+		assertThat(registry.find("ssm.state.do.wait").tags("machine", "m1").timer()).isNull();
+		assertThat(registry.find("ssm.state.do.rejected").tags("machine", "m1").counter()).isNull();
+	}
+
+	private static StateMachine<String, String> buildMachine(BootStateMachineMonitor<String, String> monitor)
+			throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.machineId("m1")
+				.and()
+			.withMonitoring()
+				.monitor(monitor);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S1", "E9")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.and()
+			.withExternal()
+				.source("S2").target("S1").event("E2");
+		return builder.build();
+	}
+
+	private static void sendEvent(StateMachine<String, String> machine, String event) {
+		machine.sendEvent(Mono.just(MessageBuilder.withPayload(event).build())).blockLast();
+	}
+}
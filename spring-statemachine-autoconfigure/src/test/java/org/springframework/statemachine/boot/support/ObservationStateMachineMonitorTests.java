@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.boot.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.monitor.ObservedOperation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import reactor.core.publisher.Mono;
+
+public class ObservationStateMachineMonitorTests {
+
+	@Test
+	public void testNestedObservations() throws Exception {
+		List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return true;
+			}
+
+			@Override
+			public void onStop(Observation.Context context) {
+				stopped.add(context);
+			}
+		});
+
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.machineId("m1")
+				.and()
+			.withMonitoring()
+				.monitor(new ObservationStateMachineMonitor<>(registry));
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.guard(context -> true)
+				.action(context -> {});
+		StateMachine<String, String> machine = builder.build();
+		machine.startReactively().block();
+		stopped.clear();
+
+		Observation parent = Observation.start("test.sender", registry);
+		machine.sendEvent(Mono.just(MessageBuilder.withPayload("E1").build()))
+			.contextWrite(c -> c.put(ObservationStateMachineMonitor.OBSERVATION_CONTEXT_KEY, parent))
+			.blockLast();
+		parent.stop();
+
+		assertThat(machine.getState().getIds()).containsExactly("S2");
+		Observation.Context event = find(stopped, ObservedOperation.EVENT);
+		Observation.Context selection = find(stopped, ObservedOperation.TRANSITION_SELECTION);
+		assertThat(event.getLowCardinalityKeyValue("event").getValue()).isEqualTo("E1");
+		assertThat(event.getLowCardinalityKeyValue("machine").getValue()).isEqualTo("m1");
+		assertThat(parentName(event)).isEqualTo("test.sender");
+		assertThat(parentName(selection)).isEqualTo(event.getName());
+		assertThat(parentName(find(stopped, ObservedOperation.GUARD))).isEqualTo(selection.getName());
+		assertThat(parentName(find(stopped, ObservedOperation.ACTION))).isEqualTo(selection.getName());
+		assertThat(parentName(find(stopped, ObservedOperation.STATE_CHANGE_INTERCEPTION)))
+				.isEqualTo(selection.getName());
+	}
+
+	private static Observation.Context find(List<Observation.Context> contexts, ObservedOperation operation) {
+		String name = ObservationStateMachineMonitor.getObservationName(operation);
+		List<Observation.Context> found = contexts.stream()
+				.filter(c -> name.equals(c.getName()))
+				.collect(Collectors.toList());
+		assertThat(found).hasSize(1);
+		return found.get(0);
+	}
+
+	private static String parentName(Observation.Context context) {
+		return context.getParentObservation() != null ? context.getParentObservation().getContextView().getName()
+				: null;
+	}
+}
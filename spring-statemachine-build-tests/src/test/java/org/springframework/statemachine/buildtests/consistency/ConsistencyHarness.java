@@ -0,0 +1,362 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.buildtests.consistency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachineEventResult;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+import org.springframework.statemachine.buildtests.consistency.LinearizabilityChecker.Result;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.ensemble.EnsembleListenerAdapter;
+import org.springframework.statemachine.zookeeper.ZookeeperStateMachineEnsemble;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Drives several distributed state machines, each with its own zookeeper
+ * client, from concurrent processes while an optional nemesis injects faults.
+ * Every event carries an operation id header which is picked up from
+ * contexts written into an ensemble so that committed transitions can be
+ * checked against a sequential model of a machine.
+ * <p>
+ * Machine used is {@code SI -E1-> S1 -E2-> S2 -E3-> SI} meaning every event
+ * is legal in exactly one state and concurrent writers race for it.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class ConsistencyHarness implements AutoCloseable {
+
+	private final static Log log = LogFactory.getLog(ConsistencyHarness.class);
+	public final static String OPERATION_ID = "operationId";
+	public final static String INITIAL_STATE = "SI";
+	private final static String[] EVENTS = new String[] { "E1", "E2", "E3" };
+	private final static Map<String, Map<String, String>> TRANSITIONS = new HashMap<>();
+	private final List<String> connectStrings;
+	private final int nodes;
+	private final String basePath;
+	private final List<CuratorFramework> clients = new ArrayList<>();
+	private final List<StateMachine<String, String>> machines = new ArrayList<>();
+	private final History<String> history = new History<>();
+	private Duration operationTimeout = Duration.ofSeconds(10);
+	private Duration sessionTimeout = Duration.ofSeconds(60);
+	private long seed = System.nanoTime();
+
+	static {
+		transition("SI", "E1", "S1");
+		transition("S1", "E2", "S2");
+		transition("S2", "E3", "SI");
+	}
+
+	/**
+	 * Instantiates a new consistency harness.
+	 *
+	 * @param connectString the zookeeper connect string
+	 * @param nodes the number of nodes
+	 */
+	public ConsistencyHarness(String connectString, int nodes) {
+		this(connectString, nodes, "/consistency");
+	}
+
+	/**
+	 * Instantiates a new consistency harness.
+	 *
+	 * @param connectString the zookeeper connect string
+	 * @param nodes the number of nodes
+	 * @param basePath the ensemble base path
+	 */
+	public ConsistencyHarness(String connectString, int nodes, String basePath) {
+		this(Collections.nCopies(nodes, connectString), basePath);
+	}
+
+	/**
+	 * Instantiates a new consistency harness where every node connects to
+	 * zookeeper via its own connect string, for example through a proxy.
+	 *
+	 * @param connectStrings the zookeeper connect strings, one per node
+	 * @param basePath the ensemble base path
+	 */
+	public ConsistencyHarness(List<String> connectStrings, String basePath) {
+		this.connectStrings = new ArrayList<>(connectStrings);
+		this.nodes = connectStrings.size();
+		this.basePath = basePath;
+	}
+
+	/**
+	 * Sets the timeout for a single operation.
+	 *
+	 * @param operationTimeout the new operation timeout
+	 */
+	public void setOperationTimeout(Duration operationTimeout) {
+		this.operationTimeout = operationTimeout;
+	}
+
+	/**
+	 * Sets the zookeeper session timeout of clients.
+	 *
+	 * @param sessionTimeout the new session timeout
+	 */
+	public void setSessionTimeout(Duration sessionTimeout) {
+		this.sessionTimeout = sessionTimeout;
+	}
+
+	/**
+	 * Sets the seed used to choose events of processes so that a failing
+	 * history can be reproduced.
+	 *
+	 * @param seed the new seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Create clients and start machines.
+	 *
+	 * @throws Exception if machines cannot be started
+	 */
+	public void start() throws Exception {
+		for (int i = 0; i < nodes; i++) {
+			CuratorFramework client = CuratorFrameworkFactory.builder().defaultData(new byte[0])
+					.retryPolicy(new ExponentialBackoffRetry(200, 5)).connectString(connectStrings.get(i))
+					.sessionTimeoutMs((int) sessionTimeout.toMillis()).build();
+			client.start();
+			client.blockUntilConnected(30, TimeUnit.SECONDS);
+			clients.add(client);
+			machines.add(buildMachine(client));
+		}
+	}
+
+	/**
+	 * Run a workload where every node is driven by its own process.
+	 *
+	 * @param operationsPerProcess the number of operations per process
+	 * @param nemesis the nemesis run periodically during a workload, may be {@code NULL}
+	 * @param nemesisInterval the interval between nemesis runs
+	 * @return the latency report
+	 * @throws Exception if workload fails to complete
+	 */
+	public LatencyReport run(int operationsPerProcess, Runnable nemesis, Duration nemesisInterval) throws Exception {
+		ExecutorService processes = Executors.newFixedThreadPool(nodes);
+		ScheduledExecutorService nemesisExecutor = Executors.newSingleThreadScheduledExecutor();
+		try {
+			if (nemesis != null) {
+				nemesisExecutor.scheduleWithFixedDelay(() -> {
+					try {
+						nemesis.run();
+					} catch (Exception e) {
+						log.warn("Nemesis failed", e);
+					}
+				}, nemesisInterval.toMillis(), nemesisInterval.toMillis(), TimeUnit.MILLISECONDS);
+			}
+			long start = System.nanoTime();
+			for (int i = 0; i < nodes; i++) {
+				int process = i;
+				processes.submit(() -> runProcess(process, operationsPerProcess));
+			}
+			processes.shutdown();
+			if (!processes.awaitTermination(operationTimeout.toMillis() * operationsPerProcess, TimeUnit.MILLISECONDS)) {
+				throw new IllegalStateException("Workload didn't complete in time");
+			}
+			LatencyReport report = LatencyReport.of(history.getOperations(), System.nanoTime() - start);
+			log.info("Workload completed " + report);
+			return report;
+		} finally {
+			nemesisExecutor.shutdownNow();
+			processes.shutdownNow();
+		}
+	}
+
+	/**
+	 * Wait until all machines are in a same state.
+	 *
+	 * @param timeout the timeout
+	 * @return the converged state or {@code NULL} if machines didn't converge
+	 * @throws InterruptedException if interrupted
+	 */
+	public String awaitConvergence(Duration timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		do {
+			String state = null;
+			boolean converged = true;
+			for (StateMachine<String, String> machine : machines) {
+				String id = machine.getState() != null ? machine.getState().getId() : null;
+				if (id == null || (state != null && !state.equals(id))) {
+					converged = false;
+					break;
+				}
+				state = id;
+			}
+			if (converged) {
+				return state;
+			}
+			Thread.sleep(50);
+		} while (System.nanoTime() < deadline);
+		return null;
+	}
+
+	/**
+	 * Check a recorded history for linearizability.
+	 *
+	 * @param finalState the state all machines converged into, or {@code NULL} not to check it
+	 * @return the result of a check
+	 */
+	public Result<String, Operation<String>> check(String finalState) {
+		LinearizabilityChecker<String, Operation<String>> checker = new LinearizabilityChecker<>(
+				(state, operation) -> step(state, operation.getEvent()));
+		Result<String, Operation<String>> result = checker.check(INITIAL_STATE, history.toEntries(),
+				s -> finalState == null || finalState.equals(s));
+		log.info("Checked history " + result);
+		return result;
+	}
+
+	/**
+	 * Apply an event into a state in a sequential model.
+	 *
+	 * @param state the state
+	 * @param event the event
+	 * @return the next state or {@code NULL} if event is not legal
+	 */
+	public static String step(String state, String event) {
+		Map<String, String> targets = TRANSITIONS.get(state);
+		return targets != null ? targets.get(event) : null;
+	}
+
+	public History<String> getHistory() {
+		return history;
+	}
+
+	public CuratorFramework getClient(int node) {
+		return clients.get(node);
+	}
+
+	public StateMachine<String, String> getMachine(int node) {
+		return machines.get(node);
+	}
+
+	@Override
+	public void close() {
+		for (StateMachine<String, String> machine : machines) {
+			try {
+				machine.stopReactively().block();
+			} catch (Exception e) {
+				log.warn("Error stopping machine", e);
+			}
+		}
+		for (CuratorFramework client : clients) {
+			client.close();
+		}
+	}
+
+	private void runProcess(int process, int operations) {
+		Random random = new Random(seed + process);
+		StateMachine<String, String> machine = machines.get(process);
+		for (int i = 0; i < operations; i++) {
+			Operation<String> operation = history.invoke(process, i, EVENTS[random.nextInt(EVENTS.length)]);
+			try {
+				List<StateMachineEventResult<String, String>> results = machine
+						.sendEvent(Mono.just(MessageBuilder.withPayload(operation.getEvent())
+								.setHeader(OPERATION_ID, operation.getId()).build()))
+						.collectList().block(operationTimeout);
+				boolean accepted = results != null
+						&& results.stream().anyMatch(r -> r.getResultType() == ResultType.ACCEPTED);
+				history.complete(operation, accepted ? ResultType.ACCEPTED : ResultType.DENIED);
+			} catch (Exception e) {
+				history.fail(operation, e);
+			}
+		}
+	}
+
+	private StateMachine<String, String> buildMachine(CuratorFramework client) throws Exception {
+		ZookeeperStateMachineEnsemble<String, String> ensemble = new ZookeeperStateMachineEnsemble<String, String>(
+				client, basePath);
+		ensemble.addEnsembleListener(new CommitListener());
+		ensemble.afterPropertiesSet();
+		ensemble.start();
+
+		StateMachineBuilder.Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withDistributed()
+				.ensemble(ensemble);
+		builder.configureStates()
+			.withStates()
+				.initial(INITIAL_STATE)
+				.states(TRANSITIONS.keySet());
+		for (Map.Entry<String, Map<String, String>> source : TRANSITIONS.entrySet()) {
+			for (Map.Entry<String, String> target : source.getValue().entrySet()) {
+				builder.configureTransitions()
+					.withExternal()
+						.source(source.getKey()).target(target.getValue()).event(target.getKey());
+			}
+		}
+		StateMachine<String, String> machine = builder.build();
+		machine.startReactively().block();
+		return machine;
+	}
+
+	private static void transition(String source, String event, String target) {
+		TRANSITIONS.computeIfAbsent(source, s -> new HashMap<>()).put(event, target);
+	}
+
+	/**
+	 * Records operation ids from contexts written into an ensemble.
+	 */
+	private class CommitListener extends EnsembleListenerAdapter<String, String> {
+
+		@Override
+		public void stateChanged(StateMachineContext<String, String> context) {
+			committed(context);
+		}
+
+		@Override
+		public void stateMachineJoined(StateMachine<String, String> stateMachine,
+				StateMachineContext<String, String> context) {
+			committed(context);
+		}
+
+		private void committed(StateMachineContext<String, String> context) {
+			Object id = context != null && context.getEventHeaders() != null
+					? context.getEventHeaders().get(OPERATION_ID)
+					: null;
+			if (id != null) {
+				history.committed(id.toString());
+			}
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.buildtests.consistency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.curator.test.InstanceSpec;
+import org.apache.curator.test.TestingCluster;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.statemachine.buildtests.consistency.LinearizabilityChecker.Result;
+
+/**
+ * Consistency tests for distributed machines in a style of Jepsen. Nodes are
+ * partitioned from zookeeper by dropping their traffic in a proxy. Test with
+ * server restarts needs a full cluster and is only run when system property
+ * {@code statemachine.consistency.restarts} is {@code true}. Events are
+ * chosen from a seed given with system property
+ * {@code statemachine.consistency.seed} or a random one, which is reported if
+ * a history is not linearizable.
+ */
+public class DistributedConsistencyTests {
+
+	private final static int NODES = 3;
+	private final static int OPERATIONS = 50;
+	private final static long SEED = Long.getLong("statemachine.consistency.seed", System.nanoTime());
+
+	@Test
+	public void testLinearizableWithoutFaults() throws Exception {
+		try (TestingServer server = new TestingServer(true);
+				ConsistencyHarness harness = new ConsistencyHarness(server.getConnectString(), NODES)) {
+			harness.setSeed(SEED);
+			harness.start();
+			LatencyReport report = harness.run(OPERATIONS, null, null);
+			assertThat(report.getOperations()).isEqualTo(NODES * OPERATIONS);
+			assertThat(report.getCommitted()).isGreaterThan(0);
+			assertThat(assertLinearizable(harness)).isNotNull();
+		}
+	}
+
+	@Test
+	public void testLinearizableWithSessionExpiry() throws Exception {
+		try (TestingServer server = new TestingServer(true);
+				ConsistencyHarness harness = new ConsistencyHarness(server.getConnectString(), NODES)) {
+			harness.setSeed(SEED);
+			harness.start();
+			Random random = new Random(SEED);
+			harness.run(OPERATIONS, () -> {
+				try {
+					harness.getClient(random.nextInt(NODES)).getZookeeperClient().getZooKeeper().getTestable()
+							.injectSessionExpiration();
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}, Duration.ofMillis(300));
+			assertLinearizable(harness);
+		}
+	}
+
+	@Test
+	public void testLinearizableWithPartitions() throws Exception {
+		List<PartitionProxy> proxies = new ArrayList<>();
+		try (TestingServer server = new TestingServer(true)) {
+			List<String> connectStrings = new ArrayList<>();
+			for (int i = 0; i < NODES; i++) {
+				PartitionProxy proxy = new PartitionProxy("localhost", server.getPort());
+				proxy.start();
+				proxies.add(proxy);
+				connectStrings.add(proxy.getConnectString());
+			}
+			try (ConsistencyHarness harness = new ConsistencyHarness(connectStrings, "/consistency")) {
+				harness.setSeed(SEED);
+				harness.setSessionTimeout(Duration.ofSeconds(4));
+				harness.start();
+				Random random = new Random(SEED);
+				harness.run(OPERATIONS, () -> {
+					// cut one node from zookeeper long enough for its session to expire
+					PartitionProxy proxy = proxies.get(random.nextInt(proxies.size()));
+					proxy.partition();
+					try {
+						Thread.sleep(6000);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						proxy.heal();
+					}
+				}, Duration.ofSeconds(1));
+				assertLinearizable(harness);
+			}
+		} finally {
+			proxies.forEach(PartitionProxy::close);
+		}
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "statemachine.consistency.restarts", matches = "true")
+	public void testLinearizableWithServerRestarts() throws Exception {
+		try (TestingCluster cluster = new TestingCluster(NODES)) {
+			cluster.start();
+			try (ConsistencyHarness harness = new ConsistencyHarness(cluster.getConnectString(), NODES)) {
+				harness.setSeed(SEED);
+				harness.start();
+				List<InstanceSpec> instances = new ArrayList<>(cluster.getInstances());
+				Random random = new Random(SEED);
+				harness.run(OPERATIONS * 4, () -> {
+					// crash one server and restart it after a while
+					InstanceSpec instance = instances.get(random.nextInt(instances.size()));
+					try {
+						cluster.killServer(instance);
+						Thread.sleep(500);
+						cluster.restartServer(instance);
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				}, Duration.ofSeconds(1));
+				assertLinearizable(harness);
+			}
+		}
+	}
+
+	private static String assertLinearizable(ConsistencyHarness harness) throws InterruptedException {
+		String converged = harness.awaitConvergence(Duration.ofSeconds(10));
+		Result<String, Operation<String>> result = harness.check(converged);
+		assertThat(result.isLinearizable())
+				.as("History with seed %s not linearizable %s", harness.getSeed(),
+						harness.getHistory().getOperations())
+				.isTrue();
+		if (converged != null) {
+			assertThat(result.getFinalState()).as("Final state with seed %s", harness.getSeed())
+					.isEqualTo(converged);
+		}
+		return converged;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.buildtests.consistency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+import org.springframework.statemachine.buildtests.consistency.LinearizabilityChecker.Entry;
+
+/**
+ * Concurrent history of client {@link Operation}s together with a set of
+ * operation ids which were observed to be committed into an ensemble.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <E> the type of event
+ */
+public class History<E> {
+
+	private final Map<String, Operation<E>> operations = new ConcurrentHashMap<>();
+	private final Set<String> committed = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Record an invocation of an operation.
+	 *
+	 * @param process the invoking process
+	 * @param sequence the sequence of operation within a process
+	 * @param event the event
+	 * @return the operation
+	 */
+	public Operation<E> invoke(int process, int sequence, E event) {
+		Operation<E> operation = new Operation<>(process + "-" + sequence, process, event, System.nanoTime());
+		operations.put(operation.getId(), operation);
+		return operation;
+	}
+
+	/**
+	 * Record a completion of an operation.
+	 *
+	 * @param operation the operation
+	 * @param result the result type
+	 */
+	public void complete(Operation<E> operation, ResultType result) {
+		operation.complete(System.nanoTime(), result);
+	}
+
+	/**
+	 * Record an operation which failed with an unknown outcome.
+	 *
+	 * @param operation the operation
+	 * @param error the error
+	 */
+	public void fail(Operation<E> operation, Throwable error) {
+		operation.fail(System.nanoTime(), error);
+	}
+
+	/**
+	 * Record that operation with a given id was committed.
+	 *
+	 * @param id the operation id
+	 */
+	public void committed(String id) {
+		committed.add(id);
+	}
+
+	/**
+	 * Gets all operations ordered by invocation time.
+	 *
+	 * @return the operations
+	 */
+	public List<Operation<E>> getOperations() {
+		List<Operation<E>> list = new ArrayList<>(operations.values());
+		for (Operation<E> operation : list) {
+			operation.setCommitted(committed.contains(operation.getId()));
+		}
+		list.sort((o1, o2) -> Long.compare(o1.getInvoke(), o2.getInvoke()));
+		return list;
+	}
+
+	/**
+	 * Convert history into entries for a {@link LinearizabilityChecker}.
+	 * Observed commits must take effect, operations with an unknown outcome
+	 * may take effect and operations which were not observed to commit are
+	 * considered failed.
+	 *
+	 * @return the checker entries
+	 */
+	public List<Entry<Operation<E>>> toEntries() {
+		return getOperations().stream()
+				.filter(o -> o.isCommitted() || !o.isCompleted())
+				.map(o -> o.isCommitted() ? Entry.required(o, o.getInvoke(), o.getComplete())
+						: Entry.optional(o, o.getInvoke()))
+				.collect(Collectors.toList());
+	}
+}
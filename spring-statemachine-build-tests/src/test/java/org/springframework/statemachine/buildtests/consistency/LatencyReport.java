@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.buildtests.consistency;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+
+/**
+ * Throughput and latency percentiles of completed operations in a
+ * {@link History}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class LatencyReport {
+
+	private final int operations;
+	private final int accepted;
+	private final int committed;
+	private final int failed;
+	private final double throughput;
+	private final long[] latencies;
+
+	private LatencyReport(int operations, int accepted, int committed, int failed, double throughput,
+			long[] latencies) {
+		this.operations = operations;
+		this.accepted = accepted;
+		this.committed = committed;
+		this.failed = failed;
+		this.throughput = throughput;
+		this.latencies = latencies;
+	}
+
+	/**
+	 * Build a report from operations executed within a given wall time.
+	 *
+	 * @param <E> the type of event
+	 * @param operations the operations
+	 * @param wallTime the wall time in nanoseconds
+	 * @return the latency report
+	 */
+	public static <E> LatencyReport of(List<Operation<E>> operations, long wallTime) {
+		long[] latencies = operations.stream().mapToLong(Operation::getLatency).filter(l -> l >= 0).sorted()
+				.toArray();
+		int accepted = (int) operations.stream().filter(o -> o.getResult() == ResultType.ACCEPTED).count();
+		int committed = (int) operations.stream().filter(Operation::isCommitted).count();
+		int failed = (int) operations.stream().filter(o -> !o.isCompleted()).count();
+		double throughput = wallTime > 0 ? latencies.length / (wallTime / (double) TimeUnit.SECONDS.toNanos(1)) : 0;
+		return new LatencyReport(operations.size(), accepted, committed, failed, throughput, latencies);
+	}
+
+	/**
+	 * Gets a latency percentile.
+	 *
+	 * @param percentile the percentile between 0 and 100
+	 * @return the latency in nanoseconds
+	 */
+	public long getPercentile(double percentile) {
+		if (latencies.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+		return latencies[Math.max(0, Math.min(index, latencies.length - 1))];
+	}
+
+	public int getOperations() {
+		return operations;
+	}
+
+	public int getCommitted() {
+		return committed;
+	}
+
+	public double getThroughput() {
+		return throughput;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"operations=%d accepted=%d committed=%d failed=%d throughput=%.1f ops/s "
+						+ "latency p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+				operations, accepted, committed, failed, throughput, millis(getPercentile(50)),
+				millis(getPercentile(90)), millis(getPercentile(99)), millis(getPercentile(100)));
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1000000d;
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.buildtests.consistency;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Linearizability checker in a spirit of Wing and Gong with memoization of
+ * already explored configurations as used by Jepsen's Knossos. A history is
+ * linearizable if there is a total order of its operations which respects
+ * real time ordering, meaning an operation completed before other was invoked
+ * comes first, and which is accepted by a sequential model.
+ * <p>
+ * Required entries must be part of a linearization while optional entries,
+ * typically operations with an unknown outcome, may be left out.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of model state
+ * @param <O> the type of operation
+ */
+public class LinearizabilityChecker<S, O> {
+
+	private final Model<S, O> model;
+
+	/**
+	 * Instantiates a new linearizability checker.
+	 *
+	 * @param model the sequential model
+	 */
+	public LinearizabilityChecker(Model<S, O> model) {
+		this.model = model;
+	}
+
+	/**
+	 * Check entries against a model starting from an initial state.
+	 *
+	 * @param initial the initial state
+	 * @param entries the entries
+	 * @return the result
+	 */
+	public Result<S, O> check(S initial, List<Entry<O>> entries) {
+		return check(initial, entries, s -> true);
+	}
+
+	/**
+	 * Check entries against a model starting from an initial state and
+	 * requiring a linearization to end in an accepted final state.
+	 *
+	 * @param initial the initial state
+	 * @param entries the entries
+	 * @param finalState the predicate for a final state
+	 * @return the result
+	 */
+	public Result<S, O> check(S initial, List<Entry<O>> entries, Predicate<S> finalState) {
+		List<Entry<O>> sorted = new ArrayList<>(entries);
+		sorted.sort((e1, e2) -> Long.compare(e1.invoke, e2.invoke));
+		Search search = new Search(sorted, finalState);
+		if (search.search(initial, new BitSet(sorted.size()))) {
+			List<O> linearization = new ArrayList<>();
+			for (int index : search.path) {
+				linearization.add(sorted.get(index).operation);
+			}
+			return new Result<>(true, linearization, search.reachedState, search.visited.size());
+		}
+		return new Result<>(false, Collections.emptyList(), null, search.visited.size());
+	}
+
+	/**
+	 * Sequential specification of a system under test.
+	 *
+	 * @param <S> the type of model state
+	 * @param <O> the type of operation
+	 */
+	@FunctionalInterface
+	public interface Model<S, O> {
+
+		/**
+		 * Apply an operation into a state.
+		 *
+		 * @param state the current state
+		 * @param operation the operation
+		 * @return the next state or {@code NULL} if operation is not legal
+		 */
+		S step(S state, O operation);
+	}
+
+	/**
+	 * Single operation with its invocation and completion times.
+	 *
+	 * @param <O> the type of operation
+	 */
+	public static class Entry<O> {
+
+		private final O operation;
+		private final long invoke;
+		private final long complete;
+		private final boolean required;
+
+		private Entry(O operation, long invoke, long complete, boolean required) {
+			this.operation = operation;
+			this.invoke = invoke;
+			this.complete = complete;
+			this.required = required;
+		}
+
+		/**
+		 * Create an entry which must take effect.
+		 *
+		 * @param <O> the type of operation
+		 * @param operation the operation
+		 * @param invoke the invocation time
+		 * @param complete the completion time
+		 * @return the entry
+		 */
+		public static <O> Entry<O> required(O operation, long invoke, long complete) {
+			return new Entry<>(operation, invoke, complete, true);
+		}
+
+		/**
+		 * Create an entry which may or may not have taken effect. Optional
+		 * entry never completes.
+		 *
+		 * @param <O> the type of operation
+		 * @param operation the operation
+		 * @param invoke the invocation time
+		 * @return the entry
+		 */
+		public static <O> Entry<O> optional(O operation, long invoke) {
+			return new Entry<>(operation, invoke, Long.MAX_VALUE, false);
+		}
+
+		@Override
+		public String toString() {
+			return "Entry [operation=" + operation + ", required=" + required + "]";
+		}
+	}
+
+	/**
+	 * Result of a check.
+	 *
+	 * @param <S> the type of model state
+	 * @param <O> the type of operation
+	 */
+	public static class Result<S, O> {
+
+		private final boolean linearizable;
+		private final List<O> linearization;
+		private final S finalState;
+		private final int explored;
+
+		Result(boolean linearizable, List<O> linearization, S finalState, int explored) {
+			this.linearizable = linearizable;
+			this.linearization = linearization;
+			this.finalState = finalState;
+			this.explored = explored;
+		}
+
+		public boolean isLinearizable() {
+			return linearizable;
+		}
+
+		public List<O> getLinearization() {
+			return linearization;
+		}
+
+		public S getFinalState() {
+			return finalState;
+		}
+
+		public int getExplored() {
+			return explored;
+		}
+
+		@Override
+		public String toString() {
+			return "Result [linearizable=" + linearizable + ", finalState=" + finalState + ", explored=" + explored
+					+ ", linearization=" + linearization + "]";
+		}
+	}
+
+	private class Search {
+
+		final List<Entry<O>> entries;
+		final Predicate<S> finalState;
+		final Set<Configuration<S>> visited = new HashSet<>();
+		final List<Integer> path = new ArrayList<>();
+		final int requiredCount;
+		S reachedState;
+		int linearizedRequired;
+
+		Search(List<Entry<O>> entries, Predicate<S> finalState) {
+			this.entries = entries;
+			this.finalState = finalState;
+			this.requiredCount = (int) entries.stream().filter(e -> e.required).count();
+		}
+
+		boolean search(S state, BitSet linearized) {
+			if (linearizedRequired == requiredCount && finalState.test(state)) {
+				reachedState = state;
+				return true;
+			}
+			// any entry invoked after earliest pending completion would
+			// violate real time order if linearized now
+			long minComplete = Long.MAX_VALUE;
+			for (int i = linearized.nextClearBit(0); i < entries.size(); i = linearized.nextClearBit(i + 1)) {
+				minComplete = Math.min(minComplete, entries.get(i).complete);
+			}
+			for (int i = linearized.nextClearBit(0); i < entries.size(); i = linearized.nextClearBit(i + 1)) {
+				Entry<O> entry = entries.get(i);
+				if (entry.invoke > minComplete) {
+					break;
+				}
+				S next = model.step(state, entry.operation);
+				if (next == null) {
+					continue;
+				}
+				linearized.set(i);
+				if (visited.add(new Configuration<>(linearized, next))) {
+					path.add(i);
+					linearizedRequired += entry.required ? 1 : 0;
+					if (search(next, linearized)) {
+						return true;
+					}
+					linearizedRequired -= entry.required ? 1 : 0;
+					path.remove(path.size() - 1);
+				}
+				linearized.clear(i);
+			}
+			return false;
+		}
+	}
+
+	private static class Configuration<S> {
+
+		final BitSet linearized;
+		final S state;
+
+		Configuration(BitSet linearized, S state) {
+			this.linearized = (BitSet) linearized.clone();
+			this.state = state;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(linearized, state);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Configuration)) {
+				return false;
+			}
+			Configuration<?> other = (Configuration<?>) obj;
+			return linearized.equals(other.linearized) && Objects.equals(state, other.state);
+		}
+	}
+}
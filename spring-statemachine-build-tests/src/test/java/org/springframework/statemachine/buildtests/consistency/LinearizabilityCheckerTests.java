@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.buildtests.consistency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.buildtests.consistency.LinearizabilityChecker.Entry;
+import org.springframework.statemachine.buildtests.consistency.LinearizabilityChecker.Result;
+
+public class LinearizabilityCheckerTests {
+
+	private final LinearizabilityChecker<String, String> checker = new LinearizabilityChecker<>(
+			ConsistencyHarness::step);
+
+	@Test
+	public void testConcurrentOperationsReordered() {
+		// E2 invoked first but overlaps with E1 so it can be ordered after it
+		Result<String, String> result = checker.check("SI", Arrays.asList(
+				Entry.required("E2", 0, 10),
+				Entry.required("E1", 1, 5),
+				Entry.required("E3", 11, 12)));
+		assertThat(result.isLinearizable()).isTrue();
+		assertThat(result.getLinearization()).containsExactly("E1", "E2", "E3");
+		assertThat(result.getFinalState()).isEqualTo("SI");
+	}
+
+	@Test
+	public void testRealTimeOrderViolation() {
+		// E2 completed before E1 was invoked, so it can't be legal
+		Result<String, String> result = checker.check("SI", Arrays.asList(
+				Entry.required("E2", 0, 1),
+				Entry.required("E1", 2, 3)));
+		assertThat(result.isLinearizable()).isFalse();
+	}
+
+	@Test
+	public void testOptionalOperations() {
+		Result<String, String> result = checker.check("SI", Arrays.asList(
+				Entry.optional("E1", 0),
+				Entry.required("E2", 5, 6)));
+		assertThat(result.isLinearizable()).isTrue();
+		assertThat(result.getLinearization()).containsExactly("E1", "E2");
+
+		result = checker.check("SI", Arrays.asList(
+				Entry.optional("E1", 0),
+				Entry.required("E1", 5, 6)), s -> s.equals("S1"));
+		assertThat(result.isLinearizable()).isTrue();
+		assertThat(result.getLinearization()).containsExactly("E1");
+	}
+
+	@Test
+	public void testFinalStateMismatch() {
+		Result<String, String> result = checker.check("SI", Arrays.asList(
+				Entry.required("E1", 0, 1)), s -> s.equals("S2"));
+		assertThat(result.isLinearizable()).isFalse();
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.buildtests.consistency;
+
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+
+/**
+ * Single client operation recorded into a {@link History}. Operation is
+ * invoked by a process, sends one event and completes with a result type,
+ * or with an error if outcome is not known.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <E> the type of event
+ */
+public class Operation<E> {
+
+	private final String id;
+	private final int process;
+	private final E event;
+	private final long invoke;
+	private volatile long complete = Long.MAX_VALUE;
+	private volatile ResultType result;
+	private volatile Throwable error;
+	private volatile boolean committed;
+
+	Operation(String id, int process, E event, long invoke) {
+		this.id = id;
+		this.process = process;
+		this.event = event;
+		this.invoke = invoke;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public int getProcess() {
+		return process;
+	}
+
+	public E getEvent() {
+		return event;
+	}
+
+	public long getInvoke() {
+		return invoke;
+	}
+
+	public long getComplete() {
+		return complete;
+	}
+
+	public ResultType getResult() {
+		return result;
+	}
+
+	public Throwable getError() {
+		return error;
+	}
+
+	/**
+	 * Checks if operation completed with a known result.
+	 *
+	 * @return true, if completed with a result
+	 */
+	public boolean isCompleted() {
+		return result != null;
+	}
+
+	/**
+	 * Checks if operation was observed to be committed into an ensemble.
+	 *
+	 * @return true, if committed
+	 */
+	public boolean isCommitted() {
+		return committed;
+	}
+
+	/**
+	 * Gets a latency of a completed operation.
+	 *
+	 * @return the latency in nanoseconds or {@code -1} if not completed
+	 */
+	public long getLatency() {
+		return complete == Long.MAX_VALUE ? -1 : complete - invoke;
+	}
+
+	void complete(long complete, ResultType result) {
+		this.result = result;
+		this.complete = complete;
+	}
+
+	void fail(long complete, Throwable error) {
+		this.error = error;
+		this.complete = complete;
+	}
+
+	void setCommitted(boolean committed) {
+		this.committed = committed;
+	}
+
+	@Override
+	public String toString() {
+		return "Operation [id=" + id + ", process=" + process + ", event=" + event + ", result=" + result
+				+ ", committed=" + committed + ", error=" + error + "]";
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.buildtests.consistency;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * TCP proxy between a single node and a zookeeper server used to inject
+ * network partitions. While partitioned, connections stay open but all
+ * traffic is silently dropped in both directions so that a node sees a
+ * partition same way as with a real network, by timing out. Healing closes
+ * connections which lost traffic and lets a node reconnect.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class PartitionProxy implements AutoCloseable {
+
+	private final static Log log = LogFactory.getLog(PartitionProxy.class);
+	private final String targetHost;
+	private final int targetPort;
+	private final ServerSocket serverSocket;
+	private final List<Socket> sockets = new ArrayList<>();
+	private volatile boolean partitioned;
+	private volatile boolean closed;
+
+	/**
+	 * Instantiates a new partition proxy.
+	 *
+	 * @param targetHost the target host
+	 * @param targetPort the target port
+	 * @throws IOException if proxy cannot be bound
+	 */
+	public PartitionProxy(String targetHost, int targetPort) throws IOException {
+		this.targetHost = targetHost;
+		this.targetPort = targetPort;
+		this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+	}
+
+	/**
+	 * Start accepting connections.
+	 */
+	public void start() {
+		startThread("partition-proxy-accept", this::accept);
+	}
+
+	/**
+	 * Gets the connect string pointing to this proxy.
+	 *
+	 * @return the connect string
+	 */
+	public String getConnectString() {
+		return serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Start dropping all traffic.
+	 */
+	public void partition() {
+		log.info("Partitioning " + getConnectString());
+		partitioned = true;
+	}
+
+	/**
+	 * Stop dropping traffic and close connections which lost it.
+	 */
+	public void heal() {
+		log.info("Healing " + getConnectString());
+		closeSockets();
+		partitioned = false;
+	}
+
+	public boolean isPartitioned() {
+		return partitioned;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			serverSocket.close();
+		} catch (IOException e) {
+		}
+		closeSockets();
+	}
+
+	private void accept() {
+		while (!closed) {
+			try {
+				Socket client = serverSocket.accept();
+				register(client);
+				if (partitioned) {
+					// connection attempt during a partition just hangs
+					startThread("partition-proxy-drop", () -> pump(client, null));
+					continue;
+				}
+				Socket target = new Socket(targetHost, targetPort);
+				register(target);
+				startThread("partition-proxy-in", () -> pump(client, target));
+				startThread("partition-proxy-out", () -> pump(target, client));
+			} catch (IOException e) {
+				if (!closed) {
+					log.debug("Proxy connection failed", e);
+				}
+			}
+		}
+	}
+
+	private void pump(Socket from, Socket to) {
+		byte[] buffer = new byte[8192];
+		try {
+			InputStream in = from.getInputStream();
+			OutputStream out = to != null ? to.getOutputStream() : null;
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				if (!partitioned && out != null) {
+					out.write(buffer, 0, read);
+					out.flush();
+				}
+			}
+		} catch (IOException e) {
+		} finally {
+			closeQuietly(from);
+			closeQuietly(to);
+		}
+	}
+
+	private void register(Socket socket) {
+		synchronized (sockets) {
+			sockets.add(socket);
+		}
+	}
+
+	private void closeSockets() {
+		List<Socket> current;
+		synchronized (sockets) {
+			current = new ArrayList<>(sockets);
+			sockets.clear();
+		}
+		for (Socket socket : current) {
+			closeQuietly(socket);
+		}
+	}
+
+	private static void closeQuietly(Socket socket) {
+		if (socket != null) {
+			try {
+				socket.close();
+			} catch (IOException e) {
+			}
+		}
+	}
+
+	private static void startThread(String name, Runnable runnable) {
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+}
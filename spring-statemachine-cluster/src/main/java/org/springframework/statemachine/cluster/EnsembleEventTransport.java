@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+import java.util.function.Function;
+
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code EnsembleEventTransport} is a contract used to forward events between
+ * members of an ensemble. Members are identified by an opaque id which is
+ * shared via an ensemble itself.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <E> the type of event
+ */
+public interface EnsembleEventTransport<E> {
+
+	/**
+	 * Register a handler for events forwarded into a member.
+	 *
+	 * @param memberId the member id
+	 * @param handler the handler
+	 */
+	void register(String memberId, Function<Message<E>, Mono<ResultType>> handler);
+
+	/**
+	 * Unregister a handler for a member.
+	 *
+	 * @param memberId the member id
+	 */
+	void unregister(String memberId);
+
+	/**
+	 * Send an event into a member.
+	 *
+	 * @param memberId the member id
+	 * @param event the event
+	 * @return the mono for a result type
+	 */
+	Mono<ResultType> send(String memberId, Message<E> event);
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+import org.springframework.statemachine.ensemble.StateMachineEnsembleException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link EnsembleEventTransport} dispatching events to handlers registered
+ * within the same JVM. Mostly useful for testing where all members of an
+ * ensemble share one instance of this transport.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <E> the type of event
+ */
+public class InMemoryEnsembleEventTransport<E> implements EnsembleEventTransport<E> {
+
+	private final Map<String, Function<Message<E>, Mono<ResultType>>> handlers = new ConcurrentHashMap<>();
+
+	@Override
+	public void register(String memberId, Function<Message<E>, Mono<ResultType>> handler) {
+		handlers.put(memberId, handler);
+	}
+
+	@Override
+	public void unregister(String memberId) {
+		handlers.remove(memberId);
+	}
+
+	@Override
+	public Mono<ResultType> send(String memberId, Message<E> event) {
+		return Mono.defer(() -> {
+			Function<Message<E>, Mono<ResultType>> handler = handlers.get(memberId);
+			if (handler == null) {
+				return Mono.error(new StateMachineEnsembleException("No member registered with id " + memberId));
+			}
+			return handler.apply(event);
+		});
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.statemachine.ensemble.StateMachineEnsembleException;
+
+/**
+ * {@link ReplicatedLogTransport} calling handlers registered within the same
+ * JVM. Allows running multiple nodes of a replicated log in one process.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class InMemoryReplicatedLogTransport implements ReplicatedLogTransport {
+
+	private final Map<String, ReplicatedLogHandler> handlers = new ConcurrentHashMap<>();
+
+	@Override
+	public void register(String nodeId, ReplicatedLogHandler handler) {
+		handlers.put(nodeId, handler);
+	}
+
+	@Override
+	public void unregister(String nodeId) {
+		handlers.remove(nodeId);
+	}
+
+	@Override
+	public long append(String nodeId, long expectedIndex, byte[] data) {
+		return getHandler(nodeId).handleAppend(expectedIndex, data);
+	}
+
+	@Override
+	public void replicate(String nodeId, ReplicatedLogEntry entry) {
+		getHandler(nodeId).handleReplicate(entry);
+	}
+
+	@Override
+	public List<ReplicatedLogEntry> read(String nodeId, long fromIndex) {
+		return getHandler(nodeId).handleRead(fromIndex);
+	}
+
+	private ReplicatedLogHandler getHandler(String nodeId) {
+		ReplicatedLogHandler handler = handlers.get(nodeId);
+		if (handler == null) {
+			throw new StateMachineEnsembleException("Node " + nodeId + " not reachable");
+		}
+		return handler;
+	}
+}
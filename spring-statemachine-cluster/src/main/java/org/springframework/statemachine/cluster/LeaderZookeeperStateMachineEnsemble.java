@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2017 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,32 +15,68 @@
  */
 package org.springframework.statemachine.cluster;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.CuratorWatcher;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
 import org.springframework.integration.leader.Context;
 import org.springframework.integration.leader.DefaultCandidate;
 import org.springframework.integration.zookeeper.leader.LeaderInitiator;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+import org.springframework.statemachine.ensemble.DistributedStateMachine;
+import org.springframework.statemachine.ensemble.EnsembleEventForwarder;
 import org.springframework.statemachine.ensemble.StateMachineEnsemble;
 import org.springframework.statemachine.zookeeper.ZookeeperStateMachineEnsemble;
 
+import reactor.core.publisher.Mono;
+
 /**
  * {@link StateMachineEnsemble} backed by a zookeeper and leader functionality
  * from a Spring Cloud Cluster.
+ * <p>
+ * If an {@link EnsembleEventTransport} is set, ensemble runs in a leader only
+ * execution mode where events sent to a {@link DistributedStateMachine} which
+ * is not a leader are forwarded into a leader. Only the leader then executes
+ * transitions and writes distributed state while followers apply it passively
+ * when state changes are replicated back to them. An event is forwarded only
+ * once, if a member receiving it is not a leader anymore it's denied.
  *
  * @author Janne Valkealahti
  *
  * @param <S> the type of state
  * @param <E> the type of event
  */
-public class LeaderZookeeperStateMachineEnsemble<S, E> extends ZookeeperStateMachineEnsemble<S, E> {
+public class LeaderZookeeperStateMachineEnsemble<S, E> extends ZookeeperStateMachineEnsemble<S, E>
+		implements EnsembleEventForwarder<S, E> {
 
+	private final static Log log = LogFactory.getLog(LeaderZookeeperStateMachineEnsemble.class);
+	private final static String PATH_LEADER_ID = "leaderid";
+	private final static String HEADER_FORWARDED = "_sm_forwarded_";
 	private final Map<StateMachine<S, E>, InitiatorHolder> holders = new HashMap<>();
 	private final CuratorFramework curatorClient;
 	private final String basePath;
-	private StateMachine<S, E> leader;
+	private volatile StateMachine<S, E> leader;
+	private volatile String leaderId;
+	private final AtomicReference<CompletableFuture<String>> leaderIdRefresh = new AtomicReference<>();
+	private final CuratorWatcher leaderIdWatcher = event -> {
+		// drop a cached id and a read in flight which may have seen an old node
+		leaderId = null;
+		leaderIdRefresh.set(null);
+		refreshLeaderId();
+	};
+	private EnsembleEventTransport<E> eventTransport;
 
 	/**
 	 * Instantiates a new leader zookeeper state machine ensemble.
@@ -68,13 +104,29 @@ public class LeaderZookeeperStateMachineEnsemble<S, E> extends ZookeeperStateMac
 		this.basePath = basePath;
 	}
 
+	/**
+	 * Sets the event transport. Setting a transport enables a leader only
+	 * execution mode where events are forwarded into a leader.
+	 *
+	 * @param eventTransport the new event transport
+	 */
+	public void setEventTransport(EnsembleEventTransport<E> eventTransport) {
+		this.eventTransport = eventTransport;
+	}
+
 	@Override
 	public void join(StateMachine<S, E> stateMachine) {
 		super.join(stateMachine);
+		if (eventTransport != null) {
+			eventTransport.register(getMemberId(stateMachine), event -> executeForwarded(stateMachine, event));
+		}
 		StateMachineCandidate candidate = new StateMachineCandidate(stateMachine);
 		LeaderInitiator initiator = new LeaderInitiator(curatorClient, candidate, basePath + "/leader");
 		initiator.start();
 		holders.put(stateMachine, new InitiatorHolder(candidate, initiator));
+		if (eventTransport != null) {
+			refreshLeaderId();
+		}
 	}
 
 	@Override
@@ -84,6 +136,9 @@ public class LeaderZookeeperStateMachineEnsemble<S, E> extends ZookeeperStateMac
 		holder.candidate.yieldLeadership();
 		holder.initiator.stop();
 		holders.remove(stateMachine);
+		if (eventTransport != null) {
+			eventTransport.unregister(getMemberId(stateMachine));
+		}
 	}
 
 	@Override
@@ -91,6 +146,129 @@ public class LeaderZookeeperStateMachineEnsemble<S, E> extends ZookeeperStateMac
 		return leader;
 	}
 
+	@Override
+	public boolean shouldForward(StateMachine<S, E> stateMachine) {
+		return eventTransport != null && stateMachine != leader && !getMemberId(stateMachine).equals(leaderId);
+	}
+
+	@Override
+	public Mono<ResultType> forward(StateMachine<S, E> stateMachine, Message<E> event) {
+		if (event.getHeaders().containsKey(HEADER_FORWARDED)) {
+			// forwarded into a member which is not a leader anymore, never
+			// forward it again as it could bounce between members
+			log.warn("Denying event " + event + " forwarded into a member which is not a leader");
+			return Mono.just(ResultType.DENIED);
+		}
+		String id = leaderId;
+		Mono<String> resolved = id != null ? Mono.just(id) : Mono.fromFuture(refreshLeaderId());
+		return resolved
+			.flatMap(resolvedId -> eventTransport.send(resolvedId, event)
+				// leader may have gone away, re-resolve on next event
+				.doOnError(e -> leaderId = null))
+			.switchIfEmpty(Mono.defer(() -> {
+				log.warn("Denying event " + event + " as ensemble leader is not known");
+				return Mono.just(ResultType.DENIED);
+			}));
+	}
+
+	private Mono<ResultType> executeForwarded(StateMachine<S, E> stateMachine, Message<E> event) {
+		Message<E> forwarded = MessageBuilder.fromMessage(event).setHeader(HEADER_FORWARDED, true).build();
+		return stateMachine.sendEvent(Mono.just(forwarded))
+			.map(StateMachineEventResult::getResultType)
+			.reduce(ResultType.DENIED, (a, b) -> {
+				if (a == ResultType.ACCEPTED || b == ResultType.ACCEPTED) {
+					return ResultType.ACCEPTED;
+				} else if (a == ResultType.DEFERRED || b == ResultType.DEFERRED) {
+					return ResultType.DEFERRED;
+				}
+				return ResultType.DENIED;
+			});
+	}
+
+	private String getMemberId(StateMachine<S, E> stateMachine) {
+		return stateMachine.getUuid().toString();
+	}
+
+	private String getLeaderIdPath() {
+		return basePath + "/" + PATH_LEADER_ID;
+	}
+
+	/**
+	 * Refresh the member id of a current leader using curator background
+	 * operations so that a caller is never blocked on zookeeper. Leader node is
+	 * watched and every change in it starts a new refresh, concurrent callers
+	 * share a refresh in flight.
+	 *
+	 * @return the future completing with a leader member id or {@code NULL} if not known
+	 */
+	private CompletableFuture<String> refreshLeaderId() {
+		CompletableFuture<String> future = new CompletableFuture<>();
+		CompletableFuture<String> existing = leaderIdRefresh.compareAndExchange(null, future);
+		if (existing != null) {
+			return existing;
+		}
+		try {
+			curatorClient.checkExists().usingWatcher(leaderIdWatcher).inBackground((client, event) -> {
+				if (event.getStat() == null) {
+					completeLeaderIdRefresh(future, null);
+					return;
+				}
+				try {
+					client.getData().inBackground((c, data) -> {
+						completeLeaderIdRefresh(future, data.getResultCode() == KeeperException.Code.OK.intValue()
+								? new String(data.getData(), StandardCharsets.UTF_8) : null);
+					}).forPath(getLeaderIdPath());
+				} catch (Exception e) {
+					log.warn("Unable to resolve ensemble leader", e);
+					completeLeaderIdRefresh(future, null);
+				}
+			}).forPath(getLeaderIdPath());
+		} catch (Exception e) {
+			log.warn("Unable to resolve ensemble leader", e);
+			completeLeaderIdRefresh(future, null);
+		}
+		return future;
+	}
+
+	private void completeLeaderIdRefresh(CompletableFuture<String> future, String id) {
+		// cache only if watcher didn't invalidate this refresh while it was in flight
+		if (leaderIdRefresh.compareAndSet(future, null) && id != null) {
+			leaderId = id;
+		}
+		future.complete(id);
+	}
+
+	private void publishLeader(StateMachine<S, E> stateMachine) {
+		String id = getMemberId(stateMachine);
+		try {
+			// node left by a previous leader which failed to unpublish it is still
+			// owned by its session and would get deleted under this leader when
+			// that session expires, thus always re-create it in this session
+			try {
+				curatorClient.delete().forPath(getLeaderIdPath());
+			} catch (KeeperException.NoNodeException e) {
+			}
+			curatorClient.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL)
+					.forPath(getLeaderIdPath(), id.getBytes(StandardCharsets.UTF_8));
+			leaderId = id;
+		} catch (Exception e) {
+			log.warn("Unable to publish ensemble leader " + id, e);
+		}
+	}
+
+	private void unpublishLeader(StateMachine<S, E> stateMachine) {
+		String id = getMemberId(stateMachine);
+		try {
+			byte[] data = curatorClient.getData().forPath(getLeaderIdPath());
+			if (id.equals(new String(data, StandardCharsets.UTF_8))) {
+				curatorClient.delete().forPath(getLeaderIdPath());
+			}
+		} catch (Exception e) {
+			log.debug("Unable to unpublish ensemble leader " + id, e);
+		}
+		leaderId = null;
+	}
+
 	private class InitiatorHolder {
 		final StateMachineCandidate candidate;
 		final LeaderInitiator initiator;
@@ -113,6 +291,9 @@ public class LeaderZookeeperStateMachineEnsemble<S, E> extends ZookeeperStateMac
 		public void onGranted(Context ctx) {
 			super.onGranted(ctx);
 			leader = stateMachine;
+			if (eventTransport != null) {
+				publishLeader(stateMachine);
+			}
 			notifyGranted(stateMachine);
 		}
 
@@ -120,6 +301,9 @@ public class LeaderZookeeperStateMachineEnsemble<S, E> extends ZookeeperStateMac
 		public void onRevoked(Context ctx) {
 			super.onRevoked(ctx);
 			leader = null;
+			if (eventTransport != null) {
+				unpublishLeader(stateMachine);
+			}
 			notifyRevoked(stateMachine);
 		}
 	}
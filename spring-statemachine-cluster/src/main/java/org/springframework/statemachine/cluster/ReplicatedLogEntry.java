@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+/**
+ * Single entry in a replicated log having a position index and opaque data.
+ * Indexes start from {@code 1}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class ReplicatedLogEntry {
+
+	private final long index;
+	private final byte[] data;
+
+	/**
+	 * Instantiates a new replicated log entry.
+	 *
+	 * @param index the index
+	 * @param data the data
+	 */
+	public ReplicatedLogEntry(long index, byte[] data) {
+		this.index = index;
+		this.data = data;
+	}
+
+	/**
+	 * Gets the index.
+	 *
+	 * @return the index
+	 */
+	public long getIndex() {
+		return index;
+	}
+
+	/**
+	 * Gets the data.
+	 *
+	 * @return the data
+	 */
+	public byte[] getData() {
+		return data;
+	}
+
+	@Override
+	public String toString() {
+		return "ReplicatedLogEntry [index=" + index + ", length=" + (data != null ? data.length : 0) + "]";
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+import java.util.List;
+
+/**
+ * Handler for requests a node in a replicated log receives from a
+ * {@link ReplicatedLogTransport}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public interface ReplicatedLogHandler {
+
+	/**
+	 * Handle a request to append data into a log. Only a primary node
+	 * handles appends. Append is rejected if {@code expectedIndex} is not
+	 * the last index in a log.
+	 *
+	 * @param expectedIndex the last index known by a requester
+	 * @param data the data
+	 * @return the index of the appended entry
+	 */
+	long handleAppend(long expectedIndex, byte[] data);
+
+	/**
+	 * Handle an entry replicated from a primary node.
+	 *
+	 * @param entry the entry
+	 */
+	void handleReplicate(ReplicatedLogEntry entry);
+
+	/**
+	 * Handle a request to read entries starting from a given index.
+	 *
+	 * @param fromIndex the index to start from
+	 * @return the entries known to a node
+	 */
+	List<ReplicatedLogEntry> handleRead(long fromIndex);
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachineException;
+import org.springframework.statemachine.ensemble.StateMachineEnsemble;
+import org.springframework.statemachine.ensemble.StateMachineEnsembleException;
+import org.springframework.statemachine.ensemble.StateMachineEnsembleObjectSupport;
+import org.springframework.statemachine.kryo.KryoStateMachineSerialisationService;
+import org.springframework.statemachine.service.StateMachineSerialisationService;
+import org.springframework.util.Assert;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link StateMachineEnsemble} backed by an embedded replicated log instead of
+ * a zookeeper. Every node keeps its own {@link SegmentedFileLog} and nodes
+ * exchange entries over a {@link ReplicatedLogTransport} using a simple
+ * primary-backup protocol.
+ * <p>
+ * A primary node is chosen by configuration. All writes are appended by a
+ * primary which then replicates entries into backups in order. Similarly to
+ * versioned writes in a zookeeper, a write is rejected if a writer has not
+ * seen a last entry in a log. A backup which notices a gap in received entries
+ * catches up by reading missed entries from a primary.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class ReplicatedLogStateMachineEnsemble<S, E> extends StateMachineEnsembleObjectSupport<S, E> {
+
+	private final static Log log = LogFactory.getLog(ReplicatedLogStateMachineEnsemble.class);
+	private final static int DEFAULT_READ_BATCH = 256;
+	private final String nodeId;
+	private final String primaryNodeId;
+	private final List<String> nodeIds;
+	private final ReplicatedLogTransport transport;
+	private final SegmentedFileLog replicatedLog;
+	private final StateMachineSerialisationService<S, E> serialisationService;
+	private final AtomicReference<StateWrapper> stateRef = new AtomicReference<StateWrapper>();
+	private final Queue<StateMachine<S, E>> joinQueue = new ConcurrentLinkedQueue<StateMachine<S, E>>();
+	private final List<StateMachine<S, E>> joined = new ArrayList<StateMachine<S,E>>();
+	private final Object joinLock = new Object();
+	private final Object appendLock = new Object();
+	private final Object applyLock = new Object();
+	private final ReplicatedLogHandler handler = new LocalReplicatedLogHandler();
+
+	/**
+	 * Instantiates a new replicated log state machine ensemble using kryo
+	 * for serialising contexts.
+	 *
+	 * @param nodeId the id of this node
+	 * @param primaryNodeId the id of a primary node
+	 * @param nodeIds the ids of all nodes
+	 * @param transport the replicated log transport
+	 * @param replicatedLog the local log
+	 */
+	public ReplicatedLogStateMachineEnsemble(String nodeId, String primaryNodeId, List<String> nodeIds,
+			ReplicatedLogTransport transport, SegmentedFileLog replicatedLog) {
+		this(nodeId, primaryNodeId, nodeIds, transport, replicatedLog, new KryoStateMachineSerialisationService<S, E>());
+	}
+
+	/**
+	 * Instantiates a new replicated log state machine ensemble.
+	 *
+	 * @param nodeId the id of this node
+	 * @param primaryNodeId the id of a primary node
+	 * @param nodeIds the ids of all nodes
+	 * @param transport the replicated log transport
+	 * @param replicatedLog the local log
+	 * @param serialisationService the serialisation service for contexts
+	 */
+	public ReplicatedLogStateMachineEnsemble(String nodeId, String primaryNodeId, List<String> nodeIds,
+			ReplicatedLogTransport transport, SegmentedFileLog replicatedLog,
+			StateMachineSerialisationService<S, E> serialisationService) {
+		Assert.hasText(nodeId, "Node id must be set");
+		Assert.hasText(primaryNodeId, "Primary node id must be set");
+		Assert.notNull(nodeIds, "Node ids must be set");
+		Assert.notNull(transport, "Transport must be set");
+		Assert.notNull(replicatedLog, "Replicated log must be set");
+		Assert.notNull(serialisationService, "Serialisation service must be set");
+		this.nodeId = nodeId;
+		this.primaryNodeId = primaryNodeId;
+		this.nodeIds = new ArrayList<>(nodeIds);
+		this.transport = transport;
+		this.replicatedLog = replicatedLog;
+		this.serialisationService = serialisationService;
+		setAutoStartup(true);
+	}
+
+	@Override
+	protected void onInit() throws Exception {
+		ReplicatedLogEntry last = replicatedLog.getLast();
+		if (last != null) {
+			stateRef.set(new StateWrapper(decode(last), last.getIndex()));
+		}
+	}
+
+	@Override
+	protected Mono<Void> doPreStartReactively() {
+		return Mono.fromRunnable(() -> doStart());
+	}
+
+	protected void doStart() {
+		transport.register(nodeId, handler);
+		if (!isPrimary()) {
+			try {
+				synchronized (applyLock) {
+					catchUp();
+				}
+			} catch (Exception e) {
+				log.warn("Unable to catch up from primary " + primaryNodeId, e);
+			}
+		}
+		StateMachine<S, E> stateMachine = null;
+		synchronized (joinLock) {
+			while ((stateMachine = joinQueue.poll()) != null) {
+				joined.add(stateMachine);
+			}
+		}
+		StateWrapper stateWrapper = stateRef.get();
+		synchronized (joinLock) {
+			for (StateMachine<S, E> machine : joined) {
+				notifyJoined(machine, stateWrapper != null ? stateWrapper.context : null);
+			}
+		}
+	}
+
+	@Override
+	protected Mono<Void> doPreStopReactively() {
+		return Mono.fromRunnable(() -> transport.unregister(nodeId));
+	}
+
+	@Override
+	protected void doDestroy() {
+		replicatedLog.close();
+	}
+
+	@Override
+	public void join(StateMachine<S, E> stateMachine) {
+		if (!isRunning()) {
+			joinQueue.add(stateMachine);
+		} else {
+			StateWrapper stateWrapper = stateRef.get();
+			synchronized (joinLock) {
+				joined.add(stateMachine);
+			}
+			notifyJoined(stateMachine, stateWrapper != null ? stateWrapper.context : null);
+		}
+	}
+
+	@Override
+	public void leave(StateMachine<S, E> stateMachine) {
+		boolean removed = false;
+		synchronized (joinLock) {
+			removed = joined.remove(stateMachine);
+		}
+		if (removed) {
+			StateWrapper stateWrapper = stateRef.get();
+			notifyLeft(stateMachine, stateWrapper != null ? stateWrapper.context : null);
+		}
+	}
+
+	@Override
+	public void setState(StateMachineContext<S, E> context) {
+		if (log.isDebugEnabled()) {
+			log.debug("Setting state context=" + context);
+		}
+		byte[] data;
+		try {
+			data = serialisationService.serialiseStateMachineContext(context);
+		} catch (Exception e) {
+			throw new StateMachineException("Error serialising context", e);
+		}
+		StateWrapper stateWrapper = stateRef.get();
+		long expectedIndex = stateWrapper != null ? stateWrapper.index : 0;
+		if (isPrimary()) {
+			handler.handleAppend(expectedIndex, data);
+		} else {
+			transport.append(primaryNodeId, expectedIndex, data);
+		}
+	}
+
+	@Override
+	public StateMachineContext<S, E> getState() {
+		StateWrapper stateWrapper = stateRef.get();
+		return stateWrapper != null ? stateWrapper.context : null;
+	}
+
+	@Override
+	public StateMachine<S, E> getLeader() {
+		return null;
+	}
+
+	/**
+	 * Checks if this node is a primary.
+	 *
+	 * @return true, if this node is a primary
+	 */
+	public boolean isPrimary() {
+		return nodeId.equals(primaryNodeId);
+	}
+
+	@Override
+	public String toString() {
+		return "ReplicatedLogStateMachineEnsemble [nodeId=" + nodeId + ", primaryNodeId=" + primaryNodeId + "]";
+	}
+
+	/**
+	 * Read missed entries from a primary. Must be called with {@code applyLock}.
+	 */
+	private void catchUp() {
+		List<ReplicatedLogEntry> entries;
+		do {
+			entries = transport.read(primaryNodeId, replicatedLog.getLastIndex() + 1);
+			for (ReplicatedLogEntry entry : entries) {
+				apply(entry);
+			}
+		} while (!entries.isEmpty());
+	}
+
+	/**
+	 * Append and apply an entry into a local log. Must be called
+	 * with {@code applyLock}.
+	 */
+	private void apply(ReplicatedLogEntry entry) {
+		long lastIndex = replicatedLog.getLastIndex();
+		if (entry.getIndex() <= lastIndex) {
+			return;
+		}
+		if (lastIndex > 0 && entry.getIndex() > lastIndex + 1) {
+			// primary has already dropped entries we've not seen, so
+			// start over from what it has and let listeners know
+			notifyError(new StateMachineEnsembleException("Current index behind more than retained log"));
+			replicatedLog.clear();
+		}
+		replicatedLog.append(entry);
+		StateMachineContext<S, E> context = decode(entry);
+		stateRef.set(new StateWrapper(context, entry.getIndex()));
+		notifyStateChanged(context);
+	}
+
+	private StateMachineContext<S, E> decode(ReplicatedLogEntry entry) {
+		try {
+			return serialisationService.deserialiseStateMachineContext(entry.getData());
+		} catch (Exception e) {
+			throw new StateMachineException("Error deserialising entry " + entry, e);
+		}
+	}
+
+	private class LocalReplicatedLogHandler implements ReplicatedLogHandler {
+
+		@Override
+		public long handleAppend(long expectedIndex, byte[] data) {
+			if (!isPrimary()) {
+				throw new StateMachineEnsembleException("Node " + nodeId + " is not a primary");
+			}
+			ReplicatedLogEntry entry;
+			synchronized (appendLock) {
+				synchronized (applyLock) {
+					long lastIndex = replicatedLog.getLastIndex();
+					if (expectedIndex != lastIndex) {
+						throw new StateMachineException("Expected index " + expectedIndex + " but log is at " + lastIndex);
+					}
+					entry = new ReplicatedLogEntry(lastIndex + 1, data);
+					apply(entry);
+				}
+				// replicate in order while holding an append lock, failing
+				// backups will catch up later when they notice a gap
+				for (String id : nodeIds) {
+					if (!id.equals(nodeId)) {
+						try {
+							transport.replicate(id, entry);
+						} catch (Exception e) {
+							log.warn("Unable to replicate " + entry + " into node " + id, e);
+						}
+					}
+				}
+			}
+			return entry.getIndex();
+		}
+
+		@Override
+		public void handleReplicate(ReplicatedLogEntry entry) {
+			synchronized (applyLock) {
+				long lastIndex = replicatedLog.getLastIndex();
+				if (lastIndex > 0 && entry.getIndex() > lastIndex + 1) {
+					if (log.isDebugEnabled()) {
+						log.debug("Entries missed, trying to catch up from " + (lastIndex + 1));
+					}
+					catchUp();
+				}
+				apply(entry);
+			}
+		}
+
+		@Override
+		public List<ReplicatedLogEntry> handleRead(long fromIndex) {
+			return replicatedLog.read(fromIndex, DEFAULT_READ_BATCH);
+		}
+	}
+
+	/**
+	 * Wrapper object for a {@link StateMachineContext} and its
+	 * log index.
+	 */
+	private class StateWrapper {
+		private final StateMachineContext<S, E> context;
+		private final long index;
+
+		public StateWrapper(StateMachineContext<S, E> context, long index) {
+			this.context = context;
+			this.index = index;
+		}
+
+		@Override
+		public String toString() {
+			return "StateWrapper [context=" + context + ", index=" + index + "]";
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+import java.util.List;
+
+/**
+ * {@code ReplicatedLogTransport} is a contract for exchanging replicated log
+ * requests between nodes identified by a node id. Calls are synchronous and
+ * implementations should throw a
+ * {@link org.springframework.statemachine.ensemble.StateMachineEnsembleException}
+ * if a node cannot be reached.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public interface ReplicatedLogTransport {
+
+	/**
+	 * Register a handler for a node.
+	 *
+	 * @param nodeId the node id
+	 * @param handler the handler
+	 */
+	void register(String nodeId, ReplicatedLogHandler handler);
+
+	/**
+	 * Unregister a handler for a node.
+	 *
+	 * @param nodeId the node id
+	 */
+	void unregister(String nodeId);
+
+	/**
+	 * Request a node to append data.
+	 *
+	 * @param nodeId the node id
+	 * @param expectedIndex the last index known by a requester
+	 * @param data the data
+	 * @return the index of the appended entry
+	 * @see ReplicatedLogHandler#handleAppend(long, byte[])
+	 */
+	long append(String nodeId, long expectedIndex, byte[] data);
+
+	/**
+	 * Replicate an entry into a node.
+	 *
+	 * @param nodeId the node id
+	 * @param entry the entry
+	 * @see ReplicatedLogHandler#handleReplicate(ReplicatedLogEntry)
+	 */
+	void replicate(String nodeId, ReplicatedLogEntry entry);
+
+	/**
+	 * Read entries from a node.
+	 *
+	 * @param nodeId the node id
+	 * @param fromIndex the index to start from
+	 * @return the entries
+	 * @see ReplicatedLogHandler#handleRead(long)
+	 */
+	List<ReplicatedLogEntry> read(String nodeId, long fromIndex);
+}
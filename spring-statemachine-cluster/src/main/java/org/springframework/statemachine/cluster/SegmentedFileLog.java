@@ -0,0 +1,342 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.statemachine.ensemble.StateMachineEnsembleException;
+import org.springframework.util.Assert;
+
+/**
+ * Append only log stored in segment files within a directory. Every segment
+ * file is named by the index of its first entry and a new segment is rolled
+ * when the active one grows over a maximum size. Only a configured amount of
+ * segments is retained and older ones are deleted.
+ * <p>
+ * Each record is written as {@code length}, {@code index}, {@code crc} and
+ * {@code data}. Partially written records found during recovery are
+ * truncated away.
+ * <p>
+ * A file of an active segment is kept open for appends until a segment is
+ * rolled or log is closed.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class SegmentedFileLog implements Closeable {
+
+	private final static Log log = LogFactory.getLog(SegmentedFileLog.class);
+	private final static String SUFFIX = ".log";
+	private final static int HEADER_SIZE = 4 + 8 + 4;
+	private final static long DEFAULT_MAX_SEGMENT_SIZE = 1024 * 1024;
+	private final static int DEFAULT_MAX_SEGMENTS = 8;
+	private final File directory;
+	private final long maxSegmentSize;
+	private final int maxSegments;
+	private final List<Segment> segments = new ArrayList<>();
+	private boolean syncOnAppend = false;
+	private RandomAccessFile activeFile;
+
+	/**
+	 * Instantiates a new segmented file log.
+	 *
+	 * @param directory the log directory
+	 */
+	public SegmentedFileLog(File directory) {
+		this(directory, DEFAULT_MAX_SEGMENT_SIZE, DEFAULT_MAX_SEGMENTS);
+	}
+
+	/**
+	 * Instantiates a new segmented file log.
+	 *
+	 * @param directory the log directory
+	 * @param maxSegmentSize the maximum size of a segment in bytes
+	 * @param maxSegments the maximum number of retained segments
+	 */
+	public SegmentedFileLog(File directory, long maxSegmentSize, int maxSegments) {
+		Assert.notNull(directory, "Log directory must be set");
+		Assert.isTrue(maxSegmentSize > 0, "Max segment size must be positive");
+		Assert.isTrue(maxSegments > 0, "Max segments must be positive");
+		this.directory = directory;
+		this.maxSegmentSize = maxSegmentSize;
+		this.maxSegments = maxSegments;
+		recover();
+	}
+
+	/**
+	 * Sets if every append should be synced into a storage device.
+	 * Defaults to {@code false}.
+	 *
+	 * @param syncOnAppend the new sync on append flag
+	 */
+	public void setSyncOnAppend(boolean syncOnAppend) {
+		this.syncOnAppend = syncOnAppend;
+	}
+
+	/**
+	 * Append an entry. Entry index needs to follow a last index of a log
+	 * unless log is empty.
+	 *
+	 * @param entry the entry
+	 */
+	public synchronized void append(ReplicatedLogEntry entry) {
+		long lastIndex = getLastIndex();
+		if (lastIndex > 0 && entry.getIndex() != lastIndex + 1) {
+			throw new StateMachineEnsembleException("Entry index " + entry.getIndex() + " doesn't follow " + lastIndex);
+		}
+		try {
+			Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+			if (segment == null || segment.size >= maxSegmentSize) {
+				segment = roll(entry.getIndex());
+			}
+			byte[] data = entry.getData();
+			CRC32 crc = new CRC32();
+			crc.update(data);
+			ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + data.length);
+			record.putInt(data.length);
+			record.putLong(entry.getIndex());
+			record.putInt((int) crc.getValue());
+			record.put(data);
+			if (activeFile == null) {
+				activeFile = new RandomAccessFile(segment.file, "rw");
+			}
+			activeFile.seek(segment.size);
+			activeFile.write(record.array());
+			if (syncOnAppend) {
+				activeFile.getFD().sync();
+			}
+			segment.offsets.add(segment.size);
+			segment.size += HEADER_SIZE + data.length;
+		} catch (IOException e) {
+			throw new StateMachineEnsembleException("Error appending entry " + entry, e);
+		}
+	}
+
+	/**
+	 * Read entries starting from a given index. If index is older than
+	 * a first retained entry, reading starts from a first entry.
+	 *
+	 * @param fromIndex the index to start from
+	 * @param max the maximum number of entries to read
+	 * @return the entries
+	 */
+	public synchronized List<ReplicatedLogEntry> read(long fromIndex, int max) {
+		List<ReplicatedLogEntry> entries = new ArrayList<>();
+		long index = Math.max(fromIndex, getFirstIndex());
+		try {
+			for (Segment segment : segments) {
+				if (entries.size() >= max) {
+					break;
+				}
+				long last = segment.baseIndex + segment.offsets.size() - 1;
+				if (index > last) {
+					continue;
+				}
+				try (RandomAccessFile file = new RandomAccessFile(segment.file, "r")) {
+					for (long i = index; i <= last && entries.size() < max; i++) {
+						file.seek(segment.offsets.get((int) (i - segment.baseIndex)));
+						ReplicatedLogEntry entry = readRecord(file);
+						if (entry == null) {
+							throw new IOException("Corrupted record " + i + " in " + segment.file);
+						}
+						entries.add(entry);
+					}
+				}
+				index = last + 1;
+			}
+		} catch (IOException e) {
+			throw new StateMachineEnsembleException("Error reading entries from " + fromIndex, e);
+		}
+		return entries;
+	}
+
+	/**
+	 * Gets the last entry.
+	 *
+	 * @return the last entry or {@code NULL} if log is empty
+	 */
+	public synchronized ReplicatedLogEntry getLast() {
+		long lastIndex = getLastIndex();
+		if (lastIndex == 0) {
+			return null;
+		}
+		List<ReplicatedLogEntry> entries = read(lastIndex, 1);
+		return entries.isEmpty() ? null : entries.get(0);
+	}
+
+	/**
+	 * Gets the index of a first retained entry.
+	 *
+	 * @return the first index or {@code 0} if log is empty
+	 */
+	public synchronized long getFirstIndex() {
+		for (Segment segment : segments) {
+			if (!segment.offsets.isEmpty()) {
+				return segment.baseIndex;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Gets the index of a last entry.
+	 *
+	 * @return the last index or {@code 0} if log is empty
+	 */
+	public synchronized long getLastIndex() {
+		for (int i = segments.size() - 1; i >= 0; i--) {
+			Segment segment = segments.get(i);
+			if (!segment.offsets.isEmpty()) {
+				return segment.baseIndex + segment.offsets.size() - 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Delete all segments.
+	 */
+	public synchronized void clear() {
+		closeActiveFile();
+		for (Segment segment : segments) {
+			if (!segment.file.delete()) {
+				log.warn("Unable to delete segment " + segment.file);
+			}
+		}
+		segments.clear();
+	}
+
+	/**
+	 * Close a file of an active segment. Log can still be used after closing
+	 * and a file is opened again on a next append.
+	 */
+	@Override
+	public synchronized void close() {
+		closeActiveFile();
+	}
+
+	private void closeActiveFile() {
+		if (activeFile != null) {
+			try {
+				activeFile.close();
+			} catch (IOException e) {
+				log.warn("Unable to close active segment", e);
+			}
+			activeFile = null;
+		}
+	}
+
+	private Segment roll(long baseIndex) {
+		closeActiveFile();
+		Segment segment = new Segment(new File(directory, String.format("%020d", baseIndex) + SUFFIX), baseIndex);
+		segments.add(segment);
+		while (segments.size() > maxSegments) {
+			Segment removed = segments.remove(0);
+			if (!removed.file.delete()) {
+				log.warn("Unable to delete segment " + removed.file);
+			}
+		}
+		return segment;
+	}
+
+	private void recover() {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new StateMachineEnsembleException("Unable to create log directory " + directory);
+		}
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+		if (files == null) {
+			return;
+		}
+		Arrays.sort(files);
+		for (File f : files) {
+			long baseIndex = Long.parseLong(f.getName().substring(0, f.getName().length() - SUFFIX.length()));
+			Segment segment = new Segment(f, baseIndex);
+			try (RandomAccessFile file = new RandomAccessFile(f, "rw")) {
+				long position = 0;
+				while (position < file.length()) {
+					file.seek(position);
+					ReplicatedLogEntry entry;
+					try {
+						entry = readRecord(file);
+					} catch (IOException e) {
+						entry = null;
+					}
+					if (entry == null || entry.getIndex() != baseIndex + segment.offsets.size()) {
+						log.warn("Truncating segment " + f + " at position " + position);
+						file.setLength(position);
+						break;
+					}
+					segment.offsets.add(position);
+					position = file.getFilePointer();
+				}
+				segment.size = position;
+			} catch (IOException e) {
+				throw new StateMachineEnsembleException("Error recovering segment " + f, e);
+			}
+			if (segment.offsets.isEmpty()) {
+				if (!f.delete()) {
+					log.warn("Unable to delete empty segment " + f);
+				}
+			} else {
+				segments.add(segment);
+			}
+		}
+	}
+
+	private static ReplicatedLogEntry readRecord(RandomAccessFile file) throws IOException {
+		int length = file.readInt();
+		long index = file.readLong();
+		int checksum = file.readInt();
+		if (length < 0 || length > file.length() - file.getFilePointer()) {
+			return null;
+		}
+		byte[] data = new byte[length];
+		file.readFully(data);
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		if ((int) crc.getValue() != checksum) {
+			return null;
+		}
+		return new ReplicatedLogEntry(index, data);
+	}
+
+	@Override
+	public String toString() {
+		return "SegmentedFileLog [directory=" + directory + ", segments=" + segments.size() + "]";
+	}
+
+	private static class Segment {
+		final File file;
+		final long baseIndex;
+		final List<Long> offsets = new ArrayList<>();
+		long size;
+
+		Segment(File file, long baseIndex) {
+			this.file = file;
+			this.baseIndex = baseIndex;
+		}
+	}
+}
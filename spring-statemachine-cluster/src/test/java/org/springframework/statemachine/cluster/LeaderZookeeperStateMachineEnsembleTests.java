@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2020 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,12 +21,19 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.data.Stat;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
 import org.springframework.statemachine.config.EnableStateMachineFactory;
 import org.springframework.statemachine.config.StateMachineConfigurerAdapter;
 import org.springframework.statemachine.config.StateMachineFactory;
@@ -35,6 +42,10 @@ import org.springframework.statemachine.config.builders.StateMachineStateConfigu
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
 import org.springframework.statemachine.ensemble.EnsembleListenerAdapter;
 import org.springframework.statemachine.ensemble.StateMachineEnsemble;
+import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+import org.springframework.statemachine.state.State;
+
+import reactor.core.publisher.Mono;
 
 public class LeaderZookeeperStateMachineEnsembleTests extends AbstractZookeeperTests {
 
@@ -65,6 +76,110 @@ public class LeaderZookeeperStateMachineEnsembleTests extends AbstractZookeeperT
 		assertThat(stateMachineEnsemble.getLeader()).isEqualTo(machine2);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFollowerForwardsToLeader() throws Exception {
+		context.register(ZkServerConfig.class, BaseConfig.class, Config2.class);
+		context.refresh();
+
+		StateMachineFactory<String, String> factory = context.getBean(StateMachineFactory.class);
+		StateMachineEnsemble<String, String> stateMachineEnsemble = context.getBean(StateMachineEnsemble.class);
+		TestEnsembleListener listener = context.getBean(TestEnsembleListener.class);
+
+		StateMachine<String, String> machine1 = factory.getStateMachine();
+		assertThat(listener.latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(stateMachineEnsemble.getLeader()).isEqualTo(machine1);
+		StateMachine<String, String> machine2 = factory.getStateMachine();
+		assertThat(machine2.getState().getIds()).containsExactly("S1");
+
+		TestStateMachineListener listener1 = new TestStateMachineListener();
+		TestStateMachineListener listener2 = new TestStateMachineListener();
+		machine1.addStateListener(listener1);
+		machine2.addStateListener(listener2);
+
+		StateMachineEventResult<String, String> result = machine2
+				.sendEvent(Mono.just(MessageBuilder.withPayload("E1").build())).blockLast();
+		assertThat(result.getResultType()).isEqualTo(ResultType.ACCEPTED);
+		assertThat(listener1.latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener2.latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(machine1.getState().getIds()).containsExactly("S2");
+		assertThat(machine2.getState().getIds()).containsExactly("S2");
+
+		result = machine2.sendEvent(Mono.just(MessageBuilder.withPayload("E3").build())).blockLast();
+		assertThat(result.getResultType()).isEqualTo(ResultType.DENIED);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testLeaderNodeSurvivesExpiryOfPreviousLeaderSession() throws Exception {
+		context.register(ZkServerConfig.class, BaseConfig.class, Config2.class);
+		context.refresh();
+
+		// node left by a previous leader whose session is not yet expired
+		TestingServerWrapper testingServerWrapper = context.getBean(TestingServerWrapper.class);
+		CuratorFramework previousClient = CuratorFrameworkFactory.builder()
+				.retryPolicy(new ExponentialBackoffRetry(1000, 3))
+				.connectString("localhost:" + testingServerWrapper.getPort()).build();
+		previousClient.start();
+		previousClient.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL)
+				.forPath("/foo/leaderid", "previous".getBytes());
+
+		StateMachineFactory<String, String> factory = context.getBean(StateMachineFactory.class);
+		StateMachineEnsemble<String, String> stateMachineEnsemble = context.getBean(StateMachineEnsemble.class);
+		TestEnsembleListener listener = context.getBean(TestEnsembleListener.class);
+		CuratorFramework curatorClient = context.getBean(CuratorFramework.class);
+
+		StateMachine<String, String> machine1 = factory.getStateMachine();
+		assertThat(listener.latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(stateMachineEnsemble.getLeader()).isEqualTo(machine1);
+		StateMachine<String, String> machine2 = factory.getStateMachine();
+
+		// closing a session deletes its ephemeral nodes same way as expiry
+		previousClient.close();
+
+		Stat stat = curatorClient.checkExists().forPath("/foo/leaderid");
+		assertThat(stat).isNotNull();
+		assertThat(stat.getEphemeralOwner())
+				.isEqualTo(curatorClient.getZookeeperClient().getZooKeeper().getSessionId());
+		StateMachineEventResult<String, String> result = machine2
+				.sendEvent(Mono.just(MessageBuilder.withPayload("E1").build())).blockLast();
+		assertThat(result.getResultType()).isEqualTo(ResultType.ACCEPTED);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testForwardedEventIsNotForwardedAgain() throws Exception {
+		context.register(ZkServerConfig.class, BaseConfig.class, Config2.class);
+		context.refresh();
+
+		StateMachineFactory<String, String> factory = context.getBean(StateMachineFactory.class);
+		StateMachineEnsemble<String, String> stateMachineEnsemble = context.getBean(StateMachineEnsemble.class);
+		TestEnsembleListener listener = context.getBean(TestEnsembleListener.class);
+		InMemoryEnsembleEventTransport<String> transport = context.getBean(InMemoryEnsembleEventTransport.class);
+
+		StateMachine<String, String> machine1 = factory.getStateMachine();
+		assertThat(listener.latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(stateMachineEnsemble.getLeader()).isEqualTo(machine1);
+		StateMachine<String, String> machine2 = factory.getStateMachine();
+
+		// member which forwarded into machine2 had a stale view of a leader
+		ResultType resultType = transport.send(machine2.getUuid().toString(),
+				MessageBuilder.withPayload("E1").build()).block();
+		assertThat(resultType).isEqualTo(ResultType.DENIED);
+		assertThat(machine1.getState().getIds()).containsExactly("S1");
+	}
+
+	@Test
+	public void testInMemoryTransportUnknownMember() {
+		InMemoryEnsembleEventTransport<String> transport = new InMemoryEnsembleEventTransport<>();
+		transport.register("m1", event -> Mono.just(ResultType.ACCEPTED));
+		assertThat(transport.send("m1", MessageBuilder.withPayload("E1").build()).block())
+				.isEqualTo(ResultType.ACCEPTED);
+		transport.unregister("m1");
+		assertThat(transport.send("m1", MessageBuilder.withPayload("E1").build()).onErrorReturn(ResultType.DENIED)
+				.block()).isEqualTo(ResultType.DENIED);
+	}
+
 	@Configuration
 	@EnableStateMachineFactory
 	static class Config1 extends StateMachineConfigurerAdapter<String, String> {
@@ -121,6 +236,39 @@ public class LeaderZookeeperStateMachineEnsembleTests extends AbstractZookeeperT
 
 	}
 
+	@Configuration
+	@EnableStateMachineFactory
+	static class Config2 extends Config1 {
+
+		@Autowired
+		private CuratorFramework curatorClient;
+
+		@Override
+		@Bean
+		public StateMachineEnsemble<String, String> stateMachineEnsemble() throws Exception {
+			LeaderZookeeperStateMachineEnsemble<String,String> ensemble = new LeaderZookeeperStateMachineEnsemble<String, String>(curatorClient, "/foo");
+			ensemble.setEventTransport(eventTransport());
+			ensemble.addEnsembleListener(testEnsembleListener());
+			return ensemble;
+		}
+
+		@Bean
+		public InMemoryEnsembleEventTransport<String> eventTransport() {
+			return new InMemoryEnsembleEventTransport<>();
+		}
+	}
+
+	static class TestStateMachineListener extends StateMachineListenerAdapter<String, String> {
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		@Override
+		public void stateChanged(State<String, String> from, State<String, String> to) {
+			if (to != null && to.getId().equals("S2")) {
+				latch.countDown();
+			}
+		}
+	}
+
 	static class TestEnsembleListener extends EnsembleListenerAdapter<String, String> {
 		CountDownLatch latch = new CountDownLatch(1);
 
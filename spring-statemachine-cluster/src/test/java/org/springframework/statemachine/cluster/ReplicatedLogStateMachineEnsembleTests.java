@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachineException;
+import org.springframework.statemachine.ensemble.EnsembleListenerAdapter;
+import org.springframework.statemachine.support.DefaultExtendedState;
+import org.springframework.statemachine.support.DefaultStateMachineContext;
+
+public class ReplicatedLogStateMachineEnsembleTests {
+
+	private static final List<String> NODES = Arrays.asList("n1", "n2", "n3");
+
+	@TempDir
+	File directory;
+
+	@Test
+	public void testReplicateToAllNodes() throws Exception {
+		InMemoryReplicatedLogTransport transport = new InMemoryReplicatedLogTransport();
+		ReplicatedLogStateMachineEnsemble<String, String> ensemble1 = ensemble("n1", transport);
+		ReplicatedLogStateMachineEnsemble<String, String> ensemble2 = ensemble("n2", transport);
+		ReplicatedLogStateMachineEnsemble<String, String> ensemble3 = ensemble("n3", transport);
+		TestEnsembleListener listener1 = new TestEnsembleListener();
+		TestEnsembleListener listener3 = new TestEnsembleListener();
+		ensemble1.addEnsembleListener(listener1);
+		ensemble3.addEnsembleListener(listener3);
+
+		ensemble2.setState(context("S1", "E1"));
+		ensemble3.setState(context("S2", "E2"));
+
+		assertThat(listener1.events).containsExactly("E1", "E2");
+		assertThat(listener3.events).containsExactly("E1", "E2");
+		assertThat(ensemble1.getState().getState()).isEqualTo("S2");
+		assertThat(ensemble2.getState().getState()).isEqualTo("S2");
+		assertThat(ensemble3.getState().getState()).isEqualTo("S2");
+	}
+
+	@Test
+	public void testStaleWriteRejected() throws Exception {
+		InMemoryReplicatedLogTransport transport = new InMemoryReplicatedLogTransport();
+		ReplicatedLogStateMachineEnsemble<String, String> ensemble1 = ensemble("n1", transport);
+		ensemble("n2", transport);
+
+		ensemble1.setState(context("S1", "E1"));
+		assertThatThrownBy(() -> transport.append("n1", 0, new byte[0])).isInstanceOf(StateMachineException.class);
+	}
+
+	@Test
+	public void testBackupCatchesUpAfterRestart() throws Exception {
+		InMemoryReplicatedLogTransport transport = new InMemoryReplicatedLogTransport();
+		ReplicatedLogStateMachineEnsemble<String, String> ensemble1 = ensemble("n1", transport);
+		ReplicatedLogStateMachineEnsemble<String, String> ensemble2 = ensemble("n2", transport);
+
+		ensemble1.setState(context("S1", "E1"));
+		ensemble2.stop();
+		ensemble1.setState(context("S2", "E2"));
+		ensemble1.setState(context("S3", "E3"));
+
+		ReplicatedLogStateMachineEnsemble<String, String> restarted = ensemble("n2", transport);
+		assertThat(restarted.getState().getState()).isEqualTo("S3");
+		assertThat(new SegmentedFileLog(new File(directory, "n2")).getLastIndex()).isEqualTo(3);
+	}
+
+	private ReplicatedLogStateMachineEnsemble<String, String> ensemble(String nodeId,
+			InMemoryReplicatedLogTransport transport) throws Exception {
+		ReplicatedLogStateMachineEnsemble<String, String> ensemble = new ReplicatedLogStateMachineEnsemble<>(nodeId,
+				"n1", NODES, transport, new SegmentedFileLog(new File(directory, nodeId)));
+		ensemble.afterPropertiesSet();
+		ensemble.start();
+		return ensemble;
+	}
+
+	private static StateMachineContext<String, String> context(String state, String event) {
+		return new DefaultStateMachineContext<String, String>(state, event, new HashMap<String, Object>(),
+				new DefaultExtendedState());
+	}
+
+	private static class TestEnsembleListener extends EnsembleListenerAdapter<String, String> {
+
+		final List<String> events = new ArrayList<>();
+
+		@Override
+		public void stateChanged(StateMachineContext<String, String> context) {
+			events.add(context.getEvent());
+		}
+	}
+}
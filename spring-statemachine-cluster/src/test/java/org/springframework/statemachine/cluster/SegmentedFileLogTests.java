@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.statemachine.ensemble.StateMachineEnsembleException;
+
+public class SegmentedFileLogTests {
+
+	@TempDir
+	File directory;
+
+	@Test
+	public void testAppendAndRead() {
+		SegmentedFileLog log = new SegmentedFileLog(directory);
+		assertThat(log.getLastIndex()).isEqualTo(0);
+		assertThat(log.getLast()).isNull();
+
+		log.append(entry(1, "a"));
+		log.append(entry(2, "b"));
+		log.append(entry(3, "c"));
+
+		assertThat(log.getFirstIndex()).isEqualTo(1);
+		assertThat(log.getLastIndex()).isEqualTo(3);
+		List<ReplicatedLogEntry> entries = log.read(2, 10);
+		assertThat(entries).hasSize(2);
+		assertThat(new String(entries.get(0).getData(), StandardCharsets.UTF_8)).isEqualTo("b");
+		assertThat(new String(log.getLast().getData(), StandardCharsets.UTF_8)).isEqualTo("c");
+		assertThatThrownBy(() -> log.append(entry(5, "e"))).isInstanceOf(StateMachineEnsembleException.class);
+	}
+
+	@Test
+	public void testRollAndRetain() {
+		SegmentedFileLog log = new SegmentedFileLog(directory, 1, 2);
+		for (int i = 1; i <= 5; i++) {
+			log.append(entry(i, "x" + i));
+		}
+		assertThat(directory.listFiles()).hasSize(2);
+		assertThat(log.getFirstIndex()).isEqualTo(4);
+		assertThat(log.getLastIndex()).isEqualTo(5);
+		assertThat(log.read(1, 10)).extracting(ReplicatedLogEntry::getIndex).containsExactly(4L, 5L);
+	}
+
+	@Test
+	public void testRecoverTruncatesPartialRecord() throws Exception {
+		SegmentedFileLog log = new SegmentedFileLog(directory);
+		log.append(entry(1, "a"));
+		log.append(entry(2, "b"));
+
+		File segment = directory.listFiles()[0];
+		try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+			file.setLength(file.length() - 1);
+		}
+
+		SegmentedFileLog recovered = new SegmentedFileLog(directory);
+		assertThat(recovered.getLastIndex()).isEqualTo(1);
+		recovered.append(entry(2, "c"));
+		assertThat(new String(recovered.getLast().getData(), StandardCharsets.UTF_8)).isEqualTo("c");
+	}
+
+	@Test
+	public void testAppendAfterClose() {
+		SegmentedFileLog log = new SegmentedFileLog(directory);
+		log.append(entry(1, "a"));
+		log.close();
+		log.append(entry(2, "b"));
+		log.close();
+
+		SegmentedFileLog recovered = new SegmentedFileLog(directory);
+		assertThat(recovered.read(1, 10)).extracting(ReplicatedLogEntry::getIndex).containsExactly(1L, 2L);
+		recovered.close();
+	}
+
+	private static ReplicatedLogEntry entry(long index, String data) {
+		return new ReplicatedLogEntry(index, data.getBytes(StandardCharsets.UTF_8));
+	}
+}
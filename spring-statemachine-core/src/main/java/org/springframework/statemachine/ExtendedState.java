@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.springframework.statemachine;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Extended states are used to supplement state machine with a variables. If
@@ -44,6 +45,109 @@ public interface ExtendedState {
 	 */
 	<T> T get(Object key, Class<T> type);
 
+	/**
+	 * Gets a typed {@code int} variable. Default implementation reads a
+	 * variable from {@link #getVariables()} using a key name.
+	 *
+	 * @param key the variable key
+	 * @return the value or {@code 0} if variable is not set
+	 */
+	default int getInt(ExtendedStateKey<Integer> key) {
+		Object value = getVariables().get(key.getName());
+		return value != null ? ((Number) value).intValue() : 0;
+	}
+
+	/**
+	 * Sets a typed {@code int} variable. Default implementation puts a
+	 * variable into {@link #getVariables()} using a key name.
+	 *
+	 * @param key the variable key
+	 * @param value the value
+	 */
+	default void setInt(ExtendedStateKey<Integer> key, int value) {
+		getVariables().put(key.getName(), value);
+	}
+
+	/**
+	 * Gets a typed {@code long} variable. Default implementation reads a
+	 * variable from {@link #getVariables()} using a key name.
+	 *
+	 * @param key the variable key
+	 * @return the value or {@code 0} if variable is not set
+	 */
+	default long getLong(ExtendedStateKey<Long> key) {
+		Object value = getVariables().get(key.getName());
+		return value != null ? ((Number) value).longValue() : 0L;
+	}
+
+	/**
+	 * Sets a typed {@code long} variable. Default implementation puts a
+	 * variable into {@link #getVariables()} using a key name.
+	 *
+	 * @param key the variable key
+	 * @param value the value
+	 */
+	default void setLong(ExtendedStateKey<Long> key, long value) {
+		getVariables().put(key.getName(), value);
+	}
+
+	/**
+	 * Gets a typed {@code double} variable. Default implementation reads a
+	 * variable from {@link #getVariables()} using a key name.
+	 *
+	 * @param key the variable key
+	 * @return the value or {@code 0} if variable is not set
+	 */
+	default double getDouble(ExtendedStateKey<Double> key) {
+		Object value = getVariables().get(key.getName());
+		return value != null ? ((Number) value).doubleValue() : 0d;
+	}
+
+	/**
+	 * Sets a typed {@code double} variable. Default implementation puts a
+	 * variable into {@link #getVariables()} using a key name.
+	 *
+	 * @param key the variable key
+	 * @param value the value
+	 */
+	default void setDouble(ExtendedStateKey<Double> key, double value) {
+		getVariables().put(key.getName(), value);
+	}
+
+	/**
+	 * Gets a typed {@code boolean} variable. Default implementation reads a
+	 * variable from {@link #getVariables()} using a key name.
+	 *
+	 * @param key the variable key
+	 * @return the value or {@code false} if variable is not set
+	 */
+	default boolean getBoolean(ExtendedStateKey<Boolean> key) {
+		Object value = getVariables().get(key.getName());
+		return value != null ? (Boolean) value : false;
+	}
+
+	/**
+	 * Sets a typed {@code boolean} variable. Default implementation puts a
+	 * variable into {@link #getVariables()} using a key name.
+	 *
+	 * @param key the variable key
+	 * @param value the value
+	 */
+	default void setBoolean(ExtendedStateKey<Boolean> key, boolean value) {
+		getVariables().put(key.getName(), value);
+	}
+
+	/**
+	 * Updates extended state variables in a batch. Changes done within a
+	 * given updater are notified once after updater returns instead of
+	 * notifying every single change.
+	 *
+	 * @param updater the variables updater
+	 */
+	default void update(Consumer<Map<Object, Object>> updater) {
+		updater.accept(getVariables());
+	}
+
 	/**
 	 * Sets the extended state change listener.
 	 *
@@ -64,6 +168,26 @@ public interface ExtendedState {
 		 */
 		void changed(Object key, Object value);
 
+		/**
+		 * Called when extended state variables have been changed in a batch.
+		 * Default implementation calls {@link #changed(Object, Object)} for
+		 * every change.
+		 *
+		 * @param changes the changed keys and values
+		 */
+		default void changed(Map<Object, Object> changes) {
+			changes.forEach(this::changed);
+		}
+
+		/**
+		 * Checks if changes need to be notified at all, allowing extended
+		 * state to skip change detection if nobody is listening.
+		 *
+		 * @return true, if changes need to be notified
+		 */
+		default boolean isNotificationRequired() {
+			return true;
+		}
 	}
 
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine;
+
+/**
+ * Key for a typed primitive {@link ExtendedState} variable. Keys are declared
+ * in {@link ExtendedStateKeys} of a machine model and every key gets a slot
+ * index within its {@link Kind}, which allows an extended state to keep
+ * values in primitive arrays instead of boxing those into a map. A value of a
+ * key is still visible in {@link ExtendedState#getVariables()} using a key
+ * name.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <T> the type of a variable
+ */
+public final class ExtendedStateKey<T> {
+
+	private final ExtendedStateKeys keys;
+	private final String name;
+	private final Kind kind;
+	private final int slot;
+
+	ExtendedStateKey(ExtendedStateKeys keys, String name, Kind kind, int slot) {
+		this.keys = keys;
+		this.name = name;
+		this.kind = kind;
+		this.slot = slot;
+	}
+
+	/**
+	 * Gets the keys this key is declared in.
+	 *
+	 * @return the declaring keys
+	 */
+	public ExtendedStateKeys getKeys() {
+		return keys;
+	}
+
+	/**
+	 * Gets the variable name.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the variable kind.
+	 *
+	 * @return the kind
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Gets the slot index within declared keys of a same kind.
+	 *
+	 * @return the slot index
+	 */
+	public int getSlot() {
+		return slot;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	/**
+	 * Enumeration of supported primitive variable kinds.
+	 */
+	public enum Kind {
+		INT, LONG, DOUBLE, BOOLEAN
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.statemachine.ExtendedStateKey.Kind;
+import org.springframework.util.Assert;
+
+/**
+ * Declarations of typed {@link ExtendedStateKey}s of a machine model. Keys
+ * are declared once per model, usually in a configuration, and every key
+ * gets a slot index within its {@link Kind}. Same instance is given to a
+ * configuration so that extended states of machines built from it can keep
+ * declared variables in slots.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class ExtendedStateKeys {
+
+	private final Map<String, ExtendedStateKey<?>> keys = new ConcurrentHashMap<>();
+	private final List<List<ExtendedStateKey<?>>> slots = new ArrayList<>();
+
+	/**
+	 * Instantiates a new extended state keys.
+	 */
+	public ExtendedStateKeys() {
+		for (int i = 0; i < Kind.values().length; i++) {
+			slots.add(new ArrayList<>());
+		}
+	}
+
+	/**
+	 * Declare a key for an {@code int} variable.
+	 *
+	 * @param name the variable name
+	 * @return the key
+	 */
+	public ExtendedStateKey<Integer> intKey(String name) {
+		return declare(name, Kind.INT);
+	}
+
+	/**
+	 * Declare a key for a {@code long} variable.
+	 *
+	 * @param name the variable name
+	 * @return the key
+	 */
+	public ExtendedStateKey<Long> longKey(String name) {
+		return declare(name, Kind.LONG);
+	}
+
+	/**
+	 * Declare a key for a {@code double} variable.
+	 *
+	 * @param name the variable name
+	 * @return the key
+	 */
+	public ExtendedStateKey<Double> doubleKey(String name) {
+		return declare(name, Kind.DOUBLE);
+	}
+
+	/**
+	 * Declare a key for a {@code boolean} variable.
+	 *
+	 * @param name the variable name
+	 * @return the key
+	 */
+	public ExtendedStateKey<Boolean> booleanKey(String name) {
+		return declare(name, Kind.BOOLEAN);
+	}
+
+	/**
+	 * Declare a key of a given kind. Declaring a key with a same name and kind
+	 * again returns the existing key.
+	 *
+	 * @param <T> the type of a variable
+	 * @param name the variable name
+	 * @param kind the variable kind
+	 * @return the key
+	 * @throws IllegalArgumentException if key is already declared with a different kind
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T> ExtendedStateKey<T> declare(String name, Kind kind) {
+		Assert.hasText(name, "Name must be set");
+		Assert.notNull(kind, "Kind must be set");
+		ExtendedStateKey<?> key = keys.get(name);
+		if (key == null) {
+			List<ExtendedStateKey<?>> kindSlots = slots.get(kind.ordinal());
+			key = new ExtendedStateKey<>(this, name, kind, kindSlots.size());
+			kindSlots.add(key);
+			keys.put(name, key);
+		} else if (key.getKind() != kind) {
+			throw new IllegalArgumentException(
+					"Key '" + name + "' already declared as " + key.getKind() + ", can't redeclare as " + kind);
+		}
+		return (ExtendedStateKey<T>) key;
+	}
+
+	/**
+	 * Gets a key declared with a name.
+	 *
+	 * @param name the variable name
+	 * @return the key or {@code null} if name is not declared
+	 */
+	public ExtendedStateKey<?> get(String name) {
+		return keys.get(name);
+	}
+
+	/**
+	 * Gets a key declared for a slot.
+	 *
+	 * @param kind the variable kind
+	 * @param slot the slot index
+	 * @return the key or {@code null} if slot is not declared
+	 */
+	public synchronized ExtendedStateKey<?> forSlot(Kind kind, int slot) {
+		List<ExtendedStateKey<?>> kindSlots = slots.get(kind.ordinal());
+		return slot < kindSlots.size() ? kindSlots.get(slot) : null;
+	}
+
+	/**
+	 * Gets all declared keys.
+	 *
+	 * @return the keys
+	 */
+	public Collection<ExtendedStateKey<?>> getKeys() {
+		return keys.values();
+	}
+
+	@Override
+	public String toString() {
+		return "ExtendedStateKeys [keys=" + keys.values() + "]";
+	}
+}
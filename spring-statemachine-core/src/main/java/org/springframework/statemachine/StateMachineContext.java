@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,9 +15,12 @@
  */
 package org.springframework.statemachine;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.messaging.Message;
+
 /**
  * {@code StateMachineContext} represents a current state of a state machine.
  *
@@ -83,4 +86,23 @@ public interface StateMachineContext<S, E> {
 	 * @return the extended state
 	 */
 	ExtendedState getExtendedState();
+
+	/**
+	 * Gets the deadlines of armed timers having a count, keyed by a timer
+	 * trigger id and valued as epoch time in milliseconds.
+	 *
+	 * @return the timer deadlines
+	 */
+	default Map<String, Long> getTimerDeadlines() {
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * Gets the events deferred by a machine, in order those were deferred.
+	 *
+	 * @return the deferred events
+	 */
+	default List<Message<E>> getDeferredEvents() {
+		return Collections.emptyList();
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,4 +37,7 @@ public abstract class StateMachineSystemConstants {
 
 	/** Contstant storing errors in a reactor context */
 	public static final String REACTOR_CONTEXT_ERRORS = "stateMachineErrors";
+
+	/** Contstant storing pure guard results in a reactor context */
+	public static final String REACTOR_CONTEXT_GUARD_CACHE = "stateMachineGuardCache";
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2019 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.springframework.statemachine.action;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.springframework.statemachine.StateContext;
@@ -40,4 +41,56 @@ public interface ActionListener<S, E> {
 	 * @param duration the transition duration
 	 */
 	void onExecute(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action, long duration);
+
+	/**
+	 * Notified duration of a particular action in a given time unit. Default
+	 * implementation converts duration into milliseconds and delegates to
+	 * {@link #onExecute(StateMachine, Function, long)}.
+	 *
+	 * @param stateMachine the state machine
+	 * @param action the action
+	 * @param duration the action duration
+	 * @param unit the time unit of a duration
+	 */
+	default void onExecute(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			long duration, TimeUnit unit) {
+		onExecute(stateMachine, action, unit.toMillis(duration));
+	}
+
+	/**
+	 * Notified time a state do action waited in a {@link StateDoActionExecutor}
+	 * queue before it started. Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 * @param action the action
+	 * @param duration the wait duration
+	 * @param unit the time unit of a duration
+	 */
+	default void onDoActionWait(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			long duration, TimeUnit unit) {
+	}
+
+	/**
+	 * Notified when a state do action was rejected by a
+	 * {@link StateDoActionExecutor}. Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 * @param action the action
+	 */
+	default void onDoActionRejected(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action) {
+	}
+
+	/**
+	 * Decorates an execution of a particular action. Default implementation
+	 * returns execution as is.
+	 *
+	 * @param stateMachine the state machine
+	 * @param action the action
+	 * @param execution the action execution
+	 * @return the decorated execution
+	 */
+	default Mono<Void> observe(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			Mono<Void> execution) {
+		return execution;
+	}
 }
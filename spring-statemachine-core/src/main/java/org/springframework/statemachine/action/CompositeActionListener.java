@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2019 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.springframework.statemachine.action;
 
 import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.springframework.statemachine.StateContext;
@@ -43,4 +44,41 @@ public class CompositeActionListener<S, E> extends AbstractCompositeItems<Action
 			listener.onExecute(stateMachine, action, duration);
 		}
 	}
+
+	@Override
+	public void onExecute(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			long duration, TimeUnit unit) {
+		for (Iterator<ActionListener<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			ActionListener<S, E> listener = iterator.next();
+			listener.onExecute(stateMachine, action, duration, unit);
+		}
+	}
+
+	@Override
+	public void onDoActionWait(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			long duration, TimeUnit unit) {
+		for (Iterator<ActionListener<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			ActionListener<S, E> listener = iterator.next();
+			listener.onDoActionWait(stateMachine, action, duration, unit);
+		}
+	}
+
+	@Override
+	public void onDoActionRejected(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action) {
+		for (Iterator<ActionListener<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			ActionListener<S, E> listener = iterator.next();
+			listener.onDoActionRejected(stateMachine, action);
+		}
+	}
+
+	@Override
+	public Mono<Void> observe(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			Mono<Void> execution) {
+		Mono<Void> observed = execution;
+		for (Iterator<ActionListener<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			ActionListener<S, E> listener = iterator.next();
+			observed = listener.observe(stateMachine, action, observed);
+		}
+		return observed;
+	}
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.action;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Executor running state do actions on a {@link Scheduler} with a limit of
+ * concurrently running actions. Actions exceeding a limit wait in a bounded
+ * queue and {@link StateDoActionOverflowPolicy} decides which action is
+ * rejected when a queue is full. A rejected action terminates with a
+ * {@link RejectedExecutionException}.
+ *
+ * <p>Cancelling an action either removes it from a queue or cancels its
+ * execution in which case its slot is given to a next queued action. As a same
+ * executor can be shared between states and machines, it can be used to
+ * bound do actions of a single state or of all machines built from a
+ * configuration.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateDoActionExecutor {
+
+	private final static Log log = LogFactory.getLog(StateDoActionExecutor.class);
+	private final Scheduler scheduler;
+	private final int maxConcurrency;
+	private final int queueCapacity;
+	private final StateDoActionOverflowPolicy overflowPolicy;
+	private final Deque<Task> queue = new ArrayDeque<>();
+	private int running;
+	private final AtomicLong completed = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+
+	/**
+	 * Instantiates a new state do action executor without a concurrency limit.
+	 *
+	 * @param scheduler the scheduler
+	 */
+	public StateDoActionExecutor(Scheduler scheduler) {
+		this(scheduler, Integer.MAX_VALUE, 0, StateDoActionOverflowPolicy.DROP_NEWEST);
+	}
+
+	/**
+	 * Instantiates a new state do action executor using
+	 * {@link Schedulers#parallel()}.
+	 *
+	 * @param maxConcurrency the max number of concurrently running actions
+	 * @param queueCapacity the queue capacity
+	 * @param overflowPolicy the overflow policy
+	 */
+	public StateDoActionExecutor(int maxConcurrency, int queueCapacity, StateDoActionOverflowPolicy overflowPolicy) {
+		this(Schedulers.parallel(), maxConcurrency, queueCapacity, overflowPolicy);
+	}
+
+	/**
+	 * Instantiates a new state do action executor.
+	 *
+	 * @param scheduler the scheduler
+	 * @param maxConcurrency the max number of concurrently running actions
+	 * @param queueCapacity the queue capacity
+	 * @param overflowPolicy the overflow policy
+	 */
+	public StateDoActionExecutor(Scheduler scheduler, int maxConcurrency, int queueCapacity,
+			StateDoActionOverflowPolicy overflowPolicy) {
+		Assert.notNull(scheduler, "Scheduler must be set");
+		Assert.isTrue(maxConcurrency > 0, "Max concurrency must be positive");
+		Assert.isTrue(queueCapacity >= 0, "Queue capacity must not be negative");
+		Assert.notNull(overflowPolicy, "Overflow policy must be set");
+		this.scheduler = scheduler;
+		this.maxConcurrency = maxConcurrency;
+		this.queueCapacity = queueCapacity;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Execute an action. Returned mono completes when action completes, and
+	 * action is subscribed on a scheduler when there is a free slot.
+	 *
+	 * @param action the action
+	 * @return mono for completion
+	 */
+	public Mono<Void> execute(Mono<Void> action) {
+		return Mono.create(sink -> {
+			Task task = new Task(action, sink);
+			sink.onCancel(() -> cancel(task));
+			submit(task);
+		});
+	}
+
+	/**
+	 * Gets the number of currently running actions.
+	 *
+	 * @return the running count
+	 */
+	public synchronized int getRunningCount() {
+		return running;
+	}
+
+	/**
+	 * Gets the number of currently queued actions.
+	 *
+	 * @return the queued count
+	 */
+	public synchronized int getQueuedCount() {
+		return queue.size();
+	}
+
+	/**
+	 * Gets the number of actions completed so far.
+	 *
+	 * @return the completed count
+	 */
+	public long getCompletedCount() {
+		return completed.get();
+	}
+
+	/**
+	 * Gets the number of actions rejected so far.
+	 *
+	 * @return the rejected count
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	/**
+	 * Gets the max number of concurrently running actions.
+	 *
+	 * @return the max concurrency
+	 */
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * Gets the queue capacity.
+	 *
+	 * @return the queue capacity
+	 */
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * Gets the overflow policy.
+	 *
+	 * @return the overflow policy
+	 */
+	public StateDoActionOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	private void submit(Task task) {
+		Task reject = null;
+		boolean start = false;
+		synchronized (this) {
+			if (running < maxConcurrency) {
+				running++;
+				task.started = true;
+				start = true;
+			} else if (queue.size() < queueCapacity) {
+				queue.add(task);
+			} else if (overflowPolicy == StateDoActionOverflowPolicy.DROP_OLDEST && !queue.isEmpty()) {
+				reject = queue.poll();
+				queue.add(task);
+			} else {
+				reject = task;
+			}
+		}
+		if (start) {
+			start(task);
+		}
+		if (reject != null) {
+			reject(reject);
+		}
+	}
+
+	private void start(Task task) {
+		task.execution.update(task.action
+			.subscribeOn(scheduler)
+			.subscribe(null, e -> complete(task, e), () -> complete(task, null)));
+	}
+
+	private void complete(Task task, Throwable error) {
+		if (task.done.compareAndSet(false, true)) {
+			completed.incrementAndGet();
+			release();
+			if (error != null) {
+				task.sink.error(error);
+			} else {
+				task.sink.success();
+			}
+		}
+	}
+
+	private void reject(Task task) {
+		if (task.done.compareAndSet(false, true)) {
+			rejected.incrementAndGet();
+			if (log.isDebugEnabled()) {
+				log.debug("Rejecting state action, " + this);
+			}
+			task.sink.error(new RejectedExecutionException("State action rejected by " + this));
+		}
+	}
+
+	private void cancel(Task task) {
+		if (task.done.compareAndSet(false, true)) {
+			boolean started;
+			synchronized (this) {
+				queue.remove(task);
+				started = task.started;
+			}
+			if (started) {
+				task.execution.dispose();
+				release();
+			}
+		}
+	}
+
+	private void release() {
+		Task next;
+		synchronized (this) {
+			next = queue.poll();
+			if (next == null) {
+				running--;
+			} else {
+				next.started = true;
+			}
+		}
+		// slot is handed over to a next task as is
+		if (next != null) {
+			start(next);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "StateDoActionExecutor [maxConcurrency=" + maxConcurrency + ", queueCapacity=" + queueCapacity
+				+ ", overflowPolicy=" + overflowPolicy + ", running=" + getRunningCount() + ", queued="
+				+ getQueuedCount() + ", completed=" + completed + ", rejected=" + rejected + "]";
+	}
+
+	private static class Task {
+
+		final Mono<Void> action;
+		final MonoSink<Void> sink;
+		final Disposable.Swap execution = Disposables.swap();
+		final AtomicBoolean done = new AtomicBoolean();
+		// guarded by executor
+		boolean started;
+
+		Task(Mono<Void> action, MonoSink<Void> sink) {
+			this.action = action;
+			this.sink = sink;
+		}
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.action;
+
+/**
+ * Enumerations for possible policies when a queue of a
+ * {@link StateDoActionExecutor} is full.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public enum StateDoActionOverflowPolicy {
+
+	/**
+	 * Policy rejecting a state action which didn't fit into a queue.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Policy rejecting an oldest queued state action to make space for a new one.
+	 */
+	DROP_OLDEST
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2021 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -55,6 +55,8 @@ import org.springframework.statemachine.config.model.TransitionsData;
 import org.springframework.statemachine.config.model.verifier.CompositeStateMachineModelVerifier;
 import org.springframework.statemachine.config.model.verifier.StateMachineModelVerifier;
 import org.springframework.statemachine.ensemble.DistributedStateMachine;
+import org.springframework.statemachine.listener.AsyncListenerDispatcher;
+import org.springframework.statemachine.listener.AsyncStateMachineListener;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.listener.StateMachineListenerAdapter;
 import org.springframework.statemachine.monitor.StateMachineMonitor;
@@ -92,6 +94,7 @@ import org.springframework.statemachine.transition.InitialTransition;
 import org.springframework.statemachine.transition.Transition;
 import org.springframework.statemachine.transition.TransitionKind;
 import org.springframework.statemachine.trigger.EventTrigger;
+import org.springframework.statemachine.trigger.TimerService;
 import org.springframework.statemachine.trigger.TimerTrigger;
 import org.springframework.statemachine.trigger.Trigger;
 import org.springframework.util.ObjectUtils;
@@ -175,7 +178,8 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 		}
 
 		// shared
-		DefaultExtendedState defaultExtendedState = new DefaultExtendedState();
+		DefaultExtendedState defaultExtendedState = new DefaultExtendedState(
+				stateMachineModel.getConfigurationData().getExtendedStateKeys());
 
 		StateMachine<S, E> machine = null;
 
@@ -246,6 +250,7 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 						stateData != null ? stateData.getExitActions() : null,
 						new DefaultPseudoState<S, E>(PseudoStateKind.INITIAL), stateMachineModel);
 				rstate.setRegionExecutionPolicy(stateMachineModel.getConfigurationData().getRegionExecutionPolicy());
+				rstate.setRegionExecutionScheduler(stateMachineModel.getConfigurationData().getRegionExecutionScheduler());
 				if (stateData != null) {
 					stateMap.put(stateData.getState(), rstate);
 				} else {
@@ -341,6 +346,10 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 		}
 
 		for (StateMachineListener<S, E> listener : stateMachineModel.getConfigurationData().getStateMachineListeners()) {
+			AsyncListenerDispatcher listenerDispatcher = stateMachineModel.getConfigurationData().createListenerDispatcher();
+			if (listenerDispatcher != null) {
+				listener = AsyncStateMachineListener.of(listener, listenerDispatcher);
+			}
 			machine.addStateListener(listener);
 		}
 
@@ -403,6 +412,11 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 			interceptor.postStateChange(state, message, transition, stateMachine, rootStateMachine);
 		}
 
+		@Override
+		public void eventDeferred(Message<E> message, StateMachine<S, E> stateMachine) {
+			interceptor.eventDeferred(message, stateMachine);
+		}
+
 	}
 
 	/**
@@ -601,6 +615,8 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 						.setStateDoActionPolicy(stateMachineModel.getConfigurationData().getStateDoActionPolicy());
 				stateMachineState.setStateDoActionPolicyTimeout(
 						stateMachineModel.getConfigurationData().getStateDoActionPolicyTimeout());
+				stateMachineState.setStateDoActionExecutor(
+						stateMachineModel.getConfigurationData().getStateDoActionExecutor());
 				state = stateMachineState;
 
 				// TODO: below if/else doesn't feel right
@@ -637,6 +653,10 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 				}
 				state = buildStateInternal(stateData.getState(), stateData.getDeferred(), stateData.getEntryActions(),
 						stateData.getExitActions(), stateData.getStateActions(), pseudoState, stateMachineModel);
+				if (stateData.getStateDoActionExecutor() != null && state instanceof AbstractState) {
+					// executor given for a state overrides one from a configuration
+					((AbstractState<S, E>) state).setStateDoActionExecutor(stateData.getStateDoActionExecutor());
+				}
 				if (stateData.isInitial()) {
 					initialState = state;
 					initialAction = stateData.getInitialAction();
@@ -710,7 +730,8 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 					}
 					choices.add(new ChoiceStateData<S, E>(holder, c.getGuard(), Actions.from(c.getActions())));
 				}
-				PseudoState<S, E> pseudoState = new ChoicePseudoState<S, E>(choices);
+				PseudoState<S, E> pseudoState = new ChoicePseudoState<S, E>(choices,
+						stateMachineModel.getConfigurationData().isCompileChoiceGuards());
 				state = buildStateInternal(stateData.getState(), stateData.getDeferred(), stateData.getEntryActions(),
 						stateData.getExitActions(), stateData.getStateActions(), pseudoState, stateMachineModel);
 				states.add(state);
@@ -729,7 +750,8 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 					}
 					junctions.add(new JunctionStateData<S, E>(holder, c.getGuard(), Actions.from(c.getActions())));
 				}
-				PseudoState<S, E> pseudoState = new JunctionPseudoState<S, E>(junctions);
+				PseudoState<S, E> pseudoState = new JunctionPseudoState<S, E>(junctions,
+						stateMachineModel.getConfigurationData().isCompileChoiceGuards());
 				state = buildStateInternal(stateData.getState(), stateData.getDeferred(), stateData.getEntryActions(),
 						stateData.getExitActions(), stateData.getStateActions(), pseudoState, stateMachineModel);
 				states.add(state);
@@ -853,6 +875,13 @@ public abstract class AbstractStateMachineFactory<S, E> extends LifecycleObjectS
 				if (beanFactory != null) {
 					t.setBeanFactory(beanFactory);
 				}
+				// stable id for a timer deadline to be persisted and restored
+				t.setId(transitionData.getName() != null ? transitionData.getName()
+						: source + "-" + target + "-" + period);
+				TimerService timerService = stateMachineModel.getConfigurationData().getTimerService();
+				if (timerService != null) {
+					t.setTimerService(timerService);
+				}
 				trigger = t;
 				((AbstractState<S, E>)stateMap.get(source)).getTriggers().add(trigger);
 			}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -80,6 +80,8 @@ public class ObjectStateMachineFactory<S, E> extends AbstractStateMachineFactory
 		machine.setId(machineId);
 		machine.setHistoryState(historyState);
 		machine.setTransitionConflightPolicy(stateMachineModel.getConfigurationData().getTransitionConflictPolicy());
+		machine.setListenerDispatcher(stateMachineModel.getConfigurationData().createListenerDispatcher());
+		machine.setDeferredEventStore(stateMachineModel.getConfigurationData().createDeferredEventStore());
 		if (contextEventsEnabled != null) {
 			machine.setContextEventsEnabled(contextEventsEnabled);
 		}
@@ -111,6 +113,7 @@ public class ObjectStateMachineFactory<S, E> extends AbstractStateMachineFactory
 		}
 		objectState.setStateDoActionPolicy(stateMachineModel.getConfigurationData().getStateDoActionPolicy());
 		objectState.setStateDoActionPolicyTimeout(stateMachineModel.getConfigurationData().getStateDoActionPolicyTimeout());
+		objectState.setStateDoActionExecutor(stateMachineModel.getConfigurationData().getStateDoActionExecutor());
 		return objectState;
 	}
 
@@ -122,6 +125,7 @@ public class ObjectStateMachineFactory<S, E> extends AbstractStateMachineFactory
 		RegionState<S,E> regionState = new RegionState<S, E>(id, regions, deferred, entryActions, exitActions, pseudoState);
 		regionState.setStateDoActionPolicy(stateMachineModel.getConfigurationData().getStateDoActionPolicy());
 		regionState.setStateDoActionPolicyTimeout(stateMachineModel.getConfigurationData().getStateDoActionPolicyTimeout());
+		regionState.setStateDoActionExecutor(stateMachineModel.getConfigurationData().getStateDoActionExecutor());
 		return regionState;
 	}
 
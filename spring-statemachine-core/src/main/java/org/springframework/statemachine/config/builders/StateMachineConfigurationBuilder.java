@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,12 @@ package org.springframework.statemachine.config.builders;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.security.access.AccessDecisionManager;
+import org.springframework.statemachine.ExtendedStateKeys;
+import org.springframework.statemachine.action.StateDoActionExecutor;
 import org.springframework.statemachine.action.StateDoActionPolicy;
 import org.springframework.statemachine.config.common.annotation.AbstractConfiguredAnnotationBuilder;
 import org.springframework.statemachine.config.common.annotation.AnnotationBuilder;
@@ -37,16 +40,22 @@ import org.springframework.statemachine.config.configurers.PersistenceConfigurer
 import org.springframework.statemachine.config.configurers.SecurityConfigurer;
 import org.springframework.statemachine.config.configurers.VerifierConfigurer;
 import org.springframework.statemachine.config.model.ConfigurationData;
+import org.springframework.statemachine.config.model.ConfigurationSettings;
 import org.springframework.statemachine.config.model.StatesData;
 import org.springframework.statemachine.config.model.verifier.StateMachineModelVerifier;
 import org.springframework.statemachine.ensemble.StateMachineEnsemble;
+import org.springframework.statemachine.listener.ListenerOverflowPolicy;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.monitor.StateMachineMonitor;
 import org.springframework.statemachine.persist.StateMachineRuntimePersister;
 import org.springframework.statemachine.region.RegionExecutionPolicy;
 import org.springframework.statemachine.security.SecurityRule;
+import org.springframework.statemachine.support.DeferredEventOverflowPolicy;
 import org.springframework.statemachine.support.StateMachineInterceptor;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.TimerService;
+
+import reactor.core.scheduler.Scheduler;
 
 /**
  * {@link AnnotationBuilder} for {@link StatesData}.
@@ -67,6 +76,7 @@ public class StateMachineConfigurationBuilder<S, E>
 	private StateDoActionPolicy stateDoActionPolicy;
 	private Long stateDoActionPolicyTimeout;
 	private RegionExecutionPolicy regionExecutionPolicy;
+	private final ConfigurationSettings.Builder settings = ConfigurationSettings.builder();
 	private StateMachineEnsemble<S, E> ensemble;
 	private final List<StateMachineListener<S, E>> listeners = new ArrayList<StateMachineListener<S, E>>();
 	private boolean securityEnabled = false;
@@ -149,7 +159,8 @@ public class StateMachineConfigurationBuilder<S, E>
 		return new ConfigurationData<S, E>(beanFactory, autoStart, ensemble, listeners, securityEnabled,
 				transitionSecurityAccessDecisionManager, eventSecurityAccessDecisionManager, eventSecurityRule,
 				transitionSecurityRule, verifierEnabled, verifier, machineId, stateMachineMonitor, interceptorsCopy,
-				transitionConflictPolicy, stateDoActionPolicy, stateDoActionPolicyTimeout, regionExecutionPolicy);
+				transitionConflictPolicy, stateDoActionPolicy, stateDoActionPolicyTimeout, regionExecutionPolicy,
+				settings.build());
 	}
 
 	/**
@@ -299,6 +310,15 @@ public class StateMachineConfigurationBuilder<S, E>
 		this.stateDoActionPolicyTimeout = stateDoActionPolicyTimeout;
 	}
 
+	/**
+	 * Sets the state do action executor.
+	 *
+	 * @param stateDoActionExecutor the state do action executor
+	 */
+	public void setStateDoActionExecutor(StateDoActionExecutor stateDoActionExecutor) {
+		settings.stateDoActionExecutor(stateDoActionExecutor);
+	}
+
 	/**
 	 * Sets the region execution policy.
 	 *
@@ -307,4 +327,62 @@ public class StateMachineConfigurationBuilder<S, E>
 	public void setRegionExecutionPolicy(RegionExecutionPolicy regionExecutionPolicy) {
 		this.regionExecutionPolicy = regionExecutionPolicy;
 	}
+
+	/**
+	 * Sets the region execution scheduler.
+	 *
+	 * @param regionExecutionScheduler the region execution scheduler
+	 */
+	public void setRegionExecutionScheduler(Scheduler regionExecutionScheduler) {
+		settings.regionExecutionScheduler(regionExecutionScheduler);
+	}
+
+	/**
+	 * Sets the listener executor, queue capacity and overflow policy.
+	 *
+	 * @param listenerExecutor the listener executor
+	 * @param listenerQueueCapacity the listener queue capacity
+	 * @param listenerOverflowPolicy the listener overflow policy
+	 */
+	public void setListenerDispatch(Executor listenerExecutor, Integer listenerQueueCapacity,
+			ListenerOverflowPolicy listenerOverflowPolicy) {
+		settings.listenerDispatch(listenerExecutor, listenerQueueCapacity, listenerOverflowPolicy);
+	}
+
+	/**
+	 * Sets the timer service.
+	 *
+	 * @param timerService the timer service
+	 */
+	public void setTimerService(TimerService timerService) {
+		settings.timerService(timerService);
+	}
+
+	/**
+	 * Sets the deferred event capacity and overflow policy.
+	 *
+	 * @param deferredEventCapacity the deferred event capacity
+	 * @param deferredEventOverflowPolicy the deferred event overflow policy
+	 */
+	public void setDeferredEvents(Integer deferredEventCapacity, DeferredEventOverflowPolicy deferredEventOverflowPolicy) {
+		settings.deferredEvents(deferredEventCapacity, deferredEventOverflowPolicy);
+	}
+
+	/**
+	 * Sets the flag to compile choice and junction guards.
+	 *
+	 * @param compileChoiceGuards the flag to compile choice guards
+	 */
+	public void setCompileChoiceGuards(boolean compileChoiceGuards) {
+		settings.compileChoiceGuards(compileChoiceGuards);
+	}
+
+	/**
+	 * Sets the declared extended state keys.
+	 *
+	 * @param extendedStateKeys the extended state keys
+	 */
+	public void setExtendedStateKeys(ExtendedStateKeys extendedStateKeys) {
+		settings.extendedStateKeys(extendedStateKeys);
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,12 +15,19 @@
  */
 package org.springframework.statemachine.config.configuration;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.statemachine.processor.StateMachineHandlerRegistry;
 
 /**
  * Spring {@link ApplicationListener} which hooks to {@code ContextRefreshedEvent}
- * and tracks when was a last time context was refreshed.
+ * and tracks when was a last time context was refreshed. Also keeps a
+ * {@link StateMachineHandlerRegistry} shared by all machines which is
+ * rebuilt lazily after a refresh.
  *
  * @author Janne Valkealahti
  *
@@ -29,10 +36,30 @@ public class StateMachineHandlerApplicationListener implements ApplicationListen
 
 	public final static String BEAN_NAME = "stateMachineHandlerApplicationListener";
 	private Long lastRefreshTime = null;
+	private final Map<ListableBeanFactory, StateMachineHandlerRegistry> registries = new ConcurrentHashMap<>();
 
 	@Override
 	public void onApplicationEvent(ContextRefreshedEvent event) {
 		lastRefreshTime = System.currentTimeMillis();
+		registries.clear();
+	}
+
+	/**
+	 * Gets a handler registry for a bean factory. Registry is built once
+	 * and shared until a context is refreshed again.
+	 *
+	 * @param beanFactory the bean factory
+	 * @return the state machine handler registry
+	 */
+	public StateMachineHandlerRegistry getHandlerRegistry(ListableBeanFactory beanFactory) {
+		StateMachineHandlerRegistry registry = registries.get(beanFactory);
+		if (registry == null) {
+			// build outside of a map as resolving handlers may create beans
+			registry = StateMachineHandlerRegistry.build(beanFactory);
+			StateMachineHandlerRegistry existing = registries.putIfAbsent(beanFactory, registry);
+			registry = existing != null ? existing : registry;
+		}
+		return registry;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,16 +15,28 @@
  */
 package org.springframework.statemachine.config.configurers;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.statemachine.ExtendedStateKeys;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.action.StateDoActionExecutor;
 import org.springframework.statemachine.action.StateDoActionPolicy;
 import org.springframework.statemachine.config.builders.StateMachineConfigurationConfigurer;
 import org.springframework.statemachine.config.common.annotation.AnnotationConfigurerBuilder;
+import org.springframework.statemachine.listener.AsyncStateMachineListener;
+import org.springframework.statemachine.listener.ListenerOverflowPolicy;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.region.RegionExecutionPolicy;
+import org.springframework.statemachine.support.DeferredEventOverflowPolicy;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.HashedWheelTimerService;
+import org.springframework.statemachine.trigger.ReactorTimerService;
+import org.springframework.statemachine.trigger.TimerService;
+import org.springframework.statemachine.trigger.TimerTrigger;
+
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Base {@code ConfigConfigurer} interface for configuring generic config.
@@ -73,6 +85,88 @@ public interface ConfigurationConfigurer<S, E> extends
 	 */
 	ConfigurationConfigurer<S, E> listener(StateMachineListener<S, E> listener);
 
+	/**
+	 * Specify an {@link Executor} used to dispatch listener notifications. If
+	 * set, configured listeners are wrapped into {@link AsyncStateMachineListener}
+	 * having their own bounded queue and annotation handlers and application
+	 * context events are dispatched through a bounded queue of a machine.
+	 * Notifications are kept in order per listener and per machine. On default
+	 * notifications are dispatched on a thread doing a transition.
+	 *
+	 * @param executor the listener executor
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> listenerExecutor(Executor executor);
+
+	/**
+	 * Specify a capacity of queues used with a {@link #listenerExecutor(Executor)}.
+	 *
+	 * @param capacity the listener queue capacity
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> listenerQueueCapacity(int capacity);
+
+	/**
+	 * Specify a {@link ListenerOverflowPolicy} used with a {@link #listenerExecutor(Executor)}.
+	 * Defaults to {@link ListenerOverflowPolicy#DROP_NEWEST} so that a notifying thread
+	 * is never blocked by slow listeners.
+	 *
+	 * @param listenerOverflowPolicy the listener overflow policy
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> listenerOverflowPolicy(ListenerOverflowPolicy listenerOverflowPolicy);
+
+	/**
+	 * Specify a {@link TimerService} used by {@link TimerTrigger}s of a machine.
+	 * Same instance can be shared by any number of machines, for example a
+	 * {@link HashedWheelTimerService} serving a large amount of timers from a
+	 * single thread. Defaults to {@link ReactorTimerService#getDefault()}.
+	 *
+	 * @param timerService the timer service
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> timerService(TimerService timerService);
+
+	/**
+	 * Specify a maximum number of events a machine keeps deferred. Deferred
+	 * events are unbounded by default.
+	 *
+	 * @param capacity the deferred event capacity
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> deferredEventCapacity(int capacity);
+
+	/**
+	 * Specify a {@link DeferredEventOverflowPolicy} used with a {@link #deferredEventCapacity(int)}.
+	 * Defaults to {@link DeferredEventOverflowPolicy#DROP_NEWEST}.
+	 *
+	 * @param deferredEventOverflowPolicy the deferred event overflow policy
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> deferredEventOverflowPolicy(DeferredEventOverflowPolicy deferredEventOverflowPolicy);
+
+	/**
+	 * Specify if choice and junction guards should be compiled into a decision
+	 * table. Only {@link org.springframework.statemachine.guard.SpelExpressionGuard}s
+	 * comparing a same extended state variable against constants are compiled,
+	 * others are always evaluated sequentially. Defaults to {@code false}.
+	 *
+	 * @param compileChoiceGuards the flag to compile choice guards
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> compileChoiceGuards(boolean compileChoiceGuards);
+
+	/**
+	 * Specify {@link ExtendedStateKeys} declared for a machine model. Extended
+	 * states of built machines keep variables of declared keys in slots instead
+	 * of boxing them, while those are still visible in
+	 * {@link org.springframework.statemachine.ExtendedState#getVariables()}.
+	 *
+	 * @param extendedStateKeys the extended state keys
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> extendedStateKeys(ExtendedStateKeys extendedStateKeys);
+
 	/**
 	 * Specify a {@link TransitionConflictPolicy}. Default to {@link TransitionConflictPolicy#CHILD}.
 	 *
@@ -98,6 +192,19 @@ public interface ConfigurationConfigurer<S, E> extends
 	 */
 	ConfigurationConfigurer<S, E> stateDoActionPolicyTimeout(long timeout, TimeUnit unit);
 
+	/**
+	 * Specify a {@link StateDoActionExecutor} running state do actions. An
+	 * executor limits a number of concurrently running actions and queues
+	 * actions exceeding a limit. As a same executor is used with all machines
+	 * built from this configuration, limit applies to all of them. Defaults to
+	 * running actions on {@link reactor.core.scheduler.Schedulers#parallel()}
+	 * without a limit.
+	 *
+	 * @param stateDoActionExecutor the state do action executor
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> stateDoActionExecutor(StateDoActionExecutor stateDoActionExecutor);
+
 	/**
 	 * Specify a {@link RegionExecutionPolicy}. Default to {@link RegionExecutionPolicy#SEQUENTIAL}.
 	 *
@@ -105,4 +212,15 @@ public interface ConfigurationConfigurer<S, E> extends
 	 * @return the configuration configurer
 	 */
 	ConfigurationConfigurer<S, E> regionExecutionPolicy(RegionExecutionPolicy regionExecutionPolicy);
+
+	/**
+	 * Specify a {@link Scheduler} used to execute regions with
+	 * {@link RegionExecutionPolicy#PARALLEL}. Regions process an event
+	 * concurrently on this scheduler and their results are joined in a region
+	 * order. Defaults to {@link reactor.core.scheduler.Schedulers#parallel()}.
+	 *
+	 * @param regionExecutionScheduler the region execution scheduler
+	 * @return the configuration configurer
+	 */
+	ConfigurationConfigurer<S, E> regionExecutionScheduler(Scheduler regionExecutionScheduler);
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,17 +17,25 @@ package org.springframework.statemachine.config.configurers;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.statemachine.ExtendedStateKeys;
+import org.springframework.statemachine.action.StateDoActionExecutor;
 import org.springframework.statemachine.action.StateDoActionPolicy;
 import org.springframework.statemachine.config.builders.StateMachineConfigurationBuilder;
 import org.springframework.statemachine.config.builders.StateMachineConfigurationConfigurer;
 import org.springframework.statemachine.config.common.annotation.AnnotationConfigurerAdapter;
 import org.springframework.statemachine.config.model.ConfigurationData;
+import org.springframework.statemachine.listener.ListenerOverflowPolicy;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.region.RegionExecutionPolicy;
+import org.springframework.statemachine.support.DeferredEventOverflowPolicy;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.TimerService;
+
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Default implementation of a {@link ConfigurationConfigurer}.
@@ -47,7 +55,17 @@ public class DefaultConfigurationConfigurer<S, E>
 	private TransitionConflictPolicy transitionConflightPolicy;
 	private StateDoActionPolicy stateDoActionPolicy;
 	private Long stateDoActionPolicyTimeout;
+	private StateDoActionExecutor stateDoActionExecutor;
 	private RegionExecutionPolicy regionExecutionPolicy;
+	private Scheduler regionExecutionScheduler;
+	private Executor listenerExecutor;
+	private Integer listenerQueueCapacity;
+	private ListenerOverflowPolicy listenerOverflowPolicy;
+	private TimerService timerService;
+	private Integer deferredEventCapacity;
+	private DeferredEventOverflowPolicy deferredEventOverflowPolicy;
+	private boolean compileChoiceGuards = false;
+	private ExtendedStateKeys extendedStateKeys;
 	private final List<StateMachineListener<S, E>> listeners = new ArrayList<StateMachineListener<S, E>>();
 
 	@Override
@@ -58,7 +76,14 @@ public class DefaultConfigurationConfigurer<S, E>
 		builder.setStateMachineListeners(listeners);
 		builder.setTransitionConflictPolicy(transitionConflightPolicy);
 		builder.setStateDoActionPolicy(stateDoActionPolicy, stateDoActionPolicyTimeout);
+		builder.setStateDoActionExecutor(stateDoActionExecutor);
 		builder.setRegionExecutionPolicy(regionExecutionPolicy);
+		builder.setRegionExecutionScheduler(regionExecutionScheduler);
+		builder.setListenerDispatch(listenerExecutor, listenerQueueCapacity, listenerOverflowPolicy);
+		builder.setTimerService(timerService);
+		builder.setDeferredEvents(deferredEventCapacity, deferredEventOverflowPolicy);
+		builder.setCompileChoiceGuards(compileChoiceGuards);
+		builder.setExtendedStateKeys(extendedStateKeys);
 	}
 
 	@Override
@@ -85,6 +110,54 @@ public class DefaultConfigurationConfigurer<S, E>
 		return this;
 	}
 
+	@Override
+	public ConfigurationConfigurer<S, E> listenerExecutor(Executor executor) {
+		this.listenerExecutor = executor;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> listenerQueueCapacity(int capacity) {
+		this.listenerQueueCapacity = capacity;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> listenerOverflowPolicy(ListenerOverflowPolicy listenerOverflowPolicy) {
+		this.listenerOverflowPolicy = listenerOverflowPolicy;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> timerService(TimerService timerService) {
+		this.timerService = timerService;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> deferredEventCapacity(int capacity) {
+		this.deferredEventCapacity = capacity;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> deferredEventOverflowPolicy(DeferredEventOverflowPolicy deferredEventOverflowPolicy) {
+		this.deferredEventOverflowPolicy = deferredEventOverflowPolicy;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> compileChoiceGuards(boolean compileChoiceGuards) {
+		this.compileChoiceGuards = compileChoiceGuards;
+		return this;
+	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> extendedStateKeys(ExtendedStateKeys extendedStateKeys) {
+		this.extendedStateKeys = extendedStateKeys;
+		return this;
+	}
+
 	@Override
 	public ConfigurationConfigurer<S, E> transitionConflictPolicy(TransitionConflictPolicy transitionConflightPolicy) {
 		this.transitionConflightPolicy = transitionConflightPolicy;
@@ -103,9 +176,21 @@ public class DefaultConfigurationConfigurer<S, E>
 		return this;
 	}
 
+	@Override
+	public ConfigurationConfigurer<S, E> stateDoActionExecutor(StateDoActionExecutor stateDoActionExecutor) {
+		this.stateDoActionExecutor = stateDoActionExecutor;
+		return this;
+	}
+
 	@Override
 	public ConfigurationConfigurer<S, E> regionExecutionPolicy(RegionExecutionPolicy regionExecutionPolicy) {
 		this.regionExecutionPolicy = regionExecutionPolicy;
 		return this;
 	}
+
+	@Override
+	public ConfigurationConfigurer<S, E> regionExecutionScheduler(Scheduler regionExecutionScheduler) {
+		this.regionExecutionScheduler = regionExecutionScheduler;
+		return this;
+	}
 }
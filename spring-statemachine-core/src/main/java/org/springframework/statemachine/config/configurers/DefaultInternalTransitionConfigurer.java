@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2021 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,15 +17,13 @@ package org.springframework.statemachine.config.configurers;
 
 import java.util.function.Function;
 
-import org.springframework.expression.spel.SpelCompilerMode;
-import org.springframework.expression.spel.SpelParserConfiguration;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.config.builders.StateMachineTransitionBuilder;
 import org.springframework.statemachine.guard.Guard;
 import org.springframework.statemachine.guard.SpelExpressionGuard;
 import org.springframework.statemachine.security.SecurityRule.ComparisonType;
+import org.springframework.statemachine.support.SpelExpressionCache;
 import org.springframework.statemachine.transition.TransitionKind;
 
 import reactor.core.publisher.Mono;
@@ -103,9 +101,7 @@ public class DefaultInternalTransitionConfigurer<S, E> extends AbstractTransitio
 
 	@Override
 	public InternalTransitionConfigurer<S, E> guardExpression(String expression) {
-		SpelExpressionParser parser = new SpelExpressionParser(
-				new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
-		setGuard(new SpelExpressionGuard<S, E>(parser.parseExpression(expression)));
+		setGuard(new SpelExpressionGuard<S, E>(SpelExpressionCache.getDefault().getExpression(expression)));
 		return this;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.action.Actions;
+import org.springframework.statemachine.action.StateDoActionExecutor;
 import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.statemachine.config.builders.StateMachineStateBuilder;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
@@ -67,6 +68,7 @@ public class DefaultStateConfigurer<S, E>
 	private final Collection<S> entrys = new ArrayList<S>();
 	private final Map<S, StateMachine<S, E>> submachines = new HashMap<>();
 	private final Map<S, StateMachineFactory<S, E>> submachinefactories = new HashMap<>();
+	private final Map<S, StateDoActionExecutor> stateDoActionExecutors = new HashMap<>();
 
 	@Override
 	public void configure(StateMachineStateBuilder<S, E> builder) throws Exception {
@@ -105,6 +107,7 @@ public class DefaultStateConfigurer<S, E>
 			}
 			s.setSubmachine(submachines.get(s.getState()));
 			s.setSubmachineFactory(submachinefactories.get(s.getState()));
+			s.setStateDoActionExecutor(stateDoActionExecutors.get(s.getState()));
 		}
 		builder.addStateData(stateDatas);
 	}
@@ -160,6 +163,13 @@ public class DefaultStateConfigurer<S, E>
 		return this;
 	}
 
+	@Override
+	public StateConfigurer<S, E> stateDoActionExecutor(S state, StateDoActionExecutor stateDoActionExecutor) {
+		state(state);
+		stateDoActionExecutors.put(state, stateDoActionExecutor);
+		return this;
+	}
+
 	@Override
 	public StateConfigurer<S, E> state(S state, Collection<? extends Action<S, E>> stateActions) {
 		Collection<Function<StateContext<S, E>, Mono<Void>>> rStateActions = new ArrayList<>();
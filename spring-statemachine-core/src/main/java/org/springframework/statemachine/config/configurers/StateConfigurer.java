@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2017 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.function.Function;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.action.Action;
+import org.springframework.statemachine.action.StateDoActionExecutor;
 import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.common.annotation.AnnotationConfigurerBuilder;
@@ -170,6 +171,17 @@ public interface StateConfigurer<S, E> extends
 	 */
 	StateConfigurer<S, E> stateExitFunction(S state, Function<StateContext<S, E>, Mono<Void>> action);
 
+	/**
+	 * Specify a {@link StateDoActionExecutor} running state actions of a
+	 * state {@code S}. Overrides an executor set in a configuration, which
+	 * allows to bound do actions of a single state separately.
+	 *
+	 * @param state the state
+	 * @param stateDoActionExecutor the state do action executor
+	 * @return configurer for chaining
+	 */
+	StateConfigurer<S, E> stateDoActionExecutor(S state, StateDoActionExecutor stateDoActionExecutor);
+
 	/**
 	 * Specify a state {@code S} with entry and exit {@link Action}s.
 	 *
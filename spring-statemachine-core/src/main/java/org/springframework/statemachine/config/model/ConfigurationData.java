@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,20 +17,30 @@ package org.springframework.statemachine.config.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.security.access.AccessDecisionManager;
+import org.springframework.statemachine.ExtendedStateKeys;
+import org.springframework.statemachine.action.StateDoActionExecutor;
 import org.springframework.statemachine.action.StateDoActionPolicy;
 import org.springframework.statemachine.config.builders.StateMachineConfigurationBuilder;
 import org.springframework.statemachine.config.model.verifier.DefaultStateMachineModelVerifier;
 import org.springframework.statemachine.config.model.verifier.StateMachineModelVerifier;
 import org.springframework.statemachine.ensemble.StateMachineEnsemble;
+import org.springframework.statemachine.listener.AsyncListenerDispatcher;
+import org.springframework.statemachine.listener.ListenerOverflowPolicy;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.monitor.StateMachineMonitor;
 import org.springframework.statemachine.region.RegionExecutionPolicy;
 import org.springframework.statemachine.security.SecurityRule;
+import org.springframework.statemachine.support.DeferredEventOverflowPolicy;
+import org.springframework.statemachine.support.DeferredEventStore;
 import org.springframework.statemachine.support.StateMachineInterceptor;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
+import org.springframework.statemachine.trigger.TimerService;
+
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Configuration object used to keep things together in {@link StateMachineConfigurationBuilder}.
@@ -60,6 +70,7 @@ public class ConfigurationData<S, E> {
 	private final StateMachineMonitor<S, E> stateMachineMonitor;
 	private final List<StateMachineInterceptor<S, E>> interceptors;
 	private final RegionExecutionPolicy regionExecutionPolicy;
+	private final ConfigurationSettings settings;
 
 	/**
 	 * Instantiates a new state machine configuration config data.
@@ -130,6 +141,44 @@ public class ConfigurationData<S, E> {
 			List<StateMachineInterceptor<S, E>> interceptors, TransitionConflictPolicy transitionConflightPolicy,
 			StateDoActionPolicy stateDoActionPolicy, Long stateDoActionPolicyTimeout,
 			RegionExecutionPolicy regionExecutionPolicy) {
+		this(beanFactory, autoStart, ensemble, listeners, securityEnabled, transitionSecurityAccessDecisionManager,
+				eventSecurityAccessDecisionManager, eventSecurityRule, transitionSecurityRule, verifierEnabled,
+				verifier, machineId, stateMachineMonitor, interceptors, transitionConflightPolicy, stateDoActionPolicy,
+				stateDoActionPolicyTimeout, regionExecutionPolicy, null);
+	}
+
+	/**
+	 * Instantiates a new state machine configuration config data.
+	 *
+	 * @param beanFactory the bean factory
+	 * @param autoStart the autostart flag
+	 * @param ensemble the state machine ensemble
+	 * @param listeners the state machine listeners
+	 * @param securityEnabled the security enabled flag
+	 * @param transitionSecurityAccessDecisionManager the transition security access decision manager
+	 * @param eventSecurityAccessDecisionManager the event security access decision manager
+	 * @param eventSecurityRule the event security rule
+	 * @param transitionSecurityRule the transition security rule
+	 * @param verifierEnabled the verifier enabled flag
+	 * @param verifier the state machine model verifier
+	 * @param machineId the machine id
+	 * @param stateMachineMonitor the state machine monitor
+	 * @param interceptors the state machine interceptors.
+	 * @param transitionConflightPolicy the transition conflict policy
+	 * @param stateDoActionPolicy the state do action policy
+	 * @param stateDoActionPolicyTimeout the state do action policy timeout
+	 * @param regionExecutionPolicy the region execution policy
+	 * @param settings the optional configuration settings
+	 */
+	public ConfigurationData(BeanFactory beanFactory, boolean autoStart, StateMachineEnsemble<S, E> ensemble,
+			List<StateMachineListener<S, E>> listeners, boolean securityEnabled,
+			AccessDecisionManager transitionSecurityAccessDecisionManager,
+			AccessDecisionManager eventSecurityAccessDecisionManager, SecurityRule eventSecurityRule,
+			SecurityRule transitionSecurityRule, boolean verifierEnabled, StateMachineModelVerifier<S, E> verifier,
+			String machineId, StateMachineMonitor<S, E> stateMachineMonitor,
+			List<StateMachineInterceptor<S, E>> interceptors, TransitionConflictPolicy transitionConflightPolicy,
+			StateDoActionPolicy stateDoActionPolicy, Long stateDoActionPolicyTimeout,
+			RegionExecutionPolicy regionExecutionPolicy, ConfigurationSettings settings) {
 		this.beanFactory = beanFactory;
 		this.autoStart = autoStart;
 		this.ensemble = ensemble;
@@ -148,6 +197,7 @@ public class ConfigurationData<S, E> {
 		this.stateDoActionPolicy = stateDoActionPolicy;
 		this.stateDoActionPolicyTimeout = stateDoActionPolicyTimeout;
 		this.regionExecutionPolicy = regionExecutionPolicy;
+		this.settings = settings != null ? settings : ConfigurationSettings.builder().build();
 	}
 
 	public String getMachineId() {
@@ -298,6 +348,15 @@ public class ConfigurationData<S, E> {
 		return stateDoActionPolicyTimeout;
 	}
 
+	/**
+	 * Gets the state do action executor.
+	 *
+	 * @return the state do action executor
+	 */
+	public StateDoActionExecutor getStateDoActionExecutor() {
+		return settings.getStateDoActionExecutor();
+	}
+
 	/**
 	 * Gets the region execution policy.
 	 *
@@ -306,4 +365,127 @@ public class ConfigurationData<S, E> {
 	public RegionExecutionPolicy getRegionExecutionPolicy() {
 		return regionExecutionPolicy;
 	}
+
+	/**
+	 * Gets the region execution scheduler.
+	 *
+	 * @return the region execution scheduler
+	 */
+	public Scheduler getRegionExecutionScheduler() {
+		return settings.getRegionExecutionScheduler();
+	}
+
+	/**
+	 * Gets the listener executor.
+	 *
+	 * @return the listener executor
+	 */
+	public Executor getListenerExecutor() {
+		return settings.getListenerExecutor();
+	}
+
+	/**
+	 * Gets the listener queue capacity.
+	 *
+	 * @return the listener queue capacity
+	 */
+	public Integer getListenerQueueCapacity() {
+		return settings.getListenerQueueCapacity();
+	}
+
+	/**
+	 * Gets the listener overflow policy.
+	 *
+	 * @return the listener overflow policy
+	 */
+	public ListenerOverflowPolicy getListenerOverflowPolicy() {
+		return settings.getListenerOverflowPolicy();
+	}
+
+	/**
+	 * Gets the timer service.
+	 *
+	 * @return the timer service
+	 */
+	public TimerService getTimerService() {
+		return settings.getTimerService();
+	}
+
+	/**
+	 * Gets the deferred event capacity.
+	 *
+	 * @return the deferred event capacity
+	 */
+	public Integer getDeferredEventCapacity() {
+		return settings.getDeferredEventCapacity();
+	}
+
+	/**
+	 * Gets the deferred event overflow policy.
+	 *
+	 * @return the deferred event overflow policy
+	 */
+	public DeferredEventOverflowPolicy getDeferredEventOverflowPolicy() {
+		return settings.getDeferredEventOverflowPolicy();
+	}
+
+	/**
+	 * Gets the declared extended state keys.
+	 *
+	 * @return the extended state keys
+	 */
+	public ExtendedStateKeys getExtendedStateKeys() {
+		return settings.getExtendedStateKeys();
+	}
+
+	/**
+	 * Gets the optional configuration settings.
+	 *
+	 * @return the configuration settings
+	 */
+	public ConfigurationSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Checks if choice and junction guards should be compiled.
+	 *
+	 * @return true, if choice guards should be compiled
+	 */
+	public boolean isCompileChoiceGuards() {
+		return settings.isCompileChoiceGuards();
+	}
+
+	/**
+	 * Creates a {@link DeferredEventStore} if a deferred event capacity is set.
+	 *
+	 * @return the deferred event store or {@code null} for a default store
+	 */
+	public DeferredEventStore<E> createDeferredEventStore() {
+		Integer deferredEventCapacity = settings.getDeferredEventCapacity();
+		if (deferredEventCapacity == null) {
+			return null;
+		}
+		DeferredEventOverflowPolicy deferredEventOverflowPolicy = settings.getDeferredEventOverflowPolicy();
+		return new DeferredEventStore<E>(deferredEventCapacity,
+				deferredEventOverflowPolicy != null ? deferredEventOverflowPolicy : DeferredEventOverflowPolicy.DROP_NEWEST);
+	}
+
+	/**
+	 * Creates a new {@link AsyncListenerDispatcher} if listener executor
+	 * is set.
+	 *
+	 * @return the new listener dispatcher or {@code NULL} if listener executor is not set
+	 */
+	public AsyncListenerDispatcher createListenerDispatcher() {
+		Executor listenerExecutor = settings.getListenerExecutor();
+		if (listenerExecutor == null) {
+			return null;
+		}
+		Integer listenerQueueCapacity = settings.getListenerQueueCapacity();
+		ListenerOverflowPolicy listenerOverflowPolicy = settings.getListenerOverflowPolicy();
+		return new AsyncListenerDispatcher(listenerExecutor,
+				listenerQueueCapacity != null ? listenerQueueCapacity : AsyncListenerDispatcher.DEFAULT_CAPACITY,
+				listenerOverflowPolicy != null ? listenerOverflowPolicy : AsyncListenerDispatcher.DEFAULT_OVERFLOW_POLICY);
+	}
 }
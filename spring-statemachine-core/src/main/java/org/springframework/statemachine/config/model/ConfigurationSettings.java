@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.config.model;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.statemachine.ExtendedStateKeys;
+import org.springframework.statemachine.action.StateDoActionExecutor;
+import org.springframework.statemachine.listener.ListenerOverflowPolicy;
+import org.springframework.statemachine.support.DeferredEventOverflowPolicy;
+import org.springframework.statemachine.trigger.TimerService;
+
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Holder for optional runtime settings of a {@link ConfigurationData}. New
+ * optional settings are added here instead of growing constructors of a
+ * {@link ConfigurationData}, all settings default to {@code null} or
+ * {@code false} meaning a default behaviour.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class ConfigurationSettings {
+
+	private final Executor listenerExecutor;
+	private final Integer listenerQueueCapacity;
+	private final ListenerOverflowPolicy listenerOverflowPolicy;
+	private final TimerService timerService;
+	private final Integer deferredEventCapacity;
+	private final DeferredEventOverflowPolicy deferredEventOverflowPolicy;
+	private final boolean compileChoiceGuards;
+	private final Scheduler regionExecutionScheduler;
+	private final StateDoActionExecutor stateDoActionExecutor;
+	private final ExtendedStateKeys extendedStateKeys;
+
+	private ConfigurationSettings(Builder builder) {
+		this.listenerExecutor = builder.listenerExecutor;
+		this.listenerQueueCapacity = builder.listenerQueueCapacity;
+		this.listenerOverflowPolicy = builder.listenerOverflowPolicy;
+		this.timerService = builder.timerService;
+		this.deferredEventCapacity = builder.deferredEventCapacity;
+		this.deferredEventOverflowPolicy = builder.deferredEventOverflowPolicy;
+		this.compileChoiceGuards = builder.compileChoiceGuards;
+		this.regionExecutionScheduler = builder.regionExecutionScheduler;
+		this.stateDoActionExecutor = builder.stateDoActionExecutor;
+		this.extendedStateKeys = builder.extendedStateKeys;
+	}
+
+	/**
+	 * Gets a new builder for configuration settings.
+	 *
+	 * @return the builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Gets the listener executor.
+	 *
+	 * @return the listener executor
+	 */
+	public Executor getListenerExecutor() {
+		return listenerExecutor;
+	}
+
+	/**
+	 * Gets the listener queue capacity.
+	 *
+	 * @return the listener queue capacity
+	 */
+	public Integer getListenerQueueCapacity() {
+		return listenerQueueCapacity;
+	}
+
+	/**
+	 * Gets the listener overflow policy.
+	 *
+	 * @return the listener overflow policy
+	 */
+	public ListenerOverflowPolicy getListenerOverflowPolicy() {
+		return listenerOverflowPolicy;
+	}
+
+	/**
+	 * Gets the timer service.
+	 *
+	 * @return the timer service
+	 */
+	public TimerService getTimerService() {
+		return timerService;
+	}
+
+	/**
+	 * Gets the deferred event capacity.
+	 *
+	 * @return the deferred event capacity
+	 */
+	public Integer getDeferredEventCapacity() {
+		return deferredEventCapacity;
+	}
+
+	/**
+	 * Gets the deferred event overflow policy.
+	 *
+	 * @return the deferred event overflow policy
+	 */
+	public DeferredEventOverflowPolicy getDeferredEventOverflowPolicy() {
+		return deferredEventOverflowPolicy;
+	}
+
+	/**
+	 * Checks if choice and junction guards should be compiled.
+	 *
+	 * @return true, if choice guards should be compiled
+	 */
+	public boolean isCompileChoiceGuards() {
+		return compileChoiceGuards;
+	}
+
+	/**
+	 * Gets the region execution scheduler.
+	 *
+	 * @return the region execution scheduler
+	 */
+	public Scheduler getRegionExecutionScheduler() {
+		return regionExecutionScheduler;
+	}
+
+	/**
+	 * Gets the state do action executor.
+	 *
+	 * @return the state do action executor
+	 */
+	public StateDoActionExecutor getStateDoActionExecutor() {
+		return stateDoActionExecutor;
+	}
+
+	/**
+	 * Gets the declared extended state keys.
+	 *
+	 * @return the extended state keys
+	 */
+	public ExtendedStateKeys getExtendedStateKeys() {
+		return extendedStateKeys;
+	}
+
+	/**
+	 * Builder for {@link ConfigurationSettings}.
+	 */
+	public static class Builder {
+
+		private Executor listenerExecutor;
+		private Integer listenerQueueCapacity;
+		private ListenerOverflowPolicy listenerOverflowPolicy;
+		private TimerService timerService;
+		private Integer deferredEventCapacity;
+		private DeferredEventOverflowPolicy deferredEventOverflowPolicy;
+		private boolean compileChoiceGuards;
+		private Scheduler regionExecutionScheduler;
+		private StateDoActionExecutor stateDoActionExecutor;
+		private ExtendedStateKeys extendedStateKeys;
+
+		Builder() {
+		}
+
+		/**
+		 * Sets the listener executor, queue capacity and overflow policy.
+		 *
+		 * @param listenerExecutor the listener executor
+		 * @param listenerQueueCapacity the listener queue capacity
+		 * @param listenerOverflowPolicy the listener overflow policy
+		 * @return the builder for chaining
+		 */
+		public Builder listenerDispatch(Executor listenerExecutor, Integer listenerQueueCapacity,
+				ListenerOverflowPolicy listenerOverflowPolicy) {
+			this.listenerExecutor = listenerExecutor;
+			this.listenerQueueCapacity = listenerQueueCapacity;
+			this.listenerOverflowPolicy = listenerOverflowPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the timer service.
+		 *
+		 * @param timerService the timer service
+		 * @return the builder for chaining
+		 */
+		public Builder timerService(TimerService timerService) {
+			this.timerService = timerService;
+			return this;
+		}
+
+		/**
+		 * Sets the deferred event capacity and overflow policy.
+		 *
+		 * @param deferredEventCapacity the deferred event capacity
+		 * @param deferredEventOverflowPolicy the deferred event overflow policy
+		 * @return the builder for chaining
+		 */
+		public Builder deferredEvents(Integer deferredEventCapacity,
+				DeferredEventOverflowPolicy deferredEventOverflowPolicy) {
+			this.deferredEventCapacity = deferredEventCapacity;
+			this.deferredEventOverflowPolicy = deferredEventOverflowPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the flag to compile choice and junction guards.
+		 *
+		 * @param compileChoiceGuards the flag to compile choice guards
+		 * @return the builder for chaining
+		 */
+		public Builder compileChoiceGuards(boolean compileChoiceGuards) {
+			this.compileChoiceGuards = compileChoiceGuards;
+			return this;
+		}
+
+		/**
+		 * Sets the region execution scheduler.
+		 *
+		 * @param regionExecutionScheduler the region execution scheduler
+		 * @return the builder for chaining
+		 */
+		public Builder regionExecutionScheduler(Scheduler regionExecutionScheduler) {
+			this.regionExecutionScheduler = regionExecutionScheduler;
+			return this;
+		}
+
+		/**
+		 * Sets the state do action executor.
+		 *
+		 * @param stateDoActionExecutor the state do action executor
+		 * @return the builder for chaining
+		 */
+		public Builder stateDoActionExecutor(StateDoActionExecutor stateDoActionExecutor) {
+			this.stateDoActionExecutor = stateDoActionExecutor;
+			return this;
+		}
+
+		/**
+		 * Sets the declared extended state keys.
+		 *
+		 * @param extendedStateKeys the extended state keys
+		 * @return the builder for chaining
+		 */
+		public Builder extendedStateKeys(ExtendedStateKeys extendedStateKeys) {
+			this.extendedStateKeys = extendedStateKeys;
+			return this;
+		}
+
+		/**
+		 * Builds the configuration settings.
+		 *
+		 * @return the configuration settings
+		 */
+		public ConfigurationSettings build() {
+			return new ConfigurationSettings(this);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.util.function.Function;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.action.Action;
+import org.springframework.statemachine.action.StateDoActionExecutor;
 import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.statemachine.state.PseudoStateKind;
 import org.springframework.statemachine.state.State;
@@ -53,6 +54,7 @@ public class StateData<S, E> {
 	private Action<S, E> initialAction;
 	private boolean end = false;
 	private PseudoStateKind pseudoStateKind;
+	private StateDoActionExecutor stateDoActionExecutor;
 
 	/**
 	 * Instantiates a new state data.
@@ -391,6 +393,25 @@ public class StateData<S, E> {
 		this.pseudoStateKind = pseudoStateKind;
 	}
 
+	/**
+	 * Gets the state do action executor.
+	 *
+	 * @return the state do action executor or {@code NULL} if not set
+	 */
+	public StateDoActionExecutor getStateDoActionExecutor() {
+		return stateDoActionExecutor;
+	}
+
+	/**
+	 * Sets the state do action executor used instead of an executor
+	 * set in a configuration.
+	 *
+	 * @param stateDoActionExecutor the new state do action executor
+	 */
+	public void setStateDoActionExecutor(StateDoActionExecutor stateDoActionExecutor) {
+		this.stateDoActionExecutor = stateDoActionExecutor;
+	}
+
 	@Override
 	public String toString() {
 		return "StateData [parent=" + parent + ", region=" + region + ", state=" + state + ", deferred=" + deferred
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2021 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,11 +29,13 @@ import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineContext;
 import org.springframework.statemachine.StateMachineEventResult;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
 import org.springframework.statemachine.StateMachineSystemConstants;
 import org.springframework.statemachine.access.StateMachineAccessor;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.support.DefaultStateMachineContext;
+import org.springframework.statemachine.support.EventEnvelope;
 import org.springframework.statemachine.support.LifecycleObjectSupport;
 import org.springframework.statemachine.support.StateMachineInterceptor;
 import org.springframework.statemachine.transition.Transition;
@@ -52,6 +54,9 @@ import reactor.core.publisher.Mono;
  * Every distributed state machine will enter its initial state regardless of
  * a distributed state status.
  *
+ * If an ensemble is also an {@link EnsembleEventForwarder}, events are forwarded
+ * into an ensemble member chosen by it instead of being processed locally.
+ *
  * @author Janne Valkealahti
  *
  * @param <S> the type of state
@@ -106,6 +111,11 @@ public class DistributedStateMachine<S, E> extends LifecycleObjectSupport implem
 	@Override
 	@SuppressWarnings({"all", "deprecation"})
 	public boolean sendEvent(Message<E> event) {
+		if (shouldForward()) {
+			return forwardEvent(event)
+				.reduce(false, (a, r) -> !(a | r.getResultType() == ResultType.DENIED))
+				.block();
+		}
 		// adding state machine id to the message so that
 		// listeners can know from where a state change originates
 		return delegate.sendEvent(addMachineIdentifier().apply(event));
@@ -119,23 +129,50 @@ public class DistributedStateMachine<S, E> extends LifecycleObjectSupport implem
 
 	@Override
 	public Flux<StateMachineEventResult<S, E>> sendEvent(Mono<Message<E>> event) {
+		if (ensemble instanceof EnsembleEventForwarder) {
+			return event.flatMapMany(e -> shouldForward() ? forwardEvent(e)
+					: delegate.sendEvent(Mono.just(addMachineIdentifier().apply(e))));
+		}
 		return delegate.sendEvent(event.map(addMachineIdentifier()));
 	}
 
 	@Override
 	public Mono<List<StateMachineEventResult<S, E>>> sendEventCollect(Mono<Message<E>> event) {
+		if (ensemble instanceof EnsembleEventForwarder) {
+			return sendEvent(event).collectList();
+		}
 		return delegate.sendEventCollect(event.map(addMachineIdentifier()));
 	}
 
 	@Override
 	public Flux<StateMachineEventResult<S, E>> sendEvents(Flux<Message<E>> events) {
+		if (ensemble instanceof EnsembleEventForwarder) {
+			return events.concatMap(e -> sendEvent(Mono.just(e)));
+		}
 		return delegate.sendEvents(events.map(addMachineIdentifier()));
 	}
 
+	@SuppressWarnings("unchecked")
+	private boolean shouldForward() {
+		return ensemble instanceof EnsembleEventForwarder
+				&& ((EnsembleEventForwarder<S, E>) ensemble).shouldForward(this);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Flux<StateMachineEventResult<S, E>> forwardEvent(Message<E> event) {
+		if (log.isDebugEnabled()) {
+			log.debug("Forwarding event " + event + " from " + this);
+		}
+		return ((EnsembleEventForwarder<S, E>) ensemble).forward(this, event)
+			.defaultIfEmpty(ResultType.DENIED)
+			.map(resultType -> StateMachineEventResult.<S, E>from(this, event, resultType))
+			.flux();
+	}
+
 	private Function<Message<E>, Message<E>> addMachineIdentifier() {
-		return e -> MessageBuilder.fromMessage(e)
-			.setHeader(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, delegate.getUuid())
-			.build();
+		// wrap instead of rebuilding headers, those are materialized
+		// only if someone really needs them
+		return e -> EventEnvelope.wrap(e, delegate.getUuid());
 	}
 
 	@Override
@@ -228,8 +265,7 @@ public class DistributedStateMachine<S, E> extends LifecycleObjectSupport implem
 			}
 			// only handle if state change originates from this dist machine
 			if (message != null
-					&& ObjectUtils.nullSafeEquals(delegate.getUuid(),
-							message.getHeaders().get(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER))) {
+					&& ObjectUtils.nullSafeEquals(delegate.getUuid(), EventEnvelope.getMachineIdentifier(message))) {
 				ensemble.setState(new DefaultStateMachineContext<S, E>(transition.getTarget().getId(), message
 						.getPayload(), message.getHeaders(), stateMachine.getExtendedState()));
 			}
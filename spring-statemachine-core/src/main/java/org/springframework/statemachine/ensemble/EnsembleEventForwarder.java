@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.ensemble;
+
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Optional contract for a {@link StateMachineEnsemble} which is able to
+ * execute events on a single member of an ensemble, typically a leader.
+ * When an ensemble implements this interface, {@link DistributedStateMachine}
+ * asks it whether an event should be forwarded instead of being processed
+ * by a local delegating machine.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public interface EnsembleEventForwarder<S, E> {
+
+	/**
+	 * Checks if events sent to a given state machine should be forwarded
+	 * into other member of an ensemble.
+	 *
+	 * @param stateMachine the state machine receiving an event
+	 * @return true if event should be forwarded
+	 */
+	boolean shouldForward(StateMachine<S, E> stateMachine);
+
+	/**
+	 * Forward an event into a member of an ensemble which is responsible
+	 * of executing it.
+	 *
+	 * @param stateMachine the state machine receiving an event
+	 * @param event the event
+	 * @return the mono for a result type from an executing member
+	 */
+	Mono<ResultType> forward(StateMachine<S, E> stateMachine, Message<E> event);
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.listener.AsyncListenerDispatcher;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.Transition;
+
+/**
+ * {@link StateMachineEventPublisher} collecting events of a run-to-completion
+ * step into a single {@link StateMachineTransitionBatchEvent}. A step starts
+ * with a transition start and ends when its outermost transition ends, events
+ * happening outside of transitions are published as batches of their own.
+ * A step also ends if its transition is aborted or if it grows too large.
+ * Batches are collected per event source, meaning that a submachine publishes
+ * its own batches.
+ * <p>
+ * If an {@link Executor} is given, batches are published through an
+ * {@link AsyncListenerDispatcher} keeping them in order.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class BatchingStateMachineEventPublisher implements StateMachineEventPublisher, ApplicationEventPublisherAware {
+
+	private final static int MAX_BATCH_SIZE = 256;
+	private final Map<Object, Batch> batches = new ConcurrentHashMap<>();
+	private ApplicationEventPublisher applicationEventPublisher;
+	private AsyncListenerDispatcher dispatcher;
+
+	/**
+	 * Instantiates a new batching state machine event publisher.
+	 */
+	public BatchingStateMachineEventPublisher() {
+	}
+
+	/**
+	 * Instantiates a new batching state machine event publisher.
+	 *
+	 * @param applicationEventPublisher the application event publisher
+	 */
+	public BatchingStateMachineEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+		this(applicationEventPublisher, null);
+	}
+
+	/**
+	 * Instantiates a new batching state machine event publisher.
+	 *
+	 * @param applicationEventPublisher the application event publisher
+	 * @param executor the executor for publishing batches, {@code NULL} to publish on a calling thread
+	 */
+	public BatchingStateMachineEventPublisher(ApplicationEventPublisher applicationEventPublisher, Executor executor) {
+		this.applicationEventPublisher = applicationEventPublisher;
+		setExecutor(executor);
+	}
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+		this.applicationEventPublisher = applicationEventPublisher;
+	}
+
+	/**
+	 * Sets the executor used to publish batches. If not set, batches are
+	 * published on a thread completing a step.
+	 *
+	 * @param executor the executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.dispatcher = executor != null ? new AsyncListenerDispatcher(executor) : null;
+	}
+
+	@Override
+	public void publishStateChanged(Object source, State<?, ?> sourceState, State<?, ?> targetState) {
+		add(source, new OnStateChangedEvent(source, sourceState, targetState));
+	}
+
+	@Override
+	public void publishStateEntered(Object source, State<?, ?> state) {
+		add(source, new OnStateEntryEvent(source, state));
+	}
+
+	@Override
+	public void publishStateExited(Object source, State<?, ?> state) {
+		add(source, new OnStateExitEvent(source, state));
+	}
+
+	@Override
+	public void publishEventNotAccepted(Object source, Message<?> event) {
+		add(source, new OnEventNotAcceptedEvent(source, event));
+	}
+
+	@Override
+	public void publishTransitionStart(Object source, Transition<?, ?> transition) {
+		Batch batch = batches.computeIfAbsent(source, s -> new Batch());
+		List<StateMachineEvent> full = batch.start(new OnTransitionStartEvent(source, transition));
+		if (full != null) {
+			batches.remove(source, batch);
+			publish(source, full);
+		}
+	}
+
+	@Override
+	public void publishTransitionEnd(Object source, Transition<?, ?> transition) {
+		OnTransitionEndEvent event = new OnTransitionEndEvent(source, transition);
+		Batch batch = batches.get(source);
+		if (batch == null) {
+			publish(source, Collections.singletonList(event));
+			return;
+		}
+		List<StateMachineEvent> events = batch.end(event);
+		if (events != null) {
+			batches.remove(source, batch);
+			publish(source, events);
+		}
+	}
+
+	@Override
+	public void publishTransitionAbort(Object source, Transition<?, ?> transition) {
+		Batch batch = batches.get(source);
+		if (batch == null) {
+			return;
+		}
+		List<StateMachineEvent> events = batch.abort();
+		if (events != null) {
+			batches.remove(source, batch);
+			if (!events.isEmpty()) {
+				publish(source, events);
+			}
+		}
+	}
+
+	@Override
+	public void publishTransition(Object source, Transition<?, ?> transition) {
+		add(source, new OnTransitionEvent(source, transition));
+	}
+
+	@Override
+	public void publishStateMachineStart(Object source, StateMachine<?, ?> stateMachine) {
+		add(source, new OnStateMachineStart(source, stateMachine));
+	}
+
+	@Override
+	public void publishStateMachineStop(Object source, StateMachine<?, ?> stateMachine) {
+		add(source, new OnStateMachineStop(source, stateMachine));
+		flush(source);
+	}
+
+	@Override
+	public void publishStateMachineError(Object source, StateMachine<?, ?> stateMachine, Exception exception) {
+		// step may not get to its end after an error
+		add(source, new OnStateMachineError(source, stateMachine, exception));
+		flush(source);
+	}
+
+	@Override
+	public void publishExtendedStateChanged(Object source, Object key, Object value) {
+		add(source, new OnExtendedStateChanged(source, key, value));
+	}
+
+	private void add(Object source, StateMachineEvent event) {
+		Batch batch = batches.get(source);
+		if (batch == null) {
+			publish(source, Collections.singletonList(event));
+			return;
+		}
+		List<StateMachineEvent> full = batch.add(event);
+		if (full != null) {
+			// step is cut, rest of it is published as it goes
+			batches.remove(source, batch);
+			publish(source, full);
+		}
+	}
+
+	private void flush(Object source) {
+		Batch batch = batches.remove(source);
+		if (batch != null) {
+			List<StateMachineEvent> events = batch.drain();
+			if (!events.isEmpty()) {
+				publish(source, events);
+			}
+		}
+	}
+
+	private void publish(Object source, List<StateMachineEvent> events) {
+		ApplicationEventPublisher publisher = applicationEventPublisher;
+		if (publisher == null) {
+			return;
+		}
+		StateMachineTransitionBatchEvent batchEvent = new StateMachineTransitionBatchEvent(source, events);
+		AsyncListenerDispatcher dispatcher = this.dispatcher;
+		if (dispatcher != null) {
+			dispatcher.dispatch(() -> publisher.publishEvent(batchEvent));
+		} else {
+			publisher.publishEvent(batchEvent);
+		}
+	}
+
+	/**
+	 * Events of a step in progress. Steps of a single source don't overlap
+	 * but may continue on a different thread, thus access is synchronized.
+	 */
+	private static class Batch {
+
+		private List<StateMachineEvent> events = new ArrayList<>();
+		private int depth;
+
+		synchronized List<StateMachineEvent> start(StateMachineEvent event) {
+			depth++;
+			return add(event);
+		}
+
+		synchronized List<StateMachineEvent> end(StateMachineEvent event) {
+			events.add(event);
+			if (--depth > 0) {
+				return null;
+			}
+			return drain();
+		}
+
+		synchronized List<StateMachineEvent> abort() {
+			if (--depth > 0) {
+				return null;
+			}
+			return drain();
+		}
+
+		synchronized List<StateMachineEvent> add(StateMachineEvent event) {
+			events.add(event);
+			// guard against a step which never ends
+			return events.size() >= MAX_BATCH_SIZE ? drain() : null;
+		}
+
+		synchronized List<StateMachineEvent> drain() {
+			List<StateMachineEvent> drained = events;
+			events = new ArrayList<>();
+			depth = 0;
+			return drained;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -77,6 +77,17 @@ public interface StateMachineEventPublisher {
 	 */
 	void publishTransitionEnd(Object source, Transition<?, ?> transition);
 
+	/**
+	 * Publish that a transition which was started didn't end, for example if
+	 * its actions failed. There will be no transition end event for it.
+	 * Default implementation does nothing.
+	 *
+	 * @param source the source
+	 * @param transition the transition
+	 */
+	default void publishTransitionAbort(Object source, Transition<?, ?> transition) {
+	}
+
 	/**
 	 * Publish a transition event.
 	 *
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,13 @@ package org.springframework.statemachine.event;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.statemachine.StateMachineSystemConstants;
 
 /**
- * Configuration for common {@link StateMachineEventPublisher}.
+ * Configuration for common {@link StateMachineEventPublisher}. Setting a
+ * {@code spring.statemachine.events.batching} property to {@code true}
+ * switches to a {@link BatchingStateMachineEventPublisher}.
  * 
  * @author Janne Valkealahti
  *
@@ -28,8 +31,14 @@ import org.springframework.statemachine.StateMachineSystemConstants;
 @Configuration
 public class StateMachineEventPublisherConfiguration {
 
+	/** Property name enabling batching of published events */
+	public final static String BATCHING_PROPERTY_NAME = "spring.statemachine.events.batching";
+
 	@Bean(name = StateMachineSystemConstants.DEFAULT_ID_EVENT_PUBLISHER)
-	public StateMachineEventPublisher stateMachineEventPublisher() {
+	public StateMachineEventPublisher stateMachineEventPublisher(Environment environment) {
+		if (environment.getProperty(BATCHING_PROPERTY_NAME, Boolean.class, false)) {
+			return new BatchingStateMachineEventPublisher();
+		}
 		return new DefaultStateMachineEventPublisher();
 	}
 	
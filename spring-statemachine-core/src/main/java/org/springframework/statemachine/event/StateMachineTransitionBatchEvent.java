@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event carrying all events of a single run-to-completion step of a machine,
+ * in an order they happened. Published by a
+ * {@link BatchingStateMachineEventPublisher} instead of individual events.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+@SuppressWarnings("serial")
+public class StateMachineTransitionBatchEvent extends StateMachineEvent {
+
+	private final List<StateMachineEvent> events;
+
+	/**
+	 * Instantiates a new state machine transition batch event.
+	 *
+	 * @param source the component that published the event (never {@code null})
+	 * @param events the batched events
+	 */
+	public StateMachineTransitionBatchEvent(Object source, List<StateMachineEvent> events) {
+		super(source);
+		this.events = Collections.unmodifiableList(events);
+	}
+
+	/**
+	 * Gets the batched events.
+	 *
+	 * @return the batched events
+	 */
+	public List<StateMachineEvent> getEvents() {
+		return events;
+	}
+
+	/**
+	 * Gets the batched events of a given type.
+	 *
+	 * @param <T> the type of event
+	 * @param type the event type
+	 * @return the batched events of a given type
+	 */
+	public <T extends StateMachineEvent> List<T> getEvents(Class<T> type) {
+		List<T> result = new ArrayList<>();
+		for (StateMachineEvent event : events) {
+			if (type.isInstance(event)) {
+				result.add(type.cast(event));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "StateMachineTransitionBatchEvent [events=" + events + "]";
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.guard;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.statemachine.StateContext;
+
+/**
+ * Cache for results of a {@link PureGuard}s. A new cache is created for every
+ * run-to-completion step and is passed around in a reactor context, other
+ * guards are always evaluated.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class GuardEvaluationCache {
+
+	private final Map<Guard<?, ?>, Boolean> results = new ConcurrentHashMap<>();
+
+	/**
+	 * Evaluate a guard, using a cached result if guard is a {@link PureGuard}
+	 * already evaluated with this cache.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param guard the guard
+	 * @param context the state context
+	 * @return the guard result
+	 */
+	public <S, E> boolean evaluate(Guard<S, E> guard, StateContext<S, E> context) {
+		if (!(guard instanceof PureGuard)) {
+			return guard.evaluate(context);
+		}
+		// not using computeIfAbsent as guard may evaluate other pure guards
+		Boolean result = results.get(guard);
+		if (result == null) {
+			result = guard.evaluate(context);
+			results.put(guard, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets a number of cached results.
+	 *
+	 * @return the number of cached results
+	 */
+	public int size() {
+		return results.size();
+	}
+}
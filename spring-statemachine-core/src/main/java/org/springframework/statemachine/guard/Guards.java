@@ -1,5 +1,5 @@
 /*
- * Copyright 2019 the original author or authors.
+ * Copyright 2019-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,10 @@ package org.springframework.statemachine.guard;
 import java.util.function.Function;
 
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateMachineSystemConstants;
 
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
  * Guard Utilities.
@@ -38,10 +40,44 @@ public final class Guards {
 	 * @return the function
 	 */
 	public static <S, E> Function<StateContext<S, E>, Mono<Boolean>> from(Guard<S, E> guard) {
-		if (guard != null) {
+		if (guard instanceof PureGuard) {
+			return context -> Mono.deferContextual(ctx -> Mono.just(evaluate(guard, context, ctx)));
+		} else if (guard != null) {
 			return context -> Mono.fromSupplier(() -> guard.evaluate(context));
 		} else {
 			return null;
 		}
 	}
+
+	/**
+	 * Builds a {@link PureGuard} from a {@link Guard}. Result of a pure guard
+	 * is evaluated once per run-to-completion step.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param guard the guard
+	 * @return the pure guard
+	 */
+	public static <S, E> Guard<S, E> pure(Guard<S, E> guard) {
+		if (guard == null || guard instanceof PureGuard) {
+			return guard;
+		}
+		return new PureGuard<>(guard);
+	}
+
+	/**
+	 * Evaluate a guard using a {@link GuardEvaluationCache} from a reactor
+	 * context if one exists.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param guard the guard
+	 * @param context the state context
+	 * @param ctx the reactor context
+	 * @return the guard result
+	 */
+	public static <S, E> boolean evaluate(Guard<S, E> guard, StateContext<S, E> context, ContextView ctx) {
+		GuardEvaluationCache cache = ctx.getOrDefault(StateMachineSystemConstants.REACTOR_CONTEXT_GUARD_CACHE, null);
+		return cache != null ? cache.evaluate(guard, context) : guard.evaluate(context);
+	}
 }
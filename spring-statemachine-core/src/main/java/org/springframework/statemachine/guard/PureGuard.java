@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.guard;
+
+import org.springframework.statemachine.StateContext;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Guard} declared to be pure, meaning its result doesn't change
+ * during a single run-to-completion step. Result of a pure guard is evaluated
+ * once per step and reused when same guard is asked again, i.e. by
+ * choice and junction states or by triggerless transitions.
+ *
+ * <p>Pure guard should not depend on changes to an extended state done by
+ * actions executed within a same step. Use {@link Guards#pure(Guard)} to
+ * create one.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class PureGuard<S, E> implements Guard<S, E> {
+
+	private final Guard<S, E> guard;
+
+	/**
+	 * Instantiates a new pure guard.
+	 *
+	 * @param guard the guard to delegate to
+	 */
+	public PureGuard(Guard<S, E> guard) {
+		Assert.notNull(guard, "Guard must be set");
+		this.guard = guard;
+	}
+
+	@Override
+	public boolean evaluate(StateContext<S, E> context) {
+		return guard.evaluate(context);
+	}
+
+	/**
+	 * Gets the delegating guard.
+	 *
+	 * @return the guard
+	 */
+	public Guard<S, E> getGuard() {
+		return guard;
+	}
+
+	@Override
+	public String toString() {
+		return "PureGuard [guard=" + guard + "]";
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 package org.springframework.statemachine.guard;
 
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.support.StateContextExpressionMethods;
 import org.springframework.util.Assert;
@@ -41,7 +40,7 @@ public class SpelExpressionGuard<S, E> implements Guard<S, E> {
 	public SpelExpressionGuard(Expression expression) {
 		Assert.notNull(expression, "Expression cannot be null");
 		this.expression = expression;
-		this.methods = new StateContextExpressionMethods(new StandardEvaluationContext());
+		this.methods = new StateContextExpressionMethods();
 	}
 
 	@Override
@@ -49,4 +48,13 @@ public class SpelExpressionGuard<S, E> implements Guard<S, E> {
 		return methods.getValue(expression, context, Boolean.class);
 	}
 
+	/**
+	 * Gets the expression.
+	 *
+	 * @return the expression
+	 */
+	public Expression getExpression() {
+		return expression;
+	}
+
 }
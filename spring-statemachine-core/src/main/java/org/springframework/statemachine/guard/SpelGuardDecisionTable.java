@@ -0,0 +1,353 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.guard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.BooleanLiteral;
+import org.springframework.expression.spel.ast.CompoundExpression;
+import org.springframework.expression.spel.ast.Indexer;
+import org.springframework.expression.spel.ast.IntLiteral;
+import org.springframework.expression.spel.ast.Literal;
+import org.springframework.expression.spel.ast.LongLiteral;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpEQ;
+import org.springframework.expression.spel.ast.OpGE;
+import org.springframework.expression.spel.ast.OpGT;
+import org.springframework.expression.spel.ast.OpLE;
+import org.springframework.expression.spel.ast.OpLT;
+import org.springframework.expression.spel.ast.OpMinus;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.statemachine.ExtendedState;
+import org.springframework.statemachine.StateContext;
+
+/**
+ * Decision table compiled from an ordered list of {@link SpelExpressionGuard}s
+ * which all test a same extended state variable against constants, like
+ * {@code extendedState.variables.get('tier') == 'gold'} or
+ * {@code extendedState.variables['amount'] >= 100 && extendedState.variables['amount'] < 200}.
+ * Instead of evaluating expressions one by one, a first matching guard is
+ * found with a hash lookup if all guards are equality checks, or with a
+ * binary search over integral constants if guards are range checks.
+ *
+ * <p>Table only knows how to resolve variable values of a supported type,
+ * for other values {@link #lookup(StateContext)} returns {@link #UNRESOLVED}
+ * and guards need to be evaluated normally. This keeps results identical
+ * to a sequential evaluation.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class SpelGuardDecisionTable<S, E> {
+
+	/** Lookup result when none of the guards match */
+	public static final int NO_MATCH = -1;
+
+	/** Lookup result when guards need to be evaluated normally */
+	public static final int UNRESOLVED = -2;
+
+	private final Object variable;
+	private final Map<Object, Integer> exact;
+	private final long[] bounds;
+	private final int[] atBound;
+	private final int[] betweenBounds;
+
+	private SpelGuardDecisionTable(Object variable, Map<Object, Integer> exact) {
+		this.variable = variable;
+		this.exact = exact;
+		this.bounds = null;
+		this.atBound = null;
+		this.betweenBounds = null;
+	}
+
+	private SpelGuardDecisionTable(Object variable, long[] bounds, int[] atBound, int[] betweenBounds) {
+		this.variable = variable;
+		this.exact = null;
+		this.bounds = bounds;
+		this.atBound = atBound;
+		this.betweenBounds = betweenBounds;
+	}
+
+	/**
+	 * Compile guards into a decision table. {@code null} guards never match.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param guards the guards in evaluation order
+	 * @return the decision table or {@code null} if guards can't be compiled
+	 */
+	public static <S, E> SpelGuardDecisionTable<S, E> compile(List<Guard<S, E>> guards) {
+		Object variable = null;
+		boolean exactOnly = true;
+		boolean integralOnly = true;
+		List<List<Comparison>> branches = new ArrayList<>(guards.size());
+		for (Guard<S, E> guard : guards) {
+			if (guard == null) {
+				branches.add(null);
+				continue;
+			}
+			if (!(guard instanceof SpelExpressionGuard)) {
+				return null;
+			}
+			Expression expression = ((SpelExpressionGuard<S, E>) guard).getExpression();
+			if (!(expression instanceof SpelExpression)) {
+				return null;
+			}
+			List<Comparison> branch = parseBranch(((SpelExpression) expression).getAST());
+			if (branch == null) {
+				return null;
+			}
+			for (Comparison c : branch) {
+				if (variable == null) {
+					variable = c.variable;
+				} else if (!variable.equals(c.variable)) {
+					return null;
+				}
+				integralOnly &= c.constant instanceof Long;
+			}
+			exactOnly &= branch.size() == 1 && branch.get(0).op == Op.EQ;
+			branches.add(branch);
+		}
+		if (variable == null) {
+			return null;
+		}
+		if (exactOnly) {
+			Map<Object, Integer> exact = new HashMap<>();
+			for (int i = 0; i < branches.size(); i++) {
+				if (branches.get(i) != null) {
+					exact.putIfAbsent(branches.get(i).get(0).constant, i);
+				}
+			}
+			return new SpelGuardDecisionTable<>(variable, exact);
+		} else if (integralOnly) {
+			return compileRanges(variable, branches);
+		}
+		return null;
+	}
+
+	/**
+	 * Find an index of a first guard which would match with a given context.
+	 *
+	 * @param context the state context
+	 * @return the guard index, {@link #NO_MATCH} or {@link #UNRESOLVED}
+	 */
+	public int lookup(StateContext<S, E> context) {
+		ExtendedState extendedState = context.getExtendedState();
+		if (extendedState == null) {
+			return UNRESOLVED;
+		}
+		Object value = normalize(extendedState.getVariables().get(variable));
+		if (exact != null) {
+			if (value instanceof Long || value instanceof String || value instanceof Boolean) {
+				Integer index = exact.get(value);
+				return index != null ? index : NO_MATCH;
+			}
+		} else if (value instanceof Long) {
+			int index = Arrays.binarySearch(bounds, (Long) value);
+			return index >= 0 ? atBound[index] : betweenBounds[-index - 1];
+		}
+		return UNRESOLVED;
+	}
+
+	private static <S, E> SpelGuardDecisionTable<S, E> compileRanges(Object variable, List<List<Comparison>> branches) {
+		TreeSet<Long> constants = new TreeSet<>();
+		for (List<Comparison> branch : branches) {
+			if (branch != null) {
+				for (Comparison c : branch) {
+					constants.add((Long) c.constant);
+				}
+			}
+		}
+		long[] bounds = new long[constants.size()];
+		int i = 0;
+		for (Long constant : constants) {
+			bounds[i++] = constant;
+		}
+		// values between two bounds or at a bound all match same guards,
+		// so each region is resolved using one value from it
+		int[] atBound = new int[bounds.length];
+		int[] betweenBounds = new int[bounds.length + 1];
+		for (i = 0; i < bounds.length; i++) {
+			atBound[i] = firstMatch(branches, bounds[i]);
+		}
+		betweenBounds[0] = bounds[0] > Long.MIN_VALUE ? firstMatch(branches, bounds[0] - 1) : NO_MATCH;
+		for (i = 1; i < bounds.length; i++) {
+			betweenBounds[i] = bounds[i - 1] + 1 < bounds[i] ? firstMatch(branches, bounds[i - 1] + 1) : NO_MATCH;
+		}
+		betweenBounds[bounds.length] = bounds[bounds.length - 1] < Long.MAX_VALUE
+				? firstMatch(branches, bounds[bounds.length - 1] + 1)
+				: NO_MATCH;
+		return new SpelGuardDecisionTable<>(variable, bounds, atBound, betweenBounds);
+	}
+
+	private static int firstMatch(List<List<Comparison>> branches, long value) {
+		for (int i = 0; i < branches.size(); i++) {
+			List<Comparison> branch = branches.get(i);
+			if (branch == null) {
+				continue;
+			}
+			boolean match = true;
+			for (Comparison c : branch) {
+				match &= c.op.test(value, (Long) c.constant);
+			}
+			if (match) {
+				return i;
+			}
+		}
+		return NO_MATCH;
+	}
+
+	private static List<Comparison> parseBranch(SpelNode node) {
+		if (node instanceof OpAnd) {
+			List<Comparison> left = parseBranch(node.getChild(0));
+			List<Comparison> right = parseBranch(node.getChild(1));
+			if (left == null || right == null) {
+				return null;
+			}
+			left.addAll(right);
+			return left;
+		}
+		Op op = Op.of(node);
+		if (op == null) {
+			return null;
+		}
+		Object variable = parseVariable(node.getChild(0));
+		Object constant = parseConstant(node.getChild(1));
+		if (variable == null || constant == null) {
+			variable = parseVariable(node.getChild(1));
+			constant = parseConstant(node.getChild(0));
+			op = op.flip();
+		}
+		if (variable == null || constant == null) {
+			return null;
+		}
+		List<Comparison> branch = new ArrayList<>(2);
+		branch.add(new Comparison(variable, op, constant));
+		return branch;
+	}
+
+	private static Object parseVariable(SpelNode node) {
+		// extendedState.variables.get('key') or extendedState.variables['key']
+		if (!(node instanceof CompoundExpression) || node.getChildCount() != 3
+				|| !isProperty(node.getChild(0), "extendedState") || !isProperty(node.getChild(1), "variables")) {
+			return null;
+		}
+		SpelNode accessor = node.getChild(2);
+		boolean get = accessor instanceof MethodReference && "get".equals(((MethodReference) accessor).getName());
+		if ((get || accessor instanceof Indexer) && accessor.getChildCount() == 1
+				&& accessor.getChild(0) instanceof StringLiteral) {
+			return ((StringLiteral) accessor.getChild(0)).getLiteralValue().getValue();
+		}
+		return null;
+	}
+
+	private static boolean isProperty(SpelNode node, String name) {
+		return node instanceof PropertyOrFieldReference && name.equals(((PropertyOrFieldReference) node).getName());
+	}
+
+	private static Object parseConstant(SpelNode node) {
+		if (node instanceof OpMinus && node.getChildCount() == 1) {
+			Object value = parseConstant(node.getChild(0));
+			return value instanceof Long ? -((Long) value) : null;
+		}
+		if (node instanceof IntLiteral || node instanceof LongLiteral || node instanceof StringLiteral
+				|| node instanceof BooleanLiteral) {
+			return normalize(((Literal) node).getLiteralValue().getValue());
+		}
+		return null;
+	}
+
+	private static Object normalize(Object value) {
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).longValue();
+		}
+		return value;
+	}
+
+	private enum Op {
+		EQ, LT, LE, GT, GE;
+
+		static Op of(SpelNode node) {
+			if (node instanceof OpEQ) {
+				return EQ;
+			} else if (node instanceof OpLT) {
+				return LT;
+			} else if (node instanceof OpLE) {
+				return LE;
+			} else if (node instanceof OpGT) {
+				return GT;
+			} else if (node instanceof OpGE) {
+				return GE;
+			}
+			return null;
+		}
+
+		Op flip() {
+			switch (this) {
+			case LT:
+				return GT;
+			case LE:
+				return GE;
+			case GT:
+				return LT;
+			case GE:
+				return LE;
+			default:
+				return this;
+			}
+		}
+
+		boolean test(long value, long constant) {
+			switch (this) {
+			case LT:
+				return value < constant;
+			case LE:
+				return value <= constant;
+			case GT:
+				return value > constant;
+			case GE:
+				return value >= constant;
+			default:
+				return value == constant;
+			}
+		}
+	}
+
+	private static class Comparison {
+
+		final Object variable;
+		final Op op;
+		final Object constant;
+
+		Comparison(Object variable, Op op, Object constant) {
+			this.variable = variable;
+			this.op = op;
+			this.constant = constant;
+		}
+	}
+}
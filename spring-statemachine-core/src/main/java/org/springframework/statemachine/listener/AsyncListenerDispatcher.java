@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.listener;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Dispatcher running notification tasks on an {@link Executor} through a
+ * bounded queue. At most one drain task is active at any time which keeps
+ * tasks in the order they were dispatched while a notifying thread only pays
+ * for a queue insert.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class AsyncListenerDispatcher {
+
+	private final static Log log = LogFactory.getLog(AsyncListenerDispatcher.class);
+	/** Default queue capacity */
+	public final static int DEFAULT_CAPACITY = 1024;
+	/** Default overflow policy */
+	public final static ListenerOverflowPolicy DEFAULT_OVERFLOW_POLICY = ListenerOverflowPolicy.DROP_NEWEST;
+	private final static int DRAIN_BATCH_SIZE = 64;
+	private final Executor executor;
+	private final BlockingQueue<Runnable> queue;
+	private final int capacity;
+	private final ListenerOverflowPolicy overflowPolicy;
+	private final AtomicBoolean draining = new AtomicBoolean();
+	private final AtomicLong dispatched = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final Runnable drainTask = this::drain;
+
+	/**
+	 * Instantiates a new async listener dispatcher with a default
+	 * capacity and {@link ListenerOverflowPolicy#DROP_NEWEST} which never
+	 * blocks a notifying thread.
+	 *
+	 * @param executor the executor
+	 */
+	public AsyncListenerDispatcher(Executor executor) {
+		this(executor, DEFAULT_CAPACITY, DEFAULT_OVERFLOW_POLICY);
+	}
+
+	/**
+	 * Instantiates a new async listener dispatcher.
+	 *
+	 * @param executor the executor
+	 * @param capacity the queue capacity
+	 * @param overflowPolicy the overflow policy
+	 */
+	public AsyncListenerDispatcher(Executor executor, int capacity, ListenerOverflowPolicy overflowPolicy) {
+		Assert.notNull(executor, "Executor must be set");
+		Assert.isTrue(capacity > 0, "Capacity must be positive");
+		Assert.notNull(overflowPolicy, "Overflow policy must be set");
+		this.executor = executor;
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+	}
+
+	/**
+	 * Dispatch a task. Depending on {@link ListenerOverflowPolicy} this
+	 * either blocks or drops a task if queue is full.
+	 *
+	 * @param task the task
+	 * @return true, if task was queued
+	 */
+	public boolean dispatch(Runnable task) {
+		if (!enqueue(task)) {
+			onDropped();
+			return false;
+		}
+		schedule();
+		return true;
+	}
+
+	/**
+	 * Gets the number of currently queued tasks.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * Gets the queue capacity.
+	 *
+	 * @return the queue capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Gets the overflow policy.
+	 *
+	 * @return the overflow policy
+	 */
+	public ListenerOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Gets the number of tasks run so far.
+	 *
+	 * @return the dispatched count
+	 */
+	public long getDispatchedCount() {
+		return dispatched.get();
+	}
+
+	/**
+	 * Gets the number of tasks dropped so far.
+	 *
+	 * @return the dropped count
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	private boolean enqueue(Runnable task) {
+		if (overflowPolicy == ListenerOverflowPolicy.BLOCK) {
+			try {
+				queue.put(task);
+				return true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		} else if (overflowPolicy == ListenerOverflowPolicy.DROP_OLDEST) {
+			while (!queue.offer(task)) {
+				if (queue.poll() != null) {
+					onDropped();
+				}
+			}
+			return true;
+		}
+		return queue.offer(task);
+	}
+
+	private void onDropped() {
+		// warn once as a full queue usually drops a lot of tasks in a row
+		if (dropped.incrementAndGet() == 1) {
+			log.warn("Listener dispatch queue full with capacity " + capacity + ", dropping tasks with "
+					+ overflowPolicy);
+		}
+	}
+
+	private void schedule() {
+		if (draining.compareAndSet(false, true)) {
+			try {
+				executor.execute(drainTask);
+			} catch (RuntimeException e) {
+				draining.set(false);
+				log.warn("Unable to schedule listener dispatch, " + queue.size() + " tasks queued", e);
+			}
+		}
+	}
+
+	private void drain() {
+		try {
+			Runnable task;
+			int count = 0;
+			// run in batches so that dispatchers sharing an executor get their turn
+			while (count++ < DRAIN_BATCH_SIZE && (task = queue.poll()) != null) {
+				try {
+					task.run();
+				} catch (Throwable e) {
+					log.warn("Error during listener dispatch", e);
+				}
+				dispatched.incrementAndGet();
+			}
+		} finally {
+			draining.set(false);
+		}
+		if (!queue.isEmpty()) {
+			schedule();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "AsyncListenerDispatcher [capacity=" + capacity + ", overflowPolicy=" + overflowPolicy + ", queueDepth="
+				+ queue.size() + ", dispatched=" + dispatched + ", dropped=" + dropped + "]";
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.listener;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.util.Assert;
+
+/**
+ * {@link StateMachineListener} passing notifications to a delegate through
+ * its own {@link AsyncListenerDispatcher}. A slow delegate then doesn't add
+ * its latency to transitions and doesn't hold back other listeners while
+ * notifications for it are still received in order.
+ * <p>
+ * Notifications are handled after a machine has moved on, thus
+ * {@link StateContext} given to a delegate may see a newer extended state
+ * than what existed when notification was created. Callbacks which a
+ * delegate doesn't implement are not queued at all.
+ * <p>
+ * Use {@link #of(StateMachineListener, AsyncListenerDispatcher)} to keep an
+ * {@link Ordered} or {@link Order} of a delegate when listener is registered
+ * into an ordered composite.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public class AsyncStateMachineListener<S, E> implements SelectiveStateMachineListener<S, E> {
+
+	private final StateMachineListener<S, E> delegate;
+	private final AsyncListenerDispatcher dispatcher;
+	private final ListenerInterest interest;
+
+	/**
+	 * Instantiates a new async state machine listener.
+	 *
+	 * @param delegate the delegate listener
+	 * @param executor the executor
+	 */
+	public AsyncStateMachineListener(StateMachineListener<S, E> delegate, Executor executor) {
+		this(delegate, new AsyncListenerDispatcher(executor));
+	}
+
+	/**
+	 * Instantiates a new async state machine listener.
+	 *
+	 * @param delegate the delegate listener
+	 * @param dispatcher the dispatcher
+	 */
+	public AsyncStateMachineListener(StateMachineListener<S, E> delegate, AsyncListenerDispatcher dispatcher) {
+		Assert.notNull(delegate, "Delegate listener must be set");
+		Assert.notNull(dispatcher, "Dispatcher must be set");
+		this.delegate = delegate;
+		this.dispatcher = dispatcher;
+		this.interest = ListenerInterest.of(delegate);
+	}
+
+	/**
+	 * Wrap a delegate into an async state machine listener. Returned listener
+	 * is {@link Ordered} with an order of a delegate if delegate is either
+	 * {@link Ordered} or annotated with {@link Order}.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param delegate the delegate listener
+	 * @param dispatcher the dispatcher
+	 * @return the async state machine listener
+	 */
+	public static <S, E> AsyncStateMachineListener<S, E> of(StateMachineListener<S, E> delegate,
+			AsyncListenerDispatcher dispatcher) {
+		if (delegate instanceof Ordered) {
+			return new OrderedAsyncStateMachineListener<>(delegate, dispatcher, ((Ordered) delegate).getOrder());
+		} else if (delegate != null && AnnotationUtils.isAnnotationDeclaredLocally(Order.class, delegate.getClass())) {
+			return new OrderedAsyncStateMachineListener<>(delegate, dispatcher,
+					OrderUtils.getOrder(delegate.getClass(), Ordered.LOWEST_PRECEDENCE));
+		}
+		return new AsyncStateMachineListener<>(delegate, dispatcher);
+	}
+
+	@Override
+	public boolean isInterestedIn(Stage stage) {
+		if (delegate instanceof SelectiveStateMachineListener) {
+			return ((SelectiveStateMachineListener<S, E>) delegate).isInterestedIn(stage);
+		}
+		return interest.isInterestedIn(stage);
+	}
+
+	@Override
+	public void stateChanged(State<S, E> from, State<S, E> to) {
+		if (interest.hasCallback(Stage.STATE_CHANGED)) {
+			dispatcher.dispatch(() -> delegate.stateChanged(from, to));
+		}
+	}
+
+	@Override
+	public void stateEntered(State<S, E> state) {
+		if (interest.hasCallback(Stage.STATE_ENTRY)) {
+			dispatcher.dispatch(() -> delegate.stateEntered(state));
+		}
+	}
+
+	@Override
+	public void stateExited(State<S, E> state) {
+		if (interest.hasCallback(Stage.STATE_EXIT)) {
+			dispatcher.dispatch(() -> delegate.stateExited(state));
+		}
+	}
+
+	@Override
+	public void eventNotAccepted(Message<E> event) {
+		if (interest.hasCallback(Stage.EVENT_NOT_ACCEPTED)) {
+			dispatcher.dispatch(() -> delegate.eventNotAccepted(event));
+		}
+	}
+
+	@Override
+	public void transition(Transition<S, E> transition) {
+		if (interest.hasCallback(Stage.TRANSITION)) {
+			dispatcher.dispatch(() -> delegate.transition(transition));
+		}
+	}
+
+	@Override
+	public void transitionStarted(Transition<S, E> transition) {
+		if (interest.hasCallback(Stage.TRANSITION_START)) {
+			dispatcher.dispatch(() -> delegate.transitionStarted(transition));
+		}
+	}
+
+	@Override
+	public void transitionEnded(Transition<S, E> transition) {
+		if (interest.hasCallback(Stage.TRANSITION_END)) {
+			dispatcher.dispatch(() -> delegate.transitionEnded(transition));
+		}
+	}
+
+	@Override
+	public void stateMachineStarted(StateMachine<S, E> stateMachine) {
+		if (interest.hasCallback(Stage.STATEMACHINE_START)) {
+			dispatcher.dispatch(() -> delegate.stateMachineStarted(stateMachine));
+		}
+	}
+
+	@Override
+	public void stateMachineStopped(StateMachine<S, E> stateMachine) {
+		if (interest.hasCallback(Stage.STATEMACHINE_STOP)) {
+			dispatcher.dispatch(() -> delegate.stateMachineStopped(stateMachine));
+		}
+	}
+
+	@Override
+	public void stateMachineError(StateMachine<S, E> stateMachine, Exception exception) {
+		if (interest.hasCallback(Stage.STATEMACHINE_ERROR)) {
+			dispatcher.dispatch(() -> delegate.stateMachineError(stateMachine, exception));
+		}
+	}
+
+	@Override
+	public void extendedStateChanged(Object key, Object value) {
+		if (interest.hasCallback(Stage.EXTENDED_STATE_CHANGED)) {
+			dispatcher.dispatch(() -> delegate.extendedStateChanged(key, value));
+		}
+	}
+
+	@Override
+	public void stateContext(StateContext<S, E> stateContext) {
+		if (interest.hasStateContextCallback()) {
+			dispatcher.dispatch(() -> delegate.stateContext(stateContext));
+		}
+	}
+
+	/**
+	 * Gets the delegate listener.
+	 *
+	 * @return the delegate listener
+	 */
+	public StateMachineListener<S, E> getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Gets the dispatcher.
+	 *
+	 * @return the dispatcher
+	 */
+	public AsyncListenerDispatcher getDispatcher() {
+		return dispatcher;
+	}
+
+	private static class OrderedAsyncStateMachineListener<S, E> extends AsyncStateMachineListener<S, E>
+			implements Ordered {
+
+		private final int order;
+
+		OrderedAsyncStateMachineListener(StateMachineListener<S, E> delegate, AsyncListenerDispatcher dispatcher,
+				int order) {
+			super(delegate, dispatcher);
+			this.order = order;
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,18 +15,24 @@
  */
 package org.springframework.statemachine.listener;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.messaging.Message;
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.transition.Transition;
 
 /**
- * Default {@link StateMachineListener} dispatcher.
+ * Default {@link StateMachineListener} dispatcher. Keeps track of a combined
+ * {@link ListenerInterest} of registered listeners so that a machine can skip
+ * notifications nobody is listening.
  *
  * @author Janne Valkealahti
  *
@@ -37,6 +43,64 @@ public class CompositeStateMachineListener<S, E> extends AbstractCompositeListen
 		implements StateMachineListener<S, E> {
 
 	private final static Log log = LogFactory.getLog(CompositeStateMachineListener.class);
+	private volatile EnumSet<Stage> interests = EnumSet.noneOf(Stage.class);
+	private volatile List<SelectiveStateMachineListener<S, E>> selectiveListeners = new ArrayList<>();
+
+	@Override
+	public void setListeners(List<? extends StateMachineListener<S, E>> listeners) {
+		super.setListeners(listeners);
+		updateInterests();
+	}
+
+	@Override
+	public void register(StateMachineListener<S, E> listener) {
+		super.register(listener);
+		updateInterests();
+	}
+
+	@Override
+	public void unregister(StateMachineListener<S, E> listener) {
+		super.unregister(listener);
+		updateInterests();
+	}
+
+	/**
+	 * Checks if any of the registered listeners is interested in a {@link Stage}.
+	 *
+	 * @param stage the stage
+	 * @return true, if notification for a stage is needed
+	 */
+	public boolean isInterestedIn(Stage stage) {
+		if (interests.contains(stage)) {
+			return true;
+		}
+		for (SelectiveStateMachineListener<S, E> listener : selectiveListeners) {
+			if (listener.isInterestedIn(stage)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private synchronized void updateInterests() {
+		EnumSet<Stage> interests = EnumSet.noneOf(Stage.class);
+		List<SelectiveStateMachineListener<S, E>> selectiveListeners = new ArrayList<>();
+		for (Iterator<StateMachineListener<S, E>> iterator = getListeners().iterator(); iterator.hasNext();) {
+			StateMachineListener<S, E> listener = iterator.next();
+			if (listener instanceof SelectiveStateMachineListener) {
+				selectiveListeners.add((SelectiveStateMachineListener<S, E>) listener);
+			} else {
+				ListenerInterest interest = ListenerInterest.of(listener);
+				for (Stage stage : Stage.values()) {
+					if (interest.isInterestedIn(stage)) {
+						interests.add(stage);
+					}
+				}
+			}
+		}
+		this.interests = interests;
+		this.selectiveListeners = selectiveListeners;
+	}
 
 	@Override
 	public void stateChanged(State<S, E> from, State<S, E> to) {
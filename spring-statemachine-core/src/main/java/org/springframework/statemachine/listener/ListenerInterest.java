@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.listener;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Resolved interest of a {@link StateMachineListener} telling which callback
+ * methods it actually implements. For listeners extending
+ * {@link StateMachineListenerAdapter} a callback is considered implemented if
+ * it's overridden, other listeners are expected to implement all callbacks
+ * unless they are {@link SelectiveStateMachineListener}s.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public final class ListenerInterest {
+
+	private final static Map<Class<?>, ListenerInterest> CACHE = new ConcurrentReferenceHashMap<>();
+	private final static Map<Stage, Method> CALLBACKS = new EnumMap<>(Stage.class);
+	private final static Method STATE_CONTEXT_CALLBACK;
+	private final static ListenerInterest ALL = new ListenerInterest(EnumSet.allOf(Stage.class), true);
+
+	static {
+		Class<?> c = StateMachineListener.class;
+		CALLBACKS.put(Stage.STATE_CHANGED, ClassUtils.getMethod(c, "stateChanged", State.class, State.class));
+		CALLBACKS.put(Stage.STATE_ENTRY, ClassUtils.getMethod(c, "stateEntered", State.class));
+		CALLBACKS.put(Stage.STATE_EXIT, ClassUtils.getMethod(c, "stateExited", State.class));
+		CALLBACKS.put(Stage.EVENT_NOT_ACCEPTED, ClassUtils.getMethod(c, "eventNotAccepted", Message.class));
+		CALLBACKS.put(Stage.TRANSITION, ClassUtils.getMethod(c, "transition", Transition.class));
+		CALLBACKS.put(Stage.TRANSITION_START, ClassUtils.getMethod(c, "transitionStarted", Transition.class));
+		CALLBACKS.put(Stage.TRANSITION_END, ClassUtils.getMethod(c, "transitionEnded", Transition.class));
+		CALLBACKS.put(Stage.STATEMACHINE_START, ClassUtils.getMethod(c, "stateMachineStarted", StateMachine.class));
+		CALLBACKS.put(Stage.STATEMACHINE_STOP, ClassUtils.getMethod(c, "stateMachineStopped", StateMachine.class));
+		CALLBACKS.put(Stage.STATEMACHINE_ERROR,
+				ClassUtils.getMethod(c, "stateMachineError", StateMachine.class, Exception.class));
+		CALLBACKS.put(Stage.EXTENDED_STATE_CHANGED,
+				ClassUtils.getMethod(c, "extendedStateChanged", Object.class, Object.class));
+		STATE_CONTEXT_CALLBACK = ClassUtils.getMethod(c, "stateContext", StateContext.class);
+	}
+
+	private final Set<Stage> callbacks;
+	private final boolean stateContext;
+
+	private ListenerInterest(Set<Stage> callbacks, boolean stateContext) {
+		this.callbacks = Collections.unmodifiableSet(callbacks);
+		this.stateContext = stateContext;
+	}
+
+	/**
+	 * Resolves an interest of a listener. Results are cached per listener class.
+	 *
+	 * @param listener the listener
+	 * @return the listener interest
+	 */
+	public static ListenerInterest of(StateMachineListener<?, ?> listener) {
+		if (listener == null) {
+			return ALL;
+		}
+		return CACHE.computeIfAbsent(listener.getClass(), ListenerInterest::resolve);
+	}
+
+	/**
+	 * Checks if a listener needs to be notified about a {@link Stage} either
+	 * via its dedicated callback or via {@link StateMachineListener#stateContext(StateContext)}.
+	 *
+	 * @param stage the stage
+	 * @return true, if listener is interested in a stage
+	 */
+	public boolean isInterestedIn(Stage stage) {
+		return stateContext || callbacks.contains(stage);
+	}
+
+	/**
+	 * Checks if a dedicated callback of a {@link Stage} is implemented.
+	 *
+	 * @param stage the stage
+	 * @return true, if callback is implemented
+	 */
+	public boolean hasCallback(Stage stage) {
+		return callbacks.contains(stage);
+	}
+
+	/**
+	 * Checks if {@link StateMachineListener#stateContext(StateContext)} is implemented.
+	 *
+	 * @return true, if state context callback is implemented
+	 */
+	public boolean hasStateContextCallback() {
+		return stateContext;
+	}
+
+	/**
+	 * Gets stages having a dedicated callback implemented.
+	 *
+	 * @return the stages
+	 */
+	public Set<Stage> getCallbacks() {
+		return callbacks;
+	}
+
+	private static ListenerInterest resolve(Class<?> clazz) {
+		if (!StateMachineListenerAdapter.class.isAssignableFrom(clazz)) {
+			return ALL;
+		}
+		EnumSet<Stage> callbacks = EnumSet.noneOf(Stage.class);
+		for (Map.Entry<Stage, Method> entry : CALLBACKS.entrySet()) {
+			if (isOverridden(clazz, entry.getValue())) {
+				callbacks.add(entry.getKey());
+			}
+		}
+		return new ListenerInterest(callbacks, isOverridden(clazz, STATE_CONTEXT_CALLBACK));
+	}
+
+	private static boolean isOverridden(Class<?> clazz, Method method) {
+		Method m = ClassUtils.getMethodIfAvailable(clazz, method.getName(), method.getParameterTypes());
+		return m == null || m.getDeclaringClass() != StateMachineListenerAdapter.class;
+	}
+
+	@Override
+	public String toString() {
+		return "ListenerInterest [callbacks=" + callbacks + ", stateContext=" + stateContext + "]";
+	}
+}
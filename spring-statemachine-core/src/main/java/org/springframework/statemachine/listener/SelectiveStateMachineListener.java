@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.listener;
+
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
+
+/**
+ * {@link StateMachineListener} which declares which notifications it is
+ * interested in. A state machine skips all work for building a notification
+ * if none of its listeners, annotation handlers or event publisher need it.
+ * <p>
+ * Listeners extending {@link StateMachineListenerAdapter} don't need to
+ * implement this interface as their interest is resolved from overridden
+ * methods.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <S> the type of state
+ * @param <E> the type of event
+ */
+public interface SelectiveStateMachineListener<S, E> extends StateMachineListener<S, E> {
+
+	/**
+	 * Checks if listener wants to be notified about a {@link Stage}. This
+	 * applies both to a dedicated callback method of a stage and to
+	 * {@link #stateContext(StateContext)}.
+	 *
+	 * @param stage the stage
+	 * @return true, if listener is interested in a stage
+	 */
+	boolean isInterestedIn(Stage stage);
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2019 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,14 +16,21 @@
 package org.springframework.statemachine.monitor;
 
 import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import org.springframework.messaging.Message;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
 import org.springframework.statemachine.support.AbstractCompositeItems;
+import org.springframework.statemachine.support.StateMachineExecutor;
 import org.springframework.statemachine.transition.Transition;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
  * Implementation of a {@link StateMachineMonitor} backed by a multiple monitors.
@@ -52,4 +59,128 @@ public class CompositeStateMachineMonitor<S, E> extends AbstractCompositeItems<S
 			monitor.action(stateMachine, action, duration);
 		}
 	}
+
+	@Override
+	public void transition(StateMachine<S, E> stateMachine, Transition<S, E> transition, long duration,
+			TimeUnit unit) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.transition(stateMachine, transition, duration, unit);
+		}
+	}
+
+	@Override
+	public void action(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			long duration, TimeUnit unit) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.action(stateMachine, action, duration, unit);
+		}
+	}
+
+	@Override
+	public void event(StateMachine<S, E> stateMachine, Message<E> event, ResultType resultType) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.event(stateMachine, event, resultType);
+		}
+	}
+
+	@Override
+	public void executorStarted(StateMachine<S, E> stateMachine, StateMachineExecutor<S, E> executor) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.executorStarted(stateMachine, executor);
+		}
+	}
+
+	@Override
+	public void executorStopped(StateMachine<S, E> stateMachine, StateMachineExecutor<S, E> executor) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.executorStopped(stateMachine, executor);
+		}
+	}
+
+	@Override
+	public void executorTriggerWait(StateMachine<S, E> stateMachine, long duration, TimeUnit unit) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.executorTriggerWait(stateMachine, duration, unit);
+		}
+	}
+
+	@Override
+	public void stateDoActionWait(StateMachine<S, E> stateMachine, long duration, TimeUnit unit) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.stateDoActionWait(stateMachine, duration, unit);
+		}
+	}
+
+	@Override
+	public void stateDoActionRejected(StateMachine<S, E> stateMachine) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.stateDoActionRejected(stateMachine);
+		}
+	}
+
+	@Override
+	public void executorRunToCompletion(StateMachine<S, E> stateMachine, long duration, TimeUnit unit) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.executorRunToCompletion(stateMachine, duration, unit);
+		}
+	}
+
+	@Override
+	public void executorEmitRetry(StateMachine<S, E> stateMachine) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.executorEmitRetry(stateMachine);
+		}
+	}
+
+	@Override
+	public void timerTriggerLag(StateMachine<S, E> stateMachine, long lag, TimeUnit unit) {
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			monitor.timerTriggerLag(stateMachine, lag, unit);
+		}
+	}
+
+	@Override
+	public <T> Mono<T> observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			Mono<T> execution) {
+		Mono<T> observed = execution;
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			observed = monitor.observe(stateMachine, operation, subject, observed);
+		}
+		return observed;
+	}
+
+	@Override
+	public <T> Flux<T> observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			Flux<T> execution) {
+		Flux<T> observed = execution;
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			observed = monitor.observe(stateMachine, operation, subject, observed);
+		}
+		return observed;
+	}
+
+	@Override
+	public <T> T observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			ContextView context, Supplier<T> execution) {
+		Supplier<T> observed = execution;
+		for (Iterator<StateMachineMonitor<S, E>> iterator = getItems().reverse(); iterator.hasNext();) {
+			StateMachineMonitor<S, E> monitor = iterator.next();
+			Supplier<T> inner = observed;
+			observed = () -> monitor.observe(stateMachine, operation, subject, context, inner);
+		}
+		return observed.get();
+	}
 }
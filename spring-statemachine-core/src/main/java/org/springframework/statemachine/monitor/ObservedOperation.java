@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.monitor;
+
+/**
+ * Operations within a state machine execution which a
+ * {@link StateMachineMonitor} can observe. Operations nest, meaning that
+ * a transition selection happens within an event and guards, actions and
+ * state change interceptors within a transition selection.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public enum ObservedOperation {
+
+	/** Event sent into a machine, subject is a message */
+	EVENT,
+
+	/** Selection and execution of a transition for a trigger, subject is a message if any */
+	TRANSITION_SELECTION,
+
+	/** Guard evaluation, subject is a transition */
+	GUARD,
+
+	/** Action execution, subject is an action function */
+	ACTION,
+
+	/** State change interceptors, including persisting writes, subject is a target state */
+	STATE_CHANGE_INTERCEPTION
+}
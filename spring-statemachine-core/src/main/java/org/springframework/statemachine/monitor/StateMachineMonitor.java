@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2019 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,13 +15,20 @@
  */
 package org.springframework.statemachine.monitor;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import org.springframework.messaging.Message;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+import org.springframework.statemachine.support.StateMachineExecutor;
 import org.springframework.statemachine.transition.Transition;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
  * {@code StateMachineMonitor} for various state machine monitoring events.
@@ -50,4 +57,185 @@ public interface StateMachineMonitor<S, E> {
 	 * @param duration the transition duration
 	 */
 	void action(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action, long duration);
+
+	/**
+	 * Notified duration of a particular transition in a given time unit. Machine
+	 * measures durations with a nanosecond precision and calls this method.
+	 * Default implementation converts duration into milliseconds and delegates
+	 * to {@link #transition(StateMachine, Transition, long)}.
+	 *
+	 * @param stateMachine the state machine
+	 * @param transition the transition
+	 * @param duration the transition duration
+	 * @param unit the time unit of a duration
+	 */
+	default void transition(StateMachine<S, E> stateMachine, Transition<S, E> transition, long duration,
+			TimeUnit unit) {
+		transition(stateMachine, transition, unit.toMillis(duration));
+	}
+
+	/**
+	 * Notified duration of a particular action in a given time unit. Machine
+	 * measures durations with a nanosecond precision and calls this method.
+	 * Default implementation converts duration into milliseconds and delegates
+	 * to {@link #action(StateMachine, Function, long)}.
+	 *
+	 * @param stateMachine the state machine
+	 * @param action the action
+	 * @param duration the action duration
+	 * @param unit the time unit of a duration
+	 */
+	default void action(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			long duration, TimeUnit unit) {
+		action(stateMachine, action, unit.toMillis(duration));
+	}
+
+	/**
+	 * Notified result of an event sent into a top level state machine. Default
+	 * implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 * @param event the event message
+	 * @param resultType the result type
+	 */
+	default void event(StateMachine<S, E> stateMachine, Message<E> event, ResultType resultType) {
+	}
+
+	/**
+	 * Notified when an executor of a machine or its submachine is started.
+	 * Monitor may keep a weak reference to an executor to sample its queue
+	 * sizes. Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 * @param executor the state machine executor
+	 */
+	default void executorStarted(StateMachine<S, E> stateMachine, StateMachineExecutor<S, E> executor) {
+	}
+
+	/**
+	 * Notified when an executor of a machine or its submachine is stopped.
+	 * Monitor may release anything it keeps for a machine once none of its
+	 * executors are running. Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 * @param executor the state machine executor
+	 */
+	default void executorStopped(StateMachine<S, E> stateMachine, StateMachineExecutor<S, E> executor) {
+	}
+
+	/**
+	 * Notified time a trigger waited in an executor queue before its
+	 * processing started. Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 * @param duration the wait duration
+	 * @param unit the time unit of a duration
+	 */
+	default void executorTriggerWait(StateMachine<S, E> stateMachine, long duration, TimeUnit unit) {
+	}
+
+	/**
+	 * Notified duration of a run to completion step processing one trigger.
+	 * Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 * @param duration the step duration
+	 * @param unit the time unit of a duration
+	 */
+	default void executorRunToCompletion(StateMachine<S, E> stateMachine, long duration, TimeUnit unit) {
+	}
+
+	/**
+	 * Notified when an executor had to retry emitting a trigger into its
+	 * queue. Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 */
+	default void executorEmitRetry(StateMachine<S, E> stateMachine) {
+	}
+
+	/**
+	 * Notified how much processing of a timer trigger lagged behind a time
+	 * it was due. Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 * @param lag the lag
+	 * @param unit the time unit of a lag
+	 */
+	default void timerTriggerLag(StateMachine<S, E> stateMachine, long lag, TimeUnit unit) {
+	}
+
+	/**
+	 * Notified time a state do action waited in a
+	 * {@link org.springframework.statemachine.action.StateDoActionExecutor}
+	 * queue before it started. Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 * @param duration the wait duration
+	 * @param unit the time unit of a duration
+	 */
+	default void stateDoActionWait(StateMachine<S, E> stateMachine, long duration, TimeUnit unit) {
+	}
+
+	/**
+	 * Notified when a state do action was rejected by a
+	 * {@link org.springframework.statemachine.action.StateDoActionExecutor}.
+	 * Default implementation does nothing.
+	 *
+	 * @param stateMachine the state machine
+	 */
+	default void stateDoActionRejected(StateMachine<S, E> stateMachine) {
+	}
+
+	/**
+	 * Decorates a reactive execution of an observed operation, for example to
+	 * wrap it within a tracing span. Observation state should be passed to
+	 * nested operations via a reactor context. Default implementation returns
+	 * execution as is.
+	 *
+	 * @param <T> the type of a result
+	 * @param stateMachine the state machine
+	 * @param operation the observed operation
+	 * @param subject the operation subject, may be {@code NULL}
+	 * @param execution the execution
+	 * @return the decorated execution
+	 */
+	default <T> Mono<T> observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			Mono<T> execution) {
+		return execution;
+	}
+
+	/**
+	 * Decorates a reactive execution of an observed operation.
+	 *
+	 * @param <T> the type of a result
+	 * @param stateMachine the state machine
+	 * @param operation the observed operation
+	 * @param subject the operation subject, may be {@code NULL}
+	 * @param execution the execution
+	 * @return the decorated execution
+	 * @see #observe(StateMachine, ObservedOperation, Object, Mono)
+	 */
+	default <T> Flux<T> observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			Flux<T> execution) {
+		return execution;
+	}
+
+	/**
+	 * Executes a blocking part of an observed operation which happens within
+	 * a reactive execution having a given context. Default implementation
+	 * simply calls given supplier.
+	 *
+	 * @param <T> the type of a result
+	 * @param stateMachine the state machine
+	 * @param operation the observed operation
+	 * @param subject the operation subject, may be {@code NULL}
+	 * @param context the reactor context of an enclosing execution
+	 * @param execution the execution
+	 * @return the result of an execution
+	 */
+	default <T> T observe(StateMachine<S, E> stateMachine, ObservedOperation operation, Object subject,
+			ContextView context, Supplier<T> execution) {
+		return execution.get();
+	}
 }
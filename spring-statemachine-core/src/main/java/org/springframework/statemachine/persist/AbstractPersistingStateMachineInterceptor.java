@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2025 the original author or authors.
+ * Copyright 2017-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,12 @@ package org.springframework.statemachine.persist;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.apache.commons.logging.Log;
@@ -31,6 +34,7 @@ import org.springframework.statemachine.StateMachineContext;
 import org.springframework.statemachine.StateMachineException;
 import org.springframework.statemachine.StateMachinePersist;
 import org.springframework.statemachine.region.Region;
+import org.springframework.statemachine.service.StateMachineTimerStore;
 import org.springframework.statemachine.state.AbstractState;
 import org.springframework.statemachine.state.HistoryPseudoState;
 import org.springframework.statemachine.state.PseudoState;
@@ -40,8 +44,10 @@ import org.springframework.statemachine.support.DefaultExtendedState;
 import org.springframework.statemachine.support.DefaultStateMachineContext;
 import org.springframework.statemachine.support.StateMachineInterceptor;
 import org.springframework.statemachine.support.StateMachineInterceptorAdapter;
+import org.springframework.statemachine.support.StateMachineUtils;
 import org.springframework.statemachine.transition.Transition;
 import org.springframework.statemachine.transition.TransitionKind;
+import org.springframework.statemachine.trigger.TimerTrigger;
 import org.springframework.util.Assert;
 
 /**
@@ -61,7 +67,11 @@ public abstract class AbstractPersistingStateMachineInterceptor<S, E, T> extends
 		implements StateMachinePersist<S, E, T> {
 
 	private static final Log log = LogFactory.getLog(AbstractPersistingStateMachineInterceptor.class);
+	private final Map<StateMachine<S, E>, AtomicInteger> pendingDeferrals = Collections
+			.synchronizedMap(new IdentityHashMap<>());
 	private Function<StateMachine<S, E>, Map<Object, Object>> extendedStateVariablesFunction = new AllVariablesFunction<>();
+	private int deferredEventLimit = 1000;
+	private StateMachineTimerStore timerStore;
 
 	@SuppressWarnings("unchecked")
 	@Override
@@ -76,7 +86,7 @@ public abstract class AbstractPersistingStateMachineInterceptor<S, E, T> extends
 		// call chain aborts transition
 		// TODO: should probably come up with a policy vs. not force feeding this functionality
 		try {
-			write(buildStateMachineContext(stateMachine, rootStateMachine, state, message), (T)stateMachine.getId());
+			writeWithTimers(buildStateMachineContext(stateMachine, rootStateMachine, state, message), stateMachine);
 		} catch (Exception e) {
 			throw new StateMachineException("Unable to persist stateMachineContext", e);
 		}
@@ -96,13 +106,42 @@ public abstract class AbstractPersistingStateMachineInterceptor<S, E, T> extends
 		// TODO: consider intercept initial transition, but not aborting if error is thrown?
 		if (state != null && transition != null && transition.getKind() == TransitionKind.INITIAL) {
 			try {
-				write(buildStateMachineContext(stateMachine, rootStateMachine, state, message), (T)stateMachine.getId());
+				writeWithTimers(buildStateMachineContext(stateMachine, rootStateMachine, state, message), stateMachine);
 			} catch (Exception e) {
 				throw new StateMachineException("Unable to persist stateMachineContext", e);
 			}
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public void eventDeferred(Message<E> message, StateMachine<S, E> stateMachine) {
+		if (log.isDebugEnabled()) {
+			log.debug("eventDeferred with stateMachine " + stateMachine);
+		}
+		// every write carries all deferred events, thus concurrent deferrals
+		// are coalesced into a write already in progress instead of writing
+		// a growing context once per event. writes are coalesced per machine
+		// instance as machines may share an id or not have one at all
+		AtomicInteger pending = pendingDeferrals.computeIfAbsent(stateMachine, k -> new AtomicInteger());
+		if (pending.getAndIncrement() > 0) {
+			return;
+		}
+		int written;
+		do {
+			written = pending.get();
+			// deferral is not a state change, thus a failure to persist is not
+			// allowed to fail an event
+			try {
+				write(doBuildStateMachineContext(stateMachine, stateMachine.getState(), null, false),
+						(T) stateMachine.getId());
+			} catch (Exception e) {
+				log.error("Unable to persist stateMachineContext for deferred event " + message, e);
+			}
+		} while (pending.addAndGet(-written) > 0);
+		pendingDeferrals.remove(stateMachine, pending);
+	}
+
 	/**
 	 * Write {@link StateMachineContext} into persistent store.
 	 *
@@ -132,6 +171,29 @@ public abstract class AbstractPersistingStateMachineInterceptor<S, E, T> extends
 		this.extendedStateVariablesFunction = extendedStateVariablesFunction;
 	}
 
+	/**
+	 * Sets the maximum number of deferred events written into a context,
+	 * oldest events are kept. Defaults to {@code 1000} and negative value
+	 * means no limit.
+	 *
+	 * @param deferredEventLimit the deferred event limit
+	 */
+	public void setDeferredEventLimit(int deferredEventLimit) {
+		this.deferredEventLimit = deferredEventLimit;
+	}
+
+	/**
+	 * Sets the timer store. If set, timer deadlines of a persisted context are
+	 * also saved into a store every time a context is written on a state
+	 * change, so that timers of a machine survive even if it is never
+	 * released.
+	 *
+	 * @param timerStore the timer store
+	 */
+	public void setTimerStore(StateMachineTimerStore timerStore) {
+		this.timerStore = timerStore;
+	}
+
 	/**
 	 * Builds the state machine context. Note, for backward compatibility this
 	 * method doesn't pass event or headers into a {@link StateMachineContext}.
@@ -161,6 +223,20 @@ public abstract class AbstractPersistingStateMachineInterceptor<S, E, T> extends
 	 */
 	protected StateMachineContext<S, E> buildStateMachineContext(StateMachine<S, E> stateMachine,
 			StateMachine<S, E> rootStateMachine, State<S, E> state, Message<E> message) {
+		return doBuildStateMachineContext(stateMachine, state, message, true);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void writeWithTimers(StateMachineContext<S, E> context, StateMachine<S, E> stateMachine) throws Exception {
+		write(context, (T) stateMachine.getId());
+		StateMachineTimerStore store = timerStore;
+		if (store != null && stateMachine.getId() != null) {
+			store.save(stateMachine.getId(), context.getTimerDeadlines());
+		}
+	}
+
+	private StateMachineContext<S, E> doBuildStateMachineContext(StateMachine<S, E> stateMachine, State<S, E> state,
+			Message<E> message, boolean stateEntered) {
 		ExtendedState extendedState = new DefaultExtendedState();
 		extendedState.getVariables().putAll(extendedStateVariablesFunction.apply(stateMachine));
 
@@ -202,10 +278,20 @@ public abstract class AbstractPersistingStateMachineInterceptor<S, E, T> extends
 				}
 			}
 		}
+		// timers of a state being entered get armed after a state change
+		Map<String, Long> timerDeadlines = StateMachineUtils.getTimerDeadlines(stateMachine);
+		if (stateEntered) {
+			long now = System.currentTimeMillis();
+			for (TimerTrigger<S, E> t : StateMachineUtils.getTimerTriggers(state)) {
+				timerDeadlines.put(t.getId(), now + t.getPeriod());
+			}
+		}
+
 		E event = message != null ? message.getPayload() : null;
 		Map<String, Object> eventHeaders = message != null ? message.getHeaders() : null;
 		return new DefaultStateMachineContext<S, E>(childRefs, childs, id, event, eventHeaders, extendedState,
-				historyStates, stateMachine.getId());
+				historyStates, stateMachine.getId(), timerDeadlines,
+				StateMachineUtils.getDeferredEvents(stateMachine, deferredEventLimit));
 	}
 
 	private S getDeepState(State<S, E> state) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.support.AbstractStateMachine;
 import org.springframework.statemachine.support.DefaultExtendedState;
 import org.springframework.statemachine.support.DefaultStateMachineContext;
+import org.springframework.statemachine.support.StateMachineUtils;
 import org.springframework.util.Assert;
 
 /**
@@ -47,6 +48,7 @@ import org.springframework.util.Assert;
 public abstract class AbstractStateMachinePersister<S, E, T> implements StateMachinePersister<S, E, T> {
 
 	private final StateMachinePersist<S, E, T> stateMachinePersist;
+	private int deferredEventLimit = 1000;
 
 	/**
 	 * Instantiates a new abstract state machine persister.
@@ -58,6 +60,17 @@ public abstract class AbstractStateMachinePersister<S, E, T> implements StateMac
 		this.stateMachinePersist = stateMachinePersist;
 	}
 
+	/**
+	 * Sets the maximum number of deferred events written into a context,
+	 * oldest events are kept. Defaults to {@code 1000} and negative value
+	 * means no limit.
+	 *
+	 * @param deferredEventLimit the deferred event limit
+	 */
+	public void setDeferredEventLimit(int deferredEventLimit) {
+		this.deferredEventLimit = deferredEventLimit;
+	}
+
 	@Override
 	public final void persist(StateMachine<S, E> stateMachine, T contextObj) throws Exception {
 		stateMachinePersist.write(buildStateMachineContext(stateMachine), contextObj);
@@ -113,6 +126,8 @@ public abstract class AbstractStateMachinePersister<S, E, T> implements StateMac
 				}
 			}
 		}
-		return new DefaultStateMachineContext<S, E>(childs, id, null, null, extendedState, historyStates, stateMachine.getId());
+		return new DefaultStateMachineContext<S, E>(new ArrayList<>(), childs, id, null, null, extendedState,
+				historyStates, stateMachine.getId(), StateMachineUtils.getTimerDeadlines(stateMachine),
+				StateMachineUtils.getDeferredEvents(stateMachine, deferredEventLimit));
 	}
 }
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.processor;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.statemachine.StateMachineSystemConstants;
+import org.springframework.statemachine.annotation.WithStateMachine;
+import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.support.StateMachineUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Immutable registry of {@link StateMachineHandler}s grouped by a handler
+ * annotation type and a state machine id or name given via
+ * {@link WithStateMachine}. Annotation attributes used for matching are
+ * resolved once when registry is built and results of a matching are
+ * cached per source and target states, events and extended state keys, so
+ * a registry is meant to be shared by all machines within a context.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateMachineHandlerRegistry {
+
+	private final static int MAX_MATCH_CACHE_SIZE = 1024;
+	private final static Object NULL_KEY = new Object();
+	private final Map<Class<? extends Annotation>, Map<String, HandlerGroup>> groups;
+
+	private StateMachineHandlerRegistry(Map<Class<? extends Annotation>, Map<String, HandlerGroup>> groups) {
+		this.groups = groups;
+	}
+
+	/**
+	 * Builds a registry from all {@link StateMachineHandler}s known to a
+	 * bean factory.
+	 *
+	 * @param beanFactory the bean factory
+	 * @return the state machine handler registry
+	 */
+	@SuppressWarnings("rawtypes")
+	public static StateMachineHandlerRegistry build(ListableBeanFactory beanFactory) {
+		Map<Class<? extends Annotation>, Map<String, List<HandlerEntry>>> entries = new HashMap<>();
+		if (beanFactory != null) {
+			for (StateMachineHandler handler : beanFactory.getBeansOfType(StateMachineHandler.class).values()) {
+				Annotation metaAnnotation = handler.getMetaAnnotation();
+				WithStateMachine withStateMachine = AnnotationUtils.findAnnotation(handler.getBeanClass(),
+						WithStateMachine.class);
+				// don't check name if id is set as name defaults to
+				// 'stateMachine' and would cause additional entry
+				String machineKey = null;
+				if (StringUtils.hasText(withStateMachine.id())) {
+					machineKey = withStateMachine.id();
+				} else if (StringUtils.hasText(withStateMachine.name())) {
+					machineKey = withStateMachine.name();
+				}
+				if (machineKey != null) {
+					entries.computeIfAbsent(metaAnnotation.annotationType(), k -> new HashMap<>())
+							.computeIfAbsent(machineKey, k -> new ArrayList<>())
+							.add(new HandlerEntry(handler, handler.getAnnotation(), metaAnnotation));
+				}
+			}
+		}
+		Map<Class<? extends Annotation>, Map<String, HandlerGroup>> groups = new HashMap<>();
+		for (Map.Entry<Class<? extends Annotation>, Map<String, List<HandlerEntry>>> e : entries.entrySet()) {
+			Map<String, HandlerGroup> byMachine = new HashMap<>();
+			for (Map.Entry<String, List<HandlerEntry>> m : e.getValue().entrySet()) {
+				byMachine.put(m.getKey(), new HandlerGroup(m.getValue()));
+			}
+			groups.put(e.getKey(), byMachine);
+		}
+		return new StateMachineHandlerRegistry(groups);
+	}
+
+	/**
+	 * Checks if there are any handlers for an annotation type and a machine.
+	 *
+	 * @param annotationType the handler annotation type
+	 * @param stateMachineId the machine id or name
+	 * @return true, if handlers exist
+	 */
+	public boolean hasHandlers(Class<? extends Annotation> annotationType, String stateMachineId) {
+		return getGroup(annotationType, stateMachineId) != null;
+	}
+
+	/**
+	 * Gets all handlers for an annotation type and a machine.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param annotationType the handler annotation type
+	 * @param stateMachineId the machine id or name
+	 * @return the handlers, never {@code NULL}
+	 */
+	public <S, E> List<StateMachineHandler<? extends Annotation, S, E>> getHandlers(
+			Class<? extends Annotation> annotationType, String stateMachineId) {
+		HandlerGroup group = getGroup(annotationType, stateMachineId);
+		return group != null ? group.all() : Collections.emptyList();
+	}
+
+	/**
+	 * Gets handlers for an annotation type and a machine whose source and
+	 * target definitions match given states.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param annotationType the handler annotation type
+	 * @param stateMachineId the machine id or name
+	 * @param source the source state
+	 * @param target the target state
+	 * @return the handlers, never {@code NULL}
+	 */
+	public <S, E> List<StateMachineHandler<? extends Annotation, S, E>> getHandlers(
+			Class<? extends Annotation> annotationType, String stateMachineId, State<S, E> source,
+			State<S, E> target) {
+		HandlerGroup group = getGroup(annotationType, stateMachineId);
+		if (group == null) {
+			return Collections.emptyList();
+		}
+		Collection<String> sourceIds = source != null ? StateMachineUtils.toStringCollection(source.getIds()) : null;
+		Collection<String> targetIds = target != null ? StateMachineUtils.toStringCollection(target.getIds()) : null;
+		return group.match(new StatesKey(sourceIds, targetIds), e -> e.matchesStates(sourceIds, targetIds));
+	}
+
+	/**
+	 * Gets handlers for an annotation type and a machine whose event
+	 * definitions match a given event.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param annotationType the handler annotation type
+	 * @param stateMachineId the machine id or name
+	 * @param event the event
+	 * @return the handlers, never {@code NULL}
+	 */
+	public <S, E> List<StateMachineHandler<? extends Annotation, S, E>> getEventHandlers(
+			Class<? extends Annotation> annotationType, String stateMachineId, E event) {
+		HandlerGroup group = getGroup(annotationType, stateMachineId);
+		if (group == null) {
+			return Collections.emptyList();
+		}
+		return group.match(event != null ? event : NULL_KEY, e -> e.matchesEvent(event));
+	}
+
+	/**
+	 * Gets handlers for an annotation type and a machine whose key
+	 * definitions match a given extended state variable key.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param annotationType the handler annotation type
+	 * @param stateMachineId the machine id or name
+	 * @param key the extended state variable key
+	 * @return the handlers, never {@code NULL}
+	 */
+	public <S, E> List<StateMachineHandler<? extends Annotation, S, E>> getVariableHandlers(
+			Class<? extends Annotation> annotationType, String stateMachineId, Object key) {
+		HandlerGroup group = getGroup(annotationType, stateMachineId);
+		if (group == null) {
+			return Collections.emptyList();
+		}
+		return group.match(key != null ? key : NULL_KEY, e -> e.matchesKey(key));
+	}
+
+	private HandlerGroup getGroup(Class<? extends Annotation> annotationType, String stateMachineId) {
+		if (!StringUtils.hasText(stateMachineId)) {
+			return null;
+		}
+		Map<String, HandlerGroup> byMachine = groups.get(annotationType);
+		if (byMachine == null) {
+			return null;
+		}
+		// try given id and fall back to default machine name
+		HandlerGroup group = byMachine.get(stateMachineId);
+		return group != null ? group : byMachine.get(StateMachineSystemConstants.DEFAULT_ID_STATEMACHINE);
+	}
+
+	@FunctionalInterface
+	private interface EntryMatcher {
+		boolean matches(HandlerEntry entry);
+	}
+
+	/**
+	 * Handlers of a single annotation type and machine together with a
+	 * bounded cache of matched handlers.
+	 */
+	private static class HandlerGroup {
+
+		final List<HandlerEntry> entries;
+		final List<StateMachineHandler<? extends Annotation, ?, ?>> handlers;
+		final Map<Object, List<StateMachineHandler<? extends Annotation, ?, ?>>> matches = new ConcurrentHashMap<>();
+
+		HandlerGroup(List<HandlerEntry> entries) {
+			this.entries = entries;
+			List<StateMachineHandler<? extends Annotation, ?, ?>> list = new ArrayList<>();
+			for (HandlerEntry entry : entries) {
+				list.add(entry.handler);
+			}
+			this.handlers = Collections.unmodifiableList(list);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		<S, E> List<StateMachineHandler<? extends Annotation, S, E>> all() {
+			return (List) handlers;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		<S, E> List<StateMachineHandler<? extends Annotation, S, E>> match(Object key, EntryMatcher matcher) {
+			List<StateMachineHandler<? extends Annotation, ?, ?>> matched = matches.get(key);
+			if (matched == null) {
+				List<StateMachineHandler<? extends Annotation, ?, ?>> list = new ArrayList<>();
+				for (HandlerEntry entry : entries) {
+					if (matcher.matches(entry)) {
+						list.add(entry.handler);
+					}
+				}
+				matched = Collections.unmodifiableList(list);
+				if (matches.size() < MAX_MATCH_CACHE_SIZE) {
+					matches.put(key, matched);
+				}
+			}
+			return (List) matched;
+		}
+	}
+
+	/**
+	 * Single handler with its annotation attributes resolved.
+	 */
+	private static class HandlerEntry {
+
+		final StateMachineHandler<? extends Annotation, ?, ?> handler;
+		final Collection<String> sources;
+		final Collection<String> targets;
+		final Collection<String> events;
+		final Collection<String> keys;
+
+		HandlerEntry(StateMachineHandler<? extends Annotation, ?, ?> handler, Annotation annotation,
+				Annotation metaAnnotation) {
+			this.handler = handler;
+			Map<String, Object> attributes = AnnotationUtils.getAnnotationAttributes(annotation);
+			this.sources = resolve(attributes.get("source"), AnnotationUtils.getValue(metaAnnotation, "source"));
+			this.targets = resolve(attributes.get("target"), AnnotationUtils.getValue(metaAnnotation, "target"));
+			Map<String, Object> metaAttributes = AnnotationUtils.getAnnotationAttributes(metaAnnotation);
+			this.events = new HashSet<>(StateMachineUtils.toStringCollection(metaAttributes.get("event")));
+			this.keys = new HashSet<>(StateMachineUtils.toStringCollection(metaAttributes.get("key")));
+		}
+
+		boolean matchesStates(Collection<String> sourceIds, Collection<String> targetIds) {
+			if (!sources.isEmpty() && !targets.isEmpty()) {
+				return sourceIds != null && targetIds != null && StateMachineUtils.containsAtleastOne(sources, sourceIds)
+						&& StateMachineUtils.containsAtleastOne(targets, targetIds);
+			} else if (!sources.isEmpty()) {
+				return sourceIds != null && StateMachineUtils.containsAtleastOne(sources, sourceIds);
+			} else if (!targets.isEmpty()) {
+				return targetIds != null && StateMachineUtils.containsAtleastOne(targets, targetIds);
+			}
+			return true;
+		}
+
+		boolean matchesEvent(Object event) {
+			return event == null || events.isEmpty() || events.contains(event.toString());
+		}
+
+		boolean matchesKey(Object key) {
+			return keys.isEmpty() || StateMachineUtils.containsAtleastOne(keys, StateMachineUtils.toStringCollection(key));
+		}
+
+		private static Collection<String> resolve(Object value, Object metaValue) {
+			Collection<String> values = StateMachineUtils.toStringCollection(value);
+			if (values.isEmpty() && metaValue instanceof String[]) {
+				values = Arrays.asList((String[]) metaValue);
+			}
+			return new HashSet<>(values);
+		}
+	}
+
+	/**
+	 * Cache key for resolved source and target state ids.
+	 */
+	private static class StatesKey {
+
+		final Collection<String> sourceIds;
+		final Collection<String> targetIds;
+
+		StatesKey(Collection<String> sourceIds, Collection<String> targetIds) {
+			this.sourceIds = sourceIds;
+			this.targetIds = targetIds;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(sourceIds, targetIds);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof StatesKey)) {
+				return false;
+			}
+			StatesKey other = (StatesKey) obj;
+			return Objects.equals(sourceIds, other.sourceIds) && Objects.equals(targetIds, other.targetIds);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 package org.springframework.statemachine.processor;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
@@ -53,13 +55,15 @@ import org.springframework.statemachine.support.AnnotatedMethodFilter;
 import org.springframework.statemachine.support.FixedMethodFilter;
 import org.springframework.statemachine.support.UniqueMethodFilter;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.ReflectionUtils.MethodCallback;
 import org.springframework.util.ReflectionUtils.MethodFilter;
 import org.springframework.util.StringUtils;
 
 /**
- * A helper class using spel to execute target methods.
+ * A helper class executing target methods directly via method handles when
+ * arguments can be resolved without spel, and using spel otherwise.
  *
  * @author Janne Valkealahti
  *
@@ -236,6 +240,19 @@ public class StateMachineMethodInvokerHelper<T, S, E> extends AbstractExpression
 	private T processInternal(ParametersWrapper<S, E> parameters) throws Exception {
 		HandlerMethod candidate = this.findHandlerMethodForParameters(parameters);
 		Assert.notNull(candidate, "No candidate methods found for messages.");
+		if (candidate.isDirectInvocable(this.targetObject, this.expectedType)) {
+			// resolved arguments not directly assignable to parameters need
+			// a type conversion which is left to spel
+			Object[] arguments = candidate.resolveArguments(parameters.getStateContext());
+			if (arguments != null) {
+				@SuppressWarnings("unchecked")
+				T result = (T) candidate.invoke(this.targetObject, arguments);
+				if (this.requiresReply) {
+					Assert.notNull(result, "Method invocation result was null, but this processor requires a reply.");
+				}
+				return result;
+			}
+		}
 		Expression expression = candidate.getExpression();
 		Class<?> expectedType = this.expectedType != null ? this.expectedType : candidate.method.getReturnType();
 		try {
@@ -391,7 +408,9 @@ public class StateMachineMethodInvokerHelper<T, S, E> extends AbstractExpression
 
 	/**
 	 * Helper class for generating and exposing metadata for a candidate handler method. The metadata includes the SpEL
-	 * expression and the expected payload type.
+	 * expression and the expected payload type. If all parameters can be resolved without SpEL, a method handle and
+	 * argument resolvers are prepared so that a method can be invoked directly and expression is only used as a
+	 * fallback.
 	 */
 	private static class HandlerMethod {
 
@@ -399,10 +418,20 @@ public class StateMachineMethodInvokerHelper<T, S, E> extends AbstractExpression
 
 		private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new StandardReflectionParameterNameDiscoverer();
 
+		private static final Log LOG = LogFactory.getLog(HandlerMethod.class);
+
 		private final Method method;
 
 		private final Expression expression;
 
+		private final Class<?>[] parameterTypes;
+
+		private final boolean[] primitiveParameters;
+
+		private final ArgumentResolver[] argumentResolvers;
+
+		private final MethodHandle methodHandle;
+
 		private volatile TypeDescriptor targetParameterTypeDescriptor;
 
 		private volatile Class<?> targetParameterType = Void.class;
@@ -412,6 +441,15 @@ public class StateMachineMethodInvokerHelper<T, S, E> extends AbstractExpression
 		HandlerMethod(Method method) {
 			this.method = method;
 			this.expression = this.generateExpression(method);
+			Class<?>[] types = method.getParameterTypes();
+			this.parameterTypes = new Class<?>[types.length];
+			this.primitiveParameters = new boolean[types.length];
+			for (int i = 0; i < types.length; i++) {
+				this.parameterTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(types[i]);
+				this.primitiveParameters[i] = types[i].isPrimitive();
+			}
+			this.argumentResolvers = this.generateArgumentResolvers(method);
+			this.methodHandle = this.argumentResolvers != null ? this.generateMethodHandle(method) : null;
 		}
 
 		Expression getExpression() {
@@ -426,6 +464,40 @@ public class StateMachineMethodInvokerHelper<T, S, E> extends AbstractExpression
 			return messageMethod;
 		}
 
+		boolean isDirectInvocable(Object targetObject, Class<?> expectedType) {
+			return this.methodHandle != null && this.method.getDeclaringClass().isInstance(targetObject)
+					&& (expectedType == null || ClassUtils.isAssignable(expectedType, this.method.getReturnType()));
+		}
+
+		/**
+		 * Resolve arguments for a direct invocation.
+		 *
+		 * @param stateContext the state context
+		 * @return the arguments or {@code NULL} if any of those needs a conversion
+		 */
+		Object[] resolveArguments(StateContext<?, ?> stateContext) {
+			Object[] arguments = new Object[this.argumentResolvers.length];
+			for (int i = 0; i < arguments.length; i++) {
+				Object argument = this.argumentResolvers[i].resolve(stateContext);
+				if (argument == null ? this.primitiveParameters[i]
+						: !this.parameterTypes[i].isInstance(argument)) {
+					return null;
+				}
+				arguments[i] = argument;
+			}
+			return arguments;
+		}
+
+		Object invoke(Object targetObject, Object[] arguments) throws Exception {
+			try {
+				return (Object) this.methodHandle.invokeExact(targetObject, arguments);
+			} catch (Exception e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Cannot process message", e);
+			}
+		}
+
 		@Override
 		public String toString() {
 			return this.method.toString();
@@ -484,6 +556,83 @@ public class StateMachineMethodInvokerHelper<T, S, E> extends AbstractExpression
 			return EXPRESSION_PARSER.parseExpression(sb.toString());
 		}
 
+		private ArgumentResolver[] generateArgumentResolvers(Method method) {
+			if (Modifier.isStatic(method.getModifiers())) {
+				return null;
+			}
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+			ArgumentResolver[] resolvers = new ArgumentResolver[parameterTypes.length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				Class<?> parameterType = ClassUtils.resolvePrimitiveIfNecessary(parameterTypes[i]);
+				Annotation mappingAnnotation = findMappingAnnotation(parameterAnnotations[i]);
+				if (mappingAnnotation != null) {
+					Class<? extends Annotation> annotationType = mappingAnnotation.annotationType();
+					if (annotationType.equals(EventHeaders.class)) {
+						resolvers[i] = c -> c.getMessageHeaders();
+					} else if (annotationType.equals(EventHeader.class)) {
+						resolvers[i] = this.generateHeaderResolver(mappingAnnotation, new MethodParameter(method, i));
+					} else if (annotationType.equals(ExtendedStateVariable.class)) {
+						Object key = AnnotationAttributes
+								.fromMap(AnnotationUtils.getAnnotationAttributes(mappingAnnotation)).getString("value");
+						resolvers[i] = c -> c.getExtendedState() != null ? c.getExtendedState().getVariables().get(key)
+								: null;
+					}
+				} else if (StateContext.class.isAssignableFrom(parameterType)) {
+					resolvers[i] = c -> c;
+				} else if (ExtendedState.class.isAssignableFrom(parameterType)) {
+					resolvers[i] = c -> c.getExtendedState();
+				} else if (StateMachine.class.isAssignableFrom(parameterType)) {
+					resolvers[i] = c -> c.getStateMachine();
+				} else if (Message.class.isAssignableFrom(parameterType)) {
+					resolvers[i] = c -> c.getMessage();
+				} else if (Exception.class.isAssignableFrom(parameterType)) {
+					resolvers[i] = c -> c.getException();
+				}
+				if (resolvers[i] == null) {
+					return null;
+				}
+			}
+			return resolvers;
+		}
+
+		private ArgumentResolver generateHeaderResolver(Annotation headerAnnotation, MethodParameter methodParameter) {
+			methodParameter.initParameterNameDiscovery(PARAMETER_NAME_DISCOVERER);
+			AnnotationAttributes annotationAttributes = (AnnotationAttributes) AnnotationUtils
+					.getAnnotationAttributes(headerAnnotation);
+			String valueAttribute = annotationAttributes.getString(AnnotationUtils.VALUE);
+			String headerName = StringUtils.hasText(valueAttribute) ? valueAttribute : methodParameter.getParameterName();
+			if (headerName == null || headerName.indexOf('.') != -1) {
+				// nested property access is only supported via spel
+				return null;
+			}
+			if (annotationAttributes.getBoolean("required")
+					&& !methodParameter.getParameterType().getName().equals("java.util.Optional")) {
+				return c -> {
+					Object header = c.getMessageHeader(headerName);
+					if (header == null) {
+						throw new IllegalArgumentException("required header not available: " + headerName);
+					}
+					return header;
+				};
+			}
+			return c -> c.getMessageHeader(headerName);
+		}
+
+		private MethodHandle generateMethodHandle(Method method) {
+			try {
+				ReflectionUtils.makeAccessible(method);
+				MethodHandle handle = MethodHandles.lookup().unreflect(method);
+				return handle.asType(handle.type().generic()).asSpreader(Object[].class,
+						method.getParameterCount());
+			} catch (Exception e) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Method [" + method + "] can't be invoked directly, using spel instead.", e);
+				}
+				return null;
+			}
+		}
+
 		private Annotation findMappingAnnotation(Annotation[] annotations) {
 			if (annotations == null || annotations.length == 0) {
 				return null;
@@ -547,6 +696,14 @@ public class StateMachineMethodInvokerHelper<T, S, E> extends AbstractExpression
 		}
 	}
 
+	/**
+	 * Resolves a single handler method argument from a {@link StateContext}.
+	 */
+	@FunctionalInterface
+	private interface ArgumentResolver {
+		Object resolve(StateContext<?, ?> stateContext);
+	}
+
 	/**
 	 * Wrapping everything we need to work with spel.
 	 */
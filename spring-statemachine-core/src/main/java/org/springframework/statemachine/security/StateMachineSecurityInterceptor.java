@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.SpelCompilerMode;
-import org.springframework.expression.spel.SpelParserConfiguration;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.messaging.Message;
 import org.springframework.security.access.AccessDecisionManager;
 import org.springframework.security.access.AccessDecisionVoter;
@@ -37,6 +33,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.support.SpelExpressionCache;
 import org.springframework.statemachine.support.StateMachineInterceptor;
 import org.springframework.statemachine.support.StateMachineInterceptorAdapter;
 import org.springframework.statemachine.transition.Transition;
@@ -55,7 +52,6 @@ public class StateMachineSecurityInterceptor<S, E> extends StateMachineIntercept
 
 	private AccessDecisionManager transitionAccessDecisionManager;
 	private AccessDecisionManager eventAccessDecisionManager;
-	private final ExpressionParser expressionParser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.OFF, null));
 	private SecurityRule eventSecurityRule;
 
 	/**
@@ -166,7 +162,7 @@ public class StateMachineSecurityInterceptor<S, E> extends StateMachineIntercept
 			}
 		}
 		if (StringUtils.hasText(rule.getExpression())) {
-			configAttributes.add(new TransitionExpressionConfigAttribute(expressionParser.parseExpression(rule.getExpression())));
+			configAttributes.add(new TransitionExpressionConfigAttribute(SpelExpressionCache.getDefault().getExpression(rule.getExpression())));
 		}
 		return configAttributes;
 	}
@@ -179,7 +175,7 @@ public class StateMachineSecurityInterceptor<S, E> extends StateMachineIntercept
 			}
 		}
 		if (StringUtils.hasText(rule.getExpression())) {
-			configAttributes.add(new EventExpressionConfigAttribute(expressionParser.parseExpression(rule.getExpression())));
+			configAttributes.add(new EventExpressionConfigAttribute(SpelExpressionCache.getDefault().getExpression(rule.getExpression())));
 		}
 		return configAttributes;
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2021 the original author or authors.
+ * Copyright 2017-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@ package org.springframework.statemachine.service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
@@ -30,6 +32,7 @@ import org.springframework.statemachine.StateMachineException;
 import org.springframework.statemachine.StateMachinePersist;
 import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+import org.springframework.statemachine.support.StateMachineUtils;
 import org.springframework.util.Assert;
 
 /**
@@ -46,6 +49,7 @@ public class DefaultStateMachineService<S, E> implements StateMachineService<S,
 	private final StateMachineFactory<S, E> stateMachineFactory;
 	private final Map<String, StateMachine<S, E>> machines = new HashMap<String, StateMachine<S, E>>();
 	private StateMachinePersist<S, E, String> stateMachinePersist;
+	private StateMachineTimerStore timerStore;
 
 	/**
 	 * Instantiates a new default state machine service.
@@ -112,6 +116,7 @@ public class DefaultStateMachineService<S, E> implements StateMachineService<S,
 			StateMachine<S, E> stateMachine = machines.remove(machineId);
 			if (stateMachine != null) {
 				log.info("Found machine with id " + machineId);
+				saveTimers(machineId, stateMachine);
 				stateMachine.stopReactively().block();
 			}
 		}
@@ -124,6 +129,7 @@ public class DefaultStateMachineService<S, E> implements StateMachineService<S,
 			StateMachine<S, E> stateMachine = machines.remove(machineId);
 			if (stateMachine != null) {
 				log.info("Found machine with id " + machineId);
+				saveTimers(machineId, stateMachine);
 				handleStop(stateMachine, stop);
 			}
 		}
@@ -150,6 +156,61 @@ public class DefaultStateMachineService<S, E> implements StateMachineService<S,
 		this.stateMachinePersist = stateMachinePersist;
 	}
 
+	/**
+	 * Sets the timer store. If set, deadlines of timers of a released machine
+	 * are saved into a store and {@link #activateDueTimers(int)} can be used
+	 * to bring machines back when their timers are due. Timers are restored
+	 * from a persisted {@link StateMachineContext}, thus a store should be
+	 * used together with a state machine persist. To keep timers of machines
+	 * which are never released, for example if a process dies, same store
+	 * can be given to a persisting interceptor saving them on every state
+	 * change.
+	 *
+	 * @param timerStore the timer store
+	 */
+	public void setTimerStore(StateMachineTimerStore timerStore) {
+		this.timerStore = timerStore;
+	}
+
+	/**
+	 * Acquire machines which are not in memory and have due timers in a
+	 * {@link StateMachineTimerStore}. Acquired machine restores its timers
+	 * and those already due fire immediately. Only due timers found by this
+	 * method are removed from a store as a machine in memory handles them
+	 * itself, other timers of a machine and timers saved again meanwhile are
+	 * kept. This method is meant to be called periodically, for example from
+	 * a scheduled task.
+	 *
+	 * @param limit the maximum number of due timers to handle
+	 * @return the number of machines acquired
+	 */
+	public int activateDueTimers(int limit) {
+		if (timerStore == null) {
+			return 0;
+		}
+		Map<String, List<StateMachineTimer>> dueTimers = new LinkedHashMap<>();
+		for (StateMachineTimer timer : timerStore.findDue(System.currentTimeMillis(), limit)) {
+			dueTimers.computeIfAbsent(timer.getMachineId(), id -> new ArrayList<>()).add(timer);
+		}
+		int activated = 0;
+		for (Map.Entry<String, List<StateMachineTimer>> entry : dueTimers.entrySet()) {
+			String machineId = entry.getKey();
+			if (!hasStateMachine(machineId)) {
+				try {
+					acquireStateMachine(machineId, true);
+					activated++;
+				} catch (Exception e) {
+					log.error("Unable to activate machine with id " + machineId + " for due timers", e);
+					continue;
+				}
+			}
+			for (StateMachineTimer timer : entry.getValue()) {
+				timerStore.remove(timer);
+			}
+		}
+		return activated;
+	}
+
 	protected void doStop() {
 		log.info("Entering stop sequence, stopping all managed machines");
 		synchronized (machines) {
@@ -160,6 +221,12 @@ public class DefaultStateMachineService<S, E> implements StateMachineService<S,
 		}
 	}
 
+	private void saveTimers(String machineId, StateMachine<S, E> stateMachine) {
+		if (timerStore != null) {
+			timerStore.save(machineId, StateMachineUtils.getTimerDeadlines(stateMachine));
+		}
+	}
+
 	protected StateMachine<S, E> restoreStateMachine(StateMachine<S, E> stateMachine, final StateMachineContext<S, E> stateMachineContext) {
 		if (stateMachineContext == null) {
 			return stateMachine;
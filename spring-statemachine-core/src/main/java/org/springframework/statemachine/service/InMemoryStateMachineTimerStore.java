@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * {@link StateMachineTimerStore} keeping timers in memory ordered by a
+ * deadline so that due timers are found without scanning all machines.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class InMemoryStateMachineTimerStore implements StateMachineTimerStore {
+
+	private final static Comparator<StateMachineTimer> ORDER = Comparator
+			.comparingLong(StateMachineTimer::getDeadline)
+			.thenComparing(StateMachineTimer::getMachineId)
+			.thenComparing(StateMachineTimer::getTimerId);
+	private final ConcurrentSkipListSet<StateMachineTimer> byDeadline = new ConcurrentSkipListSet<>(ORDER);
+	private final Map<String, List<StateMachineTimer>> byMachine = new HashMap<>();
+
+	@Override
+	public synchronized void save(String machineId, Map<String, Long> deadlines) {
+		remove(machineId);
+		if (deadlines == null || deadlines.isEmpty()) {
+			return;
+		}
+		List<StateMachineTimer> timers = new ArrayList<>(deadlines.size());
+		for (Map.Entry<String, Long> entry : deadlines.entrySet()) {
+			timers.add(new StateMachineTimer(machineId, entry.getKey(), entry.getValue()));
+		}
+		byDeadline.addAll(timers);
+		byMachine.put(machineId, timers);
+	}
+
+	@Override
+	public synchronized void remove(String machineId) {
+		List<StateMachineTimer> timers = byMachine.remove(machineId);
+		if (timers != null) {
+			byDeadline.removeAll(timers);
+		}
+	}
+
+	@Override
+	public synchronized void remove(StateMachineTimer timer) {
+		List<StateMachineTimer> timers = byMachine.get(timer.getMachineId());
+		if (timers != null && timers.remove(timer)) {
+			byDeadline.remove(timer);
+			if (timers.isEmpty()) {
+				byMachine.remove(timer.getMachineId());
+			}
+		}
+	}
+
+	@Override
+	public List<StateMachineTimer> findDue(long time, int limit) {
+		List<StateMachineTimer> due = new ArrayList<>();
+		for (StateMachineTimer timer : byDeadline) {
+			if (timer.getDeadline() > time || due.size() >= limit) {
+				break;
+			}
+			due.add(timer);
+		}
+		return due;
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Timer deadline of a machine as kept in a {@link StateMachineTimerStore}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class StateMachineTimer {
+
+	private final String machineId;
+	private final String timerId;
+	private final long deadline;
+
+	/**
+	 * Instantiates a new state machine timer.
+	 *
+	 * @param machineId the machine id
+	 * @param timerId the timer id
+	 * @param deadline the deadline as epoch milliseconds
+	 */
+	public StateMachineTimer(String machineId, String timerId, long deadline) {
+		this.machineId = machineId;
+		this.timerId = timerId;
+		this.deadline = deadline;
+	}
+
+	public String getMachineId() {
+		return machineId;
+	}
+
+	public String getTimerId() {
+		return timerId;
+	}
+
+	public long getDeadline() {
+		return deadline;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = ObjectUtils.nullSafeHashCode(machineId);
+		result = 31 * result + ObjectUtils.nullSafeHashCode(timerId);
+		result = 31 * result + Long.hashCode(deadline);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof StateMachineTimer)) {
+			return false;
+		}
+		StateMachineTimer other = (StateMachineTimer) obj;
+		return deadline == other.deadline && ObjectUtils.nullSafeEquals(machineId, other.machineId)
+				&& ObjectUtils.nullSafeEquals(timerId, other.timerId);
+	}
+
+	@Override
+	public String toString() {
+		return "StateMachineTimer [machineId=" + machineId + ", timerId=" + timerId + ", deadline=" + deadline + "]";
+	}
+}
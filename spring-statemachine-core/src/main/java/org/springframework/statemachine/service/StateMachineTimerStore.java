@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.statemachine.trigger.TimerTrigger;
+
+/**
+ * Store keeping deadlines of {@link TimerTrigger}s of machines which are not
+ * kept in memory. {@link DefaultStateMachineService} saves deadlines of a
+ * released machine and polls due timers to reactivate their machines.
+ *
+ * @author Janne Valkealahti
+ * @see InMemoryStateMachineTimerStore
+ */
+public interface StateMachineTimerStore {
+
+	/**
+	 * Save timer deadlines of a machine replacing all existing ones. Empty
+	 * deadlines removes all timers of a machine.
+	 *
+	 * @param machineId the machine id
+	 * @param deadlines the deadlines as epoch milliseconds keyed by a timer id
+	 */
+	void save(String machineId, Map<String, Long> deadlines);
+
+	/**
+	 * Remove all timers of a machine.
+	 *
+	 * @param machineId the machine id
+	 */
+	void remove(String machineId);
+
+	/**
+	 * Remove a single timer if it still has a same deadline. A timer saved
+	 * again with a new deadline is kept.
+	 *
+	 * @param timer the timer
+	 */
+	void remove(StateMachineTimer timer);
+
+	/**
+	 * Find timers having a deadline at or before a given time, ordered by a
+	 * deadline.
+	 *
+	 * @param time the epoch time in milliseconds
+	 * @param limit the maximum number of timers to return
+	 * @return the due timers
+	 */
+	List<StateMachineTimer> findDue(long time, int limit);
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 the original author or authors.
+ * Copyright 2017-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,8 @@ import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -36,6 +38,7 @@ import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineEventResult;
 import org.springframework.statemachine.action.ActionListener;
 import org.springframework.statemachine.action.CompositeActionListener;
+import org.springframework.statemachine.action.StateDoActionExecutor;
 import org.springframework.statemachine.action.StateDoActionPolicy;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.listener.StateMachineListenerAdapter;
@@ -75,6 +78,7 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 	private final List<StateMachineListener<S, E>> completionListeners = new CopyOnWriteArrayList<>();
 	private StateDoActionPolicy stateDoActionPolicy;
 	private Long stateDoActionPolicyTimeout;
+	private StateDoActionExecutor stateDoActionExecutor;
 	private final Queue<Disposable> disposables = new ConcurrentLinkedDeque<>();
 
 	/**
@@ -416,6 +420,16 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 		this.stateDoActionPolicyTimeout = stateDoActionPolicyTimeout;
 	}
 
+	/**
+	 * Sets the state do action executor. If not set state actions are run
+	 * on {@link Schedulers#parallel()} without a concurrency limit.
+	 *
+	 * @param stateDoActionExecutor the state do action executor
+	 */
+	public void setStateDoActionExecutor(StateDoActionExecutor stateDoActionExecutor) {
+		this.stateDoActionExecutor = stateDoActionExecutor;
+	}
+
 	/**
 	 * Arm triggers.
 	 */
@@ -467,14 +481,15 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 			Long timeout = resolveDoActionTimeout(context);
 			return Flux.fromIterable(stateActions)
 				.doOnNext(stateAction -> {
-					executeAction(stateAction, context)
+					ScheduledAction scheduledAction = new ScheduledAction(timeout);
+					scheduleStateAction(stateAction, context, scheduledAction)
 						.onErrorResume(t -> Mono.empty())
-						.subscribeOn(Schedulers.parallel())
 						.doOnSubscribe(subscription -> {
 							if (log.isDebugEnabled()) {
 								log.debug("Adding new scheduled action with subscription=" + subscription);
 							}
-							scheduledActions.add(new ScheduledAction(subscription, timeout, System.currentTimeMillis()));
+							scheduledAction.subscription = subscription;
+							scheduledActions.add(scheduledAction);
 						})
 						.then(handleCompleteOrEmpty1(context, completionCount))
 						.subscribe();
@@ -483,6 +498,50 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 		});
 	}
 
+	private Mono<Void> scheduleStateAction(Function<StateContext<S, E>, Mono<Void>> stateAction,
+			StateContext<S, E> context, ScheduledAction scheduledAction) {
+		StateDoActionExecutor executor = stateDoActionExecutor;
+		if (executor == null) {
+			return executeAction(stateAction, context)
+				.doOnSubscribe(subscription -> scheduledAction.start())
+				.subscribeOn(Schedulers.parallel());
+		}
+		return Mono.defer(() -> {
+			long queued = System.nanoTime();
+			// timeout of an action starts when executor runs it, not when it's queued
+			Mono<Void> execution = executeAction(stateAction, context)
+				.doOnSubscribe(subscription -> {
+					scheduledAction.start();
+					notifyDoActionWait(context, stateAction, System.nanoTime() - queued);
+				});
+			return executor.execute(execution)
+				.doOnError(RejectedExecutionException.class, e -> notifyDoActionRejected(context, stateAction));
+		});
+	}
+
+	private void notifyDoActionWait(StateContext<S, E> context, Function<StateContext<S, E>, Mono<Void>> stateAction,
+			long duration) {
+		if (this.actionListener != null) {
+			try {
+				this.actionListener.onDoActionWait(context.getStateMachine(), stateAction, duration,
+						TimeUnit.NANOSECONDS);
+			} catch (Exception e) {
+				log.warn("Error with actionListener", e);
+			}
+		}
+	}
+
+	private void notifyDoActionRejected(StateContext<S, E> context,
+			Function<StateContext<S, E>, Mono<Void>> stateAction) {
+		if (this.actionListener != null) {
+			try {
+				this.actionListener.onDoActionRejected(context.getStateMachine(), stateAction);
+			} catch (Exception e) {
+				log.warn("Error with actionListener", e);
+			}
+		}
+	}
+
 	private Mono<Void> handleCompleteOrEmpty1(StateContext<S, E> context, AtomicInteger completionCount) {
 		return Mono.defer(() -> {
 			log.debug("handleCompleteOrEmpty1 " + completionCount + " " + stateActions);
@@ -540,17 +599,23 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 	protected Mono<Void> executeAction(Function<StateContext<S, E>, Mono<Void>> action, StateContext<S, E> context) {
 		return Mono.just(action)
 			.flatMap(a -> {
-				long now = System.currentTimeMillis();
-				return a.apply(context)
-					.thenEmpty(Mono.fromRunnable(() -> {
-						if (this.actionListener != null) {
-							try {
-								this.actionListener.onExecute(context.getStateMachine(), action, System.currentTimeMillis() - now);
-							} catch (Exception e) {
-								log.warn("Error with actionListener", e);
+				Mono<Void> execution = Mono.defer(() -> {
+					long now = System.nanoTime();
+					return a.apply(context)
+						.thenEmpty(Mono.fromRunnable(() -> {
+							if (this.actionListener != null) {
+								try {
+									this.actionListener.onExecute(context.getStateMachine(), action, System.nanoTime() - now,
+											TimeUnit.NANOSECONDS);
+								} catch (Exception e) {
+									log.warn("Error with actionListener", e);
+								}
 							}
-						}
-					}));
+						}));
+				});
+				return this.actionListener != null
+						? this.actionListener.observe(context.getStateMachine(), action, execution)
+						: execution;
 			});
 	}
 
@@ -574,18 +639,22 @@ public abstract class AbstractState<S, E> extends LifecycleObjectSupport impleme
 	}
 
 	private static class ScheduledAction {
-		Subscription subscription;
-		Long timeout;
-		Long subscribeTime;
+		volatile Subscription subscription;
+		final Long timeout;
+		// set when an action starts running, queued action can be cancelled right away
+		volatile Long subscribeTime;
 
-		ScheduledAction(Subscription subscription, Long timeout, Long subscribeTime) {
-			this.subscription = subscription;
+		ScheduledAction(Long timeout) {
 			this.timeout = timeout;
-			this.subscribeTime = subscribeTime;
+		}
+
+		void start() {
+			subscribeTime = System.currentTimeMillis();
 		}
 
 		Duration getNeededDelayNow() {
 			long delay = 0;
+			Long subscribeTime = this.subscribeTime;
 			if (subscribeTime != null && timeout != null) {
 				long now = System.currentTimeMillis();
 				long tocancel = subscribeTime + timeout;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 the original author or authors.
+ * Copyright 2017-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.springframework.statemachine.state;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
@@ -23,10 +24,14 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.guard.Guard;
+import org.springframework.statemachine.guard.Guards;
+import org.springframework.statemachine.guard.SpelExpressionGuard;
+import org.springframework.statemachine.guard.SpelGuardDecisionTable;
 import org.springframework.util.Assert;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
  * Choice implementation of a {@link PseudoState}.
@@ -40,6 +45,7 @@ public class ChoicePseudoState<S, E> implements PseudoState<S, E> {
 
 	private final static Log log = LogFactory.getLog(ChoicePseudoState.class);
 	private final List<ChoiceStateData<S, E>> choices;
+	private final SpelGuardDecisionTable<S, E> decisionTable;
 
 	/**
 	 * Instantiates a new choice pseudo state.
@@ -47,7 +53,19 @@ public class ChoicePseudoState<S, E> implements PseudoState<S, E> {
 	 * @param choices the choices
 	 */
 	public ChoicePseudoState(List<ChoiceStateData<S, E>> choices) {
+		this(choices, false);
+	}
+
+	/**
+	 * Instantiates a new choice pseudo state. If guards are compiled, {@link SpelExpressionGuard}s
+	 * testing a same extended state variable are resolved with a {@link SpelGuardDecisionTable}.
+	 *
+	 * @param choices the choices
+	 * @param compileGuards the flag to compile guards into a decision table
+	 */
+	public ChoicePseudoState(List<ChoiceStateData<S, E>> choices, boolean compileGuards) {
 		this.choices = choices;
+		this.decisionTable = compileGuards ? compileGuards(choices) : null;
 	}
 
 	@Override
@@ -57,11 +75,16 @@ public class ChoicePseudoState<S, E> implements PseudoState<S, E> {
 
 	@Override
 	public Mono<State<S, E>> entry(StateContext<S, E> context) {
-		return Mono.defer(() -> {
+		return Mono.deferContextual(ctx -> {
+			int index = decisionTable != null ? decisionTable.lookup(context) : SpelGuardDecisionTable.UNRESOLVED;
+			if (index != SpelGuardDecisionTable.UNRESOLVED) {
+				// same as sequential evaluation, last one is used if nothing matches
+				return Mono.just(choices.get(index >= 0 ? index : choices.size() - 1));
+			}
 			ChoiceStateData<S, E> csd = null;
 			for (ChoiceStateData<S, E> c : choices) {
 				csd = c;
-				if (c.guard != null && evaluateInternal(c.guard, context)) {
+				if (c.guard != null && evaluateInternal(c.guard, context, ctx)) {
 					break;
 				}
 			}
@@ -87,9 +110,24 @@ public class ChoicePseudoState<S, E> implements PseudoState<S, E> {
 	public void setPseudoStateListeners(List<PseudoStateListener<S, E>> listeners) {
 	}
 
-	private boolean evaluateInternal(Guard<S, E> guard, StateContext<S, E> context) {
+	private SpelGuardDecisionTable<S, E> compileGuards(List<ChoiceStateData<S, E>> choices) {
+		if (choices.isEmpty()) {
+			return null;
+		}
+		List<Guard<S, E>> guards = new ArrayList<>(choices.size());
+		for (ChoiceStateData<S, E> c : choices) {
+			guards.add(c.getGuard());
+		}
+		SpelGuardDecisionTable<S, E> table = SpelGuardDecisionTable.compile(guards);
+		if (table == null && log.isDebugEnabled()) {
+			log.debug("Unable to compile choice guards " + guards + ", evaluating those sequentially");
+		}
+		return table;
+	}
+
+	private boolean evaluateInternal(Guard<S, E> guard, StateContext<S, E> context, ContextView ctx) {
 		try {
-			return guard.evaluate(context);
+			return Guards.evaluate(guard, context, ctx);
 		} catch (Throwable t) {
 			log.warn("Deny guard due to throw as GUARD should not error", t);
 			return false;
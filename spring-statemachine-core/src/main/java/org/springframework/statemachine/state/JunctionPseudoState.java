@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2020 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.springframework.statemachine.state;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
@@ -23,10 +24,14 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.guard.Guard;
+import org.springframework.statemachine.guard.Guards;
+import org.springframework.statemachine.guard.SpelExpressionGuard;
+import org.springframework.statemachine.guard.SpelGuardDecisionTable;
 import org.springframework.util.Assert;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
  * Junction implementation of a {@link PseudoState}.
@@ -40,6 +45,7 @@ public class JunctionPseudoState<S, E> implements PseudoState<S, E> {
 
 	private final static Log log = LogFactory.getLog(JunctionPseudoState.class);
 	private final List<JunctionStateData<S, E>> junctions;
+	private final SpelGuardDecisionTable<S, E> decisionTable;
 
 	/**
 	 * Instantiates a new junction pseudo state.
@@ -47,7 +53,19 @@ public class JunctionPseudoState<S, E> implements PseudoState<S, E> {
 	 * @param junctions the junctions
 	 */
 	public JunctionPseudoState(List<JunctionStateData<S, E>> junctions) {
+		this(junctions, false);
+	}
+
+	/**
+	 * Instantiates a new junction pseudo state. If guards are compiled, {@link SpelExpressionGuard}s
+	 * testing a same extended state variable are resolved with a {@link SpelGuardDecisionTable}.
+	 *
+	 * @param junctions the junctions
+	 * @param compileGuards the flag to compile guards into a decision table
+	 */
+	public JunctionPseudoState(List<JunctionStateData<S, E>> junctions, boolean compileGuards) {
 		this.junctions = junctions;
+		this.decisionTable = compileGuards ? compileGuards(junctions) : null;
 	}
 
 	@Override
@@ -57,11 +75,16 @@ public class JunctionPseudoState<S, E> implements PseudoState<S, E> {
 
 	@Override
 	public Mono<State<S, E>> entry(StateContext<S, E> context) {
-		return Mono.defer(() -> {
+		return Mono.deferContextual(ctx -> {
+			int index = decisionTable != null ? decisionTable.lookup(context) : SpelGuardDecisionTable.UNRESOLVED;
+			if (index != SpelGuardDecisionTable.UNRESOLVED) {
+				// same as sequential evaluation, last one is used if nothing matches
+				return Mono.just(junctions.get(index >= 0 ? index : junctions.size() - 1));
+			}
 			JunctionStateData<S, E> jsd = null;
 			for (JunctionStateData<S, E> j : junctions) {
 				jsd = j;
-				if (j.guard != null && evaluateInternal(j.guard, context)) {
+				if (j.guard != null && evaluateInternal(j.guard, context, ctx)) {
 					break;
 				}
 			}
@@ -88,9 +111,24 @@ public class JunctionPseudoState<S, E> implements PseudoState<S, E> {
 	public void setPseudoStateListeners(List<PseudoStateListener<S, E>> listeners) {
 	}
 
-	private boolean evaluateInternal(Guard<S, E> guard, StateContext<S, E> context) {
+	private SpelGuardDecisionTable<S, E> compileGuards(List<JunctionStateData<S, E>> junctions) {
+		if (junctions.isEmpty()) {
+			return null;
+		}
+		List<Guard<S, E>> guards = new ArrayList<>(junctions.size());
+		for (JunctionStateData<S, E> j : junctions) {
+			guards.add(j.getGuard());
+		}
+		SpelGuardDecisionTable<S, E> table = SpelGuardDecisionTable.compile(guards);
+		if (table == null && log.isDebugEnabled()) {
+			log.debug("Unable to compile junction guards " + guards + ", evaluating those sequentially");
+		}
+		return table;
+	}
+
+	private boolean evaluateInternal(Guard<S, E> guard, StateContext<S, E> context, ContextView ctx) {
 		try {
-			return guard.evaluate(context);
+			return Guards.evaluate(guard, context, ctx);
 		} catch (Throwable t) {
 			log.warn("Deny guard due to throw as GUARD should not error", t);
 			return false;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.springframework.statemachine.support.StateMachineUtils;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -41,6 +42,7 @@ import reactor.core.scheduler.Schedulers;
 public class RegionState<S, E> extends AbstractState<S, E> {
 
 	private RegionExecutionPolicy regionExecutionPolicy;
+	private Scheduler regionExecutionScheduler = Schedulers.parallel();
 
 	/**
 	 * Instantiates a new region state.
@@ -108,11 +110,10 @@ public class RegionState<S, E> extends AbstractState<S, E> {
 	@Override
 	public Flux<StateMachineEventResult<S, E>> sendEvent(Message<E> event) {
 		if(regionExecutionPolicy == RegionExecutionPolicy.PARALLEL) {
+			// regions process an event concurrently but results are joined
+			// in a region order so that outcome doesn't depend on timing
 			return Flux.fromIterable(getRegions())
-				.parallel()
-				.runOn(Schedulers.parallel())
-				.flatMap(r -> r.sendEvent(Mono.just(event)))
-				.sequential();
+				.flatMapSequential(r -> r.sendEvent(Mono.just(event)).subscribeOn(regionExecutionScheduler));
 		} else {
 			return Flux.fromIterable(getRegions())
 				.flatMap(r -> r.sendEvent(Mono.just(event)));
@@ -154,10 +155,7 @@ public class RegionState<S, E> extends AbstractState<S, E> {
 			if (regionExecutionPolicy == RegionExecutionPolicy.PARALLEL) {
 				return Flux.fromIterable(getRegions())
 					.filter(r -> !StateMachineUtils.containsAtleastOne(r.getStates(), context.getTargets()))
-					.parallel()
-					.runOn(Schedulers.parallel())
-					.flatMap(r -> r.startReactively())
-					.sequential()
+					.flatMap(r -> r.startReactively().subscribeOn(regionExecutionScheduler))
 					.then();
 			} else {
 				return Flux.fromIterable(getRegions())
@@ -220,6 +218,17 @@ public class RegionState<S, E> extends AbstractState<S, E> {
 		this.regionExecutionPolicy = regionExecutionPolicy;
 	}
 
+	/**
+	 * Sets the scheduler used to execute regions with
+	 * {@link RegionExecutionPolicy#PARALLEL}. Defaults to
+	 * {@link Schedulers#parallel()}.
+	 *
+	 * @param regionExecutionScheduler the new region execution scheduler
+	 */
+	public void setRegionExecutionScheduler(Scheduler regionExecutionScheduler) {
+		this.regionExecutionScheduler = regionExecutionScheduler != null ? regionExecutionScheduler : Schedulers.parallel();
+	}
+
 	@Override
 	public String toString() {
 		return "RegionState [getIds()=" + getIds() + ", getClass()=" + getClass() + ", hashCode()=" + hashCode()
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2021 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,9 +19,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -31,7 +34,6 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.statemachine.ExtendedState.ExtendedStateChangeListener;
@@ -44,7 +46,9 @@ import org.springframework.statemachine.StateMachineEventResult.ResultType;
 import org.springframework.statemachine.access.StateMachineAccess;
 import org.springframework.statemachine.access.StateMachineAccessor;
 import org.springframework.statemachine.action.ActionListener;
+import org.springframework.statemachine.listener.AsyncStateMachineListener;
 import org.springframework.statemachine.listener.StateMachineListener;
+import org.springframework.statemachine.monitor.ObservedOperation;
 import org.springframework.statemachine.monitor.StateMachineMonitor;
 import org.springframework.statemachine.region.Region;
 import org.springframework.statemachine.state.AbstractState;
@@ -64,6 +68,7 @@ import org.springframework.statemachine.transition.Transition;
 import org.springframework.statemachine.transition.TransitionConflictPolicy;
 import org.springframework.statemachine.transition.TransitionKind;
 import org.springframework.statemachine.trigger.DefaultTriggerContext;
+import org.springframework.statemachine.trigger.TimerTrigger;
 import org.springframework.statemachine.trigger.Trigger;
 import org.springframework.statemachine.trigger.TriggerContext;
 import org.springframework.util.Assert;
@@ -72,6 +77,7 @@ import org.springframework.util.StringUtils;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
  * Base implementation of a {@link StateMachine} loosely modelled from UML state
@@ -100,6 +106,8 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 
 	private TransitionConflictPolicy transitionConflictPolicy;
 
+	private DeferredEventStore<E> deferredEventStore;
+
 	private volatile State<S,E> currentState;
 
 	// using this to log last state when machine stops, as
@@ -265,7 +273,21 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		extendedState.setExtendedStateChangeListener(new ExtendedStateChangeListener() {
 			@Override
 			public void changed(Object key, Object value) {
-				notifyExtendedStateChanged(key, value, buildStateContext(Stage.EXTENDED_STATE_CHANGED, null, null, getRelayStateMachine()));
+				if (isNotificationRequired()) {
+					notifyExtendedStateChanged(key, value, buildStateContext(Stage.EXTENDED_STATE_CHANGED, null, null, getRelayStateMachine()));
+				}
+			}
+
+			@Override
+			public void changed(Map<Object, Object> changes) {
+				if (isNotificationRequired()) {
+					notifyExtendedStateChanged(changes, buildStateContext(Stage.EXTENDED_STATE_CHANGED, null, null, getRelayStateMachine()));
+				}
+			}
+
+			@Override
+			public boolean isNotificationRequired() {
+				return AbstractStateMachine.this.isNotificationRequired(Stage.EXTENDED_STATE_CHANGED, getRelayStateMachine());
 			}
 		});
 
@@ -314,21 +336,31 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		if (getBeanFactory() != null) {
 			executor.setBeanFactory(getBeanFactory());
 		}
+		executor.setStateMachineMonitor(getStateMachineMonitor());
+		if (deferredEventStore != null) {
+			executor.setDeferredEventStore(deferredEventStore);
+		}
 		executor.afterPropertiesSet();
 		executor.setStateMachineExecutorTransit(new StateMachineExecutorTransit<S, E>() {
 
 			@Override
 			public Mono<Void> transit(Transition<S, E> t, StateContext<S, E> ctx, Message<E> message) {
-				return Mono.fromSupplier(() -> System.currentTimeMillis())
+				// tracks if transition start was notified without its end
+				AtomicBoolean started = new AtomicBoolean();
+				return Mono.fromSupplier(() -> System.nanoTime())
 					.doOnNext(now -> {
-						notifyTransitionStart(buildStateContext(Stage.TRANSITION_START, message, t, getRelayStateMachine()));
+						if (notifyIfRequired(Stage.TRANSITION_START, getRelayStateMachine(),
+								() -> buildStateContext(Stage.TRANSITION_START, message, t, getRelayStateMachine()))) {
+							started.set(true);
+						}
 					})
 					.flatMap(now -> {
 						// TODO: REACTOR need to think about error handling as we used to try/catch
 						return t.executeTransitionActions(ctx).then(Mono.just(now));
 					})
 					.doOnNext(now -> {
-						notifyTransition(buildStateContext(Stage.TRANSITION, message, t, getRelayStateMachine()));
+						notifyIfRequired(Stage.TRANSITION, getRelayStateMachine(),
+								() -> buildStateContext(Stage.TRANSITION, message, t, getRelayStateMachine()));
 					})
 					.flatMap(now -> {
 						Mono<Void> ret = null;
@@ -337,7 +369,8 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 						} else {
 							if (t.getKind() == TransitionKind.INITIAL) {
 								Mono<Void> notify = Mono.fromRunnable(() -> {
-									notifyStateMachineStarted(buildStateContext(Stage.STATEMACHINE_START, message, t, getRelayStateMachine()));
+									notifyIfRequired(Stage.STATEMACHINE_START, getRelayStateMachine(),
+											() -> buildStateContext(Stage.STATEMACHINE_START, message, t, getRelayStateMachine()));
 								});
 								ret = switchToState(t.getTarget(), message, t, getRelayStateMachine()).then(notify);
 							} else if (t.getKind() != TransitionKind.INTERNAL) {
@@ -349,8 +382,15 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 						return ret.then(Mono.just(now));
 					})
 					.doOnNext(now -> {
-						notifyTransitionEnd(buildStateContext(Stage.TRANSITION_END, message, t, getRelayStateMachine()));
-						notifyTransitionMonitor(getRelayStateMachine(), t, System.currentTimeMillis() - now);
+						started.set(false);
+						notifyIfRequired(Stage.TRANSITION_END, getRelayStateMachine(),
+								() -> buildStateContext(Stage.TRANSITION_END, message, t, getRelayStateMachine()));
+						notifyTransitionMonitor(getRelayStateMachine(), t, System.nanoTime() - now, TimeUnit.NANOSECONDS);
+					})
+					.doFinally(signal -> {
+						if (started.compareAndSet(true, false)) {
+							notifyTransitionAbort(t);
+						}
 					})
 					.then()
 					;
@@ -365,6 +405,18 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 						long duration) {
 					notifyActionMonitor(stateMachine, action, duration);
 				}
+
+				@Override
+				public void onExecute(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+						long duration, TimeUnit unit) {
+					notifyActionMonitor(stateMachine, action, duration, unit);
+				}
+
+				@Override
+				public Mono<Void> observe(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+						Mono<Void> execution) {
+					return getStateMachineMonitor().observe(stateMachine, ObservedOperation.ACTION, action, execution);
+				}
 			});
 		}
 		for (State<S, E> s : getStates()) {
@@ -374,6 +426,30 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 						long duration) {
 					notifyActionMonitor(stateMachine, action, duration);
 				}
+
+				@Override
+				public void onExecute(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+						long duration, TimeUnit unit) {
+					notifyActionMonitor(stateMachine, action, duration, unit);
+				}
+
+				@Override
+				public void onDoActionWait(StateMachine<S, E> stateMachine,
+						Function<StateContext<S, E>, Mono<Void>> action, long duration, TimeUnit unit) {
+					getStateMachineMonitor().stateDoActionWait(stateMachine, duration, unit);
+				}
+
+				@Override
+				public void onDoActionRejected(StateMachine<S, E> stateMachine,
+						Function<StateContext<S, E>, Mono<Void>> action) {
+					getStateMachineMonitor().stateDoActionRejected(stateMachine);
+				}
+
+				@Override
+				public Mono<Void> observe(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+						Mono<Void> execution) {
+					return getStateMachineMonitor().observe(stateMachine, ObservedOperation.ACTION, action, execution);
+				}
 			});
 		}
 	}
@@ -405,8 +481,8 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 				})
 				.and(stateMachineExecutor.startReactively())
 				.doOnSuccess(x -> {
-					StateContext<S, E> stateContext = buildStateContext(Stage.STATEMACHINE_START, null, null, getRelayStateMachine());
-					notifyStateMachineStarted(stateContext);
+					notifyIfRequired(Stage.STATEMACHINE_START, getRelayStateMachine(),
+							() -> buildStateContext(Stage.STATEMACHINE_START, null, null, getRelayStateMachine()));
 				})
 				.and(Mono.defer(() -> {
 					if (currentState != null && currentState.isSubmachineState()) {
@@ -447,7 +523,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 	@Override
 	protected Mono<Void> doPreStopReactively() {
 		return Mono.fromRunnable(() -> {
-			notifyStateMachineStopped(buildStateContext(Stage.STATEMACHINE_STOP, null, null, this));
+			notifyIfRequired(Stage.STATEMACHINE_STOP, this, () -> buildStateContext(Stage.STATEMACHINE_STOP, null, null, this));
 			// stash current state before we null it so that
 			// we can still return where we 'were' when machine is stopped
 			lastState = currentState;
@@ -488,7 +564,9 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 			currentError = exception;
 		}
 		if (currentError != null) {
-			notifyStateMachineError(buildStateContext(Stage.STATEMACHINE_ERROR, null, null, this, currentError));
+			Exception error = currentError;
+			notifyIfRequired(Stage.STATEMACHINE_ERROR, this,
+					() -> buildStateContext(Stage.STATEMACHINE_ERROR, null, null, this, error));
 		}
 	}
 
@@ -505,6 +583,14 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 	@Override
 	public void removeStateListener(StateMachineListener<S, E> listener) {
 		getStateListener().unregister(listener);
+		// listener may have been wrapped when registered from a configuration
+		for (Iterator<StateMachineListener<S, E>> iterator = getStateListener().getListeners().iterator(); iterator.hasNext();) {
+			StateMachineListener<S, E> registered = iterator.next();
+			if (registered instanceof AsyncStateMachineListener
+					&& ((AsyncStateMachineListener<S, E>) registered).getDelegate() == listener) {
+				getStateListener().unregister(registered);
+			}
+		}
 	}
 
 	@Override
@@ -618,22 +704,52 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		this.transitionConflictPolicy = transitionConflictPolicy;
 	}
 
+	/**
+	 * Gets the events deferred by this machine in order those were deferred.
+	 *
+	 * @return the deferred events
+	 */
+	public List<Message<E>> getDeferredEvents() {
+		StateMachineExecutor<S, E> executor = stateMachineExecutor;
+		return executor != null ? executor.getDeferredEvents() : Collections.emptyList();
+	}
+
+	/**
+	 * Sets the store keeping deferred events. Needs to be set before a
+	 * machine is initialised.
+	 *
+	 * @param deferredEventStore the new deferred event store
+	 */
+	public void setDeferredEventStore(DeferredEventStore<E> deferredEventStore) {
+		this.deferredEventStore = deferredEventStore;
+	}
+
 	private Flux<StateMachineEventResult<S, E>> handleEvent(Message<E> message) {
 		if (hasStateMachineError()) {
 			return Flux.just(StateMachineEventResult.<S, E>from(this, message, ResultType.DENIED));
 		}
-		return Mono.just(message)
+		Flux<StateMachineEventResult<S, E>> results = Mono.just(message)
 			.map(m -> getStateMachineInterceptors().preEvent(m, this))
 			.flatMapMany(m -> acceptEvent(m))
 			.onErrorResume(error -> Flux.just(StateMachineEventResult.<S, E>from(this, message, ResultType.DENIED)))
-			.doOnNext(notifyOnDenied());
+			.doOnNext(notifyOnDenied())
+			.doOnNext(notifyEventMonitor());
+		return getStateMachineMonitor().observe(getRelayStateMachine(), ObservedOperation.EVENT, message, results);
+	}
+
+	private Consumer<StateMachineEventResult<S, E>> notifyEventMonitor() {
+		return r -> {
+			if (parentMachine == null) {
+				notifyEventMonitor(getRelayStateMachine(), r.getMessage(), r.getResultType());
+			}
+		};
 	}
 
 	private Consumer<StateMachineEventResult<S, E>> notifyOnDenied() {
 		return r -> {
 			if (r.getResultType() == ResultType.DENIED) {
-				notifyEventNotAccepted(buildStateContext(Stage.EVENT_NOT_ACCEPTED, r.getMessage(), null,
-				getRelayStateMachine(), getState(), null));
+				notifyIfRequired(Stage.EVENT_NOT_ACCEPTED, getRelayStateMachine(), () -> buildStateContext(
+						Stage.EVENT_NOT_ACCEPTED, r.getMessage(), null, getRelayStateMachine(), getState(), null));
 			}
 		};
 	}
@@ -644,8 +760,11 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 			State<S, E> cs = currentState;
 			if (cs != null) {
 				if (cs.shouldDefer(message)) {
-					stateMachineExecutor.queueDeferredEvent(message);
-					return Flux.just(StateMachineEventResult.<S, E>from(this, message, ResultType.DEFERRED));
+					if (stateMachineExecutor.offerDeferredEvent(message)) {
+						getStateMachineInterceptors().eventDeferred(message, this);
+						return Flux.just(StateMachineEventResult.<S, E>from(this, message, ResultType.DEFERRED));
+					}
+					return Flux.just(StateMachineEventResult.<S, E>from(this, message, ResultType.DENIED));
 				}
 
 				return cs.sendEvent(message)
@@ -885,6 +1004,28 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 			return Flux.concat(monos).then();
 		})
 		.thenEmpty(Mono.defer(() -> {
+			if (stateMachineContext != null && parentMachine == null && stateMachineExecutor != null) {
+				// nested machines are reset with a context of their parent, thus only
+				// a top level machine takes persisted deferred events
+				List<Message<E>> deferredEvents = stateMachineContext.getDeferredEvents();
+				if (deferredEvents != null && !deferredEvents.isEmpty()) {
+					stateMachineExecutor.setDeferredEvents(deferredEvents);
+				}
+			}
+			if (stateMachineContext != null && parentMachine == null && currentState != null) {
+				// timers of restored states continue from persisted deadlines when armed.
+				// deadlines are kept in a top level context, regions and submachines
+				// are reset by now so follow their active states from here.
+				Map<String, Long> timerDeadlines = stateMachineContext.getTimerDeadlines();
+				if (timerDeadlines != null && !timerDeadlines.isEmpty()) {
+					for (TimerTrigger<S, E> t : StateMachineUtils.getActiveTimerTriggers(currentState)) {
+						Long deadline = timerDeadlines.get(t.getId());
+						if (deadline != null) {
+							t.restoreDeadline(deadline);
+						}
+					}
+				}
+			}
 			if (currentState instanceof StateMachineReactiveLifecycle) {
 				return ((StateMachineReactiveLifecycle) currentState).startReactively();
 			}
@@ -943,9 +1084,13 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		return stateMachineExecutor;
 	}
 
-	private boolean callPreStateChangeInterceptors(State<S,E> state, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine) {
+	private boolean callPreStateChangeInterceptors(State<S,E> state, Message<E> message, Transition<S,E> transition,
+			StateMachine<S, E> stateMachine, ContextView context) {
 		try {
-			getStateMachineInterceptors().preStateChange(state, message, transition, this, stateMachine);
+			getStateMachineMonitor().observe(stateMachine, ObservedOperation.STATE_CHANGE_INTERCEPTION, state, context, () -> {
+				getStateMachineInterceptors().preStateChange(state, message, transition, this, stateMachine);
+				return null;
+			});
 		} catch (Exception e) {
 			log.info("Interceptors threw exception, skipping state change", e);
 			return false;
@@ -966,9 +1111,9 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 	}
 
 	private Mono<Void> switchToState(State<S,E> state, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine) {
-		return Mono.defer(() -> {
+		return Mono.deferContextual(ctx -> {
 			if (!isInitialTransition(transition) && !StateMachineUtils.isTransientPseudoState(state)
-					&& !callPreStateChangeInterceptors(state, message, transition, stateMachine)) {
+					&& !callPreStateChangeInterceptors(state, message, transition, stateMachine, ctx)) {
 				return Mono.empty();
 			}
 			StateContext<S, E> stateContext = buildStateContext(Stage.STATE_CHANGED, message, transition, stateMachine);
@@ -978,7 +1123,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 
 					if (kind != null && (kind != PseudoStateKind.INITIAL && kind != PseudoStateKind.JOIN
 							&& kind != PseudoStateKind.FORK && kind != PseudoStateKind.END)) {
-						callPreStateChangeInterceptors(toState, message, transition, stateMachine);
+						callPreStateChangeInterceptors(toState, message, transition, stateMachine, ctx);
 					}
 
 					kind = toState.getPseudoState() != null ? toState.getPseudoState().getKind() : null;
@@ -987,7 +1132,7 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 						ForkPseudoState<S, E> fps = (ForkPseudoState<S, E>) toState.getPseudoState();
 						Mono<Void> ret2 = Flux.fromIterable(fps.getForks())
 							.flatMap(f -> {
-								callPreStateChangeInterceptors(f, message, transition, stateMachine);
+								callPreStateChangeInterceptors(f, message, transition, stateMachine, ctx);
 								return setCurrentState(f, message, transition, false, stateMachine, null, fps.getForks());
 							})
 							.then()
@@ -1076,27 +1221,23 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 	}
 
 	private StateContext<S, E> buildStateContext(Stage stage, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine) {
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
-		return new DefaultStateContext<S, E>(stage, message, messageHeaders, extendedState, transition, stateMachine, null, null, null);
+		// headers are materialized lazily from a message if needed
+		return new DefaultStateContext<S, E>(stage, message, null, extendedState, transition, stateMachine, null, null, null);
 	}
 
 	private StateContext<S, E> buildStateContext(Stage stage, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine, Exception exception) {
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
-		return new DefaultStateContext<S, E>(stage, message, messageHeaders, extendedState, transition, stateMachine, null, null, exception);
+		// headers are materialized lazily from a message if needed
+		return new DefaultStateContext<S, E>(stage, message, null, extendedState, transition, stateMachine, null, null, exception);
 	}
 
 	private StateContext<S, E> buildStateContext(Stage stage, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine, State<S, E> source, State<S, E> target) {
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
-		return new DefaultStateContext<S, E>(stage, message, messageHeaders, extendedState, transition, stateMachine, source, target, null);
+		// headers are materialized lazily from a message if needed
+		return new DefaultStateContext<S, E>(stage, message, null, extendedState, transition, stateMachine, source, target, null);
 	}
 
 	private StateContext<S, E> buildStateContext(Stage stage, Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine, Collection<State<S, E>> sources, Collection<State<S, E>> targets) {
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
-		return new DefaultStateContext<S, E>(stage, message, messageHeaders, extendedState, transition, stateMachine, null, null, sources, targets, null);
+		// headers are materialized lazily from a message if needed
+		return new DefaultStateContext<S, E>(stage, message, null, extendedState, transition, stateMachine, null, null, sources, targets, null);
 	}
 
 	private State<S, E> findDeepParent(State<S, E> state) {
@@ -1153,7 +1294,8 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 				.then(Mono.just(in))
 				.doOnNext(s -> {
 					if (!StateMachineUtils.isPseudoState(s, PseudoStateKind.JOIN)) {
-						notifyStateChanged(buildStateContext(Stage.STATE_CHANGED, message, null, getRelayStateMachine(), notifyFrom, s));
+						notifyIfRequired(Stage.STATE_CHANGED, getRelayStateMachine(),
+								() -> buildStateContext(Stage.STATE_CHANGED, message, null, getRelayStateMachine(), notifyFrom, s));
 					}
 				});
 		};
@@ -1166,7 +1308,8 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 				.then(Mono.just(in))
 				.doOnNext(s -> {
 					if (!StateMachineUtils.isPseudoState(s, PseudoStateKind.JOIN)) {
-						notifyStateChanged(buildStateContext(Stage.STATE_CHANGED, message, null, getRelayStateMachine(), notifyFrom, findDeep));
+						notifyIfRequired(Stage.STATE_CHANGED, getRelayStateMachine(),
+								() -> buildStateContext(Stage.STATE_CHANGED, message, null, getRelayStateMachine(), notifyFrom, findDeep));
 					}
 				});
 		};
@@ -1390,7 +1533,8 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		if (log.isDebugEnabled()) {
 			log.debug("Exit state=[" + state + "]");
 		}
-		notifyStateExited(buildStateContext(Stage.STATE_EXIT, message, null, getRelayStateMachine(), state, null));
+		notifyIfRequired(Stage.STATE_EXIT, getRelayStateMachine(),
+				() -> buildStateContext(Stage.STATE_EXIT, message, null, getRelayStateMachine(), state, null));
 		return state.exit(stateContext);
 	}
 
@@ -1463,7 +1607,8 @@ public abstract class AbstractStateMachine<S, E> extends StateMachineObjectSuppo
 		// with linked joins, we need to enter state but should not notify.
 		// state entries are needed to track join logic.
 		if (!StateMachineUtils.isPseudoState(state, PseudoStateKind.JOIN)) {
-			notifyStateEntered(buildStateContext(Stage.STATE_ENTRY, message, transition, getRelayStateMachine(), null, state));
+			notifyIfRequired(Stage.STATE_ENTRY, getRelayStateMachine(),
+					() -> buildStateContext(Stage.STATE_ENTRY, message, transition, getRelayStateMachine(), null, state));
 		}
 		if (log.isDebugEnabled()) {
 			log.debug("Enter state=[" + state + "]");
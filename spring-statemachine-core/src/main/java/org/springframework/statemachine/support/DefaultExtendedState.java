@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,14 +15,21 @@
  */
 package org.springframework.statemachine.support;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.springframework.statemachine.ExtendedState;
+import org.springframework.statemachine.ExtendedStateKey;
+import org.springframework.statemachine.ExtendedStateKeys;
 import org.springframework.statemachine.support.ObservableMap.MapChangeListener;
 
 /**
- * Default implementation of a {@link ExtendedState}.
+ * Default implementation of a {@link ExtendedState}. If created with
+ * {@link ExtendedStateKeys}, variables of declared keys are kept in
+ * {@link TypedVariables} slots while still being visible in
+ * {@link #getVariables()} using key names.
  *
  * @author Janne Valkealahti
  *
@@ -30,14 +37,34 @@ import org.springframework.statemachine.support.ObservableMap.MapChangeListener;
 public class DefaultExtendedState implements ExtendedState {
 
 	private final Map<Object, Object> variables;
+	private final ObservableMap<Object, Object> objectVariables;
+	private final TypedVariables typedVariables;
+	private final MapChangeListener<Object, Object> localListener = new LocalMapChangeListener();
 	private ExtendedStateChangeListener listener;
 
 	/**
 	 * Instantiates a new default extended state.
 	 */
 	public DefaultExtendedState() {
-		this.variables = new ObservableMap<Object, Object>(new ConcurrentHashMap<Object, Object>(),
-				new LocalMapChangeListener());
+		this((ExtendedStateKeys) null);
+	}
+
+	/**
+	 * Instantiates a new default extended state keeping variables of
+	 * declared keys in slots.
+	 *
+	 * @param keys the declared keys, {@code null} to keep all variables in a map
+	 */
+	public DefaultExtendedState(ExtendedStateKeys keys) {
+		this.objectVariables = new ObservableMap<Object, Object>(new ConcurrentHashMap<Object, Object>(),
+				localListener);
+		if (keys != null) {
+			this.typedVariables = new TypedVariables(keys);
+			this.variables = new TypedVariablesMap(objectVariables, typedVariables, localListener);
+		} else {
+			this.typedVariables = null;
+			this.variables = objectVariables;
+		}
 	}
 
 	/**
@@ -47,6 +74,8 @@ public class DefaultExtendedState implements ExtendedState {
 	 */
 	public DefaultExtendedState(Map<Object, Object> variables) {
 		this.variables = variables;
+		this.objectVariables = null;
+		this.typedVariables = null;
 	}
 
 	@Override
@@ -68,6 +97,102 @@ public class DefaultExtendedState implements ExtendedState {
 		return (T) value;
 	}
 
+	@Override
+	public int getInt(ExtendedStateKey<Integer> key) {
+		ExtendedStateKey<Integer> slot = resolve(key);
+		if (slot != null && typedVariables.contains(slot)) {
+			return typedVariables.getInt(slot);
+		}
+		return ExtendedState.super.getInt(key);
+	}
+
+	@Override
+	public void setInt(ExtendedStateKey<Integer> key, int value) {
+		ExtendedStateKey<Integer> slot = resolve(key);
+		if (slot == null) {
+			ExtendedState.super.setInt(key, value);
+		} else if (typedVariables.setInt(slot, value)) {
+			typedChanged(slot, value);
+		}
+	}
+
+	@Override
+	public long getLong(ExtendedStateKey<Long> key) {
+		ExtendedStateKey<Long> slot = resolve(key);
+		if (slot != null && typedVariables.contains(slot)) {
+			return typedVariables.getLong(slot);
+		}
+		return ExtendedState.super.getLong(key);
+	}
+
+	@Override
+	public void setLong(ExtendedStateKey<Long> key, long value) {
+		ExtendedStateKey<Long> slot = resolve(key);
+		if (slot == null) {
+			ExtendedState.super.setLong(key, value);
+		} else if (typedVariables.setLong(slot, value)) {
+			typedChanged(slot, value);
+		}
+	}
+
+	@Override
+	public double getDouble(ExtendedStateKey<Double> key) {
+		ExtendedStateKey<Double> slot = resolve(key);
+		if (slot != null && typedVariables.contains(slot)) {
+			return typedVariables.getDouble(slot);
+		}
+		return ExtendedState.super.getDouble(key);
+	}
+
+	@Override
+	public void setDouble(ExtendedStateKey<Double> key, double value) {
+		ExtendedStateKey<Double> slot = resolve(key);
+		if (slot == null) {
+			ExtendedState.super.setDouble(key, value);
+		} else if (typedVariables.setDouble(slot, value)) {
+			typedChanged(slot, value);
+		}
+	}
+
+	@Override
+	public boolean getBoolean(ExtendedStateKey<Boolean> key) {
+		ExtendedStateKey<Boolean> slot = resolve(key);
+		if (slot != null && typedVariables.contains(slot)) {
+			return typedVariables.getBoolean(slot);
+		}
+		return ExtendedState.super.getBoolean(key);
+	}
+
+	@Override
+	public void setBoolean(ExtendedStateKey<Boolean> key, boolean value) {
+		ExtendedStateKey<Boolean> slot = resolve(key);
+		if (slot == null) {
+			ExtendedState.super.setBoolean(key, value);
+		} else if (typedVariables.setBoolean(slot, value)) {
+			typedChanged(slot, value);
+		}
+	}
+
+	@Override
+	public void update(Consumer<Map<Object, Object>> updater) {
+		if (objectVariables == null) {
+			updater.accept(variables);
+			return;
+		}
+		Map<Object, Object> delegate = objectVariables.getDelegate();
+		ExtendedStateChangeListener listener = getActiveListener();
+		if (listener == null) {
+			updater.accept(typedVariables != null ? variables : delegate);
+			return;
+		}
+		BatchMapChangeListener batch = new BatchMapChangeListener();
+		ObservableMap<Object, Object> observable = new ObservableMap<Object, Object>(delegate, batch);
+		updater.accept(typedVariables != null ? new TypedVariablesMap(observable, typedVariables, batch) : observable);
+		if (!batch.changes.isEmpty()) {
+			listener.changed(batch.changes);
+		}
+	}
+
 	@Override
 	public void setExtendedStateChangeListener(ExtendedStateChangeListener listener) {
 		this.listener = listener;
@@ -108,6 +233,24 @@ public class DefaultExtendedState implements ExtendedState {
 		return "DefaultExtendedState [variables=" + variables + "]";
 	}
 
+	private <T> ExtendedStateKey<T> resolve(ExtendedStateKey<T> key) {
+		return typedVariables != null ? typedVariables.resolve(key) : null;
+	}
+
+	private void typedChanged(ExtendedStateKey<?> key, Object value) {
+		// variable which didn't fit a slot earlier is now kept in a slot
+		objectVariables.getDelegate().remove(key.getName());
+		ExtendedStateChangeListener listener = getActiveListener();
+		if (listener != null) {
+			listener.changed(key.getName(), value);
+		}
+	}
+
+	private ExtendedStateChangeListener getActiveListener() {
+		ExtendedStateChangeListener listener = this.listener;
+		return listener != null && listener.isNotificationRequired() ? listener : null;
+	}
+
 	private class LocalMapChangeListener implements MapChangeListener<Object, Object> {
 
 		@Override
@@ -131,6 +274,31 @@ public class DefaultExtendedState implements ExtendedState {
 			}
 		}
 
+		@Override
+		public boolean isNotificationRequired() {
+			return getActiveListener() != null;
+		}
+	}
+
+	private static class BatchMapChangeListener implements MapChangeListener<Object, Object> {
+
+		// last change of a key wins
+		private final Map<Object, Object> changes = new LinkedHashMap<>();
+
+		@Override
+		public void added(Object key, Object value) {
+			changes.put(key, value);
+		}
+
+		@Override
+		public void changed(Object key, Object value) {
+			changes.put(key, value);
+		}
+
+		@Override
+		public void removed(Object key, Object value) {
+			changes.put(key, value);
+		}
 	}
 
 }
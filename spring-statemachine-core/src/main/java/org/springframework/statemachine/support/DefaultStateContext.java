@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2016 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,17 +16,24 @@
 package org.springframework.statemachine.support;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineSystemConstants;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.transition.Transition;
 
 /**
  * Default implementation of a {@link StateContext}.
+ * <p>
+ * If message headers are not given, those are materialized from a message
+ * only when requested via {@link #getMessageHeaders()}.
  *
  * @author Janne Valkealahti
  *
@@ -37,7 +44,8 @@ public class DefaultStateContext<S, E> implements StateContext<S, E> {
 
 	private final Stage stage;
 	private final Message<E> message;
-	private final MessageHeaders messageHeaders;
+	private volatile MessageHeaders messageHeaders;
+	private final UUID machineId;
 	private final ExtendedState extendedState;
 	private final Transition<S,E> transition;
 	private final StateMachine<S, E> stateMachine;
@@ -73,6 +81,7 @@ public class DefaultStateContext<S, E> implements StateContext<S, E> {
 		this.exception = exception;
 		this.sources = null;
 		this.targets = null;
+		this.machineId = null;
 	}
 
 	/**
@@ -104,6 +113,36 @@ public class DefaultStateContext<S, E> implements StateContext<S, E> {
 		this.sources = sources;
 		this.targets = targets;
 		this.exception = exception;
+		this.machineId = null;
+	}
+
+	/**
+	 * Instantiates a new default state context with lazily materialized
+	 * message headers. Given machine id is exposed as a
+	 * {@link StateMachineSystemConstants#STATEMACHINE_IDENTIFIER} header
+	 * unless message already has one.
+	 *
+	 * @param stage the stage
+	 * @param message the message
+	 * @param extendedState the extended state
+	 * @param transition the transition
+	 * @param stateMachine the state machine
+	 * @param machineId the machine id
+	 */
+	public DefaultStateContext(Stage stage, Message<E> message, ExtendedState extendedState,
+			Transition<S, E> transition, StateMachine<S, E> stateMachine, UUID machineId) {
+		this.stage = stage;
+		this.message = message;
+		this.messageHeaders = null;
+		this.extendedState = extendedState;
+		this.transition = transition;
+		this.stateMachine = stateMachine;
+		this.source = null;
+		this.target = null;
+		this.sources = null;
+		this.targets = null;
+		this.exception = null;
+		this.machineId = machineId;
 	}
 
 	@Override
@@ -123,17 +162,40 @@ public class DefaultStateContext<S, E> implements StateContext<S, E> {
 
 	@Override
 	public MessageHeaders getMessageHeaders() {
-		return messageHeaders;
+		MessageHeaders headers = messageHeaders;
+		if (headers == null) {
+			headers = buildMessageHeaders();
+			messageHeaders = headers;
+		}
+		return headers;
 	}
 
 	@Override
 	public Object getMessageHeader(Object header) {
+		String name = null;
 		if (header instanceof String) {
-			return messageHeaders.get((String)header);
+			name = (String)header;
 		} else if (header instanceof Enum<?>) {
-			return messageHeaders.get(((Enum<?>)header).toString());
+			name = ((Enum<?>)header).toString();
+		}
+		if (name == null) {
+			return null;
+		}
+		MessageHeaders headers = messageHeaders;
+		if (headers != null) {
+			return headers.get(name);
 		}
-		return null;
+		// avoid materializing headers for a single lookup
+		Object value = null;
+		if (message instanceof EventEnvelope) {
+			value = ((EventEnvelope<E>) message).getHeader(name);
+		} else if (message != null) {
+			value = message.getHeaders().get(name);
+		}
+		if (value == null && machineId != null && StateMachineSystemConstants.STATEMACHINE_IDENTIFIER.equals(name)) {
+			value = machineId;
+		}
+		return value;
 	}
 
 	@Override
@@ -176,6 +238,23 @@ public class DefaultStateContext<S, E> implements StateContext<S, E> {
 		return exception;
 	}
 
+	private MessageHeaders buildMessageHeaders() {
+		if (message == null) {
+			Map<String, Object> map = new HashMap<String, Object>();
+			if (machineId != null) {
+				map.put(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, machineId);
+			}
+			return new MessageHeaders(map);
+		}
+		MessageHeaders headers = message.getHeaders();
+		if (machineId == null || headers.containsKey(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER)) {
+			return headers;
+		}
+		Map<String, Object> map = new HashMap<String, Object>(headers);
+		map.put(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, machineId);
+		return new MessageHeaders(map);
+	}
+
 	@Override
 	public String toString() {
 		return "DefaultStateContext [stage=" + stage + ", message=" + message + ", messageHeaders=" + messageHeaders + ", extendedState="
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.messaging.Message;
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.statemachine.StateMachineContext;
 
@@ -41,6 +42,8 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 	private final E event;
 	private final Map<String, Object> eventHeaders;
 	private final ExtendedState extendedState;
+	private final Map<String, Long> timerDeadlines;
+	private final List<Message<E>> deferredEvents;
 
 	/**
 	 * Instantiates a new default state machine context.
@@ -133,6 +136,8 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		this.extendedState = extendedState;
 		this.historyStates = historyStates != null ? historyStates : new HashMap<S, S>();
 		this.id = id;
+		this.timerDeadlines = new HashMap<>();
+		this.deferredEvents = new ArrayList<>();
 	}
 
 	/**
@@ -149,6 +154,45 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 	 */
 	public DefaultStateMachineContext(List<String> childRefs, List<StateMachineContext<S, E>> childs, S state, E event,
 			Map<String, Object> eventHeaders, ExtendedState extendedState, Map<S, S> historyStates, String id) {
+		this(childRefs, childs, state, event, eventHeaders, extendedState, historyStates, id, null);
+	}
+
+	/**
+	 * Instantiates a new default state machine context.
+	 *
+	 * @param childRefs the child state machine context refs
+	 * @param childs the child state machine contexts
+	 * @param state the state
+	 * @param event the event
+	 * @param eventHeaders the event headers
+	 * @param extendedState the extended state
+	 * @param historyStates the history state mappings
+	 * @param id the machine id
+	 * @param timerDeadlines the timer deadlines
+	 */
+	public DefaultStateMachineContext(List<String> childRefs, List<StateMachineContext<S, E>> childs, S state, E event,
+			Map<String, Object> eventHeaders, ExtendedState extendedState, Map<S, S> historyStates, String id,
+			Map<String, Long> timerDeadlines) {
+		this(childRefs, childs, state, event, eventHeaders, extendedState, historyStates, id, timerDeadlines, null);
+	}
+
+	/**
+	 * Instantiates a new default state machine context.
+	 *
+	 * @param childRefs the child state machine context refs
+	 * @param childs the child state machine contexts
+	 * @param state the state
+	 * @param event the event
+	 * @param eventHeaders the event headers
+	 * @param extendedState the extended state
+	 * @param historyStates the history state mappings
+	 * @param id the machine id
+	 * @param timerDeadlines the timer deadlines
+	 * @param deferredEvents the deferred events
+	 */
+	public DefaultStateMachineContext(List<String> childRefs, List<StateMachineContext<S, E>> childs, S state, E event,
+			Map<String, Object> eventHeaders, ExtendedState extendedState, Map<S, S> historyStates, String id,
+			Map<String, Long> timerDeadlines, List<Message<E>> deferredEvents) {
 		this.childs = childs;
 		this.childRefs = childRefs;
 		this.state = state;
@@ -157,6 +201,8 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		this.extendedState = extendedState;
 		this.historyStates = historyStates != null ? historyStates : new HashMap<S, S>();
 		this.id = id;
+		this.timerDeadlines = timerDeadlines != null ? timerDeadlines : new HashMap<>();
+		this.deferredEvents = deferredEvents != null ? deferredEvents : new ArrayList<>();
 	}
 
 	@Override
@@ -199,6 +245,16 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		return extendedState;
 	}
 
+	@Override
+	public Map<String, Long> getTimerDeadlines() {
+		return timerDeadlines;
+	}
+
+	@Override
+	public List<Message<E>> getDeferredEvents() {
+		return deferredEvents;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -211,6 +267,8 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		result = prime * result + ((historyStates == null) ? 0 : historyStates.hashCode());
 		result = prime * result + ((id == null) ? 0 : id.hashCode());
 		result = prime * result + ((state == null) ? 0 : state.hashCode());
+		result = prime * result + ((timerDeadlines == null) ? 0 : timerDeadlines.hashCode());
+		result = prime * result + ((deferredEvents == null) ? 0 : deferredEvents.hashCode());
 		return result;
 	}
 
@@ -282,6 +340,20 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 		} else if (!state.equals(other.state)) {
 			return false;
 		}
+		if (timerDeadlines == null) {
+			if (other.timerDeadlines != null) {
+				return false;
+			}
+		} else if (!timerDeadlines.equals(other.timerDeadlines)) {
+			return false;
+		}
+		if (deferredEvents == null) {
+			if (other.deferredEvents != null) {
+				return false;
+			}
+		} else if (!deferredEvents.equals(other.deferredEvents)) {
+			return false;
+		}
 		return true;
 	}
 
@@ -289,6 +361,7 @@ public class DefaultStateMachineContext<S, E> implements StateMachineContext<S,
 	public String toString() {
 		return "DefaultStateMachineContext [id=" + id + ", childs=" + childs + ", childRefs=" + childRefs + ", state="
 				+ state + ", historyStates=" + historyStates + ", event=" + event + ", eventHeaders=" + eventHeaders
-				+ ", extendedState=" + extendedState + "]";
+				+ ", extendedState=" + extendedState + ", timerDeadlines=" + timerDeadlines + ", deferredEvents="
+				+ deferredEvents + "]";
 	}
 }
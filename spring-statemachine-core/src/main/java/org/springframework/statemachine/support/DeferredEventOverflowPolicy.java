@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+/**
+ * Enumerations for possible policies when a bounded {@link DeferredEventStore}
+ * is full.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public enum DeferredEventOverflowPolicy {
+
+	/**
+	 * Policy rejecting an event which didn't fit into a store, event is then
+	 * denied by a state machine.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Policy dropping an oldest deferred event to make space for a new one.
+	 */
+	DROP_OLDEST
+}
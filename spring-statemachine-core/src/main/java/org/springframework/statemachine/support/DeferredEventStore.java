@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * Store for deferred events indexed by an event. As a state defers events
+ * by their type, a decision whether events can be replayed is done once per
+ * an event type instead of once per deferred event, and removing a replayed
+ * event only touches events of a same type. Original order of events is kept
+ * over all event types.
+ *
+ * <p>Store is unbounded by default. With a capacity, a
+ * {@link DeferredEventOverflowPolicy} decides what happens when a store is full.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <E> the type of event
+ */
+public class DeferredEventStore<E> {
+
+	private static final Log log = LogFactory.getLog(DeferredEventStore.class);
+	private static final Comparator<Deferred<?>> ORDER = Comparator.comparingLong(d -> d.sequence);
+	private final Map<E, Deque<Deferred<E>>> index = new LinkedHashMap<>();
+	private final int capacity;
+	private final DeferredEventOverflowPolicy overflowPolicy;
+	private long sequence;
+	private int size;
+
+	/**
+	 * Instantiates a new unbounded deferred event store.
+	 */
+	public DeferredEventStore() {
+		this(0, DeferredEventOverflowPolicy.DROP_NEWEST);
+	}
+
+	/**
+	 * Instantiates a new deferred event store.
+	 *
+	 * @param capacity the maximum number of events, zero or less for unbounded
+	 * @param overflowPolicy the overflow policy
+	 */
+	public DeferredEventStore(int capacity, DeferredEventOverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "Overflow policy must be set");
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Adds a deferred event. If store is full, either a given event is rejected
+	 * or an oldest event is dropped depending on an overflow policy.
+	 *
+	 * @param message the message
+	 * @return true, if event was added
+	 */
+	public synchronized boolean add(Message<E> message) {
+		Assert.notNull(message, "Message must be set");
+		if (capacity > 0 && size >= capacity) {
+			if (overflowPolicy == DeferredEventOverflowPolicy.DROP_OLDEST) {
+				Message<E> dropped = removeOldest();
+				log.warn("Deferred event store full, dropping oldest event " + dropped);
+			} else {
+				log.warn("Deferred event store full, rejecting event " + message);
+				return false;
+			}
+		}
+		index.computeIfAbsent(message.getPayload(), e -> new ArrayDeque<>()).add(new Deferred<>(message, sequence++));
+		size++;
+		return true;
+	}
+
+	/**
+	 * Removes a deferred event.
+	 *
+	 * @param message the message
+	 * @return true, if event was removed
+	 */
+	public synchronized boolean remove(Message<E> message) {
+		Deque<Deferred<E>> events = index.get(message.getPayload());
+		if (events == null) {
+			return false;
+		}
+		Iterator<Deferred<E>> iter = events.iterator();
+		while (iter.hasNext()) {
+			if (iter.next().message.equals(message)) {
+				iter.remove();
+				size--;
+				if (events.isEmpty()) {
+					index.remove(message.getPayload());
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets events which are no longer deferred, in order those were deferred.
+	 * A deferral is checked with a first event of each event type and events
+	 * of a type still deferred are not touched.
+	 *
+	 * @param deferred the predicate telling if an event is still deferred
+	 * @return the events to replay
+	 */
+	public synchronized List<Message<E>> getReplayable(Predicate<Message<E>> deferred) {
+		List<Deferred<E>> replay = null;
+		int types = 0;
+		for (Deque<Deferred<E>> events : index.values()) {
+			if (!deferred.test(events.peekFirst().message)) {
+				if (replay == null) {
+					replay = new ArrayList<>(events.size());
+				}
+				replay.addAll(events);
+				types++;
+			}
+		}
+		if (replay == null) {
+			return Collections.emptyList();
+		}
+		if (types > 1) {
+			replay.sort(ORDER);
+		}
+		return toMessages(replay);
+	}
+
+	/**
+	 * Gets all deferred events in order those were deferred.
+	 *
+	 * @return the deferred events
+	 */
+	public synchronized List<Message<E>> getMessages() {
+		List<Deferred<E>> all = new ArrayList<>(size);
+		for (Deque<Deferred<E>> events : index.values()) {
+			all.addAll(events);
+		}
+		all.sort(ORDER);
+		return toMessages(all);
+	}
+
+	/**
+	 * Gets a number of deferred events.
+	 *
+	 * @return the number of deferred events
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all deferred events.
+	 */
+	public synchronized void clear() {
+		index.clear();
+		size = 0;
+	}
+
+	/**
+	 * Gets the capacity, zero or less meaning unbounded.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Gets the overflow policy.
+	 *
+	 * @return the overflow policy
+	 */
+	public DeferredEventOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	private Message<E> removeOldest() {
+		Deque<Deferred<E>> oldest = null;
+		for (Deque<Deferred<E>> events : index.values()) {
+			if (oldest == null || events.peekFirst().sequence < oldest.peekFirst().sequence) {
+				oldest = events;
+			}
+		}
+		if (oldest == null) {
+			return null;
+		}
+		Message<E> message = oldest.pollFirst().message;
+		size--;
+		if (oldest.isEmpty()) {
+			index.remove(message.getPayload());
+		}
+		return message;
+	}
+
+	private static <E> List<Message<E>> toMessages(List<Deferred<E>> deferred) {
+		List<Message<E>> messages = new ArrayList<>(deferred.size());
+		for (Deferred<E> d : deferred) {
+			messages.add(d.message);
+		}
+		return messages;
+	}
+
+	private static class Deferred<E> {
+
+		final Message<E> message;
+		final long sequence;
+
+		Deferred(Message<E> message, long sequence) {
+			this.message = message;
+			this.sequence = sequence;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.statemachine.StateMachineSystemConstants;
+import org.springframework.util.Assert;
+
+/**
+ * Lightweight {@link Message} wrapper carrying an originating state machine
+ * identifier without rebuilding headers of a wrapped message. Combined
+ * {@link MessageHeaders} are only materialized when {@link #getHeaders()} is
+ * called while {@link #getHeader(String)} and
+ * {@link #getMachineIdentifier(Message)} work without copying.
+ *
+ * @author Janne Valkealahti
+ *
+ * @param <E> the type of event
+ */
+public class EventEnvelope<E> implements Message<E> {
+
+	private final Message<E> message;
+	private final UUID machineId;
+	private volatile MessageHeaders headers;
+
+	/**
+	 * Instantiates a new event envelope.
+	 *
+	 * @param message the wrapped message
+	 * @param machineId the originating machine identifier
+	 */
+	public EventEnvelope(Message<E> message, UUID machineId) {
+		Assert.notNull(message, "Message must be set");
+		this.message = message;
+		this.machineId = machineId;
+	}
+
+	/**
+	 * Wrap a message into an envelope with a given machine identifier. If
+	 * message is already an envelope, its wrapped message is used.
+	 *
+	 * @param <E> the type of event
+	 * @param message the message
+	 * @param machineId the originating machine identifier
+	 * @return the event envelope
+	 */
+	public static <E> EventEnvelope<E> wrap(Message<E> message, UUID machineId) {
+		if (message instanceof EventEnvelope) {
+			return new EventEnvelope<>(((EventEnvelope<E>) message).getMessage(), machineId);
+		}
+		return new EventEnvelope<>(message, machineId);
+	}
+
+	/**
+	 * Gets an originating machine identifier from a message without
+	 * materializing headers of an {@link EventEnvelope}.
+	 *
+	 * @param message the message
+	 * @return the machine identifier or {@code NULL} if not known
+	 */
+	public static Object getMachineIdentifier(Message<?> message) {
+		if (message == null) {
+			return null;
+		}
+		if (message instanceof EventEnvelope) {
+			return ((EventEnvelope<?>) message).getHeader(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER);
+		}
+		return message.getHeaders().get(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER);
+	}
+
+	/**
+	 * Gets the wrapped message.
+	 *
+	 * @return the wrapped message
+	 */
+	public Message<E> getMessage() {
+		return message;
+	}
+
+	/**
+	 * Gets the originating machine identifier.
+	 *
+	 * @return the machine identifier
+	 */
+	public UUID getMachineId() {
+		return machineId;
+	}
+
+	/**
+	 * Gets a single header value without materializing headers.
+	 *
+	 * @param name the header name
+	 * @return the header value
+	 */
+	public Object getHeader(String name) {
+		if (machineId != null && StateMachineSystemConstants.STATEMACHINE_IDENTIFIER.equals(name)) {
+			return machineId;
+		}
+		return message.getHeaders().get(name);
+	}
+
+	@Override
+	public E getPayload() {
+		return message.getPayload();
+	}
+
+	@Override
+	public MessageHeaders getHeaders() {
+		MessageHeaders h = headers;
+		if (h == null) {
+			Map<String, Object> map = new HashMap<String, Object>(message.getHeaders());
+			if (machineId != null) {
+				map.put(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, machineId);
+			}
+			h = new MessageHeaders(map);
+			headers = h;
+		}
+		return h;
+	}
+
+	@Override
+	public String toString() {
+		return "EventEnvelope [payload=" + message.getPayload() + ", machineId=" + machineId + ", headers="
+				+ message.getHeaders() + "]";
+	}
+}
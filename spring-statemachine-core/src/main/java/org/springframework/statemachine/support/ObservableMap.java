@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -87,7 +87,8 @@ public class ObservableMap<K, V> implements Map<K, V> {
 	@Override
 	public V put(K key, V value) {
 		V put = delegate.put(key, value);
-		if (listener != null) {
+		MapChangeListener<K, V> listener = this.listener;
+		if (listener != null && listener.isNotificationRequired()) {
 			if (put == null) {
 				listener.added(key, value);
 			} else if (value != null && !value.equals(put)) {
@@ -101,7 +102,8 @@ public class ObservableMap<K, V> implements Map<K, V> {
 	@Override
 	public V remove(Object key) {
 		V remove = delegate.remove(key);
-		if (listener != null && remove != null) {
+		MapChangeListener<K, V> listener = this.listener;
+		if (listener != null && remove != null && listener.isNotificationRequired()) {
 			listener.removed((K)key, remove);
 		}
 		return remove;
@@ -226,6 +228,15 @@ public class ObservableMap<K, V> implements Map<K, V> {
 		 */
 		void removed(K key, V value);
 
+		/**
+		 * Checks if changes need to be notified. If not, change detection
+		 * is skipped.
+		 *
+		 * @return true, if changes need to be notified
+		 */
+		default boolean isNotificationRequired() {
+			return true;
+		}
 	}
 
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,28 +19,29 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Map.Entry;
-import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageHeaders;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateContext.Stage;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineException;
 import org.springframework.statemachine.StateMachineSystemConstants;
+import org.springframework.statemachine.guard.GuardEvaluationCache;
+import org.springframework.statemachine.monitor.ObservedOperation;
+import org.springframework.statemachine.monitor.StateMachineMonitor;
 import org.springframework.statemachine.state.JoinPseudoState;
 import org.springframework.statemachine.state.PseudoStateKind;
 import org.springframework.statemachine.state.State;
@@ -52,6 +53,7 @@ import org.springframework.statemachine.trigger.TriggerContext;
 import org.springframework.statemachine.trigger.TimerTrigger;
 import org.springframework.statemachine.trigger.Trigger;
 import org.springframework.statemachine.trigger.TriggerListener;
+import org.springframework.util.Assert;
 
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
@@ -61,6 +63,7 @@ import reactor.core.publisher.Sinks.EmitFailureHandler;
 import reactor.core.publisher.Sinks.Many;
 import reactor.util.concurrent.Queues;
 import reactor.util.context.Context;
+import reactor.util.context.ContextView;
 import reactor.util.retry.Retry;
 
 /**
@@ -84,8 +87,8 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 	private final Message<E> initialEvent;
 	private final TransitionComparator<S, E> transitionComparator;
 	private final TransitionConflictPolicy transitionConflictPolicy;
-	private final Queue<Message<E>> deferList = new ConcurrentLinkedQueue<Message<E>>();
 	private final AtomicBoolean initialHandled = new AtomicBoolean(false);
+	private final AtomicInteger queuedTriggers = new AtomicInteger();
 	private final StateMachineInterceptorList<S, E> interceptors = new StateMachineInterceptorList<S, E>();
 	private volatile Message<E> forwardedInitialEvent;
 	private volatile Message<E> queuedMessage = null;
@@ -93,6 +96,8 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 	private Many<TriggerQueueItem> triggerSink;
 	private Flux<Void> triggerFlux;
 	private Disposable triggerDisposable;
+	private StateMachineMonitor<S, E> stateMachineMonitor;
+	private volatile DeferredEventStore<E> deferredEventStore = new DeferredEventStore<E>();
 
 	public ReactiveStateMachineExecutor(StateMachine<S, E> stateMachine, StateMachine<S, E> relayStateMachine,
 			Collection<Transition<S, E>> transitions, Map<Trigger<S, E>, Transition<S, E>> triggerToTransitionMap,
@@ -112,11 +117,67 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 		registerTriggerListener();
 	}
 
+	/**
+	 * Sets the state machine monitor used to observe transition selection and
+	 * guard evaluation, and to report queue latencies.
+	 *
+	 * @param stateMachineMonitor the new state machine monitor
+	 */
+	public void setStateMachineMonitor(StateMachineMonitor<S, E> stateMachineMonitor) {
+		this.stateMachineMonitor = stateMachineMonitor;
+	}
+
+	/**
+	 * Sets the store keeping deferred events. Defaults to an unbounded store.
+	 *
+	 * @param deferredEventStore the new deferred event store
+	 */
+	public void setDeferredEventStore(DeferredEventStore<E> deferredEventStore) {
+		Assert.notNull(deferredEventStore, "Deferred event store must be set");
+		this.deferredEventStore = deferredEventStore;
+	}
+
+	/**
+	 * Gets the store keeping deferred events.
+	 *
+	 * @return the deferred event store
+	 */
+	public DeferredEventStore<E> getDeferredEventStore() {
+		return deferredEventStore;
+	}
+
 	@Override
 	protected void onInit() throws Exception {
 		triggerSink = Sinks.many().multicast().onBackpressureBuffer(Queues.SMALL_BUFFER_SIZE, false);
 		// limit concurrency so that we get one by one handling
-		triggerFlux = triggerSink.asFlux().flatMap(trigger -> handleTrigger(trigger), 1);
+		triggerFlux = triggerSink.asFlux()
+				.flatMap(trigger -> handleTriggerMeasured(trigger).then(replayDeferredEvents(trigger)), 1);
+	}
+
+	@Override
+	public int getQueuedTriggerCount() {
+		return queuedTriggers.get();
+	}
+
+	@Override
+	public int getDeferredEventCount() {
+		return deferredEventStore.size();
+	}
+
+	@Override
+	public List<Message<E>> getDeferredEvents() {
+		return deferredEventStore.getMessages();
+	}
+
+	@Override
+	public void setDeferredEvents(List<Message<E>> messages) {
+		DeferredEventStore<E> store = deferredEventStore;
+		store.clear();
+		if (messages != null) {
+			for (Message<E> message : messages) {
+				store.add(message);
+			}
+		}
 	}
 
 	@Override
@@ -124,6 +185,11 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 		return Mono.defer(() -> {
 			Mono<Void> mono = startTriggers();
 
+			StateMachineMonitor<S, E> monitor = stateMachineMonitor;
+			if (monitor != null) {
+				monitor.executorStarted(relayStateMachine, this);
+			}
+
 			if (triggerDisposable == null) {
 				triggerDisposable = triggerFlux.contextCapture().subscribe();
 			}
@@ -139,7 +205,8 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 				}
 			}
 			mono = mono.then(handleTriggerlessTransitions(null, null));
-			return mono;
+			return mono.contextWrite(Context.of(StateMachineSystemConstants.REACTOR_CONTEXT_GUARD_CACHE,
+					new GuardEvaluationCache()));
 		});
 	}
 
@@ -151,16 +218,25 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 				triggerDisposable = null;
 			}
 			initialHandled.set(false);
+			StateMachineMonitor<S, E> monitor = stateMachineMonitor;
+			if (monitor != null) {
+				monitor.executorStopped(relayStateMachine, this);
+			}
 		});
 		return stopTriggers().and(mono);
 	}
 
 	@Override
 	public void queueDeferredEvent(Message<E> message) {
+		offerDeferredEvent(message);
+	}
+
+	@Override
+	public boolean offerDeferredEvent(Message<E> message) {
 		if (log.isDebugEnabled()) {
 			log.debug("Deferring message " + message);
 		}
-		deferList.add(message);
+		return deferredEventStore.add(message);
 	}
 
 	@Override
@@ -196,17 +272,15 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 
 	@Override
 	public Mono<Void> queueEvent(Mono<Message<E>> message, StateMachineExecutorCallback callback) {
-		Flux<Message<E>> messages = Flux.merge(message, Flux.fromIterable(deferList));
-
 		MonoSinkStateMachineExecutorCallback triggerCallback = new MonoSinkStateMachineExecutorCallback();
 		Mono<Void> triggerCallbackSink = Mono.create(triggerCallback);
 
-		return messages
+		return message
 			.flatMap(m -> handleEvent(m, callback, triggerCallback))
 			.flatMap(tqi -> Mono.fromRunnable(() -> {
-					triggerSink.emitNext(tqi, EmitFailureHandler.FAIL_FAST);
+					emitTrigger(tqi);
 				})
-				.retryWhen(Retry.fixedDelay(10, Duration.ofMillis(10))))
+				.retryWhen(Retry.fixedDelay(10, Duration.ofMillis(10)).doBeforeRetry(signal -> notifyEmitRetry())))
 			.then()
 			.and(triggerCallbackSink);
 	}
@@ -215,11 +289,11 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 		if (log.isDebugEnabled()) {
 			log.debug("Handling message " + queuedEvent);
 		}
-		return Mono.defer(() -> {
+		return Mono.deferContextual(ctx -> {
 			State<S,E> currentState = stateMachine.getState();
 			if ((currentState != null && currentState.shouldDefer(queuedEvent))) {
 				log.info("Current state " + currentState + " deferred event " + queuedEvent);
-				return Mono.just(new TriggerQueueItem(null, queuedEvent, callback, triggerCallback));
+				return Mono.just(new TriggerQueueItem(null, queuedEvent, callback, triggerCallback, ctx));
 			}
 			TriggerContext<S, E> triggerContext = new DefaultTriggerContext<S, E>(queuedEvent.getPayload());
 			return Flux.fromIterable(transitions)
@@ -237,11 +311,87 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 						});
 				})
 				.next()
-				.doOnNext(trigger -> deferList.remove(queuedEvent))
-				.map(trigger -> new TriggerQueueItem(trigger, queuedEvent, callback, triggerCallback));
+				.doOnNext(trigger -> {
+					deferredEventStore.remove(queuedEvent);
+				})
+				.map(trigger -> new TriggerQueueItem(trigger, queuedEvent, callback, triggerCallback, ctx));
 		});
 	}
 
+	private Mono<Void> replayDeferredEvents(TriggerQueueItem queueItem) {
+		// deferred events are resolved only after a trigger has been fully
+		// handled so that a trigger leaving a deferring state replays events
+		// it deferred. only events of a type current state no longer defers
+		// are replayed and they are queued behind already queued triggers.
+		return Flux.defer(() -> Flux.fromIterable(getReplayableDeferredEvents()))
+			.concatMap(m -> handleEvent(m, null, null))
+			.doOnNext(tqi -> {
+				try {
+					emitTrigger(tqi);
+				} catch (RuntimeException e) {
+					log.warn("Unable to replay deferred event " + tqi.message + ", keeping it deferred", e);
+					deferredEventStore.add(tqi.message);
+				}
+			})
+			.then()
+			.contextWrite(queueItem.context);
+	}
+
+	private List<Message<E>> getReplayableDeferredEvents() {
+		State<S, E> currentState = stateMachine.getState();
+		if (currentState == null || deferredEventStore.size() == 0) {
+			return Collections.emptyList();
+		}
+		return deferredEventStore.getReplayable(currentState::shouldDefer);
+	}
+
+	private void emitTrigger(TriggerQueueItem queueItem) {
+		queuedTriggers.incrementAndGet();
+		try {
+			triggerSink.emitNext(queueItem, EmitFailureHandler.FAIL_FAST);
+		} catch (RuntimeException e) {
+			queuedTriggers.decrementAndGet();
+			throw e;
+		}
+	}
+
+	private Mono<Void> handleTriggerMeasured(TriggerQueueItem queueItem) {
+		return Mono.defer(() -> {
+			queuedTriggers.decrementAndGet();
+			StateMachineMonitor<S, E> monitor = stateMachineMonitor;
+			if (monitor == null) {
+				return handleTrigger(queueItem);
+			}
+			long start = System.nanoTime();
+			try {
+				monitor.executorTriggerWait(relayStateMachine, start - queueItem.enqueuedNanos, TimeUnit.NANOSECONDS);
+				if (queueItem.dueNanos != 0) {
+					monitor.timerTriggerLag(relayStateMachine, start - queueItem.dueNanos, TimeUnit.NANOSECONDS);
+				}
+			} catch (Exception e) {
+				log.warn("Error during executor monitoring", e);
+			}
+			return handleTrigger(queueItem).doFinally(signal -> {
+				try {
+					monitor.executorRunToCompletion(relayStateMachine, System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				} catch (Exception e) {
+					log.warn("Error during executor monitoring", e);
+				}
+			});
+		});
+	}
+
+	private void notifyEmitRetry() {
+		StateMachineMonitor<S, E> monitor = stateMachineMonitor;
+		if (monitor != null) {
+			try {
+				monitor.executorEmitRetry(relayStateMachine);
+			} catch (Exception e) {
+				log.warn("Error during executor monitoring", e);
+			}
+		}
+	}
+
 	private Mono<Void> handleTrigger(TriggerQueueItem queueItem) {
 		return Mono.defer(() -> {
 			Mono<Void> ret = null;
@@ -290,7 +440,8 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 
 				// go through candidates and transit max one, sort before handling
 				trans.sort(transitionComparator);
-				ret = handleTriggerTrans(trans, queuedMessage).then();
+				ret = observe(ObservedOperation.TRANSITION_SELECTION, queuedMessage,
+						handleTriggerTrans(trans, queuedMessage).then());
 			}
 
 			List<Transition<S, E>> transWithGuards = new ArrayList<>();
@@ -333,7 +484,16 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 		)
 		.contextWrite(Context.of(
 				StateMachineSystemConstants.REACTOR_CONTEXT_ERRORS, new ExecutorExceptionHolder(),
-				REACTOR_CONTEXT_TRIGGER_ERRORS, new ExecutorExceptionHolder()));
+				REACTOR_CONTEXT_TRIGGER_ERRORS, new ExecutorExceptionHolder(),
+				StateMachineSystemConstants.REACTOR_CONTEXT_GUARD_CACHE, new GuardEvaluationCache()))
+		// context of an event sender, i.e. observations, is visible to trigger
+		// handling but can't override executor's own keys
+		.contextWrite(queueItem.context);
+	}
+
+	private <T> Mono<T> observe(ObservedOperation operation, Object subject, Mono<T> execution) {
+		StateMachineMonitor<S, E> monitor = stateMachineMonitor;
+		return monitor != null ? monitor.observe(relayStateMachine, operation, subject, execution) : execution;
 	}
 
 
@@ -409,9 +569,12 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 					}
 				} else {
 					StateContext<S, E> stateContext = buildStateContext(queuedMessage, t, relayStateMachine);
+					Mono<Boolean> transit = t.getGuard() != null
+							? observe(ObservedOperation.GUARD, t, t.transit(stateContext))
+							: t.transit(stateContext);
 					return Mono.just(stateContext)
 						.map(context -> interceptors.preTransition(stateContext))
-						.then(t.transit(stateContext)
+						.then(transit
 							.flatMap(at -> {
 								if (at) {
 									return stateMachineExecutorTransit.transit(t, stateContext, queuedMessage)
@@ -431,20 +594,11 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 	}
 
 	private StateContext<S, E> buildStateContext(Message<E> message, Transition<S,E> transition, StateMachine<S, E> stateMachine) {
-		// TODO: maybe a direct use of MessageHeaders is wring, combine
-		//       payload and headers as a message?
-
-		// add sm id to headers so that user of a StateContext can
-		// see who initiated this transition
-		MessageHeaders messageHeaders = message != null ? message.getHeaders() : new MessageHeaders(
-				new HashMap<String, Object>());
-		Map<String, Object> map = new HashMap<String, Object>(messageHeaders);
-		if (!map.containsKey(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER)) {
-			// don't set sm id if it's already present because
-			// we want to keep the originating sm id
-			map.put(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, stateMachine.getUuid());
-		}
-		return new DefaultStateContext<S, E>(Stage.TRANSITION, message, new MessageHeaders(map), stateMachine.getExtendedState(), transition, stateMachine, null, null, null);
+		// sm id is exposed as a header so that user of a StateContext can
+		// see who initiated this transition. originating sm id is kept if
+		// already present and headers are only copied if someone asks them.
+		return new DefaultStateContext<S, E>(Stage.TRANSITION, message, stateMachine.getExtendedState(), transition,
+				stateMachine, stateMachine.getUuid());
 	}
 
 	private void registerTriggerListener() {
@@ -456,12 +610,14 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 						if (log.isDebugEnabled()) {
 							log.debug("TimedTrigger triggered " + trigger);
 						}
-						Mono.just(new TriggerQueueItem(trigger, null, null, null))
+						TriggerQueueItem item = new TriggerQueueItem(trigger, null, null, null, Context.empty());
+						item.dueNanos = ((TimerTrigger<?, ?>) trigger).getLastDueTime();
+						Mono.just(item)
 							.flatMap(tqi -> Mono.fromCallable(() -> {
-									triggerSink.emitNext(tqi, EmitFailureHandler.FAIL_FAST);
+									emitTrigger(tqi);
 									return null;
 								})
-								.retryWhen(Retry.fixedDelay(10, Duration.ofNanos(10))))
+								.retryWhen(Retry.fixedDelay(10, Duration.ofNanos(10)).doBeforeRetry(signal -> notifyEmitRetry())))
 							.subscribe();
 					}
 				});
@@ -505,12 +661,17 @@ public class ReactiveStateMachineExecutor<S, E> extends LifecycleObjectSupport i
 		Message<E> message;
 		StateMachineExecutorCallback callback;
 		StateMachineExecutorCallback triggerCallback;
+		ContextView context;
+		long enqueuedNanos = System.nanoTime();
+		long dueNanos;
 
-		public TriggerQueueItem(Trigger<S, E> trigger, Message<E> message, StateMachineExecutorCallback callback, StateMachineExecutorCallback triggerCallback) {
+		public TriggerQueueItem(Trigger<S, E> trigger, Message<E> message, StateMachineExecutorCallback callback,
+				StateMachineExecutorCallback triggerCallback, ContextView context) {
 			this.trigger = trigger;
 			this.message = message;
 			this.callback = callback;
 			this.triggerCallback = triggerCallback;
+			this.context = context;
 		}
 
 		@Override
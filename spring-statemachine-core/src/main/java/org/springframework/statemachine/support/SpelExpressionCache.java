@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cache of parsed SpEL expressions keyed by an expression text. Parsed
+ * expressions are thread safe and sharing them means that a compiled form of
+ * an expression is created once instead of separately for every guard and
+ * action created from same text.
+ * <p>
+ * A default instance is used by configurers, repository and uml model
+ * factories and security interceptor. Its compiler mode is read from a
+ * {@code spring.statemachine.spel.compiler.mode} property, either as a system
+ * property or from {@code spring.properties}, and defaults to
+ * {@link SpelCompilerMode#MIXED}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class SpelExpressionCache {
+
+	/** Property name for a compiler mode of a default cache */
+	public final static String COMPILER_MODE_PROPERTY_NAME = "spring.statemachine.spel.compiler.mode";
+	private final static int DEFAULT_MAX_SIZE = 1024;
+	private static volatile SpelExpressionCache defaultCache;
+	private final SpelExpressionParser parser;
+	private final SpelCompilerMode compilerMode;
+	private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+	private final int maxSize;
+
+	/**
+	 * Instantiates a new spel expression cache.
+	 *
+	 * @param compilerMode the spel compiler mode
+	 */
+	public SpelExpressionCache(SpelCompilerMode compilerMode) {
+		this(compilerMode, null, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Instantiates a new spel expression cache.
+	 *
+	 * @param compilerMode the spel compiler mode
+	 * @param compilerClassLoader the class loader for compiled expressions, may be {@code NULL}
+	 * @param maxSize the maximum number of cached expressions
+	 */
+	public SpelExpressionCache(SpelCompilerMode compilerMode, ClassLoader compilerClassLoader, int maxSize) {
+		Assert.notNull(compilerMode, "Compiler mode must be set");
+		this.compilerMode = compilerMode;
+		this.parser = new SpelExpressionParser(new SpelParserConfiguration(compilerMode, compilerClassLoader));
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Gets a default shared cache.
+	 *
+	 * @return the default spel expression cache
+	 */
+	public static SpelExpressionCache getDefault() {
+		SpelExpressionCache cache = defaultCache;
+		if (cache == null) {
+			synchronized (SpelExpressionCache.class) {
+				cache = defaultCache;
+				if (cache == null) {
+					cache = new SpelExpressionCache(resolveCompilerMode());
+					defaultCache = cache;
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Sets a default shared cache, for example to use a different compiler
+	 * mode. Expressions already parsed via a previous default cache are not
+	 * affected.
+	 *
+	 * @param cache the new default spel expression cache
+	 */
+	public static void setDefault(SpelExpressionCache cache) {
+		Assert.notNull(cache, "Cache must be set");
+		defaultCache = cache;
+	}
+
+	/**
+	 * Gets a parsed expression for an expression text.
+	 *
+	 * @param expressionString the expression text
+	 * @return the parsed expression
+	 */
+	public Expression getExpression(String expressionString) {
+		Assert.hasText(expressionString, "Expression must be set");
+		Expression expression = expressions.get(expressionString);
+		if (expression == null) {
+			expression = parser.parseExpression(expressionString);
+			if (expressions.size() < maxSize) {
+				Expression existing = expressions.putIfAbsent(expressionString, expression);
+				expression = existing != null ? existing : expression;
+			}
+		}
+		return expression;
+	}
+
+	/**
+	 * Gets the compiler mode.
+	 *
+	 * @return the compiler mode
+	 */
+	public SpelCompilerMode getCompilerMode() {
+		return compilerMode;
+	}
+
+	private static SpelCompilerMode resolveCompilerMode() {
+		String mode = SpringProperties.getProperty(COMPILER_MODE_PROPERTY_NAME);
+		return StringUtils.hasText(mode) ? SpelCompilerMode.valueOf(mode.trim().toUpperCase()) : SpelCompilerMode.MIXED;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,14 +23,29 @@ import org.springframework.util.Assert;
 
 /**
  * Helper class to work with a spel expressions and {@link StateContext}.
+ * <p>
+ * When created without an explicit evaluation context, every evaluation gets
+ * a new context sharing property accessors and resolvers with all other
+ * guards and actions. This allows their caches to be reused instead of
+ * warming up new ones for each evaluation, while variables assigned by an
+ * expression stay within its own evaluation.
  *
  * @author Janne Valkealahti
  *
  */
 public class StateContextExpressionMethods {
 
+	private final static StandardEvaluationContext SHARED_DELEGATES = createSharedDelegates();
 	private final StandardEvaluationContext context;
 
+	/**
+	 * Instantiates a new state context expression methods
+	 * using evaluation contexts with shared delegates.
+	 */
+	public StateContextExpressionMethods() {
+		this.context = null;
+	}
+
 	/**
 	 * Instantiates a new state context expression methods
 	 * with a {@link StandardEvaluationContext}.
@@ -54,7 +69,19 @@ public class StateContextExpressionMethods {
 	public <T> T getValue(Expression expression, StateContext<?, ?> stateContext, Class<T> desiredResultType)
 			throws EvaluationException {
 		Assert.notNull(expression, "Expression cannot be null");
-		return expression.getValue(context, stateContext, desiredResultType);
+		if (context != null) {
+			return expression.getValue(context, stateContext, desiredResultType);
+		}
+		StandardEvaluationContext evaluationContext = new StandardEvaluationContext();
+		SHARED_DELEGATES.applyDelegatesTo(evaluationContext);
+		return expression.getValue(evaluationContext, stateContext, desiredResultType);
 	}
 
+	private static StandardEvaluationContext createSharedDelegates() {
+		StandardEvaluationContext sharedDelegates = new StandardEvaluationContext();
+		// initialize default delegates up front so that concurrent evaluations
+		// never race to create their own
+		sharedDelegates.applyDelegatesTo(new StandardEvaluationContext());
+		return sharedDelegates;
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,8 @@
  */
 package org.springframework.statemachine.support;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.springframework.messaging.Message;
@@ -53,6 +55,17 @@ public interface StateMachineExecutor<S, E> extends StateMachineReactiveLifecycl
 	 */
 	void queueDeferredEvent(Message<E> message);
 
+	/**
+	 * Queue deferred event if there is space for it.
+	 *
+	 * @param message the message
+	 * @return true, if event was deferred
+	 */
+	default boolean offerDeferredEvent(Message<E> message) {
+		queueDeferredEvent(message);
+		return true;
+	}
+
 	/**
 	 * Execute and check all triggerless transitions.
 	 *
@@ -91,6 +104,42 @@ public interface StateMachineExecutor<S, E> extends StateMachineReactiveLifecycl
 	 */
 	void addStateMachineInterceptor(StateMachineInterceptor<S, E> interceptor);
 
+	/**
+	 * Gets a number of triggers queued for processing but not yet started.
+	 *
+	 * @return the number of queued triggers
+	 */
+	default int getQueuedTriggerCount() {
+		return 0;
+	}
+
+	/**
+	 * Gets a number of deferred events.
+	 *
+	 * @return the number of deferred events
+	 */
+	default int getDeferredEventCount() {
+		return 0;
+	}
+
+	/**
+	 * Gets the deferred events in order those were deferred.
+	 *
+	 * @return the deferred events
+	 */
+	default List<Message<E>> getDeferredEvents() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Sets the deferred events replacing existing ones, for example when a
+	 * machine is restored from a persisted context.
+	 *
+	 * @param messages the deferred events
+	 */
+	default void setDeferredEvents(List<Message<E>> messages) {
+	}
+
 	/**
 	 * Callback interface when executor wants to handle transit.
 	 */
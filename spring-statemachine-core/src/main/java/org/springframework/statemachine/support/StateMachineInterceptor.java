@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -94,4 +94,13 @@ public interface StateMachineInterceptor<S, E> {
 	 */
 	Exception stateMachineError(StateMachine<S, E> stateMachine, Exception exception);
 
+	/**
+	 * Called after an event has been deferred by a current state.
+	 *
+	 * @param message the deferred message
+	 * @param stateMachine the state machine
+	 */
+	default void eventDeferred(Message<E> message, StateMachine<S, E> stateMachine) {
+	}
+
 }
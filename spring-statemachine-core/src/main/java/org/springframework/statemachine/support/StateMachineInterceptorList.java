@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -119,6 +119,18 @@ public class StateMachineInterceptorList<S, E> {
 		}
 	}
 
+	/**
+	 * Event deferred.
+	 *
+	 * @param message the message
+	 * @param stateMachine the state machine
+	 */
+	public void eventDeferred(Message<E> message, StateMachine<S, E> stateMachine) {
+		for (StateMachineInterceptor<S, E> interceptor : interceptors) {
+			interceptor.eventDeferred(message, stateMachine);
+		}
+	}
+
 	/**
 	 * Pre transition.
 	 *
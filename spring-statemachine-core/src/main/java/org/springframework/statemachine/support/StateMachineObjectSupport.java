@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,10 @@ package org.springframework.statemachine.support;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -25,9 +28,13 @@ import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.core.OrderComparator;
 import org.springframework.messaging.Message;
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
 import org.springframework.statemachine.event.StateMachineEventPublisher;
+import org.springframework.statemachine.listener.AsyncListenerDispatcher;
 import org.springframework.statemachine.listener.CompositeStateMachineListener;
+import org.springframework.statemachine.listener.SelectiveStateMachineListener;
 import org.springframework.statemachine.listener.StateMachineListener;
 import org.springframework.statemachine.monitor.CompositeStateMachineMonitor;
 import org.springframework.statemachine.processor.StateMachineHandlerCallHelper;
@@ -62,6 +69,7 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 	private String beanName;
 	private volatile boolean handlersInitialized;
 	private final StateMachineHandlerCallHelper<S, E> stateMachineHandlerCallHelper = new StateMachineHandlerCallHelper<S, E>();
+	private volatile AsyncListenerDispatcher listenerDispatcher;
 
 	protected void doStart() {
 		if (!handlersInitialized) {
@@ -127,6 +135,27 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 		this.contextEventsEnabled = contextEventsEnabled;
 	}
 
+	/**
+	 * Sets the dispatcher used to call annotation handlers and publish
+	 * application context events. If not set, these are called on a thread
+	 * doing a transition.
+	 *
+	 * @param listenerDispatcher the listener dispatcher
+	 */
+	public void setListenerDispatcher(AsyncListenerDispatcher listenerDispatcher) {
+		this.listenerDispatcher = listenerDispatcher;
+	}
+
+	/**
+	 * Gets the dispatcher used to call annotation handlers and publish
+	 * application context events.
+	 *
+	 * @return the listener dispatcher or {@code NULL} if not set
+	 */
+	public AsyncListenerDispatcher getListenerDispatcher() {
+		return listenerDispatcher;
+	}
+
 	protected CompositeStateMachineListener<S, E> getStateListener() {
 		return stateListener;
 	}
@@ -135,16 +164,91 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 		return stateMachineMonitor;
 	}
 
+	/**
+	 * Checks if a notification for a {@link Stage} has any receivers, either
+	 * registered listeners, annotation handlers or an event publisher. If not,
+	 * building a {@link StateContext} for it can be skipped altogether.
+	 *
+	 * @param stage the stage
+	 * @param stateMachine the state machine a notification would be about
+	 * @return true, if notification is needed
+	 */
+	protected boolean isNotificationRequired(Stage stage, StateMachine<S, E> stateMachine) {
+		if (stateListener.isInterestedIn(stage)) {
+			return true;
+		}
+		if (contextEventsEnabled && getStateMachineEventPublisher() != null) {
+			return true;
+		}
+		return stateMachineHandlerCallHelper.hasHandlers(stage, getBeanName())
+				|| (stateMachine != null && stateMachineHandlerCallHelper.hasHandlers(stage, stateMachine.getId()));
+	}
+
+	/**
+	 * Notify a {@link Stage} if it has any receivers. A {@link StateContext}
+	 * is built from a given supplier only when notification is needed.
+	 * {@link Stage#EXTENDED_STATE_CHANGED} is not supported as it's notified
+	 * with changed variables.
+	 *
+	 * @param stage the stage
+	 * @param stateMachine the state machine a notification would be about
+	 * @param stateContext the supplier of a state context
+	 * @return true, if notification was needed
+	 */
+	protected boolean notifyIfRequired(Stage stage, StateMachine<S, E> stateMachine,
+			Supplier<StateContext<S, E>> stateContext) {
+		if (!isNotificationRequired(stage, stateMachine)) {
+			return false;
+		}
+		switch (stage) {
+			case STATE_CHANGED:
+				notifyStateChanged(stateContext.get());
+				break;
+			case STATE_ENTRY:
+				notifyStateEntered(stateContext.get());
+				break;
+			case STATE_EXIT:
+				notifyStateExited(stateContext.get());
+				break;
+			case EVENT_NOT_ACCEPTED:
+				notifyEventNotAccepted(stateContext.get());
+				break;
+			case TRANSITION_START:
+				notifyTransitionStart(stateContext.get());
+				break;
+			case TRANSITION:
+				notifyTransition(stateContext.get());
+				break;
+			case TRANSITION_END:
+				notifyTransitionEnd(stateContext.get());
+				break;
+			case STATEMACHINE_START:
+				notifyStateMachineStarted(stateContext.get());
+				break;
+			case STATEMACHINE_STOP:
+				notifyStateMachineStopped(stateContext.get());
+				break;
+			case STATEMACHINE_ERROR:
+				notifyStateMachineError(stateContext.get());
+				break;
+			default:
+				throw new IllegalArgumentException("Stage " + stage + " can't be notified with a state context only");
+		}
+		return true;
+	}
+
 	protected void notifyStateChanged(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnStateChanged(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnStateChanged(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnStateChanged(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnStateChanged(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.stateChanged(stateContext.getSource(), stateContext.getTarget());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishStateChanged(this, stateContext.getSource(), stateContext.getTarget());
+					dispatch(() -> eventPublisher.publishStateChanged(this, stateContext.getSource(), stateContext.getTarget()));
 				}
 			}
 		} catch (Throwable e) {
@@ -154,14 +258,16 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyStateEntered(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnStateEntry(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnStateEntry(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnStateEntry(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnStateEntry(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.stateEntered(stateContext.getTarget());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishStateEntered(this, stateContext.getTarget());
+					dispatch(() -> eventPublisher.publishStateEntered(this, stateContext.getTarget()));
 				}
 			}
 		} catch (Throwable e) {
@@ -171,14 +277,16 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyStateExited(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnStateExit(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnStateExit(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnStateExit(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnStateExit(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.stateExited(stateContext.getSource());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishStateExited(this, stateContext.getSource());
+					dispatch(() -> eventPublisher.publishStateExited(this, stateContext.getSource()));
 				}
 			}
 		} catch (Throwable e) {
@@ -188,14 +296,16 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyEventNotAccepted(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnEventNotAccepted(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnEventNotAccepted(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnEventNotAccepted(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnEventNotAccepted(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.eventNotAccepted(stateContext.getMessage());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishEventNotAccepted(this, stateContext.getMessage());
+					dispatch(() -> eventPublisher.publishEventNotAccepted(this, stateContext.getMessage()));
 				}
 			}
 		} catch (Throwable e) {
@@ -205,14 +315,16 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyTransitionStart(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnTransitionStart(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnTransitionStart(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnTransitionStart(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnTransitionStart(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.transitionStarted(stateContext.getTransition());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishTransitionStart(this, stateContext.getTransition());
+					dispatch(() -> eventPublisher.publishTransitionStart(this, stateContext.getTransition()));
 				}
 			}
 		} catch (Throwable e) {
@@ -222,14 +334,16 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyTransition(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnTransition(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnTransition(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnTransition(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnTransition(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.transition(stateContext.getTransition());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishTransition(this, stateContext.getTransition());
+					dispatch(() -> eventPublisher.publishTransition(this, stateContext.getTransition()));
 				}
 			}
 		} catch (Throwable e) {
@@ -239,14 +353,16 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyTransitionEnd(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnTransitionEnd(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnTransitionEnd(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnTransitionEnd(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnTransitionEnd(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.transitionEnded(stateContext.getTransition());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishTransitionEnd(this, stateContext.getTransition());
+					dispatch(() -> eventPublisher.publishTransitionEnd(this, stateContext.getTransition()));
 				}
 			}
 		} catch (Throwable e) {
@@ -254,16 +370,37 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 		}
 	}
 
+	/**
+	 * Notify that a transition which was notified to start doesn't end
+	 * because its execution failed or was cancelled.
+	 *
+	 * @param transition the transition
+	 */
+	protected void notifyTransitionAbort(Transition<S, E> transition) {
+		try {
+			if (contextEventsEnabled) {
+				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
+				if (eventPublisher != null) {
+					dispatch(() -> eventPublisher.publishTransitionAbort(this, transition));
+				}
+			}
+		} catch (Throwable e) {
+			log.warn("Error during notifyTransitionAbort", e);
+		}
+	}
+
 	protected void notifyStateMachineStarted(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnStateMachineStart(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnStateMachineStart(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnStateMachineStart(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnStateMachineStart(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.stateMachineStarted(stateContext.getStateMachine());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishStateMachineStart(this, stateContext.getStateMachine());
+					dispatch(() -> eventPublisher.publishStateMachineStart(this, stateContext.getStateMachine()));
 				}
 			}
 		} catch (Throwable e) {
@@ -273,14 +410,16 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyStateMachineStopped(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnStateMachineStop(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnStateMachineStop(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnStateMachineStop(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnStateMachineStop(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.stateMachineStopped(stateContext.getStateMachine());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishStateMachineStop(this, stateContext.getStateMachine());
+					dispatch(() -> eventPublisher.publishStateMachineStop(this, stateContext.getStateMachine()));
 				}
 			}
 		} catch (Throwable e) {
@@ -290,14 +429,16 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyStateMachineError(StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnStateMachineError(getBeanName(), stateContext);
-			stateMachineHandlerCallHelper.callOnStateMachineError(stateContext.getStateMachine().getId(), stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnStateMachineError(getBeanName(), stateContext);
+				stateMachineHandlerCallHelper.callOnStateMachineError(stateContext.getStateMachine().getId(), stateContext);
+			});
 			stateListener.stateMachineError(stateContext.getStateMachine(), stateContext.getException());
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishStateMachineError(this, stateContext.getStateMachine(), stateContext.getException());
+					dispatch(() -> eventPublisher.publishStateMachineError(this, stateContext.getStateMachine(), stateContext.getException()));
 				}
 			}
 		} catch (Throwable e) {
@@ -307,14 +448,37 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyExtendedStateChanged(Object key, Object value, StateContext<S, E> stateContext) {
 		try {
-			stateMachineHandlerCallHelper.callOnExtendedStateChanged(getBeanName(), key, value, stateContext);
-			stateMachineHandlerCallHelper.callOnExtendedStateChanged(stateContext.getStateMachine().getId(), key, value, stateContext);
+			dispatch(() -> {
+				stateMachineHandlerCallHelper.callOnExtendedStateChanged(getBeanName(), key, value, stateContext);
+				stateMachineHandlerCallHelper.callOnExtendedStateChanged(stateContext.getStateMachine().getId(), key, value, stateContext);
+			});
 			stateListener.extendedStateChanged(key, value);
 			stateListener.stateContext(stateContext);
 			if (contextEventsEnabled) {
 				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
 				if (eventPublisher != null) {
-					eventPublisher.publishExtendedStateChanged(this, key, value);
+					dispatch(() -> eventPublisher.publishExtendedStateChanged(this, key, value));
+				}
+			}
+		} catch (Throwable e) {
+			log.warn("Error during notifyExtendedStateChanged", e);
+		}
+	}
+
+	protected void notifyExtendedStateChanged(Map<Object, Object> changes, StateContext<S, E> stateContext) {
+		try {
+			dispatch(() -> {
+				changes.forEach((key, value) -> {
+					stateMachineHandlerCallHelper.callOnExtendedStateChanged(getBeanName(), key, value, stateContext);
+					stateMachineHandlerCallHelper.callOnExtendedStateChanged(stateContext.getStateMachine().getId(), key, value, stateContext);
+				});
+			});
+			changes.forEach((key, value) -> stateListener.extendedStateChanged(key, value));
+			stateListener.stateContext(stateContext);
+			if (contextEventsEnabled) {
+				StateMachineEventPublisher eventPublisher = getStateMachineEventPublisher();
+				if (eventPublisher != null) {
+					dispatch(() -> changes.forEach((key, value) -> eventPublisher.publishExtendedStateChanged(this, key, value)));
 				}
 			}
 		} catch (Throwable e) {
@@ -323,8 +487,13 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 	}
 
 	protected void notifyTransitionMonitor(StateMachine<S, E> stateMachine, Transition<S, E> transition, long duration) {
+		notifyTransitionMonitor(stateMachine, transition, duration, TimeUnit.MILLISECONDS);
+	}
+
+	protected void notifyTransitionMonitor(StateMachine<S, E> stateMachine, Transition<S, E> transition, long duration,
+			TimeUnit unit) {
 		try {
-			stateMachineMonitor.transition(stateMachine, transition, duration);
+			stateMachineMonitor.transition(stateMachine, transition, duration, unit);
 		} catch (Exception e) {
 			log.warn("Error during notifyTransitionMonitor", e);
 		}
@@ -332,13 +501,35 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 
 	protected void notifyActionMonitor(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
 			long duration) {
+		notifyActionMonitor(stateMachine, action, duration, TimeUnit.MILLISECONDS);
+	}
+
+	protected void notifyActionMonitor(StateMachine<S, E> stateMachine, Function<StateContext<S, E>, Mono<Void>> action,
+			long duration, TimeUnit unit) {
 		try {
-			stateMachineMonitor.action(stateMachine, action, duration);
+			stateMachineMonitor.action(stateMachine, action, duration, unit);
 		} catch (Exception e) {
 			log.warn("Error during notifyTransitionMonitor", e);
 		}
 	}
 
+	protected void notifyEventMonitor(StateMachine<S, E> stateMachine, Message<E> event, ResultType resultType) {
+		try {
+			stateMachineMonitor.event(stateMachine, event, resultType);
+		} catch (Exception e) {
+			log.warn("Error during notifyEventMonitor", e);
+		}
+	}
+
+	private void dispatch(Runnable task) {
+		AsyncListenerDispatcher dispatcher = listenerDispatcher;
+		if (dispatcher != null) {
+			dispatcher.dispatch(task);
+		} else {
+			task.run();
+		}
+	}
+
 	protected StateMachineInterceptorList<S, E> getStateMachineInterceptors() {
 		return interceptors;
 	}
@@ -353,7 +544,12 @@ public abstract class StateMachineObjectSupport<S, E> extends LifecycleObjectSup
 	 * as its own listener context. User only connects to main root machine and
 	 * expects to get events for all machines from there.
 	 */
-	protected class StateMachineListenerRelay implements StateMachineListener<S,E> {
+	protected class StateMachineListenerRelay implements SelectiveStateMachineListener<S,E> {
+
+		@Override
+		public boolean isInterestedIn(Stage stage) {
+			return stateListener.isInterestedIn(stage);
+		}
 
 		@Override
 		public void stateChanged(State<S, E> from, State<S, E> to) {
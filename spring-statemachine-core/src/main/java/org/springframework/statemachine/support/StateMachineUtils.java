@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,16 +17,28 @@ package org.springframework.statemachine.support;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.messaging.Message;
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineMessageHeaders;
 import org.springframework.statemachine.StateMachineSystemConstants;
+import org.springframework.statemachine.region.Region;
+import org.springframework.statemachine.state.AbstractState;
 import org.springframework.statemachine.state.PseudoState;
 import org.springframework.statemachine.state.PseudoStateKind;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.support.StateMachineExecutor.ExecutorExceptionHolder;
+import org.springframework.statemachine.trigger.TimerTrigger;
+import org.springframework.statemachine.trigger.Trigger;
 import org.springframework.util.ObjectUtils;
 
 import reactor.core.publisher.Mono;
@@ -39,6 +51,8 @@ import reactor.core.publisher.Mono;
  */
 public abstract class StateMachineUtils {
 
+	private static final Log log = LogFactory.getLog(StateMachineUtils.class);
+
 	/**
 	 * Checks if right hand side is a substate of a left hand side.
 	 *
@@ -213,4 +227,100 @@ public abstract class StateMachineUtils {
 			})
 			.then();
 	}
+
+	/**
+	 * Gets deadlines of all armed {@link TimerTrigger}s having an id and a
+	 * count, including ones in submachines and regions.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param stateMachine the state machine
+	 * @return the timer deadlines keyed by a trigger id
+	 */
+	public static <S, E> Map<String, Long> getTimerDeadlines(StateMachine<S, E> stateMachine) {
+		Map<String, Long> deadlines = new HashMap<>();
+		for (State<S, E> s : stateMachine.getStates()) {
+			for (State<S, E> ss : s.getStates()) {
+				for (TimerTrigger<S, E> t : getTimerTriggers(ss)) {
+					if (t.getDeadline() > 0) {
+						deadlines.put(t.getId(), t.getDeadline());
+					}
+				}
+			}
+		}
+		return deadlines;
+	}
+
+	/**
+	 * Gets {@link TimerTrigger}s having an id and a count defined directly in
+	 * a given state.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param state the state
+	 * @return the timer triggers
+	 */
+	public static <S, E> Collection<TimerTrigger<S, E>> getTimerTriggers(State<S, E> state) {
+		Collection<TimerTrigger<S, E>> timers = new ArrayList<>();
+		if (state instanceof AbstractState) {
+			for (Trigger<S, E> trigger : ((AbstractState<S, E>) state).getTriggers()) {
+				if (trigger instanceof TimerTrigger) {
+					TimerTrigger<S, E> t = (TimerTrigger<S, E>) trigger;
+					if (t.getId() != null && t.getCount() > 0) {
+						timers.add(t);
+					}
+				}
+			}
+		}
+		return timers;
+	}
+
+	/**
+	 * Gets {@link TimerTrigger}s having an id and a count defined in a given
+	 * state and in its active substates, following active states of
+	 * submachines and regions.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param state the state
+	 * @return the timer triggers
+	 */
+	public static <S, E> Collection<TimerTrigger<S, E>> getActiveTimerTriggers(State<S, E> state) {
+		Collection<TimerTrigger<S, E>> timers = new ArrayList<>();
+		if (state == null) {
+			return timers;
+		}
+		timers.addAll(getTimerTriggers(state));
+		if (state.isSubmachineState()) {
+			timers.addAll(getActiveTimerTriggers(((AbstractState<S, E>) state).getSubmachine().getState()));
+		} else if (state.isOrthogonal()) {
+			for (Region<S, E> region : ((AbstractState<S, E>) state).getRegions()) {
+				timers.addAll(getActiveTimerTriggers(region.getState()));
+			}
+		}
+		return timers;
+	}
+
+	/**
+	 * Gets events deferred by a machine, at most a given number of oldest
+	 * events. Events exceeding a limit are left out with a warning.
+	 *
+	 * @param <S> the type of state
+	 * @param <E> the type of event
+	 * @param stateMachine the state machine
+	 * @param limit the maximum number of events, negative for no limit
+	 * @return the deferred events
+	 */
+	public static <S, E> List<Message<E>> getDeferredEvents(StateMachine<S, E> stateMachine, int limit) {
+		if (!(stateMachine instanceof AbstractStateMachine)) {
+			return Collections.emptyList();
+		}
+		List<Message<E>> events = ((AbstractStateMachine<S, E>) stateMachine).getDeferredEvents();
+		if (limit > -1 && events.size() > limit) {
+			log.warn("Machine " + stateMachine.getId() + " has " + events.size() + " deferred events, keeping oldest "
+					+ limit);
+			return new ArrayList<>(events.subList(0, limit));
+		}
+		return events;
+	}
 }
@@ -0,0 +1,410 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.statemachine.ExtendedStateKey;
+import org.springframework.statemachine.ExtendedStateKey.Kind;
+import org.springframework.statemachine.ExtendedStateKeys;
+import org.springframework.util.Assert;
+
+/**
+ * Array backed storage for typed primitive extended state variables
+ * addressed by slots of keys declared in {@link ExtendedStateKeys}. Values
+ * are kept in primitive arrays per {@link Kind}, arrays grow when a key with a
+ * higher slot is set. Absent variables read as a default value of a primitive
+ * type. Methods taking a key expect a key declared in same keys, see
+ * {@link #resolve(ExtendedStateKey)}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class TypedVariables {
+
+	private final ExtendedStateKeys keys;
+	private final BitSet[] present = new BitSet[Kind.values().length];
+	private int[] ints = new int[0];
+	private long[] longs = new long[0];
+	private double[] doubles = new double[0];
+	private boolean[] booleans = new boolean[0];
+
+	/**
+	 * Instantiates a new typed variables.
+	 *
+	 * @param keys the declared keys
+	 */
+	public TypedVariables(ExtendedStateKeys keys) {
+		Assert.notNull(keys, "Keys must be set");
+		this.keys = keys;
+		for (int i = 0; i < present.length; i++) {
+			present[i] = new BitSet();
+		}
+	}
+
+	/**
+	 * Gets the declared keys.
+	 *
+	 * @return the declared keys
+	 */
+	public ExtendedStateKeys getKeys() {
+		return keys;
+	}
+
+	/**
+	 * Resolves a key declared in keys of these variables. A key declared
+	 * elsewhere resolves by its name if a key with a same name and kind is
+	 * declared.
+	 *
+	 * @param <T> the type of a variable
+	 * @param key the key
+	 * @return the declared key or {@code null} if not declared
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> ExtendedStateKey<T> resolve(ExtendedStateKey<T> key) {
+		if (key.getKeys() == keys) {
+			return key;
+		}
+		ExtendedStateKey<?> declared = keys.get(key.getName());
+		return declared != null && declared.getKind() == key.getKind() ? (ExtendedStateKey<T>) declared : null;
+	}
+
+	/**
+	 * Gets a key declared with a name.
+	 *
+	 * @param name the variable name
+	 * @return the key or {@code null} if name is not declared
+	 */
+	public ExtendedStateKey<?> resolveName(Object name) {
+		return name instanceof String ? keys.get((String) name) : null;
+	}
+
+	/**
+	 * Checks if a boxed value can be kept in a slot of a key, meaning it is
+	 * a wrapper of a primitive type of a key.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return true, if value fits a key
+	 */
+	public static boolean fits(ExtendedStateKey<?> key, Object value) {
+		switch (key.getKind()) {
+		case INT:
+			return value instanceof Integer;
+		case LONG:
+			return value instanceof Long;
+		case DOUBLE:
+			return value instanceof Double;
+		default:
+			return value instanceof Boolean;
+		}
+	}
+
+	/**
+	 * Gets an {@code int} variable.
+	 *
+	 * @param key the key
+	 * @return the value or {@code 0} if variable is not set
+	 */
+	public synchronized int getInt(ExtendedStateKey<Integer> key) {
+		int slot = key.getSlot();
+		return slot < ints.length ? ints[slot] : 0;
+	}
+
+	/**
+	 * Sets an {@code int} variable.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return true, if variable was added or its value changed
+	 */
+	public synchronized boolean setInt(ExtendedStateKey<Integer> key, int value) {
+		int slot = key.getSlot();
+		if (slot >= ints.length) {
+			ints = Arrays.copyOf(ints, newLength(ints.length, slot));
+		}
+		boolean changed = mark(key) || ints[slot] != value;
+		ints[slot] = value;
+		return changed;
+	}
+
+	/**
+	 * Gets a {@code long} variable.
+	 *
+	 * @param key the key
+	 * @return the value or {@code 0} if variable is not set
+	 */
+	public synchronized long getLong(ExtendedStateKey<Long> key) {
+		int slot = key.getSlot();
+		return slot < longs.length ? longs[slot] : 0L;
+	}
+
+	/**
+	 * Sets a {@code long} variable.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return true, if variable was added or its value changed
+	 */
+	public synchronized boolean setLong(ExtendedStateKey<Long> key, long value) {
+		int slot = key.getSlot();
+		if (slot >= longs.length) {
+			longs = Arrays.copyOf(longs, newLength(longs.length, slot));
+		}
+		boolean changed = mark(key) || longs[slot] != value;
+		longs[slot] = value;
+		return changed;
+	}
+
+	/**
+	 * Gets a {@code double} variable.
+	 *
+	 * @param key the key
+	 * @return the value or {@code 0} if variable is not set
+	 */
+	public synchronized double getDouble(ExtendedStateKey<Double> key) {
+		int slot = key.getSlot();
+		return slot < doubles.length ? doubles[slot] : 0d;
+	}
+
+	/**
+	 * Sets a {@code double} variable.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return true, if variable was added or its value changed
+	 */
+	public synchronized boolean setDouble(ExtendedStateKey<Double> key, double value) {
+		int slot = key.getSlot();
+		if (slot >= doubles.length) {
+			doubles = Arrays.copyOf(doubles, newLength(doubles.length, slot));
+		}
+		// same comparison as Double.equals
+		boolean changed = mark(key) || Double.doubleToLongBits(doubles[slot]) != Double.doubleToLongBits(value);
+		doubles[slot] = value;
+		return changed;
+	}
+
+	/**
+	 * Gets a {@code boolean} variable.
+	 *
+	 * @param key the key
+	 * @return the value or {@code false} if variable is not set
+	 */
+	public synchronized boolean getBoolean(ExtendedStateKey<Boolean> key) {
+		int slot = key.getSlot();
+		return slot < booleans.length ? booleans[slot] : false;
+	}
+
+	/**
+	 * Sets a {@code boolean} variable.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return true, if variable was added or its value changed
+	 */
+	public synchronized boolean setBoolean(ExtendedStateKey<Boolean> key, boolean value) {
+		int slot = key.getSlot();
+		if (slot >= booleans.length) {
+			booleans = Arrays.copyOf(booleans, newLength(booleans.length, slot));
+		}
+		boolean changed = mark(key) || booleans[slot] != value;
+		booleans[slot] = value;
+		return changed;
+	}
+
+	/**
+	 * Checks if a variable is set.
+	 *
+	 * @param key the key
+	 * @return true, if variable is set
+	 */
+	public synchronized boolean contains(ExtendedStateKey<?> key) {
+		return present[key.getKind().ordinal()].get(key.getSlot());
+	}
+
+	/**
+	 * Gets a boxed value of a variable.
+	 *
+	 * @param key the key
+	 * @return the value or {@code null} if variable is not set
+	 */
+	public synchronized Object get(ExtendedStateKey<?> key) {
+		if (!contains(key)) {
+			return null;
+		}
+		int slot = key.getSlot();
+		switch (key.getKind()) {
+		case INT:
+			return ints[slot];
+		case LONG:
+			return longs[slot];
+		case DOUBLE:
+			return doubles[slot];
+		default:
+			return booleans[slot];
+		}
+	}
+
+	/**
+	 * Sets a variable from a boxed value, {@code null} value removes a variable.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized void set(ExtendedStateKey<?> key, Object value) {
+		if (value == null) {
+			remove(key);
+			return;
+		}
+		switch (key.getKind()) {
+		case INT:
+			setInt((ExtendedStateKey<Integer>) key, ((Number) value).intValue());
+			break;
+		case LONG:
+			setLong((ExtendedStateKey<Long>) key, ((Number) value).longValue());
+			break;
+		case DOUBLE:
+			setDouble((ExtendedStateKey<Double>) key, ((Number) value).doubleValue());
+			break;
+		default:
+			setBoolean((ExtendedStateKey<Boolean>) key, (Boolean) value);
+			break;
+		}
+	}
+
+	/**
+	 * Removes a variable.
+	 *
+	 * @param key the key
+	 */
+	public synchronized void remove(ExtendedStateKey<?> key) {
+		int slot = key.getSlot();
+		if (!contains(key)) {
+			return;
+		}
+		present[key.getKind().ordinal()].clear(slot);
+		switch (key.getKind()) {
+		case INT:
+			ints[slot] = 0;
+			break;
+		case LONG:
+			longs[slot] = 0L;
+			break;
+		case DOUBLE:
+			doubles[slot] = 0d;
+			break;
+		default:
+			booleans[slot] = false;
+			break;
+		}
+	}
+
+	/**
+	 * Gets a snapshot of all set variables with boxed values.
+	 *
+	 * @return the variables
+	 */
+	public synchronized Map<ExtendedStateKey<?>, Object> toMap() {
+		Map<ExtendedStateKey<?>, Object> map = new LinkedHashMap<>();
+		for (Kind kind : Kind.values()) {
+			BitSet bits = present[kind.ordinal()];
+			for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+				ExtendedStateKey<?> key = keys.forSlot(kind, slot);
+				map.put(key, get(key));
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Removes all variables.
+	 */
+	public synchronized void clear() {
+		for (BitSet bits : present) {
+			bits.clear();
+		}
+		Arrays.fill(ints, 0);
+		Arrays.fill(longs, 0L);
+		Arrays.fill(doubles, 0d);
+		Arrays.fill(booleans, false);
+	}
+
+	/**
+	 * Gets a number of set variables.
+	 *
+	 * @return the number of set variables
+	 */
+	public synchronized int size() {
+		int size = 0;
+		for (BitSet bits : present) {
+			size += bits.cardinality();
+		}
+		return size;
+	}
+
+	/**
+	 * Checks if there are no variables set.
+	 *
+	 * @return true, if no variables are set
+	 */
+	public synchronized boolean isEmpty() {
+		for (BitSet bits : present) {
+			if (!bits.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return toMap().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		return toMap().equals(((TypedVariables) obj).toMap());
+	}
+
+	@Override
+	public String toString() {
+		return toMap().toString();
+	}
+
+	private boolean mark(ExtendedStateKey<?> key) {
+		BitSet bits = present[key.getKind().ordinal()];
+		if (bits.get(key.getSlot())) {
+			return false;
+		}
+		bits.set(key.getSlot());
+		return true;
+	}
+
+	private static int newLength(int length, int slot) {
+		return Math.max(slot + 1, length * 2);
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.statemachine.ExtendedStateKey;
+import org.springframework.statemachine.support.ObservableMap.MapChangeListener;
+
+/**
+ * {@link Map} view over object variables and {@link TypedVariables} of an
+ * extended state. A variable with a name of a declared key is kept in a slot
+ * when its value is a wrapper of a key's primitive type, any other variable
+ * is kept in object variables. A variable lives in one place at a time so
+ * reading it through this view, or through a typed getter, gives a same
+ * value.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+class TypedVariablesMap extends AbstractMap<Object, Object> {
+
+	private final ObservableMap<Object, Object> variables;
+	private final TypedVariables typedVariables;
+	private final MapChangeListener<Object, Object> listener;
+
+	/**
+	 * Instantiates a new typed variables map.
+	 *
+	 * @param variables the object variables
+	 * @param typedVariables the typed variables
+	 * @param listener the listener notified about typed variable changes
+	 */
+	TypedVariablesMap(ObservableMap<Object, Object> variables, TypedVariables typedVariables,
+			MapChangeListener<Object, Object> listener) {
+		this.variables = variables;
+		this.typedVariables = typedVariables;
+		this.listener = listener;
+	}
+
+	@Override
+	public Object get(Object key) {
+		ExtendedStateKey<?> typed = typedVariables.resolveName(key);
+		if (typed != null) {
+			Object value = typedVariables.get(typed);
+			if (value != null) {
+				return value;
+			}
+		}
+		return variables.get(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		ExtendedStateKey<?> typed = typedVariables.resolveName(key);
+		return (typed != null && typedVariables.contains(typed)) || variables.containsKey(key);
+	}
+
+	@Override
+	public Object put(Object key, Object value) {
+		return put(key, value, true);
+	}
+
+	@Override
+	public void putAll(Map<? extends Object, ? extends Object> m) {
+		// same as with observable map, bulk changes are not notified
+		for (Map.Entry<? extends Object, ? extends Object> entry : m.entrySet()) {
+			put(entry.getKey(), entry.getValue(), false);
+		}
+	}
+
+	@Override
+	public Object remove(Object key) {
+		ExtendedStateKey<?> typed = typedVariables.resolveName(key);
+		Object previous = typed != null ? typedVariables.get(typed) : null;
+		if (previous == null) {
+			return variables.remove(key);
+		}
+		typedVariables.remove(typed);
+		if (listener.isNotificationRequired()) {
+			listener.removed(key, previous);
+		}
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		typedVariables.clear();
+		variables.clear();
+	}
+
+	@Override
+	public int size() {
+		return typedVariables.size() + variables.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return typedVariables.isEmpty() && variables.isEmpty();
+	}
+
+	@Override
+	public Set<Map.Entry<Object, Object>> entrySet() {
+		return new EntrySet();
+	}
+
+	private Object put(Object key, Object value, boolean notify) {
+		ExtendedStateKey<?> typed = typedVariables.resolveName(key);
+		if (typed == null) {
+			return notify ? variables.put(key, value) : variables.getDelegate().put(key, value);
+		}
+		Object previous = typedVariables.get(typed);
+		if (TypedVariables.fits(typed, value)) {
+			if (previous == null) {
+				// moves a variable which didn't fit a slot earlier
+				previous = variables.getDelegate().remove(key);
+			}
+			typedVariables.set(typed, value);
+		} else {
+			if (previous != null) {
+				typedVariables.remove(typed);
+			}
+			Object replaced = variables.getDelegate().put(key, value);
+			previous = previous != null ? previous : replaced;
+		}
+		if (notify && listener.isNotificationRequired()) {
+			if (previous == null) {
+				listener.added(key, value);
+			} else if (value != null && !value.equals(previous)) {
+				listener.changed(key, value);
+			}
+		}
+		return previous;
+	}
+
+	private class EntrySet extends AbstractSet<Map.Entry<Object, Object>> {
+
+		@Override
+		public Iterator<Map.Entry<Object, Object>> iterator() {
+			// iterates over a snapshot as typed variables are not kept as entries
+			Map<Object, Object> snapshot = new LinkedHashMap<>();
+			typedVariables.toMap().forEach((key, value) -> snapshot.put(key.getName(), value));
+			snapshot.putAll(variables.getDelegate());
+			Iterator<Map.Entry<Object, Object>> iterator = snapshot.entrySet().iterator();
+			return new Iterator<Map.Entry<Object, Object>>() {
+
+				private Map.Entry<Object, Object> current;
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public Map.Entry<Object, Object> next() {
+					current = iterator.next();
+					return new SimpleImmutableEntry<>(current);
+				}
+
+				@Override
+				public void remove() {
+					if (current == null) {
+						throw new IllegalStateException();
+					}
+					TypedVariablesMap.this.remove(current.getKey());
+					current = null;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return TypedVariablesMap.this.size();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2021 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.springframework.statemachine.transition;
 
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.apache.commons.logging.Log;
@@ -173,17 +174,23 @@ public abstract class AbstractTransition<S, E> implements Transition<S, E> {
 		}
 		return Flux.fromIterable(getActions())
 			.flatMap(a -> {
-				long now = System.currentTimeMillis();
-				return a.apply(context)
-					.thenEmpty(Mono.fromRunnable(() -> {
-						if (this.actionListener != null) {
-							try {
-								this.actionListener.onExecute(context.getStateMachine(), a, System.currentTimeMillis() - now);
-							} catch (Exception e) {
-								log.warn("Error with actionListener", e);
+				Mono<Void> execution = Mono.defer(() -> {
+					long now = System.nanoTime();
+					return a.apply(context)
+						.thenEmpty(Mono.fromRunnable(() -> {
+							if (this.actionListener != null) {
+								try {
+									this.actionListener.onExecute(context.getStateMachine(), a, System.nanoTime() - now,
+											TimeUnit.NANOSECONDS);
+								} catch (Exception e) {
+									log.warn("Error with actionListener", e);
+								}
 							}
-						}
-					}));
+						}));
+				});
+				return this.actionListener != null
+						? this.actionListener.observe(context.getStateMachine(), a, execution)
+						: execution;
 			})
 			.then();
 	}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.trigger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TimerService} backed by a hashed timing wheel. A single worker thread
+ * advances the wheel once per tick and expires timeouts in a current bucket,
+ * so arming and disarming a timer are constant time operations regardless of
+ * how many timers exist. Timeouts fire with a precision of one tick.
+ * <p>
+ * Tasks are executed on the worker thread unless an {@link Executor} is
+ * given, thus tasks are expected to be short, which is the case with
+ * {@link TimerTrigger} only queueing a trigger into a machine executor.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class HashedWheelTimerService implements TimerService, DisposableBean {
+
+	private final static Log log = LogFactory.getLog(HashedWheelTimerService.class);
+	private final static int STATE_INIT = 0;
+	private final static int STATE_STARTED = 1;
+	private final static int STATE_SHUTDOWN = 2;
+	private final static AtomicInteger threadCounter = new AtomicInteger();
+	private final long tickNanos;
+	private final Bucket[] wheel;
+	private final int mask;
+	private final Executor executor;
+	private final Queue<WheelTimeout> pending = new ConcurrentLinkedQueue<>();
+	private final Queue<WheelTimeout> cancelled = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+	private final AtomicLong pendingTimeouts = new AtomicLong();
+	private final Thread worker;
+	private volatile long startTime;
+	private volatile long lastTickLag;
+	private long tick;
+
+	/**
+	 * Instantiates a new hashed wheel timer service with a tick of 10
+	 * milliseconds and 512 buckets.
+	 */
+	public HashedWheelTimerService() {
+		this(10, TimeUnit.MILLISECONDS, 512);
+	}
+
+	/**
+	 * Instantiates a new hashed wheel timer service.
+	 *
+	 * @param tickDuration the duration of one tick
+	 * @param unit the time unit of a tick duration
+	 * @param ticksPerWheel the number of buckets, rounded up to a power of two
+	 */
+	public HashedWheelTimerService(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+		this(tickDuration, unit, ticksPerWheel, null);
+	}
+
+	/**
+	 * Instantiates a new hashed wheel timer service.
+	 *
+	 * @param tickDuration the duration of one tick
+	 * @param unit the time unit of a tick duration
+	 * @param ticksPerWheel the number of buckets, rounded up to a power of two
+	 * @param executor the executor for tasks, {@code null} to run on a worker thread
+	 */
+	public HashedWheelTimerService(long tickDuration, TimeUnit unit, int ticksPerWheel, Executor executor) {
+		Assert.isTrue(tickDuration > 0, "Tick duration must be positive");
+		Assert.notNull(unit, "Time unit must be set");
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= (1 << 30), "Ticks per wheel must be between 1 and 2^30");
+		int size = 1;
+		while (size < ticksPerWheel) {
+			size <<= 1;
+		}
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; i++) {
+			this.wheel[i] = new Bucket();
+		}
+		this.mask = size - 1;
+		this.tickNanos = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+		this.executor = executor;
+		this.worker = new Thread(this::run, "ssm-timer-wheel-" + threadCounter.incrementAndGet());
+		this.worker.setDaemon(true);
+	}
+
+	@Override
+	public Timeout schedule(Runnable task, long initialDelay, long period, TimeUnit unit) {
+		Assert.notNull(task, "Task must be set");
+		Assert.notNull(unit, "Time unit must be set");
+		start();
+		long deadline = System.nanoTime() + unit.toNanos(Math.max(initialDelay, 0)) - startTime;
+		WheelTimeout timeout = new WheelTimeout(task, deadline, unit.toNanos(Math.max(period, 0)));
+		pendingTimeouts.incrementAndGet();
+		pending.add(timeout);
+		return timeout;
+	}
+
+	@Override
+	public void destroy() {
+		stop();
+	}
+
+	/**
+	 * Stop a worker thread. Timeouts not yet expired are discarded and
+	 * scheduling new ones is not possible after this.
+	 */
+	public void stop() {
+		if (state.getAndSet(STATE_SHUTDOWN) == STATE_STARTED && Thread.currentThread() != worker) {
+			worker.interrupt();
+			try {
+				worker.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) * 10 + 100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Gets a tick duration of this wheel.
+	 *
+	 * @param unit the time unit
+	 * @return the tick duration
+	 */
+	public long getTickDuration(TimeUnit unit) {
+		return unit.convert(tickNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Gets a number of buckets in a wheel.
+	 *
+	 * @return the number of buckets
+	 */
+	public int getTicksPerWheel() {
+		return wheel.length;
+	}
+
+	/**
+	 * Gets a number of timeouts which are scheduled and not yet cancelled or
+	 * expired.
+	 *
+	 * @return the number of pending timeouts
+	 */
+	public long getPendingTimeouts() {
+		return pendingTimeouts.get();
+	}
+
+	/**
+	 * Gets how much a latest tick was processed behind its deadline. Lag
+	 * constantly exceeding a tick duration indicates an overloaded worker.
+	 *
+	 * @param unit the time unit
+	 * @return the latest tick lag
+	 */
+	public long getTickLag(TimeUnit unit) {
+		return unit.convert(lastTickLag, TimeUnit.NANOSECONDS);
+	}
+
+	private void start() {
+		int current = state.get();
+		if (current == STATE_INIT) {
+			if (state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+				long now = System.nanoTime();
+				// zero marks a service not yet started
+				startTime = now != 0 ? now : 1;
+				worker.start();
+			}
+		} else if (current == STATE_SHUTDOWN) {
+			throw new IllegalStateException("Timer service has been stopped");
+		}
+		while (startTime == 0) {
+			Thread.onSpinWait();
+		}
+	}
+
+	private void run() {
+		while (state.get() == STATE_STARTED) {
+			long deadline = waitForNextTick();
+			if (deadline < 0) {
+				continue;
+			}
+			processCancelled();
+			transferPending();
+			wheel[(int) (tick & mask)].expire(deadline);
+			tick++;
+		}
+		pending.clear();
+		cancelled.clear();
+	}
+
+	private long waitForNextTick() {
+		long deadline = tickNanos * (tick + 1);
+		while (true) {
+			long current = System.nanoTime() - startTime;
+			long sleep = deadline - current;
+			if (sleep <= 0) {
+				lastTickLag = -sleep;
+				return current;
+			}
+			LockSupport.parkNanos(this, sleep);
+			if (Thread.interrupted() && state.get() == STATE_SHUTDOWN) {
+				return -1;
+			}
+		}
+	}
+
+	private void processCancelled() {
+		WheelTimeout timeout;
+		while ((timeout = cancelled.poll()) != null) {
+			timeout.remove();
+		}
+	}
+
+	private void transferPending() {
+		// bound the work to keep a tick from starving if producers are hot
+		for (int i = 0; i < 100000; i++) {
+			WheelTimeout timeout = pending.poll();
+			if (timeout == null) {
+				break;
+			}
+			if (timeout.state.get() == WheelTimeout.ST_CANCELLED) {
+				continue;
+			}
+			place(timeout);
+		}
+	}
+
+	private void place(WheelTimeout timeout) {
+		long calculated = timeout.deadline / tickNanos;
+		timeout.remainingRounds = (calculated - tick) / wheel.length;
+		long ticks = Math.max(calculated, tick);
+		wheel[(int) (ticks & mask)].add(timeout);
+	}
+
+	private void fire(WheelTimeout timeout) {
+		if (timeout.period > 0) {
+			if (timeout.state.get() != WheelTimeout.ST_INIT) {
+				return;
+			}
+			// placed on a next tick so that a bucket being expired is never modified
+			timeout.deadline += timeout.period;
+			pending.add(timeout);
+		} else {
+			// lost a race with a concurrent cancel which already accounted it
+			if (!timeout.state.compareAndSet(WheelTimeout.ST_INIT, WheelTimeout.ST_EXPIRED)) {
+				return;
+			}
+			pendingTimeouts.decrementAndGet();
+		}
+		try {
+			if (executor != null) {
+				executor.execute(timeout.task);
+			} else {
+				timeout.task.run();
+			}
+		} catch (Throwable t) {
+			log.warn("Timer task threw an exception", t);
+		}
+	}
+
+	private final class WheelTimeout implements Timeout {
+
+		private final static int ST_INIT = 0;
+		private final static int ST_CANCELLED = 1;
+		private final static int ST_EXPIRED = 2;
+		private final AtomicInteger state = new AtomicInteger(ST_INIT);
+		private final Runnable task;
+		private final long period;
+		private long deadline;
+		private long remainingRounds;
+		private WheelTimeout next;
+		private WheelTimeout prev;
+		private Bucket bucket;
+
+		WheelTimeout(Runnable task, long deadline, long period) {
+			this.task = task;
+			this.deadline = deadline;
+			this.period = period;
+		}
+
+		@Override
+		public void cancel() {
+			if (state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+				pendingTimeouts.decrementAndGet();
+				cancelled.add(this);
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return state.get() == ST_CANCELLED;
+		}
+
+		void remove() {
+			if (bucket != null) {
+				bucket.remove(this);
+			}
+		}
+	}
+
+	private final class Bucket {
+
+		private WheelTimeout head;
+		private WheelTimeout tail;
+
+		void add(WheelTimeout timeout) {
+			timeout.bucket = this;
+			if (head == null) {
+				head = tail = timeout;
+			} else {
+				tail.next = timeout;
+				timeout.prev = tail;
+				tail = timeout;
+			}
+		}
+
+		void expire(long deadline) {
+			WheelTimeout timeout = head;
+			while (timeout != null) {
+				WheelTimeout next = timeout.next;
+				if (timeout.isCancelled()) {
+					remove(timeout);
+				} else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+					remove(timeout);
+					fire(timeout);
+				} else {
+					timeout.remainingRounds--;
+				}
+				timeout = next;
+			}
+		}
+
+		void remove(WheelTimeout timeout) {
+			if (timeout.bucket != this) {
+				return;
+			}
+			if (timeout.prev != null) {
+				timeout.prev.next = timeout.next;
+			}
+			if (timeout.next != null) {
+				timeout.next.prev = timeout.prev;
+			}
+			if (timeout == head) {
+				head = timeout.next;
+			}
+			if (timeout == tail) {
+				tail = timeout.prev;
+			}
+			timeout.prev = null;
+			timeout.next = null;
+			timeout.bucket = null;
+		}
+	}
+}
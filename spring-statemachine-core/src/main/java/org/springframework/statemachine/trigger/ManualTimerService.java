@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.trigger;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link TimerService} driven by a fake clock which only moves when
+ * {@link #advance(long, TimeUnit)} is called. Due tasks are executed on a
+ * calling thread in order of their deadlines, which makes timer based
+ * behaviour deterministic in tests.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class ManualTimerService implements TimerService {
+
+	private final PriorityQueue<ManualTimeout> queue = new PriorityQueue<>();
+	private long now;
+	private long sequence;
+
+	@Override
+	public synchronized Timeout schedule(Runnable task, long initialDelay, long period, TimeUnit unit) {
+		Assert.notNull(task, "Task must be set");
+		Assert.notNull(unit, "Time unit must be set");
+		ManualTimeout timeout = new ManualTimeout(task, now + unit.toNanos(Math.max(initialDelay, 0)),
+				unit.toNanos(Math.max(period, 0)), sequence++);
+		queue.add(timeout);
+		return timeout;
+	}
+
+	@Override
+	public synchronized long nanoTime() {
+		return now;
+	}
+
+	/**
+	 * Move a clock forward and run all tasks becoming due, periodic tasks as
+	 * many times as they are due within a given time.
+	 *
+	 * @param time the amount of time
+	 * @param unit the time unit
+	 */
+	public void advance(long time, TimeUnit unit) {
+		Assert.isTrue(time >= 0, "Time cannot move backwards");
+		long target;
+		synchronized (this) {
+			target = now + unit.toNanos(time);
+		}
+		ManualTimeout timeout;
+		while ((timeout = pollDue(target)) != null) {
+			// run outside of a lock as a task may schedule or cancel
+			timeout.task.run();
+		}
+		synchronized (this) {
+			now = Math.max(now, target);
+		}
+	}
+
+	/**
+	 * Gets a number of scheduled tasks not yet cancelled or expired.
+	 *
+	 * @return the number of pending tasks
+	 */
+	public synchronized int getPendingTimeouts() {
+		queue.removeIf(ManualTimeout::isCancelled);
+		return queue.size();
+	}
+
+	private synchronized ManualTimeout pollDue(long target) {
+		while (!queue.isEmpty()) {
+			ManualTimeout timeout = queue.peek();
+			if (timeout.deadline > target) {
+				return null;
+			}
+			queue.poll();
+			if (timeout.cancelled) {
+				continue;
+			}
+			now = timeout.deadline;
+			if (timeout.period > 0) {
+				timeout.deadline += timeout.period;
+				timeout.sequence = sequence++;
+				queue.add(timeout);
+			}
+			return timeout;
+		}
+		return null;
+	}
+
+	private static class ManualTimeout implements Timeout, Comparable<ManualTimeout> {
+
+		private final Runnable task;
+		private final long period;
+		private long deadline;
+		private long sequence;
+		private volatile boolean cancelled;
+
+		ManualTimeout(Runnable task, long deadline, long period, long sequence) {
+			this.task = task;
+			this.deadline = deadline;
+			this.period = period;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public int compareTo(ManualTimeout other) {
+			int c = Long.compare(deadline, other.deadline);
+			return c != 0 ? c : Long.compare(sequence, other.sequence);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.trigger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link TimerService} scheduling every task separately on a reactor
+ * {@link Scheduler}. This is a default service used by {@link TimerTrigger}
+ * and schedules tasks on a parallel scheduler.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class ReactorTimerService implements TimerService {
+
+	private final static ReactorTimerService DEFAULT = new ReactorTimerService(Schedulers.parallel());
+	private final Scheduler scheduler;
+
+	/**
+	 * Instantiates a new reactor timer service.
+	 *
+	 * @param scheduler the scheduler
+	 */
+	public ReactorTimerService(Scheduler scheduler) {
+		Assert.notNull(scheduler, "Scheduler must be set");
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Gets a default shared service using a parallel scheduler.
+	 *
+	 * @return the default reactor timer service
+	 */
+	public static ReactorTimerService getDefault() {
+		return DEFAULT;
+	}
+
+	@Override
+	public Timeout schedule(Runnable task, long initialDelay, long period, TimeUnit unit) {
+		Disposable disposable;
+		if (period > 0) {
+			disposable = Flux.interval(Duration.ofNanos(unit.toNanos(initialDelay)), Duration.ofNanos(unit.toNanos(period)),
+					scheduler)
+				.doOnNext(c -> task.run())
+				.subscribe();
+		} else {
+			disposable = Mono.delay(Duration.ofNanos(unit.toNanos(initialDelay)), scheduler)
+				.doOnNext(c -> task.run())
+				.subscribe();
+		}
+		return new DisposableTimeout(disposable);
+	}
+
+	private static class DisposableTimeout implements Timeout {
+
+		private final Disposable disposable;
+
+		DisposableTimeout(Disposable disposable) {
+			this.disposable = disposable;
+		}
+
+		@Override
+		public void cancel() {
+			disposable.dispose();
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return disposable.isDisposed();
+		}
+	}
+}
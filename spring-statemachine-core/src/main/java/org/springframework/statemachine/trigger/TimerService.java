@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.trigger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TimerService} schedules timer tasks for {@link TimerTrigger}s. A
+ * single service is meant to be shared by all triggers of all machines.
+ *
+ * @author Janne Valkealahti
+ * @see ReactorTimerService
+ * @see HashedWheelTimerService
+ * @see ManualTimerService
+ */
+public interface TimerService {
+
+	/**
+	 * Schedule a task to run after an initial delay and then periodically
+	 * until cancelled. Period of zero runs a task only once.
+	 *
+	 * @param task the task
+	 * @param initialDelay the initial delay
+	 * @param period the period, zero for a one shot task
+	 * @param unit the time unit of a delay and period
+	 * @return the timeout handle
+	 */
+	Timeout schedule(Runnable task, long initialDelay, long period, TimeUnit unit);
+
+	/**
+	 * Gets a current time of this service in nanoseconds. Time is only
+	 * meaningful when compared to other values from a same service.
+	 *
+	 * @return the current time in nanoseconds
+	 */
+	default long nanoTime() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Handle to a scheduled task.
+	 */
+	interface Timeout {
+
+		/**
+		 * Cancel a task. Cancelling an already cancelled or expired one shot
+		 * task does nothing.
+		 */
+		void cancel();
+
+		/**
+		 * Checks if a task has been cancelled.
+		 *
+		 * @return true, if cancelled
+		 */
+		boolean isCancelled();
+	}
+}
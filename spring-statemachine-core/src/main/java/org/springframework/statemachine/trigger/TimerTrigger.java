@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2019 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,17 +15,19 @@
  */
 package org.springframework.statemachine.trigger;
 
-import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.statemachine.support.LifecycleObjectSupport;
+import org.springframework.statemachine.trigger.TimerService.Timeout;
+import org.springframework.util.Assert;
 
-import reactor.core.Disposable;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * Implementation of a {@link Trigger} capable of firing on a
- * static periods.
+ * static periods. Firings are scheduled via a {@link TimerService} which
+ * defaults to {@link ReactorTimerService#getDefault()}.
  *
  * @author Janne Valkealahti
  *
@@ -37,7 +39,12 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 	private final CompositeTriggerListener triggerListener = new CompositeTriggerListener();
 	private final long period;
 	private final int count;
-	private Disposable disposable;
+	private TimerService timerService = ReactorTimerService.getDefault();
+	private Timeout timeout;
+	private volatile long lastDueTime;
+	private volatile long deadline;
+	private long restoredDeadline;
+	private String id;
 
 	/**
 	 * Instantiates a new timer trigger.
@@ -67,6 +74,77 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 		return count;
 	}
 
+	/**
+	 * Gets the trigger id identifying this timer within a machine.
+	 *
+	 * @return the trigger id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Sets the trigger id identifying this timer within a machine. Id is
+	 * needed for a deadline to be persisted and restored.
+	 *
+	 * @param id the new trigger id
+	 */
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	/**
+	 * Gets an epoch time in milliseconds of a next firing of an armed timer
+	 * having a count.
+	 *
+	 * @return the deadline, zero if timer is not armed or has no count
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Restore a deadline of a timer having a count. Next time timer is armed
+	 * its first firing happens on a given epoch time, or immediately if it
+	 * is already in the past, instead of after a full period.
+	 *
+	 * @param deadline the epoch time in milliseconds
+	 */
+	public void restoreDeadline(long deadline) {
+		if (count > 0) {
+			this.restoredDeadline = deadline;
+		}
+	}
+
+	/**
+	 * Sets the timer service used to schedule firings.
+	 *
+	 * @param timerService the new timer service
+	 */
+	public void setTimerService(TimerService timerService) {
+		Assert.notNull(timerService, "Timer service must be set");
+		this.timerService = timerService;
+	}
+
+	/**
+	 * Gets the timer service used to schedule firings.
+	 *
+	 * @return the timer service
+	 */
+	public TimerService getTimerService() {
+		return timerService;
+	}
+
+	/**
+	 * Gets a {@link System#nanoTime()} based time when a latest firing was
+	 * due, allowing to measure how much firing and its handling lags behind.
+	 *
+	 * @return the latest due time in nanoseconds, zero if never fired
+	 */
+	public long getLastDueTime() {
+		return lastDueTime;
+	}
+
 	@Override
 	public Mono<Boolean> evaluate(TriggerContext<S, E> context) {
 		return Mono.just(false);
@@ -102,7 +180,7 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 
 	@Override
 	public void arm() {
-		if (disposable != null) {
+		if (timeout != null) {
 			return;
 		}
 		schedule();
@@ -116,15 +194,39 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 	}
 
 	private void schedule() {
+		TimerService service = timerService;
 		long initialDelay = count > 0 ? period : 0;
-		Flux<Long> interval = Flux.interval(Duration.ofMillis(initialDelay), Duration.ofMillis(period))
-			.doOnNext(c -> {
-				notifyTriggered();
-			});
+		if (restoredDeadline > 0) {
+			initialDelay = Math.max(restoredDeadline - System.currentTimeMillis(), 0);
+			restoredDeadline = 0;
+		}
+		long firstDelay = initialDelay;
+		long scheduled = service.nanoTime();
 		if (count > 0) {
-			interval = interval.take(count);
+			deadline = System.currentTimeMillis() + firstDelay;
 		}
-		disposable = interval.subscribe();
+		AtomicInteger fired = new AtomicInteger();
+		Timeout[] holder = new Timeout[1];
+		Runnable task = () -> {
+			int c = fired.getAndIncrement();
+			if (count > 0 && c >= count) {
+				return;
+			}
+			long due = scheduled + TimeUnit.MILLISECONDS.toNanos(firstDelay + c * period);
+			// keep due time comparable to System.nanoTime() even if a service has its own clock
+			lastDueTime = System.nanoTime() - (service.nanoTime() - due);
+			if (count > 0) {
+				deadline = c + 1 < count ? deadline + period : 0;
+			}
+			notifyTriggered();
+			if (count > 0 && c + 1 >= count && holder[0] != null) {
+				holder[0].cancel();
+			}
+		};
+		// single firing doesn't need a periodic timeout
+		long schedulePeriod = count == 1 ? 0 : period;
+		holder[0] = service.schedule(task, firstDelay, schedulePeriod, TimeUnit.MILLISECONDS);
+		timeout = holder[0];
 	}
 
 	private void notifyTriggered() {
@@ -132,9 +234,10 @@ public class TimerTrigger<S, E> extends LifecycleObjectSupport implements Trigge
 	}
 
 	private void cancel() {
-		if (disposable != null) {
-			disposable.dispose();
+		if (timeout != null) {
+			timeout.cancel();
 		}
-		disposable = null;
+		timeout = null;
+		deadline = 0;
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,12 @@
 package org.springframework.statemachine;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
 import static org.springframework.statemachine.TestUtils.doStartAndAssert;
 import static org.springframework.statemachine.TestUtils.resolveMachine;
 
-import java.util.Collection;
+import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -33,12 +34,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
 import org.springframework.statemachine.config.EnableStateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
 import org.springframework.statemachine.config.StateMachineConfigurerAdapter;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
 import org.springframework.statemachine.listener.StateMachineListenerAdapter;
 import org.springframework.statemachine.state.State;
+import org.springframework.statemachine.support.DeferredEventOverflowPolicy;
+import org.springframework.statemachine.support.DeferredEventStore;
+
+import reactor.core.publisher.Mono;
 
 public class EventDeferTests extends AbstractStateMachineTests {
 
@@ -60,10 +69,10 @@ public class EventDeferTests extends AbstractStateMachineTests {
 		doSendEventAndConsumeAll(machine, "E3");
 		doSendEventAndConsumeAll(machine, "E1");
 		Object executor = TestUtils.readField("stateMachineExecutor", machine);
-		Collection<?> readField = TestUtils.readField("deferList", executor);
-		assertThat(readField).hasSize(1);
+		DeferredEventStore<?> readField = TestUtils.readField("deferredEventStore", executor);
+		assertThat(readField.size()).isEqualTo(1);
 		doSendEventAndConsumeAll(machine, "E2");
-		assertThat(readField).hasSize(2);
+		assertThat(readField.size()).isEqualTo(2);
 	}
 
 	@Test
@@ -131,8 +140,8 @@ public class EventDeferTests extends AbstractStateMachineTests {
 		doSendEventAndConsumeAll(machine, "E1");
 
 		Object executor = TestUtils.readField("stateMachineExecutor", machine);
-		Collection<?> readField = TestUtils.readField("deferList", executor);
-		assertThat(readField).hasSize(1);
+		DeferredEventStore<?> readField = TestUtils.readField("deferredEventStore", executor);
+		assertThat(readField.size()).isEqualTo(1);
 
 		listener.reset(0, 0, 2, 0);
 		doSendEventAndConsumeAll(machine, "E4");
@@ -158,8 +167,8 @@ public class EventDeferTests extends AbstractStateMachineTests {
 		// sub doesn't defer
 		doSendEventAndConsumeAll(machine, "E15");
 		Object executor = TestUtils.readField("stateMachineExecutor", machine);
-		Collection<?> readField = TestUtils.readField("deferList", executor);
-		assertThat(readField).isEmpty();
+		DeferredEventStore<?> readField = TestUtils.readField("deferredEventStore", executor);
+		assertThat(readField.size()).isEqualTo(0);
 
 		assertThat(machine.getState().getIds()).containsExactly("SUB5");
 	}
@@ -183,8 +192,8 @@ public class EventDeferTests extends AbstractStateMachineTests {
 		// sub defers
 		doSendEventAndConsumeAll(machine, "E15");
 		Object executor = TestUtils.readField("stateMachineExecutor", machine);
-		Collection<?> readField = TestUtils.readField("deferList", executor);
-		assertThat(readField).hasSize(1);
+		DeferredEventStore<?> readField = TestUtils.readField("deferredEventStore", executor);
+		assertThat(readField.size()).isEqualTo(1);
 
 		assertThat(machine.getState().getIds()).containsExactly("SUB1", "SUB12");
 
@@ -213,8 +222,8 @@ public class EventDeferTests extends AbstractStateMachineTests {
 		// regions defers
 		doSendEventAndConsumeAll(machine, "E3");
 		Object executor = TestUtils.readField("stateMachineExecutor", machine);
-		Collection<?> readField = TestUtils.readField("deferList", executor);
-		assertThat(readField).isEmpty();
+		DeferredEventStore<?> readField = TestUtils.readField("deferredEventStore", executor);
+		assertThat(readField.size()).isEqualTo(0);
 	}
 
 	@Test
@@ -239,8 +248,8 @@ public class EventDeferTests extends AbstractStateMachineTests {
 		// regions defers
 		doSendEventAndConsumeAll(machine, "E3");
 		Object executor = TestUtils.readField("stateMachineExecutor", machine);
-		Collection<?> readField = TestUtils.readField("deferList", executor);
-		assertThat(readField).hasSize(1);
+		DeferredEventStore<?> readField = TestUtils.readField("deferredEventStore", executor);
+		assertThat(readField.size()).isEqualTo(1);
 	}
 
 	@Test
@@ -259,8 +268,8 @@ public class EventDeferTests extends AbstractStateMachineTests {
 		// regions doesn't defer
 		doSendEventAndConsumeAll(machine, "E3");
 		Object executor = TestUtils.readField("stateMachineExecutor", machine);
-		Collection<?> readField = TestUtils.readField("deferList", executor);
-		assertThat(readField).isEmpty();
+		DeferredEventStore<?> readField = TestUtils.readField("deferredEventStore", executor);
+		assertThat(readField.size()).isEqualTo(0);
 
 		assertThat(machine.getState().getIds()).containsExactly("SUB2");
 	}
@@ -277,19 +286,86 @@ public class EventDeferTests extends AbstractStateMachineTests {
 		doSendEventAndConsumeAll(machine, "E2");
 		assertThat(machine.getState().getIds()).containsOnly("S1");
 		Object executor = TestUtils.readField("stateMachineExecutor", machine);
-		Collection<?> readField = TestUtils.readField("deferList", executor);
-		assertThat(readField).hasSize(1);
+		DeferredEventStore<?> readField = TestUtils.readField("deferredEventStore", executor);
+		assertThat(readField.size()).isEqualTo(1);
 
 		doSendEventAndConsumeAll(machine, "E1");
 		assertThat(machine.getState().getIds()).containsOnly("S1");
-		readField = TestUtils.readField("deferList", executor);
-		assertThat(readField).isEmpty();
+		readField = TestUtils.readField("deferredEventStore", executor);
+		assertThat(readField.size()).isEqualTo(0);
 
 		// deferred event handled so should not get back to S1
 		doSendEventAndConsumeAll(machine, "E1");
 		assertThat(machine.getState().getIds()).containsOnly("S2");
 	}
 
+	@Test
+	public void testDeferredEventReplayedByEventLeavingDeferringState() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S1", "E2")
+				.state("S2")
+				.state("S3");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2")
+				.event("E1")
+				// trigger is handled asynchronously and completes after it was queued
+				.actionFunction(context -> Mono.delay(Duration.ofMillis(100)).then())
+				.and()
+			.withExternal()
+				.source("S2").target("S3")
+				.event("E2");
+		StateMachine<String, String> machine = builder.build();
+		doStartAndAssert(machine);
+
+		doSendEventAndConsumeAll(machine, "E2");
+		assertThat(machine.getState().getIds()).containsExactly("S1");
+		Object executor = TestUtils.readField("stateMachineExecutor", machine);
+		DeferredEventStore<?> store = TestUtils.readField("deferredEventStore", executor);
+		assertThat(store.size()).isEqualTo(1);
+
+		// no other event is sent, leaving S1 alone replays E2
+		doSendEventAndConsumeAll(machine, "E1");
+		await().atMost(Duration.ofSeconds(3))
+				.untilAsserted(() -> assertThat(machine.getState().getIds()).containsExactly("S3"));
+		assertThat(store.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void testBoundedDeferredEvents() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.deferredEventCapacity(2)
+				.deferredEventOverflowPolicy(DeferredEventOverflowPolicy.DROP_NEWEST);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S1", "E2", "E3")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2")
+				.event("E1");
+		StateMachine<String, String> machine = builder.build();
+		doStartAndAssert(machine);
+
+		assertThat(machine.sendEvent(Mono.just(MessageBuilder.withPayload("E2").build())).blockLast().getResultType())
+				.isEqualTo(ResultType.DEFERRED);
+		assertThat(machine.sendEvent(Mono.just(MessageBuilder.withPayload("E3").build())).blockLast().getResultType())
+				.isEqualTo(ResultType.DEFERRED);
+		assertThat(machine.sendEvent(Mono.just(MessageBuilder.withPayload("E2").build())).blockLast().getResultType())
+				.isEqualTo(ResultType.DENIED);
+
+		Object executor = TestUtils.readField("stateMachineExecutor", machine);
+		DeferredEventStore<?> store = TestUtils.readField("deferredEventStore", executor);
+		assertThat(store.size()).isEqualTo(2);
+		assertThat(store.getCapacity()).isEqualTo(2);
+	}
+
 	@Configuration
 	@EnableStateMachine
 	static class Config1 extends StateMachineConfigurerAdapter<String, String> {
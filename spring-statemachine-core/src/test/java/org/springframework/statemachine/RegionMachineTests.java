@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -29,9 +31,13 @@ import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.action.Actions;
 import org.springframework.statemachine.config.EnableStateMachine;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
 import org.springframework.statemachine.config.builders.StateMachineConfigurationConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
@@ -49,6 +55,8 @@ import org.springframework.statemachine.transition.Transition;
 import org.springframework.statemachine.trigger.EventTrigger;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Statemachine tests using regions.
@@ -317,6 +325,52 @@ public class RegionMachineTests extends AbstractStateMachineTests {
 		assertThat(Math.abs(action1.now-action2.now)).isLessThan(1999l);
 	}
 
+	@Test
+	public void testParallelRegionExecutionOnScheduler() throws Exception {
+		Scheduler scheduler = Schedulers.newBoundedElastic(2, 10, "regiontest");
+		try {
+			ConcurrentLinkedQueue<String> threads = new ConcurrentLinkedQueue<>();
+			Builder<TestStates, TestEvents> builder = StateMachineBuilder.builder();
+			builder.configureConfiguration()
+				.withConfiguration()
+					.regionExecutionPolicy(RegionExecutionPolicy.PARALLEL)
+					.regionExecutionScheduler(scheduler);
+			builder.configureStates()
+				.withStates()
+					.initial(TestStates.S10)
+					.state(TestStates.S11, sleepAction(500, threads), null)
+					.and()
+				.withStates()
+					.initial(TestStates.S20)
+					.state(TestStates.S21, sleepAction(0, threads), null);
+			builder.configureTransitions()
+				.withExternal()
+					.source(TestStates.S10).target(TestStates.S11)
+					.event(TestEvents.E1)
+					.and()
+				.withExternal()
+					.source(TestStates.S20).target(TestStates.S21)
+					.event(TestEvents.E1);
+			StateMachine<TestStates, TestEvents> machine = builder.build();
+			machine.startReactively().block();
+
+			List<StateMachineEventResult<TestStates, TestEvents>> results = machine
+					.sendEvent(Mono.just(MessageBuilder.withPayload(TestEvents.E1).build()))
+					.collectList()
+					.block();
+			assertThat(machine.getState().getIds()).containsOnly(TestStates.S11, TestStates.S21);
+			assertThat(threads).hasSize(2).allMatch(name -> name.startsWith("regiontest"));
+
+			// slower first region is still first in results
+			List<Region<TestStates, TestEvents>> regions = new ArrayList<>(
+					((RegionState<TestStates, TestEvents>) machine.getState()).getRegions());
+			assertThat(results.stream().map(r -> r.getRegion()).collect(Collectors.toList()))
+					.containsExactlyElementsOf(regions);
+		} finally {
+			scheduler.dispose();
+		}
+	}
+
 	@Test
 	public void testParallelRegionExecutionInInitialState() throws Exception {
 		context.register(Config4.class);
@@ -347,6 +401,17 @@ public class RegionMachineTests extends AbstractStateMachineTests {
 		assertThat(Math.abs(action1.now-action2.now)).isLessThan(1999l);
 	}
 
+	private static Action<TestStates, TestEvents> sleepAction(long sleep, Collection<String> threads) {
+		return context -> {
+			threads.add(Thread.currentThread().getName());
+			try {
+				Thread.sleep(sleep);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+	}
+
 	@Configuration
 	@EnableStateMachine
 	static class Config1 extends EnumStateMachineConfigurerAdapter<TestStates, TestEvents> {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2021 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,14 @@
 package org.springframework.statemachine;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
 import static org.springframework.statemachine.TestUtils.doStartAndAssert;
 import static org.springframework.statemachine.TestUtils.doStopAndAssert;
 import static org.springframework.statemachine.TestUtils.resolveFactory;
 import static org.springframework.statemachine.TestUtils.resolveMachine;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +39,8 @@ import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.config.EnableStateMachine;
 import org.springframework.statemachine.config.EnableStateMachineFactory;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
 import org.springframework.statemachine.config.StateMachineConfigurerAdapter;
 import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.statemachine.config.builders.StateMachineConfigurationConfigurer;
@@ -168,6 +172,49 @@ public class StateMachineResetTests extends AbstractStateMachineTests {
 		assertThat(machine.getState().getIds()).containsOnly(TestStates.S2, TestStates.S21, TestStates.S31);
 	}
 
+	@Test
+	public void testResetRestoresRegionTimerDeadlines() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S1")
+				.and()
+				.withStates()
+					.parent("S1")
+					.region("R1")
+					.initial("S11")
+					.state("S12")
+					.and()
+				.withStates()
+					.parent("S1")
+					.region("R2")
+					.initial("S21")
+					.state("S22");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S11").target("S12")
+				.timerOnce(60000)
+				.name("timer1");
+		StateMachine<String, String> machine = builder.build();
+
+		List<StateMachineContext<String, String>> childs = new ArrayList<>();
+		childs.add(new DefaultStateMachineContext<String, String>("S11", null, null, null));
+		childs.add(new DefaultStateMachineContext<String, String>("S21", null, null, null));
+		Map<String, Long> timerDeadlines = new HashMap<>();
+		timerDeadlines.put("timer1", System.currentTimeMillis() + 100);
+		DefaultStateMachineContext<String, String> stateMachineContext = new DefaultStateMachineContext<String, String>(
+				new ArrayList<>(), childs, "S1", null, null, null, null, null, timerDeadlines);
+
+		machine.getStateMachineAccessor().doWithAllRegions(function -> function.resetStateMachineReactively(stateMachineContext).block());
+		doStartAndAssert(machine);
+		assertThat(machine.getState().getIds()).containsOnly("S1", "S11", "S21");
+
+		// timer in a region continues from a persisted deadline instead of a full period
+		await().atMost(Duration.ofSeconds(5))
+				.untilAsserted(() -> assertThat(machine.getState().getIds()).containsOnly("S1", "S12", "S21"));
+	}
+
 	@Test
 	public void testResetUpdateExtendedStateVariables() {
 		context.register(Config3.class);
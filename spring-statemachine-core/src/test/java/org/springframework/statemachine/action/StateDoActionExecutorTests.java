@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.action;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.monitor.AbstractStateMachineMonitor;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+public class StateDoActionExecutorTests {
+
+	@Test
+	public void testConcurrencyLimitAndQueue() {
+		StateDoActionExecutor executor = new StateDoActionExecutor(Schedulers.immediate(), 1, 1,
+				StateDoActionOverflowPolicy.DROP_NEWEST);
+		Sinks.Empty<Void> action1 = Sinks.empty();
+		Sinks.Empty<Void> action2 = Sinks.empty();
+		List<String> events = new ArrayList<>();
+
+		executor.execute(action1.asMono().doOnSubscribe(s -> events.add("run1"))).subscribe(null,
+				e -> events.add("error1"), () -> events.add("done1"));
+		executor.execute(action2.asMono().doOnSubscribe(s -> events.add("run2"))).subscribe(null,
+				e -> events.add("error2"), () -> events.add("done2"));
+		executor.execute(Mono.<Void>empty().doOnSubscribe(s -> events.add("run3"))).subscribe(null,
+				e -> events.add(e instanceof RejectedExecutionException ? "rejected3" : "error3"),
+				() -> events.add("done3"));
+		assertThat(events).containsExactly("run1", "rejected3");
+		assertThat(executor.getRunningCount()).isEqualTo(1);
+		assertThat(executor.getQueuedCount()).isEqualTo(1);
+		assertThat(executor.getRejectedCount()).isEqualTo(1);
+
+		action1.tryEmitEmpty();
+		assertThat(events).containsExactly("run1", "rejected3", "run2", "done1");
+		assertThat(executor.getRunningCount()).isEqualTo(1);
+		assertThat(executor.getQueuedCount()).isEqualTo(0);
+
+		action2.tryEmitEmpty();
+		assertThat(events).containsExactly("run1", "rejected3", "run2", "done1", "done2");
+		assertThat(executor.getRunningCount()).isEqualTo(0);
+		assertThat(executor.getCompletedCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testDropOldest() {
+		StateDoActionExecutor executor = new StateDoActionExecutor(Schedulers.immediate(), 1, 1,
+				StateDoActionOverflowPolicy.DROP_OLDEST);
+		Sinks.Empty<Void> action1 = Sinks.empty();
+		List<String> events = new ArrayList<>();
+
+		executor.execute(action1.asMono()).subscribe();
+		executor.execute(Mono.<Void>empty().doOnSubscribe(s -> events.add("run2"))).subscribe(null,
+				e -> events.add("rejected2"), () -> events.add("done2"));
+		executor.execute(Mono.<Void>empty().doOnSubscribe(s -> events.add("run3"))).subscribe(null,
+				e -> events.add("rejected3"), () -> events.add("done3"));
+		assertThat(events).containsExactly("rejected2");
+
+		action1.tryEmitEmpty();
+		assertThat(events).containsExactly("rejected2", "run3", "done3");
+	}
+
+	@Test
+	public void testCancelReleasesSlot() {
+		StateDoActionExecutor executor = new StateDoActionExecutor(Schedulers.immediate(), 1, 2,
+				StateDoActionOverflowPolicy.DROP_NEWEST);
+		AtomicInteger cancelled = new AtomicInteger();
+		AtomicInteger run3 = new AtomicInteger();
+
+		Disposable running = executor.execute(Mono.<Void>never().doOnCancel(cancelled::incrementAndGet)).subscribe();
+		Disposable queued = executor.execute(Mono.<Void>empty()).subscribe();
+		executor.execute(Mono.<Void>never().doOnSubscribe(s -> run3.incrementAndGet())).subscribe();
+		assertThat(executor.getQueuedCount()).isEqualTo(2);
+
+		queued.dispose();
+		assertThat(executor.getQueuedCount()).isEqualTo(1);
+		assertThat(executor.getRunningCount()).isEqualTo(1);
+
+		running.dispose();
+		assertThat(cancelled.get()).isEqualTo(1);
+		assertThat(run3.get()).isEqualTo(1);
+		assertThat(executor.getRunningCount()).isEqualTo(1);
+		assertThat(executor.getQueuedCount()).isEqualTo(0);
+		assertThat(executor.getCompletedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void testStateActionsUseExecutor() throws Exception {
+		StateDoActionExecutor executor = new StateDoActionExecutor(Schedulers.immediate(), 1, 0,
+				StateDoActionOverflowPolicy.DROP_NEWEST);
+		AtomicInteger count = new AtomicInteger();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateDoActionExecutor(executor);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.stateDo("S1", context -> count.incrementAndGet());
+		StateMachine<String, String> machine = builder.build();
+		doStartAndAssert(machine);
+
+		assertThat(count.get()).isEqualTo(1);
+		assertThat(executor.getCompletedCount()).isEqualTo(1);
+		assertThat(executor.getRunningCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void testStateExecutorOverridesConfigurationAndIsMonitored() throws Exception {
+		StateDoActionExecutor configExecutor = new StateDoActionExecutor(Schedulers.immediate());
+		StateDoActionExecutor stateExecutor = new StateDoActionExecutor(Schedulers.boundedElastic(), 1, 0,
+				StateDoActionOverflowPolicy.DROP_NEWEST);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch rejectedLatch = new CountDownLatch(1);
+		AtomicInteger waits = new AtomicInteger();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.stateDoActionExecutor(configExecutor)
+				.and()
+			.withMonitoring()
+				.monitor(new AbstractStateMachineMonitor<String, String>() {
+
+					@Override
+					public void stateDoActionWait(StateMachine<String, String> stateMachine, long duration,
+							TimeUnit unit) {
+						waits.incrementAndGet();
+					}
+
+					@Override
+					public void stateDoActionRejected(StateMachine<String, String> stateMachine) {
+						rejectedLatch.countDown();
+					}
+				});
+		Action<String, String> blocking = context -> {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S1", Arrays.asList(blocking, context -> {}))
+				.stateDoActionExecutor("S1", stateExecutor);
+		StateMachine<String, String> machine = builder.build();
+		doStartAndAssert(machine);
+
+		assertThat(rejectedLatch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(stateExecutor.getRejectedCount()).isEqualTo(1);
+		assertThat(stateExecutor.getRunningCount()).isEqualTo(1);
+		assertThat(configExecutor.getCompletedCount()).isZero();
+		await().untilAsserted(() -> assertThat(waits.get()).isEqualTo(1));
+		release.countDown();
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.support.AbstractStateMachine;
+
+public class BatchingStateMachineEventPublisherTests {
+
+	@Test
+	public void testStepPublishedAsSingleBatch() {
+		List<Object> published = new ArrayList<>();
+		BatchingStateMachineEventPublisher publisher = new BatchingStateMachineEventPublisher(published::add);
+		Object source = new Object();
+
+		publisher.publishTransitionStart(source, null);
+		publisher.publishTransition(source, null);
+		publisher.publishStateExited(source, null);
+		// nested step, for example an initial transition of a substate
+		publisher.publishTransitionStart(source, null);
+		publisher.publishStateEntered(source, null);
+		publisher.publishTransitionEnd(source, null);
+		publisher.publishStateChanged(source, null, null);
+		assertThat(published).isEmpty();
+		publisher.publishTransitionEnd(source, null);
+
+		assertThat(published).hasSize(1);
+		StateMachineTransitionBatchEvent batch = (StateMachineTransitionBatchEvent) published.get(0);
+		assertThat(batch.getSource()).isSameAs(source);
+		assertThat(batch.getEvents()).hasSize(8);
+		assertThat(batch.getEvents().get(0)).isInstanceOf(OnTransitionStartEvent.class);
+		assertThat(batch.getEvents().get(7)).isInstanceOf(OnTransitionEndEvent.class);
+		assertThat(batch.getEvents(OnStateChangedEvent.class)).hasSize(1);
+	}
+
+	@Test
+	public void testEventsOutsideOfStep() {
+		List<Object> published = new ArrayList<>();
+		BatchingStateMachineEventPublisher publisher = new BatchingStateMachineEventPublisher(published::add);
+		Object source = new Object();
+
+		publisher.publishExtendedStateChanged(source, "key", "value");
+		assertThat(published).hasSize(1);
+		assertThat(((StateMachineTransitionBatchEvent) published.get(0)).getEvents(OnExtendedStateChanged.class))
+				.hasSize(1);
+
+		// error flushes a step which never ended
+		publisher.publishTransitionStart(source, null);
+		publisher.publishStateMachineError(source, null, new RuntimeException());
+		assertThat(published).hasSize(2);
+		assertThat(((StateMachineTransitionBatchEvent) published.get(1)).getEvents()).hasSize(2);
+	}
+
+	@Test
+	public void testAsyncPublish() {
+		List<Object> published = new ArrayList<>();
+		List<Runnable> scheduled = new ArrayList<>();
+		BatchingStateMachineEventPublisher publisher = new BatchingStateMachineEventPublisher(published::add,
+				scheduled::add);
+		Object source = new Object();
+
+		publisher.publishTransitionStart(source, null);
+		publisher.publishTransitionEnd(source, null);
+		assertThat(published).isEmpty();
+		scheduled.remove(0).run();
+		assertThat(published).hasSize(1);
+	}
+
+	@Test
+	public void testAbortedStepIsClosed() {
+		List<Object> published = new ArrayList<>();
+		BatchingStateMachineEventPublisher publisher = new BatchingStateMachineEventPublisher(published::add);
+		Object source = new Object();
+
+		publisher.publishTransitionStart(source, null);
+		publisher.publishTransition(source, null);
+		publisher.publishTransitionAbort(source, null);
+		assertThat(published).hasSize(1);
+		assertThat(((StateMachineTransitionBatchEvent) published.get(0)).getEvents()).hasSize(2);
+
+		// next step is not held by an aborted one
+		publisher.publishTransitionStart(source, null);
+		publisher.publishTransitionEnd(source, null);
+		assertThat(published).hasSize(2);
+		publisher.publishExtendedStateChanged(source, "key", "value");
+		assertThat(published).hasSize(3);
+	}
+
+	@Test
+	public void testCutStepIsClosed() {
+		List<Object> published = new ArrayList<>();
+		BatchingStateMachineEventPublisher publisher = new BatchingStateMachineEventPublisher(published::add);
+		Object source = new Object();
+
+		publisher.publishTransitionStart(source, null);
+		for (int i = 0; i < 255; i++) {
+			publisher.publishTransition(source, null);
+		}
+		assertThat(published).hasSize(1);
+		publisher.publishTransition(source, null);
+		assertThat(published).hasSize(2);
+		publisher.publishTransitionEnd(source, null);
+		assertThat(published).hasSize(3);
+	}
+
+	@Test
+	public void testFailingTransitionActionDoesNotHoldEvents() throws Exception {
+		List<Object> published = new ArrayList<>();
+		BatchingStateMachineEventPublisher publisher = new BatchingStateMachineEventPublisher(published::add);
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2")
+				.state("S3");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2")
+				.event("E1")
+				.action(context -> {
+					throw new RuntimeException("error");
+				})
+				.and()
+			.withExternal()
+				.source("S1").target("S3")
+				.event("E2");
+		StateMachine<String, String> machine = builder.build();
+		((AbstractStateMachine<String, String>) machine).setStateMachineEventPublisher(publisher);
+		doStartAndAssert(machine);
+
+		doSendEventAndConsumeAll(machine, "E1");
+		published.clear();
+		doSendEventAndConsumeAll(machine, "E2");
+		assertThat(machine.getState().getIds()).containsExactly("S3");
+		assertThat(published).isNotEmpty();
+		assertThat(published.stream()
+				.flatMap(e -> ((StateMachineTransitionBatchEvent) e).getEvents(OnStateChangedEvent.class).stream()))
+				.hasSize(1);
+	}
+}
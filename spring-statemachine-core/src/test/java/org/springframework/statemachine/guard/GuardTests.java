@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,11 @@
 package org.springframework.statemachine.guard;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
@@ -29,9 +32,12 @@ import org.springframework.statemachine.AbstractStateMachineTests.TestGuard;
 import org.springframework.statemachine.AbstractStateMachineTests.TestStates;
 import org.springframework.statemachine.ObjectStateMachine;
 import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineSystemConstants;
 import org.springframework.statemachine.config.EnableStateMachine;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
 
@@ -101,6 +107,67 @@ public class GuardTests {
 		ctx.close();
 	}
 
+	@Test
+	public void testPureGuardEvaluatedOncePerStep() throws Exception {
+		AtomicInteger allowCount = new AtomicInteger();
+		AtomicInteger denyCount = new AtomicInteger();
+		Guard<String, String> allow = Guards.pure(context -> allowCount.incrementAndGet() > 0);
+		Guard<String, String> deny = Guards.pure(context -> denyCount.incrementAndGet() < 0);
+
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.choice("C1")
+				.state("S2")
+				.state("S3")
+				.state("S4");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("C1")
+				.event("E1")
+				.guard(allow)
+				.and()
+			.withChoice()
+				.source("C1")
+				.first("S3", deny)
+				.then("S4", deny)
+				.last("S2")
+				.and()
+			.withExternal()
+				.source("S2").target("S1")
+				.event("E1")
+				.guard(allow);
+		StateMachine<String, String> machine = builder.build();
+		doStartAndAssert(machine);
+
+		doSendEventAndConsumeAll(machine, "E1");
+		assertThat(machine.getState().getIds()).containsExactly("S2");
+		assertThat(allowCount.get()).isEqualTo(1);
+		assertThat(denyCount.get()).isEqualTo(1);
+
+		// new event is a new step
+		doSendEventAndConsumeAll(machine, "E1");
+		assertThat(machine.getState().getIds()).containsExactly("S1");
+		assertThat(allowCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testGuardEvaluationCache() {
+		AtomicInteger count = new AtomicInteger();
+		Guard<String, String> guard = context -> count.incrementAndGet() > 0;
+		Guard<String, String> pure = Guards.pure(guard);
+		assertThat(Guards.pure(pure)).isSameAs(pure);
+
+		GuardEvaluationCache cache = new GuardEvaluationCache();
+		assertThat(cache.evaluate(pure, null)).isTrue();
+		assertThat(cache.evaluate(pure, null)).isTrue();
+		assertThat(count.get()).isEqualTo(1);
+		assertThat(cache.evaluate(guard, null)).isTrue();
+		assertThat(count.get()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
 	@Configuration
 	@EnableStateMachine
 	public static class Config1 extends EnumStateMachineConfigurerAdapter<TestStates, TestEvents> {
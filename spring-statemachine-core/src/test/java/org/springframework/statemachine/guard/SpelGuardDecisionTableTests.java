@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.guard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.statemachine.ExtendedState;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.support.DefaultExtendedState;
+import org.springframework.statemachine.support.DefaultStateContext;
+
+public class SpelGuardDecisionTableTests {
+
+	private final SpelExpressionParser parser = new SpelExpressionParser();
+
+	@Test
+	public void testRangesMatchSequentialEvaluation() {
+		List<Guard<String, String>> guards = guards(
+				"extendedState.variables.get('amount') < 10",
+				"extendedState.variables['amount'] >= 10 && extendedState.variables['amount'] < 100",
+				"100 == extendedState.variables.get('amount')",
+				"extendedState.variables.get('amount') > -5");
+		SpelGuardDecisionTable<String, String> table = SpelGuardDecisionTable.compile(guards);
+		assertThat(table).isNotNull();
+
+		for (long amount = -20; amount < 120; amount++) {
+			StateContext<String, String> context = context("amount", amount);
+			assertThat(table.lookup(context)).as("amount %s", amount).isEqualTo(evaluate(guards, context));
+			context = context("amount", (int) amount);
+			assertThat(table.lookup(context)).as("amount %s", amount).isEqualTo(evaluate(guards, context));
+		}
+		assertThat(table.lookup(context("amount", 10.5d))).isEqualTo(SpelGuardDecisionTable.UNRESOLVED);
+		assertThat(table.lookup(context("other", 10))).isEqualTo(SpelGuardDecisionTable.UNRESOLVED);
+	}
+
+	@Test
+	public void testEqualityUsesHashLookup() {
+		List<Guard<String, String>> guards = guards(
+				"extendedState.variables.get('tier') == 'gold'",
+				"extendedState.variables.get('tier') == 'silver'",
+				null,
+				"extendedState.variables.get('tier') == 'gold'",
+				"extendedState.variables.get('tier') == 1");
+		SpelGuardDecisionTable<String, String> table = SpelGuardDecisionTable.compile(guards);
+		assertThat(table).isNotNull();
+		assertThat(table.lookup(context("tier", "gold"))).isEqualTo(0);
+		assertThat(table.lookup(context("tier", "silver"))).isEqualTo(1);
+		assertThat(table.lookup(context("tier", "bronze"))).isEqualTo(SpelGuardDecisionTable.NO_MATCH);
+		assertThat(table.lookup(context("tier", 1))).isEqualTo(4);
+		assertThat(table.lookup(context("tier", 1L))).isEqualTo(4);
+		assertThat(table.lookup(context("tier", "1"))).isEqualTo(SpelGuardDecisionTable.NO_MATCH);
+	}
+
+	@Test
+	public void testNotCompilable() {
+		assertThat(SpelGuardDecisionTable.compile(guards(
+				"extendedState.variables.get('a') == 1",
+				"extendedState.variables.get('b') == 1"))).isNull();
+		assertThat(SpelGuardDecisionTable.compile(guards(
+				"extendedState.variables.get('a') == 1 || extendedState.variables.get('a') == 2"))).isNull();
+		assertThat(SpelGuardDecisionTable.compile(guards(
+				"extendedState.variables.get('a') < 'x'"))).isNull();
+		assertThat(SpelGuardDecisionTable.compile(guards(
+				"extendedState.variables.get('a') < 1.5"))).isNull();
+		List<Guard<String, String>> guards = guards("extendedState.variables.get('a') == 1");
+		guards.add(context -> true);
+		assertThat(SpelGuardDecisionTable.compile(guards)).isNull();
+	}
+
+	@Test
+	public void testCompiledChoice() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.compileChoiceGuards(true);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.choice("C1")
+				.state("LOW")
+				.state("MID")
+				.state("HIGH");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("C1")
+				.event("E1")
+				.and()
+			.withChoice()
+				.source("C1")
+				.first("LOW", guard("extendedState.variables.get('amount') < 10"))
+				.then("MID", guard("extendedState.variables.get('amount') < 100"))
+				.last("HIGH");
+		StateMachine<String, String> machine = builder.build();
+		doStartAndAssert(machine);
+
+		machine.getExtendedState().getVariables().put("amount", 50);
+		doSendEventAndConsumeAll(machine, "E1");
+		assertThat(machine.getState().getIds()).containsExactly("MID");
+	}
+
+	private List<Guard<String, String>> guards(String... expressions) {
+		List<Guard<String, String>> guards = new ArrayList<>();
+		for (String expression : Arrays.asList(expressions)) {
+			guards.add(expression != null ? guard(expression) : null);
+		}
+		return guards;
+	}
+
+	private Guard<String, String> guard(String expression) {
+		return new SpelExpressionGuard<>(parser.parseExpression(expression));
+	}
+
+	private static StateContext<String, String> context(String key, Object value) {
+		ExtendedState extendedState = new DefaultExtendedState();
+		extendedState.getVariables().put(key, value);
+		return new DefaultStateContext<>(null, null, null, extendedState, null, null, null, null, null);
+	}
+
+	private static int evaluate(List<Guard<String, String>> guards, StateContext<String, String> context) {
+		for (int i = 0; i < guards.size(); i++) {
+			if (guards.get(i) != null && guards.get(i).evaluate(context)) {
+				return i;
+			}
+		}
+		return SpelGuardDecisionTable.NO_MATCH;
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.state.State;
+
+public class AsyncListenerDispatcherTests {
+
+	@Test
+	public void testOrderKept() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher(executor, 16, ListenerOverflowPolicy.BLOCK);
+			List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+			CountDownLatch latch = new CountDownLatch(1000);
+			for (int i = 0; i < 1000; i++) {
+				int value = i;
+				dispatcher.dispatch(() -> {
+					values.add(value);
+					latch.countDown();
+				});
+			}
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			for (int i = 0; i < 1000; i++) {
+				assertThat(values.get(i)).isEqualTo(i);
+			}
+			assertThat(dispatcher.getDroppedCount()).isZero();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testOverflowPolicies() {
+		List<Runnable> scheduled = new ArrayList<>();
+		List<Integer> values = new ArrayList<>();
+
+		AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher(scheduled::add, 2,
+				ListenerOverflowPolicy.DROP_NEWEST);
+		for (int i = 0; i < 4; i++) {
+			int value = i;
+			dispatcher.dispatch(() -> values.add(value));
+		}
+		assertThat(dispatcher.getQueueDepth()).isEqualTo(2);
+		assertThat(dispatcher.getDroppedCount()).isEqualTo(2);
+		scheduled.remove(0).run();
+		assertThat(values).containsExactly(0, 1);
+		assertThat(dispatcher.getDispatchedCount()).isEqualTo(2);
+
+		values.clear();
+		dispatcher = new AsyncListenerDispatcher(scheduled::add, 2, ListenerOverflowPolicy.DROP_OLDEST);
+		for (int i = 0; i < 4; i++) {
+			int value = i;
+			dispatcher.dispatch(() -> values.add(value));
+		}
+		assertThat(dispatcher.getDroppedCount()).isEqualTo(2);
+		scheduled.remove(0).run();
+		assertThat(values).containsExactly(2, 3);
+	}
+
+	@Test
+	public void testDefaultPolicyDoesNotBlock() {
+		List<Runnable> scheduled = new ArrayList<>();
+		AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher(scheduled::add);
+		assertThat(dispatcher.getOverflowPolicy()).isEqualTo(ListenerOverflowPolicy.DROP_NEWEST);
+		for (int i = 0; i < AsyncListenerDispatcher.DEFAULT_CAPACITY + 1; i++) {
+			dispatcher.dispatch(() -> {});
+		}
+		assertThat(dispatcher.getQueueDepth()).isEqualTo(AsyncListenerDispatcher.DEFAULT_CAPACITY);
+		assertThat(dispatcher.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testWrappedListenerKeepsOrder() {
+		AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher(Runnable::run);
+		AsyncStateMachineListener<String, String> listener = AsyncStateMachineListener
+				.of(new AnnotatedOrderListener(), dispatcher);
+		assertThat(listener).isInstanceOf(Ordered.class);
+		assertThat(((Ordered) listener).getOrder()).isEqualTo(1);
+
+		listener = AsyncStateMachineListener.of(new OrderedListener(), dispatcher);
+		assertThat(((Ordered) listener).getOrder()).isEqualTo(2);
+
+		listener = AsyncStateMachineListener.of(new StateMachineListenerAdapter<String, String>(), dispatcher);
+		assertThat(listener).isNotInstanceOf(Ordered.class);
+
+		OrderedComposite<StateMachineListener<String, String>> composite = new OrderedComposite<>();
+		composite.add(listener);
+		AsyncStateMachineListener<String, String> ordered = AsyncStateMachineListener
+				.of(new AnnotatedOrderListener(), dispatcher);
+		composite.add(ordered);
+		assertThat(composite.iterator().next()).isSameAs(ordered);
+	}
+
+	@Test
+	public void testConfiguredListenerExecutor() throws Exception {
+		List<Runnable> scheduled = new ArrayList<>();
+		List<String> states = new ArrayList<>();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.listenerExecutor(scheduled::add)
+				.listenerQueueCapacity(10)
+				.listener(new StateMachineListenerAdapter<String, String>() {
+
+					@Override
+					public void stateChanged(State<String, String> from, State<String, String> to) {
+						states.add(to.getId());
+					}
+				});
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1");
+		StateMachine<String, String> machine = builder.build();
+
+		doStartAndAssert(machine);
+		doSendEventAndConsumeAll(machine, "E1");
+		assertThat(machine.getState().getId()).isEqualTo("S2");
+		assertThat(states).isEmpty();
+		while (!scheduled.isEmpty()) {
+			scheduled.remove(0).run();
+		}
+		assertThat(states).containsExactly("S1", "S2");
+	}
+
+	@Order(1)
+	private static class AnnotatedOrderListener extends StateMachineListenerAdapter<String, String> {
+	}
+
+	private static class OrderedListener extends StateMachineListenerAdapter<String, String> implements Ordered {
+
+		@Override
+		public int getOrder() {
+			return 2;
+		}
+	}
+}
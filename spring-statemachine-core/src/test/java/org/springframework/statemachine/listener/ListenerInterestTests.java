@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.state.State;
+
+public class ListenerInterestTests {
+
+	@Test
+	public void testResolvedFromOverriddenMethods() {
+		ListenerInterest interest = ListenerInterest.of(new StateChangedListener());
+		assertThat(interest.getCallbacks()).containsExactly(Stage.STATE_CHANGED);
+		assertThat(interest.hasStateContextCallback()).isFalse();
+		assertThat(interest.isInterestedIn(Stage.STATE_CHANGED)).isTrue();
+		assertThat(interest.isInterestedIn(Stage.TRANSITION)).isFalse();
+
+		interest = ListenerInterest.of(new StateMachineListenerAdapter<String, String>() {
+
+			@Override
+			public void stateContext(StateContext<String, String> stateContext) {
+			}
+		});
+		assertThat(interest.getCallbacks()).isEmpty();
+		assertThat(interest.isInterestedIn(Stage.TRANSITION)).isTrue();
+
+		interest = ListenerInterest.of(new CompositeStateMachineListener<String, String>());
+		assertThat(interest.isInterestedIn(Stage.EXTENDED_STATE_CHANGED)).isTrue();
+	}
+
+	@Test
+	public void testCompositeInterests() {
+		CompositeStateMachineListener<String, String> composite = new CompositeStateMachineListener<>();
+		assertThat(composite.isInterestedIn(Stage.STATE_CHANGED)).isFalse();
+
+		StateChangedListener listener = new StateChangedListener();
+		composite.register(listener);
+		assertThat(composite.isInterestedIn(Stage.STATE_CHANGED)).isTrue();
+		assertThat(composite.isInterestedIn(Stage.STATE_ENTRY)).isFalse();
+
+		TestSelectiveListener selective = new TestSelectiveListener();
+		composite.register(selective);
+		assertThat(composite.isInterestedIn(Stage.STATE_ENTRY)).isFalse();
+		selective.stage = Stage.STATE_ENTRY;
+		assertThat(composite.isInterestedIn(Stage.STATE_ENTRY)).isTrue();
+
+		composite.unregister(listener);
+		assertThat(composite.isInterestedIn(Stage.STATE_CHANGED)).isFalse();
+	}
+
+	@Test
+	public void testAsyncListenerSkipsUnusedCallbacks() {
+		List<Runnable> scheduled = new ArrayList<>();
+		AsyncStateMachineListener<String, String> listener = new AsyncStateMachineListener<>(new StateChangedListener(),
+				scheduled::add);
+		assertThat(listener.isInterestedIn(Stage.STATE_CHANGED)).isTrue();
+		assertThat(listener.isInterestedIn(Stage.STATE_EXIT)).isFalse();
+		listener.stateExited(null);
+		listener.stateContext(null);
+		assertThat(listener.getDispatcher().getQueueDepth()).isZero();
+		listener.stateChanged(null, null);
+		assertThat(listener.getDispatcher().getQueueDepth()).isEqualTo(1);
+	}
+
+	@Test
+	public void testMachineBuildsContextsOnlyForInterestedStages() throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").event("E1")
+				.and()
+			.withExternal()
+				.source("S2").target("S1").event("E2");
+		StateMachine<String, String> machine = builder.build();
+		TestSelectiveListener listener = new TestSelectiveListener();
+		machine.addStateListener(listener);
+		doStartAndAssert(machine);
+		assertThat(listener.stages).isEmpty();
+
+		listener.stage = Stage.TRANSITION;
+		doSendEventAndConsumeAll(machine, "E1");
+		assertThat(machine.getState().getId()).isEqualTo("S2");
+		assertThat(listener.stages).isNotEmpty().containsOnly(Stage.TRANSITION);
+
+		listener.stages.clear();
+		listener.stage = null;
+		doSendEventAndConsumeAll(machine, "E2");
+		assertThat(machine.getState().getId()).isEqualTo("S1");
+		assertThat(listener.stages).isEmpty();
+	}
+
+	private static class StateChangedListener extends StateMachineListenerAdapter<String, String> {
+
+		@Override
+		public void stateChanged(State<String, String> from, State<String, String> to) {
+		}
+	}
+
+	private static class TestSelectiveListener extends StateMachineListenerAdapter<String, String>
+			implements SelectiveStateMachineListener<String, String> {
+
+		volatile Stage stage;
+		final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+		@Override
+		public boolean isInterestedIn(Stage stage) {
+			return stage == this.stage;
+		}
+
+		@Override
+		public void stateContext(StateContext<String, String> stateContext) {
+			stages.add(stateContext.getStage());
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -117,6 +117,34 @@ public class ListenerTests extends AbstractStateMachineTests {
 		ctx.close();
 	}
 
+	@Test
+	public void testExtendedStateBatchedUpdate() throws Exception {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(Config2.class);
+		@SuppressWarnings("unchecked")
+		ObjectStateMachine<TestStates,TestEvents> machine =
+				ctx.getBean(StateMachineSystemConstants.DEFAULT_ID_STATEMACHINE, ObjectStateMachine.class);
+		machine.getExtendedState().getVariables().put("foo", "jee");
+
+		TestStateMachineListener listener = new TestStateMachineListener();
+		machine.addStateListener(listener);
+		machine.start();
+
+		machine.getExtendedState().update(variables -> {
+			variables.put("foo", "jee");
+			variables.put("bar", 1);
+			variables.put("bar", 2);
+			variables.put("baz", 3);
+		});
+		assertThat(listener.extendedLatch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.extended).hasSize(2);
+		assertThat(listener.extended.get(0).key).isEqualTo("bar");
+		assertThat(listener.extended.get(0).value).isEqualTo(2);
+		assertThat(listener.extended.get(1).key).isEqualTo("baz");
+		assertThat(listener.extendedContexts).isEqualTo(1);
+		assertThat(machine.getExtendedState().getVariables()).containsEntry("bar", 2).containsEntry("baz", 3);
+		ctx.close();
+	}
+
 	private static class LoggingAction implements Action<TestStates, TestEvents> {
 
 		private static final Log log = LogFactory.getLog(LoggingAction.class);
@@ -142,7 +170,7 @@ public class ListenerTests extends AbstractStateMachineTests {
 		CountDownLatch stopLatch = new CountDownLatch(1);
 		ArrayList<Holder2> extended = new ArrayList<Holder2>();
 		CountDownLatch extendedLatch = new CountDownLatch(1);
-
+		volatile int extendedContexts = 0;
 
 		@Override
 		public void stateChanged(State<TestStates, TestEvents> from, State<TestStates, TestEvents> to) {
@@ -215,6 +243,9 @@ public class ListenerTests extends AbstractStateMachineTests {
 
 		@Override
 		public void stateContext(StateContext<TestStates, TestEvents> stateContext) {
+			if (stateContext.getStage() == StateContext.Stage.EXTENDED_STATE_CHANGED) {
+				extendedContexts++;
+			}
 		}
 
 	}
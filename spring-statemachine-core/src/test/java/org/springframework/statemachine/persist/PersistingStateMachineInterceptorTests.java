@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.persist;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doStartAndAssert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineContext;
+import org.springframework.statemachine.StateMachineEventResult.ResultType;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.support.StateMachineInterceptor;
+
+import reactor.core.publisher.Mono;
+
+public class PersistingStateMachineInterceptorTests {
+
+	@Test
+	public void testConcurrentDeferralsCoalesceWrites() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		BlockingPersister persister = new BlockingPersister(writing, release);
+		StateMachine<String, String> machine = buildMachine(persister, "m1");
+		persister.contexts.clear();
+		persister.block = true;
+
+		Thread first = new Thread(() -> sendDeferred(machine));
+		first.start();
+		assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+		// deferred while a first write is in progress
+		for (int i = 0; i < 10; i++) {
+			sendDeferred(machine);
+		}
+		release.countDown();
+		first.join();
+
+		// one write for a first event and one for all events deferred meanwhile
+		assertThat(persister.contexts).hasSize(2);
+		assertThat(persister.contexts.get(1).getDeferredEvents()).hasSize(11);
+	}
+
+	@Test
+	public void testConcurrentDeferralsOfMachinesWithoutIdAreAllWritten() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		BlockingPersister persister = new BlockingPersister(writing, release);
+		StateMachine<String, String> machine1 = buildMachine(persister, null);
+		StateMachine<String, String> machine2 = buildMachine(persister, null);
+		machine1.getExtendedState().getVariables().put("machine", "m1");
+		machine2.getExtendedState().getVariables().put("machine", "m2");
+		persister.contexts.clear();
+		persister.block = true;
+
+		Thread first = new Thread(() -> sendDeferred(machine1));
+		first.start();
+		assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+		// other machine is not coalesced into a write in progress
+		Thread second = new Thread(() -> sendDeferred(machine2));
+		second.start();
+		await().until(() -> second.getState() == Thread.State.BLOCKED || second.getState() == Thread.State.TERMINATED);
+		release.countDown();
+		first.join();
+		second.join();
+
+		assertThat(persister.contexts).hasSize(2);
+		assertThat(persister.contexts).anySatisfy(context -> {
+			assertThat(context.getExtendedState().getVariables()).containsEntry("machine", "m2");
+			assertThat(context.getDeferredEvents()).hasSize(1);
+		});
+	}
+
+	private static StateMachine<String, String> buildMachine(BlockingPersister persister, String machineId)
+			throws Exception {
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.machineId(machineId)
+				.and()
+			.withPersistence()
+				.runtimePersister(persister);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S1", "E2")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2")
+				.event("E1");
+		StateMachine<String, String> machine = builder.build();
+		doStartAndAssert(machine);
+		return machine;
+	}
+
+	private static void sendDeferred(StateMachine<String, String> machine) {
+		assertThat(machine.sendEvent(Mono.just(MessageBuilder.withPayload("E2").build())).blockLast().getResultType())
+				.isEqualTo(ResultType.DEFERRED);
+	}
+
+	private static class BlockingPersister extends AbstractPersistingStateMachineInterceptor<String, String, String>
+			implements StateMachineRuntimePersister<String, String, String> {
+
+		final List<StateMachineContext<String, String>> contexts = new ArrayList<>();
+		final CountDownLatch writing;
+		final CountDownLatch release;
+		volatile boolean block;
+
+		BlockingPersister(CountDownLatch writing, CountDownLatch release) {
+			this.writing = writing;
+			this.release = release;
+		}
+
+		@Override
+		public StateMachineInterceptor<String, String> getInterceptor() {
+			return this;
+		}
+
+		@Override
+		public synchronized void write(StateMachineContext<String, String> context, String contextObj) throws Exception {
+			contexts.add(context);
+			if (block) {
+				block = false;
+				writing.countDown();
+				release.await(5, TimeUnit.SECONDS);
+			}
+		}
+
+		@Override
+		public StateMachineContext<String, String> read(String contextObj) throws Exception {
+			return null;
+		}
+	}
+}
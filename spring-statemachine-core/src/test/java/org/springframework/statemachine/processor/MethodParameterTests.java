@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,7 +30,9 @@ import org.springframework.statemachine.ExtendedState;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.StateContext.Stage;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.annotation.EventHeader;
 import org.springframework.statemachine.annotation.EventHeaders;
+import org.springframework.statemachine.annotation.ExtendedStateVariable;
 import org.springframework.statemachine.annotation.OnTransition;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.support.DefaultExtendedState;
@@ -70,6 +72,48 @@ public class MethodParameterTests {
 		handler.handle(runtime);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testHeadersAndVariablesWithAndWithoutConversion() {
+		Bean2 bean2 = new Bean2();
+		Method method = ReflectionUtils.findMethod(Bean2.class, "onTransition", String.class, long.class, Integer.class);
+		OnTransition annotation = AnnotationUtils.findAnnotation(method, OnTransition.class);
+		StateMachineHandler<OnTransition, String, String> handler = new StateMachineHandler<OnTransition, String, String>(Bean2.class,
+				bean2, method, annotation, annotation);
+		ExtendedState extendedState = new DefaultExtendedState();
+		extendedState.getVariables().put("var", 1);
+
+		// arguments assignable as is
+		Message<String> message = MessageBuilder.withPayload("E1").setHeader("foo", "bar").setHeader("count", 2L).build();
+		handler.handle(() -> new DefaultStateContext<String, String>(Stage.TRANSITION, message, null, extendedState,
+				mock(Transition.class), mock(StateMachine.class), null, null, null));
+		assertThat(bean2.foo).isEqualTo("bar");
+		assertThat(bean2.count).isEqualTo(2L);
+		assertThat(bean2.var).isEqualTo(1);
+
+		// count needs a conversion
+		Message<String> message2 = MessageBuilder.withPayload("E1").setHeader("foo", "bar2").setHeader("count", "3").build();
+		handler.handle(() -> new DefaultStateContext<String, String>(Stage.TRANSITION, message2, null, extendedState,
+				mock(Transition.class), mock(StateMachine.class), null, null, null));
+		assertThat(bean2.foo).isEqualTo("bar2");
+		assertThat(bean2.count).isEqualTo(3L);
+	}
+
+	public static class Bean2 {
+
+		String foo;
+		long count;
+		Integer var;
+
+		@OnTransition
+		public void onTransition(@EventHeader("foo") String foo, @EventHeader("count") long count,
+				@ExtendedStateVariable("var") Integer var) {
+			this.foo = foo;
+			this.count = count;
+			this.var = var;
+		}
+	}
+
 	public static class Bean1 {
 
 		@OnTransition
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2020 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,8 @@ import org.springframework.statemachine.config.EnableStateMachine;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
+import org.springframework.statemachine.config.configuration.StateMachineHandlerApplicationListener;
+import org.springframework.statemachine.state.ObjectState;
 import org.springframework.transaction.annotation.Transactional;
 
 public class StateMachineAnnotationPostProcessorTests extends AbstractStateMachineTests {
@@ -55,6 +57,28 @@ public class StateMachineAnnotationPostProcessorTests extends AbstractStateMachi
 		assertThat(context.getBeansOfType(StateMachineHandler.class)).hasSize(1);
 	}
 
+	@Test
+	public void testSharedHandlerRegistry() {
+		context.register(Config1.class, BeanConfig1.class);
+		context.refresh();
+		StateMachineHandlerApplicationListener listener = context.getBean(StateMachineHandlerApplicationListener.BEAN_NAME,
+				StateMachineHandlerApplicationListener.class);
+		StateMachineHandlerRegistry registry = listener.getHandlerRegistry(context.getBeanFactory());
+		assertThat(listener.getHandlerRegistry(context.getBeanFactory())).isSameAs(registry);
+
+		// unknown machine falls back to default name
+		assertThat(registry.getHandlers(OnTransition.class, "fooMachine")).hasSize(2);
+		assertThat(registry.getHandlers(OnTransition.class, "")).isEmpty();
+
+		ObjectState<TestStates, TestEvents> s1 = new ObjectState<>(TestStates.S1);
+		ObjectState<TestStates, TestEvents> s2 = new ObjectState<>(TestStates.S2);
+		ObjectState<TestStates, TestEvents> s3 = new ObjectState<>(TestStates.S3);
+		assertThat(registry.getHandlers(OnTransition.class, "fooMachine", s1, s2)).hasSize(2);
+		assertThat(registry.getHandlers(OnTransition.class, "fooMachine", s2, s3)).hasSize(1);
+		assertThat(registry.getHandlers(OnTransition.class, "fooMachine", s2, s3))
+				.isSameAs(registry.getHandlers(OnTransition.class, "fooMachine", s2, s3));
+	}
+
 	@WithStateMachine
 	static class Bean1 {
 
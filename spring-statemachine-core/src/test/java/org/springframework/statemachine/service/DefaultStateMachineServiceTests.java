@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 the original author or authors.
+ * Copyright 2017-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,22 +16,33 @@
 package org.springframework.statemachine.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.statemachine.TestUtils.doSendEventAndConsumeAll;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.context.Lifecycle;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.statemachine.AbstractStateMachineTests;
 import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineContext;
 import org.springframework.statemachine.StateMachineSystemConstants;
 import org.springframework.statemachine.TestUtils;
 import org.springframework.statemachine.config.EnableStateMachineFactory;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
 import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.config.builders.StateMachineConfigurationConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
+import org.springframework.statemachine.persist.AbstractPersistingStateMachineInterceptor;
+import org.springframework.statemachine.persist.StateMachineRuntimePersister;
+import org.springframework.statemachine.support.StateMachineInterceptor;
 
 /**
  * Tests for {@link DefaultStateMachineService}.
@@ -117,6 +128,225 @@ public class DefaultStateMachineServiceTests extends AbstractStateMachineTests {
 		assertThat(machines).isEmpty();
 	}
 
+	@Test
+	public void testReleasedMachineTimerActivates() {
+		context.register(Config2.class);
+		context.refresh();
+		StateMachineFactory<TestStates, TestEvents> stateMachineFactory =
+				context.getBean(StateMachineSystemConstants.DEFAULT_ID_STATEMACHINEFACTORY, StateMachineFactory.class);
+		InMemoryRuntimePersister persister = context.getBean(InMemoryRuntimePersister.class);
+		InMemoryStateMachineTimerStore timerStore = new InMemoryStateMachineTimerStore();
+
+		DefaultStateMachineService<TestStates, TestEvents> service = new DefaultStateMachineService<>(stateMachineFactory,
+				persister);
+		service.setTimerStore(timerStore);
+		StateMachine<TestStates,TestEvents> machine1 = service.acquireStateMachine("m1", true);
+		assertThat(machine1.getState().getId()).isEqualTo(TestStates.S1);
+		assertThat(persister.contexts.get("m1").getTimerDeadlines()).hasSize(1);
+
+		service.releaseStateMachine("m1");
+		assertThat(service.hasStateMachine("m1")).isFalse();
+		assertThat(timerStore.findDue(Long.MAX_VALUE, 10)).hasSize(1);
+		assertThat(service.activateDueTimers(10)).isEqualTo(0);
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> service.activateDueTimers(10) == 1);
+		assertThat(service.hasStateMachine("m1")).isTrue();
+		assertThat(timerStore.findDue(Long.MAX_VALUE, 10)).isEmpty();
+		StateMachine<TestStates,TestEvents> machine2 = service.acquireStateMachine("m1");
+		await().untilAsserted(() -> assertThat(machine2.getState().getId()).isEqualTo(TestStates.S2));
+	}
+
+	@Test
+	public void testRuntimePersisterSavesTimersOfMachineNotReleased() {
+		context.register(Config2.class);
+		context.refresh();
+		StateMachineFactory<TestStates, TestEvents> stateMachineFactory =
+				context.getBean(StateMachineSystemConstants.DEFAULT_ID_STATEMACHINEFACTORY, StateMachineFactory.class);
+		InMemoryRuntimePersister persister = context.getBean(InMemoryRuntimePersister.class);
+		InMemoryStateMachineTimerStore timerStore = new InMemoryStateMachineTimerStore();
+		persister.setTimerStore(timerStore);
+
+		DefaultStateMachineService<TestStates, TestEvents> service = new DefaultStateMachineService<>(stateMachineFactory,
+				persister);
+		service.setTimerStore(timerStore);
+		StateMachine<TestStates,TestEvents> machine1 = service.acquireStateMachine("m1", true);
+		assertThat(machine1.getState().getId()).isEqualTo(TestStates.S1);
+		assertThat(timerStore.findDue(Long.MAX_VALUE, 10)).hasSize(1);
+
+		// machine is never released, like if a process went away
+		machine1.stopReactively().block();
+		DefaultStateMachineService<TestStates, TestEvents> service2 = new DefaultStateMachineService<>(stateMachineFactory,
+				persister);
+		service2.setTimerStore(timerStore);
+		await().atMost(Duration.ofSeconds(5)).until(() -> service2.activateDueTimers(10) == 1);
+		StateMachine<TestStates,TestEvents> machine2 = service2.acquireStateMachine("m1");
+		await().untilAsserted(() -> assertThat(machine2.getState().getId()).isEqualTo(TestStates.S2));
+		// state change wrote a context without armed timers
+		assertThat(timerStore.findDue(Long.MAX_VALUE, 10)).isEmpty();
+	}
+
+	@Test
+	public void testDueTimerScanKeepsOtherTimersOfMachineInMemory() {
+		context.register(Config1.class);
+		context.refresh();
+		StateMachineFactory<TestStates, TestEvents> stateMachineFactory =
+				context.getBean(StateMachineSystemConstants.DEFAULT_ID_STATEMACHINEFACTORY, StateMachineFactory.class);
+		InMemoryStateMachineTimerStore timerStore = new InMemoryStateMachineTimerStore();
+
+		DefaultStateMachineService<TestStates, TestEvents> service = new DefaultStateMachineService<>(stateMachineFactory);
+		service.setTimerStore(timerStore);
+		service.acquireStateMachine("m1", true);
+		// timers saved by a persisting interceptor of a machine in memory
+		long now = System.currentTimeMillis();
+		Map<String, Long> deadlines = new HashMap<>();
+		deadlines.put("t1", now - 1000);
+		deadlines.put("t2", now + 500);
+		timerStore.save("m1", deadlines);
+
+		assertThat(service.activateDueTimers(10)).isEqualTo(0);
+		assertThat(timerStore.findDue(Long.MAX_VALUE, 10)).containsExactly(new StateMachineTimer("m1", "t2", now + 500));
+
+		// process went away after a scan, other timers still activate a machine
+		DefaultStateMachineService<TestStates, TestEvents> service2 = new DefaultStateMachineService<>(stateMachineFactory);
+		service2.setTimerStore(timerStore);
+		await().atMost(Duration.ofSeconds(5)).until(() -> service2.activateDueTimers(10) == 1);
+		assertThat(service2.hasStateMachine("m1")).isTrue();
+		assertThat(timerStore.findDue(Long.MAX_VALUE, 10)).isEmpty();
+	}
+
+	@Test
+	public void testDueTimerScanKeepsTimerSavedAgain() {
+		InMemoryStateMachineTimerStore timerStore = new InMemoryStateMachineTimerStore();
+		timerStore.save("m1", Collections.singletonMap("t1", 100L));
+		StateMachineTimer due = timerStore.findDue(100L, 10).get(0);
+		// interceptor saved a new deadline after a scan
+		timerStore.save("m1", Collections.singletonMap("t1", 200L));
+		timerStore.remove(due);
+		assertThat(timerStore.findDue(Long.MAX_VALUE, 10)).containsExactly(new StateMachineTimer("m1", "t1", 200L));
+		timerStore.remove(new StateMachineTimer("m1", "t1", 200L));
+		assertThat(timerStore.findDue(Long.MAX_VALUE, 10)).isEmpty();
+	}
+
+	@Test
+	public void testReleasedMachineKeepsDeferredEvents() {
+		context.register(Config3.class);
+		context.refresh();
+		StateMachineFactory<TestStates, TestEvents> stateMachineFactory =
+				context.getBean(StateMachineSystemConstants.DEFAULT_ID_STATEMACHINEFACTORY, StateMachineFactory.class);
+		InMemoryRuntimePersister persister = context.getBean(InMemoryRuntimePersister.class);
+
+		DefaultStateMachineService<TestStates, TestEvents> service = new DefaultStateMachineService<>(stateMachineFactory,
+				persister);
+		StateMachine<TestStates,TestEvents> machine1 = service.acquireStateMachine("m1", true);
+		doSendEventAndConsumeAll(machine1, TestEvents.E2);
+		assertThat(machine1.getState().getId()).isEqualTo(TestStates.S1);
+		assertThat(persister.contexts.get("m1").getDeferredEvents()).hasSize(1);
+		service.releaseStateMachine("m1");
+
+		StateMachine<TestStates,TestEvents> machine2 = service.acquireStateMachine("m1", true);
+		assertThat(machine2).isNotSameAs(machine1);
+		assertThat(machine2.getState().getId()).isEqualTo(TestStates.S1);
+		doSendEventAndConsumeAll(machine2, TestEvents.E1);
+		await().untilAsserted(() -> assertThat(machine2.getState().getId()).isEqualTo(TestStates.S3));
+	}
+
+	@Configuration
+	@EnableStateMachineFactory
+	static class Config2 extends EnumStateMachineConfigurerAdapter<TestStates, TestEvents> {
+
+		@Override
+		public void configure(StateMachineConfigurationConfigurer<TestStates, TestEvents> config) throws Exception {
+			config
+				.withPersistence()
+					.runtimePersister(inMemoryRuntimePersister());
+		}
+
+		@Override
+		public void configure(StateMachineStateConfigurer<TestStates, TestEvents> states) throws Exception {
+			states
+				.withStates()
+					.initial(TestStates.S1)
+					.state(TestStates.S1)
+					.state(TestStates.S2);
+		}
+
+		@Override
+		public void configure(StateMachineTransitionConfigurer<TestStates, TestEvents> transitions) throws Exception {
+			transitions
+				.withExternal()
+					.source(TestStates.S1)
+					.target(TestStates.S2)
+					.timerOnce(1000);
+		}
+
+		@Bean
+		public InMemoryRuntimePersister inMemoryRuntimePersister() {
+			return new InMemoryRuntimePersister();
+		}
+	}
+
+	@Configuration
+	@EnableStateMachineFactory
+	static class Config3 extends EnumStateMachineConfigurerAdapter<TestStates, TestEvents> {
+
+		@Override
+		public void configure(StateMachineConfigurationConfigurer<TestStates, TestEvents> config) throws Exception {
+			config
+				.withPersistence()
+					.runtimePersister(inMemoryRuntimePersister());
+		}
+
+		@Override
+		public void configure(StateMachineStateConfigurer<TestStates, TestEvents> states) throws Exception {
+			states
+				.withStates()
+					.initial(TestStates.S1)
+					.state(TestStates.S1, TestEvents.E2)
+					.state(TestStates.S2)
+					.state(TestStates.S3);
+		}
+
+		@Override
+		public void configure(StateMachineTransitionConfigurer<TestStates, TestEvents> transitions) throws Exception {
+			transitions
+				.withExternal()
+					.source(TestStates.S1)
+					.target(TestStates.S2)
+					.event(TestEvents.E1)
+					.and()
+				.withExternal()
+					.source(TestStates.S2)
+					.target(TestStates.S3)
+					.event(TestEvents.E2);
+		}
+
+		@Bean
+		public InMemoryRuntimePersister inMemoryRuntimePersister() {
+			return new InMemoryRuntimePersister();
+		}
+	}
+
+	static class InMemoryRuntimePersister extends AbstractPersistingStateMachineInterceptor<TestStates, TestEvents, String>
+			implements StateMachineRuntimePersister<TestStates, TestEvents, String> {
+
+		final Map<String, StateMachineContext<TestStates, TestEvents>> contexts = new HashMap<>();
+
+		@Override
+		public StateMachineInterceptor<TestStates, TestEvents> getInterceptor() {
+			return this;
+		}
+
+		@Override
+		public void write(StateMachineContext<TestStates, TestEvents> context, String contextObj) throws Exception {
+			contexts.put(contextObj, context);
+		}
+
+		@Override
+		public StateMachineContext<TestStates, TestEvents> read(String contextObj) throws Exception {
+			return contexts.get(contextObj);
+		}
+	}
+
 	@Configuration
 	@EnableStateMachineFactory
 	static class Config1 extends EnumStateMachineConfigurerAdapter<TestStates, TestEvents> {
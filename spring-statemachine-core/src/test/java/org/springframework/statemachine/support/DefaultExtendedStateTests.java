@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.ExtendedState;
+import org.springframework.statemachine.ExtendedState.ExtendedStateChangeListener;
+import org.springframework.statemachine.ExtendedStateKey;
+import org.springframework.statemachine.ExtendedStateKey.Kind;
+import org.springframework.statemachine.ExtendedStateKeys;
+
+public class DefaultExtendedStateTests {
+
+	@Test
+	public void testTypedVariables() {
+		ExtendedStateKeys keys = new ExtendedStateKeys();
+		ExtendedStateKey<Integer> count = keys.intKey("count");
+		ExtendedStateKey<Long> amount = keys.longKey("amount");
+		ExtendedStateKey<Double> ratio = keys.doubleKey("ratio");
+		ExtendedStateKey<Boolean> flag = keys.booleanKey("flag");
+		assertThat(keys.intKey("count")).isSameAs(count);
+		assertThatThrownBy(() -> keys.longKey("count")).isInstanceOf(IllegalArgumentException.class);
+		// keys are scoped to a model, same name can be declared differently elsewhere
+		assertThat(new ExtendedStateKeys().longKey("count").getKind()).isEqualTo(Kind.LONG);
+
+		DefaultExtendedState extendedState = new DefaultExtendedState(keys);
+		assertThat(extendedState.getInt(count)).isEqualTo(0);
+		assertThat(extendedState.getBoolean(flag)).isFalse();
+
+		extendedState.setInt(count, extendedState.getInt(count) + 1);
+		extendedState.setLong(amount, 10L);
+		extendedState.setDouble(ratio, 1.5d);
+		extendedState.setBoolean(flag, true);
+		extendedState.getVariables().put("foo", "bar");
+		assertThat(extendedState.getInt(count)).isEqualTo(1);
+		assertThat(extendedState.getLong(amount)).isEqualTo(10L);
+		assertThat(extendedState.getDouble(ratio)).isEqualTo(1.5d);
+		assertThat(extendedState.getBoolean(flag)).isTrue();
+
+		// typed variables are visible through variables map
+		assertThat(extendedState.getVariables()).hasSize(5).containsEntry("count", 1).containsEntry("amount", 10L)
+				.containsEntry("ratio", 1.5d).containsEntry("flag", true).containsEntry("foo", "bar");
+		assertThat(extendedState.get("count", Integer.class)).isEqualTo(1);
+		extendedState.getVariables().put("count", 5);
+		assertThat(extendedState.getInt(count)).isEqualTo(5);
+		extendedState.getVariables().remove("flag");
+		assertThat(extendedState.getBoolean(flag)).isFalse();
+		assertThat(extendedState.getVariables()).doesNotContainKey("flag");
+
+		DefaultExtendedState copy = new DefaultExtendedState(keys);
+		copy.getVariables().putAll(extendedState.getVariables());
+		assertThat(copy).isEqualTo(extendedState);
+		assertThat(copy.getLong(amount)).isEqualTo(10L);
+		copy.getVariables().clear();
+		assertThat(copy.getVariables()).isEmpty();
+		assertThat(copy.getLong(amount)).isEqualTo(0L);
+	}
+
+	@Test
+	public void testTypedVariablesWithMismatchingValues() {
+		ExtendedStateKeys keys = new ExtendedStateKeys();
+		ExtendedStateKey<Integer> count = keys.intKey("count");
+		DefaultExtendedState extendedState = new DefaultExtendedState(keys);
+
+		// value not fitting a slot is kept as an object variable
+		extendedState.getVariables().put("count", 7L);
+		assertThat(extendedState.getVariables()).containsEntry("count", 7L).hasSize(1);
+		assertThat(extendedState.getInt(count)).isEqualTo(7);
+
+		// and moved into a slot once set through a key
+		extendedState.setInt(count, 8);
+		assertThat(extendedState.getVariables()).containsEntry("count", 8).hasSize(1);
+
+		// key declared elsewhere resolves by name and kind
+		ExtendedStateKeys otherKeys = new ExtendedStateKeys();
+		assertThat(extendedState.getInt(otherKeys.intKey("count"))).isEqualTo(8);
+		ExtendedStateKey<Long> unknown = otherKeys.longKey("unknown");
+		extendedState.setLong(unknown, 3L);
+		assertThat(extendedState.getLong(unknown)).isEqualTo(3L);
+		assertThat(extendedState.getVariables()).containsEntry("unknown", 3L).hasSize(2);
+	}
+
+	@Test
+	public void testTypedVariableChangesNotified() {
+		ExtendedStateKey<Integer> count = new ExtendedStateKeys().intKey("count");
+		List<Object> changes = new ArrayList<>();
+		DefaultExtendedState extendedState = new DefaultExtendedState(count.getKeys());
+		extendedState.setExtendedStateChangeListener((key, value) -> changes.add(key + "=" + value));
+
+		extendedState.setInt(count, 1);
+		extendedState.setInt(count, 1);
+		extendedState.setInt(count, 2);
+		extendedState.getVariables().put("foo", "bar");
+		extendedState.getVariables().put("count", 3);
+		assertThat(changes).containsExactly("count=1", "count=2", "foo=bar", "count=3");
+
+		changes.clear();
+		extendedState.update(variables -> {
+			variables.put("count", 4);
+			variables.put("count", 5);
+		});
+		assertThat(changes).containsExactly("count=5");
+
+		changes.clear();
+		extendedState.setExtendedStateChangeListener(new ExtendedStateChangeListener() {
+
+			@Override
+			public void changed(Object key, Object value) {
+				changes.add(key + "=" + value);
+			}
+
+			@Override
+			public boolean isNotificationRequired() {
+				return false;
+			}
+		});
+		extendedState.setInt(count, 6);
+		extendedState.getVariables().put("foo", "jee");
+		assertThat(changes).isEmpty();
+		assertThat(extendedState.getInt(count)).isEqualTo(6);
+	}
+
+	@Test
+	public void testTypedVariablesFallbackToMap() {
+		ExtendedStateKey<Long> amount = new ExtendedStateKeys().longKey("fallbackAmount");
+		ExtendedState extendedState = new ExtendedState() {
+
+			private final Map<Object, Object> variables = new HashMap<>();
+
+			@Override
+			public Map<Object, Object> getVariables() {
+				return variables;
+			}
+
+			@Override
+			public <T> T get(Object key, Class<T> type) {
+				return type.cast(variables.get(key));
+			}
+
+			@Override
+			public void setExtendedStateChangeListener(ExtendedStateChangeListener listener) {
+			}
+		};
+		extendedState.setLong(amount, 5L);
+		assertThat(extendedState.getVariables()).containsEntry("fallbackAmount", 5L);
+		assertThat(extendedState.getLong(amount)).isEqualTo(5L);
+	}
+}
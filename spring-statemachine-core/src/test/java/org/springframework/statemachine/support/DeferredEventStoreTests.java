@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+public class DeferredEventStoreTests {
+
+	@Test
+	public void testReplayOnlyNotDeferredKeepingOrder() {
+		DeferredEventStore<String> store = new DeferredEventStore<>();
+		Message<String> e1a = MessageBuilder.withPayload("E1").build();
+		Message<String> e2a = MessageBuilder.withPayload("E2").build();
+		Message<String> e3 = MessageBuilder.withPayload("E3").build();
+		Message<String> e1b = MessageBuilder.withPayload("E1").build();
+		Message<String> e2b = MessageBuilder.withPayload("E2").build();
+		store.add(e1a);
+		store.add(e2a);
+		store.add(e3);
+		store.add(e1b);
+		store.add(e2b);
+		assertThat(store.size()).isEqualTo(5);
+
+		// deferral is asked once per event type
+		AtomicInteger checks = new AtomicInteger();
+		assertThat(store.getReplayable(m -> checks.incrementAndGet() > 0 && m.getPayload().equals("E3")))
+				.containsExactly(e1a, e2a, e1b, e2b);
+		assertThat(checks.get()).isEqualTo(3);
+
+		assertThat(store.remove(e2a)).isTrue();
+		assertThat(store.remove(e2a)).isFalse();
+		assertThat(store.remove(e2b)).isTrue();
+		assertThat(store.getMessages()).containsExactly(e1a, e3, e1b);
+		assertThat(store.getReplayable(m -> true)).isEmpty();
+		assertThat(store.size()).isEqualTo(3);
+	}
+
+	@Test
+	public void testOverflowPolicies() {
+		Message<String> e1 = MessageBuilder.withPayload("E1").build();
+		Message<String> e2 = MessageBuilder.withPayload("E2").build();
+		Message<String> e3 = MessageBuilder.withPayload("E3").build();
+
+		DeferredEventStore<String> newest = new DeferredEventStore<>(2, DeferredEventOverflowPolicy.DROP_NEWEST);
+		assertThat(newest.add(e1)).isTrue();
+		assertThat(newest.add(e2)).isTrue();
+		assertThat(newest.add(e3)).isFalse();
+		assertThat(newest.getMessages()).containsExactly(e1, e2);
+
+		DeferredEventStore<String> oldest = new DeferredEventStore<>(2, DeferredEventOverflowPolicy.DROP_OLDEST);
+		assertThat(oldest.add(e1)).isTrue();
+		assertThat(oldest.add(e2)).isTrue();
+		assertThat(oldest.add(e3)).isTrue();
+		assertThat(oldest.getMessages()).containsExactly(e2, e3);
+		assertThat(oldest.size()).isEqualTo(2);
+	}
+}
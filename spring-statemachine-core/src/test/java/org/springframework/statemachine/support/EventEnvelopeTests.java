@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateContext.Stage;
+import org.springframework.statemachine.StateMachineSystemConstants;
+
+public class EventEnvelopeTests {
+
+	@Test
+	public void testHeadersWithoutCopy() {
+		UUID id = UUID.randomUUID();
+		Message<String> message = MessageBuilder.withPayload("E1").setHeader("foo", "bar").build();
+		EventEnvelope<String> envelope = EventEnvelope.wrap(message, id);
+
+		assertThat(envelope.getPayload()).isEqualTo("E1");
+		assertThat(envelope.getMessage()).isSameAs(message);
+		assertThat(envelope.getHeader("foo")).isEqualTo("bar");
+		assertThat(EventEnvelope.getMachineIdentifier(envelope)).isEqualTo(id);
+		assertThat(EventEnvelope.getMachineIdentifier(message)).isNull();
+
+		assertThat(envelope.getHeaders()).containsEntry("foo", "bar");
+		assertThat(envelope.getHeaders()).containsEntry(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, id);
+		assertThat(envelope.getHeaders()).isSameAs(envelope.getHeaders());
+	}
+
+	@Test
+	public void testRewrapKeepsOriginalMessage() {
+		Message<String> message = MessageBuilder.withPayload("E1").build();
+		UUID id = UUID.randomUUID();
+		EventEnvelope<String> envelope = EventEnvelope.wrap(EventEnvelope.wrap(message, UUID.randomUUID()), id);
+		assertThat(envelope.getMessage()).isSameAs(message);
+		assertThat(envelope.getMachineId()).isEqualTo(id);
+	}
+
+	@Test
+	public void testStateContextLazyHeaders() {
+		UUID id = UUID.randomUUID();
+		Message<String> message = MessageBuilder.withPayload("E1").setHeader("foo", "bar").build();
+		StateContext<String, String> context = new DefaultStateContext<>(Stage.TRANSITION, message, null, null, null,
+				id);
+
+		assertThat(context.getMessage()).isSameAs(message);
+		assertThat(context.getMessageHeader("foo")).isEqualTo("bar");
+		assertThat(context.getMessageHeader(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER)).isEqualTo(id);
+		assertThat(context.getMessageHeaders()).containsEntry("foo", "bar");
+		assertThat(context.getMessageHeaders()).containsEntry(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, id);
+
+		UUID origin = UUID.randomUUID();
+		context = new DefaultStateContext<>(Stage.TRANSITION, EventEnvelope.wrap(message, origin), null, null, null, id);
+		assertThat(context.getMessageHeader(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER)).isEqualTo(origin);
+		assertThat(context.getMessageHeaders()).containsEntry(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, origin);
+
+		context = new DefaultStateContext<>(Stage.TRANSITION, null, null, null, null, id);
+		assertThat(context.getMessageHeaders()).containsEntry(StateMachineSystemConstants.STATEMACHINE_IDENTIFIER, id);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2021 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,7 +26,9 @@ import java.util.UUID;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.messaging.Message;
@@ -68,6 +70,30 @@ public class StateContextExpressionMethodsTests {
 		assertThat(methods.getValue(parser.parseExpression("transition.source.id.toString().equals('S1')"), stateContext, Boolean.class)).isTrue();
 	}
 
+	@Test
+	public void testSharedDelegatesWithCachedExpressions() {
+		SpelExpressionCache cache = new SpelExpressionCache(SpelCompilerMode.IMMEDIATE);
+		assertThat(cache.getCompilerMode()).isEqualTo(SpelCompilerMode.IMMEDIATE);
+		Expression expression = cache.getExpression("extendedState.variables.get('boolean1')");
+		assertThat(cache.getExpression("extendedState.variables.get('boolean1')")).isSameAs(expression);
+
+		StateContextExpressionMethods methods = new StateContextExpressionMethods();
+		StateContext<SpelStates, SpelEvents> stateContext = mockStateContext(null);
+		for (int i = 0; i < 3; i++) {
+			assertThat(methods.getValue(expression, stateContext, Boolean.class)).isTrue();
+		}
+	}
+
+	@Test
+	public void testVariablesDoNotLeakBetweenEvaluations() {
+		ExpressionParser parser = new SpelExpressionParser();
+		StateContextExpressionMethods methods = new StateContextExpressionMethods();
+		StateContext<SpelStates, SpelEvents> stateContext = mockStateContext(null);
+
+		assertThat(methods.getValue(parser.parseExpression("#leaked = true"), stateContext, Boolean.class)).isTrue();
+		assertThat(methods.getValue(parser.parseExpression("#leaked == null"), stateContext, Boolean.class)).isTrue();
+	}
+
 	@Test
 	public void testSendEvent() {
 		ExpressionParser parser = new SpelExpressionParser();
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.trigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.config.StateMachineBuilder.Builder;
+import org.springframework.statemachine.trigger.TimerService.Timeout;
+
+public class TimerServiceTests {
+
+	@Test
+	public void testManualOneShotAndPeriodic() {
+		ManualTimerService service = new ManualTimerService();
+		AtomicInteger once = new AtomicInteger();
+		AtomicInteger periodic = new AtomicInteger();
+		service.schedule(once::incrementAndGet, 100, 0, TimeUnit.MILLISECONDS);
+		Timeout timeout = service.schedule(periodic::incrementAndGet, 0, 50, TimeUnit.MILLISECONDS);
+
+		service.advance(99, TimeUnit.MILLISECONDS);
+		assertThat(once.get()).isEqualTo(0);
+		assertThat(periodic.get()).isEqualTo(2);
+
+		service.advance(1, TimeUnit.MILLISECONDS);
+		assertThat(once.get()).isEqualTo(1);
+		assertThat(periodic.get()).isEqualTo(3);
+		assertThat(service.nanoTime()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+		timeout.cancel();
+		service.advance(1, TimeUnit.SECONDS);
+		assertThat(once.get()).isEqualTo(1);
+		assertThat(periodic.get()).isEqualTo(3);
+		assertThat(service.getPendingTimeouts()).isEqualTo(0);
+	}
+
+	@Test
+	public void testHashedWheel() throws Exception {
+		HashedWheelTimerService service = new HashedWheelTimerService(5, TimeUnit.MILLISECONDS, 8);
+		try {
+			CountDownLatch once = new CountDownLatch(1);
+			CountDownLatch periodic = new CountDownLatch(3);
+			AtomicInteger cancelled = new AtomicInteger();
+			// longer than one rotation of a wheel
+			service.schedule(once::countDown, 100, 0, TimeUnit.MILLISECONDS);
+			service.schedule(periodic::countDown, 0, 10, TimeUnit.MILLISECONDS);
+			service.schedule(cancelled::incrementAndGet, 50, 0, TimeUnit.MILLISECONDS).cancel();
+
+			assertThat(once.await(2, TimeUnit.SECONDS)).isTrue();
+			assertThat(periodic.await(2, TimeUnit.SECONDS)).isTrue();
+			assertThat(cancelled.get()).isEqualTo(0);
+			assertThat(service.getPendingTimeouts()).isEqualTo(1);
+		} finally {
+			service.stop();
+		}
+	}
+
+	@Test
+	public void testHashedWheelConcurrentCancel() throws Exception {
+		HashedWheelTimerService service = new HashedWheelTimerService(1, TimeUnit.MILLISECONDS, 8);
+		try {
+			int count = 2000;
+			AtomicIntegerArray fired = new AtomicIntegerArray(count);
+			Timeout[] timeouts = new Timeout[count];
+			for (int i = 0; i < count; i++) {
+				int index = i;
+				timeouts[i] = service.schedule(() -> fired.incrementAndGet(index), i % 20, 0, TimeUnit.MILLISECONDS);
+			}
+			// cancel while a worker is expiring same timeouts
+			Thread[] cancellers = new Thread[4];
+			for (int t = 0; t < cancellers.length; t++) {
+				int offset = t;
+				cancellers[t] = new Thread(() -> {
+					for (int i = offset; i < count; i += cancellers.length) {
+						timeouts[i].cancel();
+					}
+				});
+				cancellers[t].start();
+			}
+			for (Thread canceller : cancellers) {
+				canceller.join();
+			}
+
+			await().untilAsserted(() -> assertThat(service.getPendingTimeouts()).isEqualTo(0));
+			Thread.sleep(50);
+			assertThat(service.getPendingTimeouts()).isEqualTo(0);
+			for (int i = 0; i < count; i++) {
+				// a timeout either fired once or was cancelled, never both
+				assertThat(fired.get(i) + (timeouts[i].isCancelled() ? 1 : 0)).isEqualTo(1);
+			}
+		} finally {
+			service.stop();
+		}
+	}
+
+	@Test
+	public void testMachineWithManualTimerService() throws Exception {
+		ManualTimerService service = new ManualTimerService();
+		Builder<String, String> builder = StateMachineBuilder.builder();
+		builder.configureConfiguration()
+			.withConfiguration()
+				.timerService(service);
+		builder.configureStates()
+			.withStates()
+				.initial("S1")
+				.state("S2");
+		builder.configureTransitions()
+			.withExternal()
+				.source("S1").target("S2").timerOnce(1000);
+		StateMachine<String, String> machine = builder.build();
+		machine.startReactively().block();
+
+		service.advance(999, TimeUnit.MILLISECONDS);
+		assertThat(machine.getState().getIds()).containsExactly("S1");
+
+		service.advance(1, TimeUnit.MILLISECONDS);
+		await().untilAsserted(() -> assertThat(machine.getState().getIds()).containsExactly("S2"));
+		assertThat(service.getPendingTimeouts()).isEqualTo(0);
+	}
+}
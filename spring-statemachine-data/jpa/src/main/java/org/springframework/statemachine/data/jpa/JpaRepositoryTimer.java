@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.data.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * JPA entity for a timer deadline of a machine kept in a
+ * {@link JpaStateMachineTimerStore}.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+@Entity
+@Table(name = "state_machine_timer", indexes = {
+		@Index(name = "idx_state_machine_timer_deadline", columnList = "deadline"),
+		@Index(name = "idx_state_machine_timer_machine_id", columnList = "machine_id") })
+public class JpaRepositoryTimer {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	private Long id;
+
+	@Column(name = "machine_id")
+	private String machineId;
+
+	@Column(name = "timer_id")
+	private String timerId;
+
+	@Column(name = "deadline")
+	private long deadline;
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getMachineId() {
+		return machineId;
+	}
+
+	public void setMachineId(String machineId) {
+		this.machineId = machineId;
+	}
+
+	public String getTimerId() {
+		return timerId;
+	}
+
+	public void setTimerId(String timerId) {
+		this.timerId = timerId;
+	}
+
+	public long getDeadline() {
+		return deadline;
+	}
+
+	public void setDeadline(long deadline) {
+		this.deadline = deadline;
+	}
+}
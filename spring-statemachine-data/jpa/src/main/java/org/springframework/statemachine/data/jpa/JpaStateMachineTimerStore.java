@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.data.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.statemachine.service.StateMachineTimer;
+import org.springframework.statemachine.service.StateMachineTimerStore;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+/**
+ * {@code JPA} based implementation of a {@link StateMachineTimerStore}
+ * querying due timers via an index on a deadline column. Timers of a machine
+ * are replaced within a single transaction when used as a bean.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public class JpaStateMachineTimerStore implements StateMachineTimerStore {
+
+	private final JpaTimerRepository jpaTimerRepository;
+
+	/**
+	 * Instantiates a new jpa state machine timer store.
+	 *
+	 * @param jpaTimerRepository the jpa timer repository
+	 */
+	public JpaStateMachineTimerStore(JpaTimerRepository jpaTimerRepository) {
+		Assert.notNull(jpaTimerRepository, "'jpaTimerRepository' must be set");
+		this.jpaTimerRepository = jpaTimerRepository;
+	}
+
+	@Override
+	@Transactional
+	public void save(String machineId, Map<String, Long> deadlines) {
+		jpaTimerRepository.deleteByMachineId(machineId);
+		if (deadlines == null || deadlines.isEmpty()) {
+			return;
+		}
+		List<JpaRepositoryTimer> timers = new ArrayList<>(deadlines.size());
+		for (Map.Entry<String, Long> entry : deadlines.entrySet()) {
+			JpaRepositoryTimer timer = new JpaRepositoryTimer();
+			timer.setMachineId(machineId);
+			timer.setTimerId(entry.getKey());
+			timer.setDeadline(entry.getValue());
+			timers.add(timer);
+		}
+		jpaTimerRepository.saveAll(timers);
+	}
+
+	@Override
+	public void remove(String machineId) {
+		jpaTimerRepository.deleteByMachineId(machineId);
+	}
+
+	@Override
+	public void remove(StateMachineTimer timer) {
+		jpaTimerRepository.deleteByMachineIdAndTimerIdAndDeadline(timer.getMachineId(), timer.getTimerId(),
+				timer.getDeadline());
+	}
+
+	@Override
+	public List<StateMachineTimer> findDue(long time, int limit) {
+		List<StateMachineTimer> due = new ArrayList<>();
+		for (JpaRepositoryTimer timer : jpaTimerRepository.findByDeadlineLessThanEqualOrderByDeadlineAsc(time,
+				PageRequest.of(0, limit))) {
+			due.add(new StateMachineTimer(timer.getMachineId(), timer.getTimerId(), timer.getDeadline()));
+		}
+		return due;
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.data.jpa;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A repository interface for JPA used for timer deadlines.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public interface JpaTimerRepository extends CrudRepository<JpaRepositoryTimer, Long> {
+
+	/**
+	 * Find timers having a deadline at or before a given time.
+	 *
+	 * @param deadline the epoch time in milliseconds
+	 * @param pageable the pageable limiting results
+	 * @return the timers ordered by a deadline
+	 */
+	List<JpaRepositoryTimer> findByDeadlineLessThanEqualOrderByDeadlineAsc(long deadline, Pageable pageable);
+
+	/**
+	 * Delete all timers of a machine.
+	 *
+	 * @param machineId the machine id
+	 */
+	@Transactional
+	void deleteByMachineId(String machineId);
+
+	/**
+	 * Delete a timer of a machine if it still has a given deadline.
+	 *
+	 * @param machineId the machine id
+	 * @param timerId the timer id
+	 * @param deadline the epoch time in milliseconds
+	 */
+	@Transactional
+	void deleteByMachineIdAndTimerIdAndDeadline(String machineId, String timerId, long deadline);
+}
@@ -21,8 +21,11 @@ import static org.springframework.statemachine.TestUtils.doStartAndAssert;
 import static org.springframework.statemachine.TestUtils.resolveMachine;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -46,6 +49,7 @@ import org.springframework.statemachine.data.StateMachineRepository;
 import org.springframework.statemachine.data.StateRepository;
 import org.springframework.statemachine.data.TransitionRepository;
 import org.springframework.statemachine.persist.StateMachineRuntimePersister;
+import org.springframework.statemachine.service.StateMachineTimer;
 import org.springframework.statemachine.transition.TransitionKind;
 
 /**
@@ -169,6 +173,33 @@ public class JpaRepositoryTests extends AbstractRepositoryTests {
 		assertThat(action1.getName()).isEqualTo(action11.getName());
 	}
 
+	@Test
+	public void testTimerStore() {
+		context.register(TestConfig.class);
+		context.refresh();
+
+		JpaStateMachineTimerStore store = new JpaStateMachineTimerStore(context.getBean(JpaTimerRepository.class));
+		Map<String, Long> deadlines1 = new HashMap<>();
+		deadlines1.put("t1", 300L);
+		deadlines1.put("t2", 100L);
+		store.save("machine1", deadlines1);
+		store.save("machine2", Collections.singletonMap("t1", 200L));
+
+		List<StateMachineTimer> due = store.findDue(250L, 10);
+		assertThat(due).containsExactly(new StateMachineTimer("machine1", "t2", 100L),
+				new StateMachineTimer("machine2", "t1", 200L));
+		assertThat(store.findDue(1000L, 1)).hasSize(1);
+
+		store.save("machine1", Collections.singletonMap("t1", 50L));
+		store.remove("machine2");
+		assertThat(store.findDue(1000L, 10)).containsExactly(new StateMachineTimer("machine1", "t1", 50L));
+
+		store.remove(new StateMachineTimer("machine1", "t1", 40L));
+		assertThat(store.findDue(1000L, 10)).hasSize(1);
+		store.remove(new StateMachineTimer("machine1", "t1", 50L));
+		assertThat(store.findDue(1000L, 10)).isEmpty();
+	}
+
 	@Test
 	public void testRepository5() {
 		context.register(TestConfig.class);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2021 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,9 +24,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
-import org.springframework.expression.spel.SpelCompilerMode;
-import org.springframework.expression.spel.SpelParserConfiguration;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.action.Actions;
@@ -48,6 +45,7 @@ import org.springframework.statemachine.guard.Guard;
 import org.springframework.statemachine.guard.Guards;
 import org.springframework.statemachine.guard.SpelExpressionGuard;
 import org.springframework.statemachine.state.PseudoStateKind;
+import org.springframework.statemachine.support.SpelExpressionCache;
 import org.springframework.statemachine.transition.TransitionKind;
 import org.springframework.util.StringUtils;
 
@@ -112,10 +110,7 @@ public class RepositoryStateMachineModelFactory extends AbstractStateMachineMode
 				if (StringUtils.hasText(s.getInitialAction().getName())) {
 					initialAction = resolveAction(s.getInitialAction().getName());
 				} else if (StringUtils.hasText(s.getInitialAction().getSpel())) {
-					SpelExpressionParser parser = new SpelExpressionParser(
-							new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
-
-					initialAction = new SpelExpressionAction<String, String>(parser.parseExpression(s.getInitialAction().getSpel()));
+					initialAction = new SpelExpressionAction<String, String>(SpelExpressionCache.getDefault().getExpression(s.getInitialAction().getSpel()));
 				}
 			}
 			stateData.setInitialAction(initialAction);
@@ -164,10 +159,7 @@ public class RepositoryStateMachineModelFactory extends AbstractStateMachineMode
 					if (StringUtils.hasText(repositoryAction.getName())) {
 						action = resolveAction(repositoryAction.getName());
 					} else if (StringUtils.hasText(repositoryAction.getSpel())) {
-						SpelExpressionParser parser = new SpelExpressionParser(
-								new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
-
-						action = new SpelExpressionAction<String, String>(parser.parseExpression(repositoryAction.getSpel()));
+						action = new SpelExpressionAction<String, String>(SpelExpressionCache.getDefault().getExpression(repositoryAction.getSpel()));
 					}
 					if (action != null) {
 						actions.add(Actions.from(action));
@@ -251,10 +243,7 @@ public class RepositoryStateMachineModelFactory extends AbstractStateMachineMode
 				if (StringUtils.hasText(repositoryAction.getName())) {
 					action = resolveAction(repositoryAction.getName());
 				} else if (StringUtils.hasText(repositoryAction.getSpel())) {
-					SpelExpressionParser parser = new SpelExpressionParser(
-							new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
-
-					action = new SpelExpressionAction<String, String>(parser.parseExpression(repositoryAction.getSpel()));
+					action = new SpelExpressionAction<String, String>(SpelExpressionCache.getDefault().getExpression(repositoryAction.getSpel()));
 				}
 				if (action != null) {
 					stateActions.add(Actions.from(action));
@@ -271,9 +260,7 @@ public class RepositoryStateMachineModelFactory extends AbstractStateMachineMode
 			if (StringUtils.hasText(repositoryGuard.getName())) {
 				guard = resolveGuard(repositoryGuard.getName());
 			} else if (StringUtils.hasText(repositoryGuard.getSpel())) {
-				SpelExpressionParser parser = new SpelExpressionParser(
-						new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
-				guard = new SpelExpressionGuard<>(parser.parseExpression(repositoryGuard.getSpel()));
+				guard = new SpelExpressionGuard<>(SpelExpressionCache.getDefault().getExpression(repositoryGuard.getSpel()));
 			}
 		}
 		return guard;
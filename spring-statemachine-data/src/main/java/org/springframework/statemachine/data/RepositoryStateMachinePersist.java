@@ -110,9 +110,10 @@ public abstract class RepositoryStateMachinePersist<M extends RepositoryStateMac
 								.deserialiseStateMachineContext(repositoryStateMachine.getStateMachineContext()));
 					}
 				}
-				return new DefaultStateMachineContext<S, E>(contexts, context.getState(), context.getEvent(),
-						context.getEventHeaders(), context.getExtendedState(), context.getHistoryStates(),
-						context.getId());
+				return new DefaultStateMachineContext<S, E>(new ArrayList<>(), contexts, context.getState(),
+						context.getEvent(), context.getEventHeaders(), context.getExtendedState(),
+						context.getHistoryStates(), context.getId(), context.getTimerDeadlines(),
+						context.getDeferredEvents());
 			} else {
 				return context;
 			}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.StateMachineContext;
 import org.springframework.statemachine.support.DefaultExtendedState;
 import org.springframework.statemachine.support.DefaultStateMachineContext;
+import org.springframework.statemachine.support.ObservableMap;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
@@ -41,38 +46,194 @@ public class StateMachineContextSerializer<S, E> extends Serializer<StateMachine
 	// NOTE: when structure of this serialisation is changed, see how things are tested
 	//       in StateMachineContextSerializerTests.
 
+	// four byte varint which never starts a context written without a marker
+	// as that starts with a small kryo class id of an event
+	private final static int FORMAT_MARKER = 0x0C5E_4D31;
+	private final static int FORMAT_VERSION = 2;
+	// first version which wrote a marker
+	private final static int FORMAT_VERSION_MARKED = 1;
+	// first version writing variables with compact primitive encoding
+	private final static int FORMAT_VERSION_COMPACT_VARIABLES = 2;
+	// kinds of a written variable, primitive kinds match those of typed keys
+	private final static byte VARIABLE_OBJECT = 0;
+	private final static byte VARIABLE_INT = 1;
+	private final static byte VARIABLE_LONG = 2;
+	private final static byte VARIABLE_DOUBLE = 3;
+	private final static byte VARIABLE_BOOLEAN = 4;
+
 	@Override
 	public void write(Kryo kryo, Output output, StateMachineContext<S, E> context) {
+		// format marker and version go first so that a context can tell how it was
+		// written instead of guessing from remaining bytes, which doesn't work for
+		// child contexts as those are written inline with a parent
+		output.writeVarInt(FORMAT_MARKER, true);
+		output.writeVarInt(FORMAT_VERSION, true);
 		kryo.writeClassAndObject(output, context.getEvent());
 		kryo.writeClassAndObject(output, context.getState());
 		kryo.writeClassAndObject(output, context.getEventHeaders());
-		kryo.writeClassAndObject(output, context.getExtendedState() != null ? context.getExtendedState().getVariables() : null);
+		writeVariables(kryo, output, context.getExtendedState() != null ? context.getExtendedState().getVariables() : null);
 		kryo.writeClassAndObject(output, context.getChilds());
 		kryo.writeClassAndObject(output, context.getHistoryStates());
 		kryo.writeClassAndObject(output, context.getId());
-		// child refs were added after initial implementation, leaving this here
-		// in case it's starting to cause issues with any existing serialised contexts
-		// which doesn't have this field
-		// NOTE: PR #722 added fixes with new tests
 		kryo.writeClassAndObject(output, context.getChildReferences());
+		kryo.writeClassAndObject(output, context.getTimerDeadlines());
+		// deferred events are written as a count followed by payload and headers
+		// of each event
+		List<Message<E>> deferredEvents = context.getDeferredEvents();
+		output.writeInt(deferredEvents != null ? deferredEvents.size() : 0, true);
+		if (deferredEvents != null) {
+			for (Message<E> message : deferredEvents) {
+				kryo.writeClassAndObject(output, message.getPayload());
+				kryo.writeClassAndObject(output, message.getHeaders());
+			}
+		}
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public StateMachineContext<S, E> read(Kryo kryo, Input input, Class<StateMachineContext<S, E>> clazz) {
+		int version = readFormatVersion(input);
+		boolean versioned = version >= FORMAT_VERSION_MARKED;
 		E event = (E) kryo.readClassAndObject(input);
 		S state = (S) kryo.readClassAndObject(input);
 		Map<String, Object> eventHeaders = (Map<String, Object>) kryo.readClassAndObject(input);
-		Map<Object, Object> variables = (Map<Object, Object>) kryo.readClassAndObject(input);
+		Map<Object, Object> variables = version >= FORMAT_VERSION_COMPACT_VARIABLES ? readVariables(kryo, input)
+				: (Map<Object, Object>) kryo.readClassAndObject(input);
 		List<StateMachineContext<S, E>> childs = (List<StateMachineContext<S, E>>) kryo.readClassAndObject(input);
 		Map<S, S> historyStates = (Map<S, S>) kryo.readClassAndObject(input);
 		String id = (String) kryo.readClassAndObject(input);
 		List<String> childRefs = new ArrayList<>();
-		if(input.canReadInt()) {
+		Map<String, Long> timerDeadlines = null;
+		List<Message<E>> deferredEvents = new ArrayList<>();
+		DefaultExtendedState extendedState = new DefaultExtendedState(variables);
+
+		if (!versioned) {
+			// child refs were added after initial implementation, leaving this here
+			// in case it's starting to cause issues with any existing serialised contexts
+			// which doesn't have this field
+			// NOTE: PR #722 added fixes with new tests
+			if (input.canReadInt()) {
+				childRefs = (List<String>) kryo.readClassAndObject(input);
+			}
+		} else {
 			childRefs = (List<String>) kryo.readClassAndObject(input);
+			timerDeadlines = (Map<String, Long>) kryo.readClassAndObject(input);
+			int count = input.readInt(true);
+			for (int i = 0; i < count; i++) {
+				E payload = (E) kryo.readClassAndObject(input);
+				MessageHeaders headers = (MessageHeaders) kryo.readClassAndObject(input);
+				deferredEvents.add(MessageBuilder.createMessage(payload, headers));
+			}
 		}
 
 		return new DefaultStateMachineContext<S, E>(childRefs, childs, state, event, eventHeaders,
-				new DefaultExtendedState(variables), historyStates, id);
+				extendedState, historyStates, id, timerDeadlines, deferredEvents);
+	}
+
+	private static void writeVariables(Kryo kryo, Output output, Map<Object, Object> variables) {
+		// variables are written as a count, zero meaning null map, followed by
+		// each variable. variables named with a string and having a primitive
+		// wrapper value, which is what variables of typed keys are, are written
+		// as a name, kind and a zigzag varint, double or boolean value instead
+		// of boxed kryo objects
+		if (variables == null) {
+			output.writeVarInt(0, true);
+			return;
+		}
+		// snapshot as a live map may change while written, variables are read
+		// back into a map of a default extended state which can't hold nulls
+		List<Map.Entry<Object, Object>> entries = new ArrayList<>();
+		for (Map.Entry<Object, Object> entry : variables.entrySet()) {
+			if (entry.getKey() != null && entry.getValue() != null) {
+				entries.add(entry);
+			}
+		}
+		output.writeVarInt(entries.size() + 1, true);
+		for (Map.Entry<Object, Object> entry : entries) {
+			Object key = entry.getKey();
+			Object value = entry.getValue();
+			byte kind = key instanceof String ? variableKind(value) : VARIABLE_OBJECT;
+			output.writeByte(kind);
+			if (kind == VARIABLE_OBJECT) {
+				kryo.writeClassAndObject(output, key);
+				kryo.writeClassAndObject(output, value);
+				continue;
+			}
+			output.writeString((String) key);
+			switch (kind) {
+			case VARIABLE_INT:
+				output.writeVarInt((Integer) value, false);
+				break;
+			case VARIABLE_LONG:
+				output.writeVarLong((Long) value, false);
+				break;
+			case VARIABLE_DOUBLE:
+				output.writeDouble((Double) value);
+				break;
+			default:
+				output.writeBoolean((Boolean) value);
+				break;
+			}
+		}
+	}
+
+	private static Map<Object, Object> readVariables(Kryo kryo, Input input) {
+		int count = input.readVarInt(true);
+		if (count == 0) {
+			return null;
+		}
+		Map<Object, Object> variables = new ObservableMap<>();
+		for (int i = 1; i < count; i++) {
+			byte kind = input.readByte();
+			if (kind == VARIABLE_OBJECT) {
+				variables.put(kryo.readClassAndObject(input), kryo.readClassAndObject(input));
+				continue;
+			}
+			String name = input.readString();
+			switch (kind) {
+			case VARIABLE_INT:
+				variables.put(name, input.readVarInt(false));
+				break;
+			case VARIABLE_LONG:
+				variables.put(name, input.readVarLong(false));
+				break;
+			case VARIABLE_DOUBLE:
+				variables.put(name, input.readDouble());
+				break;
+			case VARIABLE_BOOLEAN:
+				variables.put(name, input.readBoolean());
+				break;
+			default:
+				throw new KryoException("Unknown variable kind " + kind);
+			}
+		}
+		return variables;
+	}
+
+	private static byte variableKind(Object value) {
+		if (value instanceof Integer) {
+			return VARIABLE_INT;
+		} else if (value instanceof Long) {
+			return VARIABLE_LONG;
+		} else if (value instanceof Double) {
+			return VARIABLE_DOUBLE;
+		} else if (value instanceof Boolean) {
+			return VARIABLE_BOOLEAN;
+		}
+		return VARIABLE_OBJECT;
+	}
+
+	private static int readFormatVersion(Input input) {
+		// contexts written without a marker start directly with an event class,
+		// buffer has at least four bytes after canReadInt so a marker read
+		// can be rewound without refilling
+		if (input.canReadInt()) {
+			int position = input.position();
+			if (input.readVarInt(true) == FORMAT_MARKER) {
+				return input.readVarInt(true);
+			}
+			input.setPosition(position);
+		}
+		return 0;
 	}
 }
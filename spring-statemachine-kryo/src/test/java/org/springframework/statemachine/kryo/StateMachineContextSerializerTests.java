@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2020 the original author or authors.
+ * Copyright 2018-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,8 +23,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.ExtendedStateKey;
+import org.springframework.statemachine.ExtendedStateKeys;
 import org.springframework.statemachine.StateMachineContext;
 import org.springframework.statemachine.support.DefaultExtendedState;
 import org.springframework.statemachine.support.DefaultStateMachineContext;
@@ -100,6 +106,316 @@ public class StateMachineContextSerializerTests {
 		assertThat(rootFrom).isEqualTo(rootTo);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextWithTimerDeadlines() {
+		Kryo kryo = new Kryo();
+		kryo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<>());
+
+		Map<String, Long> timerDeadlines = new HashMap<>();
+		timerDeadlines.put("S1-S2-1000", 1234L);
+		StateMachineContext<String, String> from = new DefaultStateMachineContext<String, String>(new ArrayList<>(),
+				new ArrayList<>(), "S1", null, null, new DefaultExtendedState(), null, "m1", timerDeadlines);
+
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		Output output = new Output(outStream);
+		kryo.writeClassAndObject(output, from);
+		output.flush();
+
+		Input input = new Input(new ByteArrayInputStream(outStream.toByteArray()));
+		StateMachineContext<String, String> to = (StateMachineContext<String, String>) kryo.readClassAndObject(input);
+		assertThat(to).isEqualTo(from);
+		assertThat(to.getTimerDeadlines()).containsEntry("S1-S2-1000", 1234L);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextWithDeferredEvents() {
+		Kryo kryo = new Kryo();
+		kryo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<>());
+		kryo.addDefaultSerializer(MessageHeaders.class, new MessageHeadersSerializer());
+		kryo.addDefaultSerializer(UUID.class, new UUIDSerializer());
+
+		List<Message<String>> deferredEvents = new ArrayList<>();
+		deferredEvents.add(MessageBuilder.withPayload("E1").setHeader("foo", "bar").build());
+		deferredEvents.add(MessageBuilder.withPayload("E2").build());
+		StateMachineContext<String, String> from = new DefaultStateMachineContext<String, String>(new ArrayList<>(),
+				new ArrayList<>(), "S1", null, null, new DefaultExtendedState(), null, "m1", null, deferredEvents);
+
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		Output output = new Output(outStream);
+		kryo.writeClassAndObject(output, from);
+		output.flush();
+
+		Input input = new Input(new ByteArrayInputStream(outStream.toByteArray()));
+		StateMachineContext<String, String> to = (StateMachineContext<String, String>) kryo.readClassAndObject(input);
+		assertThat(to.getState()).isEqualTo("S1");
+		assertThat(to.getDeferredEvents()).hasSize(2);
+		assertThat(to.getDeferredEvents().get(0).getPayload()).isEqualTo("E1");
+		assertThat(to.getDeferredEvents().get(0).getHeaders()).containsEntry("foo", "bar");
+		assertThat(to.getDeferredEvents().get(1).getPayload()).isEqualTo("E2");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextWithTypedVariables() {
+		Kryo kryo = new Kryo();
+		kryo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<>());
+
+		ExtendedStateKeys keys = new ExtendedStateKeys();
+		ExtendedStateKey<Integer> count = keys.intKey("count");
+		ExtendedStateKey<Long> amount = keys.longKey("amount");
+		ExtendedStateKey<Double> ratio = keys.doubleKey("ratio");
+		ExtendedStateKey<Boolean> flag = keys.booleanKey("flag");
+		DefaultExtendedState machineExtendedState = new DefaultExtendedState(keys);
+		machineExtendedState.getVariables().put("foo", "bar");
+		machineExtendedState.setInt(count, -3);
+		machineExtendedState.setLong(amount, Long.MAX_VALUE);
+		machineExtendedState.setDouble(ratio, 0.5d);
+		machineExtendedState.setBoolean(flag, true);
+		// context is built same way as persisting interceptors do
+		DefaultExtendedState extendedState = new DefaultExtendedState();
+		extendedState.getVariables().putAll(machineExtendedState.getVariables());
+		StateMachineContext<String, String> from = new DefaultStateMachineContext<String, String>("S1", null,
+				null, extendedState);
+
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		Output output = new Output(outStream);
+		kryo.writeClassAndObject(output, from);
+		output.flush();
+
+		Input input = new Input(new ByteArrayInputStream(outStream.toByteArray()));
+		StateMachineContext<String, String> to = (StateMachineContext<String, String>) kryo.readClassAndObject(input);
+		assertThat(to.getExtendedState().getVariables()).containsEntry("foo", "bar").containsEntry("count", -3)
+				.containsEntry("amount", Long.MAX_VALUE).containsEntry("ratio", 0.5d).containsEntry("flag", true);
+		assertThat(to.getExtendedState().getInt(count)).isEqualTo(-3);
+
+		// restored into a model where names are unknown or declared differently
+		ExtendedStateKeys otherKeys = new ExtendedStateKeys();
+		otherKeys.intKey("amount");
+		ExtendedStateKey<Integer> otherCount = otherKeys.intKey("count");
+		DefaultExtendedState restored = new DefaultExtendedState(otherKeys);
+		restored.getVariables().putAll(to.getExtendedState().getVariables());
+		assertThat(restored.getInt(otherCount)).isEqualTo(-3);
+		assertThat(restored.getVariables()).containsEntry("amount", Long.MAX_VALUE).containsEntry("ratio", 0.5d)
+				.containsEntry("flag", true).hasSize(5);
+		assertThat(restored.get("amount", Long.class)).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testTypedVariablesWrittenCompact() {
+		Kryo kryoFrom = new Kryo();
+		kryoFrom.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializerV3<>());
+		Kryo kryoTo = new Kryo();
+		kryoTo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<>());
+
+		DefaultExtendedState extendedState = new DefaultExtendedState();
+		for (int i = 0; i < 10; i++) {
+			extendedState.getVariables().put("count" + i, i);
+			extendedState.getVariables().put("amount" + i, (long) i);
+			extendedState.getVariables().put("flag" + i, true);
+		}
+		extendedState.getVariables().put(1, "object");
+		StateMachineContext<String, String> from = new DefaultStateMachineContext<String, String>("S1", null,
+				null, extendedState);
+
+		ByteArrayOutputStream boxed = new ByteArrayOutputStream();
+		Output boxedOutput = new Output(boxed);
+		kryoFrom.writeClassAndObject(boxedOutput, from);
+		boxedOutput.flush();
+		ByteArrayOutputStream compact = new ByteArrayOutputStream();
+		Output compactOutput = new Output(compact);
+		kryoTo.writeClassAndObject(compactOutput, from);
+		compactOutput.flush();
+		assertThat(compact.size()).isLessThan(boxed.size());
+
+		Input input = new Input(new ByteArrayInputStream(compact.toByteArray()));
+		StateMachineContext<String, String> to = (StateMachineContext<String, String>) kryoTo.readClassAndObject(input);
+		assertThat(to).isEqualTo(from);
+		assertThat(to.getExtendedState().getVariables()).containsEntry("count9", 9).containsEntry("amount9", 9L)
+				.containsEntry("flag9", true).containsEntry(1, "object").hasSize(31);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextFromBoxedVariablesVersionToCurrent() {
+		Kryo kryoFrom = new Kryo();
+		Kryo kryoTo = new Kryo();
+		kryoFrom.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializerV3<>());
+		kryoTo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<>());
+
+		Map<String, Long> timerDeadlines = new HashMap<>();
+		timerDeadlines.put("S1-S2-1000", 1234L);
+		DefaultExtendedState extendedState = new DefaultExtendedState();
+		extendedState.getVariables().put("count", 1);
+		StateMachineContext<String, String> rootFrom = new DefaultStateMachineContext<String, String>(new ArrayList<>(),
+				new ArrayList<>(), "S1", null, null, extendedState, null, "m1", timerDeadlines);
+
+		ByteArrayOutputStream outStreamFrom = new ByteArrayOutputStream();
+		Output outputFrom = new Output(outStreamFrom);
+		kryoFrom.writeClassAndObject(outputFrom, rootFrom);
+		outputFrom.flush();
+
+		Input inputTo = new Input(new ByteArrayInputStream(outStreamFrom.toByteArray()));
+		StateMachineContext<String, String> rootTo = (StateMachineContext<String, String>) kryoTo.readClassAndObject(inputTo);
+		assertThat(rootTo).isEqualTo(rootFrom);
+		assertThat(rootTo.getExtendedState().getVariables()).containsEntry("count", 1);
+		assertThat(rootTo.getTimerDeadlines()).containsEntry("S1-S2-1000", 1234L);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextFromChildRefsVersionToCurrent() {
+		Kryo kryoFrom = new Kryo();
+		Kryo kryoTo = new Kryo();
+		kryoFrom.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializerV2<>());
+		kryoTo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<>());
+
+		StateMachineContext<String, String> rootFrom = new DefaultStateMachineContext<String, String>("root", "event2",
+				new HashMap<String, Object>(), new DefaultExtendedState());
+
+		ByteArrayOutputStream outStreamFrom = new ByteArrayOutputStream();
+		Output outputFrom = new Output(outStreamFrom);
+		kryoFrom.writeClassAndObject(outputFrom, rootFrom);
+		outputFrom.flush();
+
+		Input inputTo = new Input(new ByteArrayInputStream(outStreamFrom.toByteArray()));
+		StateMachineContext<String, String> rootTo = (StateMachineContext<String, String>) kryoTo.readClassAndObject(inputTo);
+		assertThat(rootFrom).isEqualTo(rootTo);
+		assertThat(rootTo.getTimerDeadlines()).isEmpty();
+		assertThat(rootTo.getDeferredEvents()).isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextWithChildsFromChildRefsVersionToCurrent() {
+		Kryo kryoFrom = new Kryo();
+		Kryo kryoTo = new Kryo();
+		kryoFrom.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializerV2<>());
+		kryoTo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<>());
+
+		Map<String, String> historyStates = new HashMap<>();
+		historyStates.put("R1", "S11");
+		List<String> childRefs = new ArrayList<>();
+		childRefs.add("ref1");
+		StateMachineContext<String, String> child1 = new DefaultStateMachineContext<String, String>(new ArrayList<>(),
+				"S11", "event1", new HashMap<String, Object>(), new DefaultExtendedState());
+		StateMachineContext<String, String> child2 = new DefaultStateMachineContext<String, String>(new ArrayList<>(),
+				"S21", null, null, new DefaultExtendedState());
+		List<StateMachineContext<String, String>> childs = new ArrayList<>();
+		childs.add(child1);
+		childs.add(child2);
+		StateMachineContext<String, String> rootFrom = new DefaultStateMachineContext<String, String>(childRefs, childs,
+				"root", "event2", new HashMap<String, Object>(), new DefaultExtendedState(), historyStates, "m1");
+
+		ByteArrayOutputStream outStreamFrom = new ByteArrayOutputStream();
+		Output outputFrom = new Output(outStreamFrom);
+		kryoFrom.writeClassAndObject(outputFrom, rootFrom);
+		outputFrom.flush();
+
+		Input inputTo = new Input(new ByteArrayInputStream(outStreamFrom.toByteArray()));
+		StateMachineContext<String, String> rootTo = (StateMachineContext<String, String>) kryoTo.readClassAndObject(inputTo);
+		assertThat(rootTo).isEqualTo(rootFrom);
+		assertThat(rootTo.getHistoryStates()).containsEntry("R1", "S11");
+		assertThat(rootTo.getId()).isEqualTo("m1");
+		assertThat(rootTo.getChildReferences()).containsExactly("ref1");
+		assertThat(rootTo.getChilds()).hasSize(2);
+		assertThat(rootTo.getChilds().get(0)).isEqualTo(child1);
+		assertThat(rootTo.getChilds().get(0).getTimerDeadlines()).isEmpty();
+		assertThat(rootTo.getChilds().get(1)).isEqualTo(child2);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testContextWithChildsAndTimerDeadlines() {
+		Kryo kryo = new Kryo();
+		kryo.addDefaultSerializer(StateMachineContext.class, new StateMachineContextSerializer<>());
+
+		Map<String, Long> childDeadlines = new HashMap<>();
+		childDeadlines.put("S11-S12-1000", 1234L);
+		StateMachineContext<String, String> child = new DefaultStateMachineContext<String, String>(new ArrayList<>(),
+				new ArrayList<>(), "S11", null, null, new DefaultExtendedState(), null, "c1", childDeadlines);
+		List<StateMachineContext<String, String>> childs = new ArrayList<>();
+		childs.add(child);
+		Map<String, String> historyStates = new HashMap<>();
+		historyStates.put("R1", "S11");
+		StateMachineContext<String, String> from = new DefaultStateMachineContext<String, String>(new ArrayList<>(),
+				childs, "S1", null, null, new DefaultExtendedState(), historyStates, "m1", null);
+
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		Output output = new Output(outStream);
+		kryo.writeClassAndObject(output, from);
+		output.flush();
+
+		Input input = new Input(new ByteArrayInputStream(outStream.toByteArray()));
+		StateMachineContext<String, String> to = (StateMachineContext<String, String>) kryo.readClassAndObject(input);
+		assertThat(to).isEqualTo(from);
+		assertThat(to.getHistoryStates()).containsEntry("R1", "S11");
+		assertThat(to.getChilds().get(0).getTimerDeadlines()).containsEntry("S11-S12-1000", 1234L);
+		assertThat(to.getTimerDeadlines()).isEmpty();
+	}
+
+	/**
+	 * Implementation of a StateMachineContextSerializer with a format marker
+	 * writing variables as boxed kryo objects which is used to test read to
+	 * current version.
+	 */
+	private static class StateMachineContextSerializerV3<S, E> extends Serializer<StateMachineContext<S, E>> {
+
+		@Override
+		public void write(Kryo kryo, Output output, StateMachineContext<S, E> context) {
+			output.writeVarInt(0x0C5E_4D31, true);
+			output.writeVarInt(1, true);
+			kryo.writeClassAndObject(output, context.getEvent());
+			kryo.writeClassAndObject(output, context.getState());
+			kryo.writeClassAndObject(output, context.getEventHeaders());
+			kryo.writeClassAndObject(output, context.getExtendedState() != null ? context.getExtendedState().getVariables() : null);
+			kryo.writeClassAndObject(output, context.getChilds());
+			kryo.writeClassAndObject(output, context.getHistoryStates());
+			kryo.writeClassAndObject(output, context.getId());
+			kryo.writeClassAndObject(output, context.getChildReferences());
+			kryo.writeClassAndObject(output, context.getTimerDeadlines());
+			List<Message<E>> deferredEvents = context.getDeferredEvents();
+			output.writeInt(deferredEvents != null ? deferredEvents.size() : 0, true);
+			if (deferredEvents != null) {
+				for (Message<E> message : deferredEvents) {
+					kryo.writeClassAndObject(output, message.getPayload());
+					kryo.writeClassAndObject(output, message.getHeaders());
+				}
+			}
+		}
+
+		@Override
+		public StateMachineContext<S, E> read(Kryo kryo, Input input, Class<StateMachineContext<S, E>> clazz) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Implementation of a StateMachineContextSerializer with child refs but
+	 * without timer deadlines which is used to test read to current version.
+	 */
+	private static class StateMachineContextSerializerV2<S, E> extends Serializer<StateMachineContext<S, E>> {
+
+		@Override
+		public void write(Kryo kryo, Output output, StateMachineContext<S, E> context) {
+			kryo.writeClassAndObject(output, context.getEvent());
+			kryo.writeClassAndObject(output, context.getState());
+			kryo.writeClassAndObject(output, context.getEventHeaders());
+			kryo.writeClassAndObject(output, context.getExtendedState() != null ? context.getExtendedState().getVariables() : null);
+			kryo.writeClassAndObject(output, context.getChilds());
+			kryo.writeClassAndObject(output, context.getHistoryStates());
+			kryo.writeClassAndObject(output, context.getId());
+			kryo.writeClassAndObject(output, context.getChildReferences());
+		}
+
+		@Override
+		public StateMachineContext<S, E> read(Kryo kryo, Input input, Class<StateMachineContext<S, E>> clazz) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
 	/**
 	 * Initial implementation of a StateMachineContextSerializer which is used to
 	 * test read to current version.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2021 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,9 +47,6 @@ import org.eclipse.uml2.uml.Transition;
 import org.eclipse.uml2.uml.Trigger;
 import org.eclipse.uml2.uml.UMLPackage;
 import org.eclipse.uml2.uml.Vertex;
-import org.springframework.expression.spel.SpelCompilerMode;
-import org.springframework.expression.spel.SpelParserConfiguration;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.action.Actions;
@@ -68,6 +65,7 @@ import org.springframework.statemachine.guard.Guard;
 import org.springframework.statemachine.guard.Guards;
 import org.springframework.statemachine.guard.SpelExpressionGuard;
 import org.springframework.statemachine.state.PseudoStateKind;
+import org.springframework.statemachine.support.SpelExpressionCache;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
@@ -476,9 +474,7 @@ public class UmlModelParser {
 				} else {
 					String expression = UmlUtils.resolveBodyByLanguage(LANGUAGE_SPEL, (OpaqueExpression)c.getSpecification());
 					if (StringUtils.hasText(expression)) {
-						SpelExpressionParser parser = new SpelExpressionParser(
-								new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
-						guard = new SpelExpressionGuard<String, String>(parser.parseExpression(expression));
+						guard = new SpelExpressionGuard<String, String>(SpelExpressionCache.getDefault().getExpression(expression));
 					}
 				}
 			}
@@ -543,10 +539,8 @@ public class UmlModelParser {
 			} else {
 				String expression = UmlUtils.resolveBodyByLanguage(LANGUAGE_SPEL, (OpaqueBehavior)state.getEntry());
 				if (StringUtils.hasText(expression)) {
-					SpelExpressionParser parser = new SpelExpressionParser(
-							new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
 					ArrayList<Function<StateContext<String, String>, Mono<Void>>> entrys = new ArrayList<>();
-					entrys.add(Actions.from(new SpelExpressionAction<String, String>(parser.parseExpression(expression))));
+					entrys.add(Actions.from(new SpelExpressionAction<String, String>(SpelExpressionCache.getDefault().getExpression(expression))));
 					stateData.setEntryActions(entrys);
 				}
 			}
@@ -563,10 +557,8 @@ public class UmlModelParser {
 			} else {
 				String expression = UmlUtils.resolveBodyByLanguage(LANGUAGE_SPEL, (OpaqueBehavior)state.getExit());
 				if (StringUtils.hasText(expression)) {
-					SpelExpressionParser parser = new SpelExpressionParser(
-							new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
 					ArrayList<Function<StateContext<String, String>, Mono<Void>>> exits = new ArrayList<>();
-					exits.add(Actions.from(new SpelExpressionAction<String, String>(parser.parseExpression(expression))));
+					exits.add(Actions.from(new SpelExpressionAction<String, String>(SpelExpressionCache.getDefault().getExpression(expression))));
 					stateData.setExitActions(exits);
 				}
 			}
@@ -583,10 +575,8 @@ public class UmlModelParser {
 			} else {
 				String expression = UmlUtils.resolveBodyByLanguage(LANGUAGE_SPEL, (OpaqueBehavior)state.getDoActivity());
 				if (StringUtils.hasText(expression)) {
-					SpelExpressionParser parser = new SpelExpressionParser(
-							new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
 					ArrayList<Function<StateContext<String, String>, Mono<Void>>> stateActions = new ArrayList<>();
-					stateActions.add(Actions.from(new SpelExpressionAction<String, String>(parser.parseExpression(expression))));
+					stateActions.add(Actions.from(new SpelExpressionAction<String, String>(SpelExpressionCache.getDefault().getExpression(expression))));
 					stateData.setStateActions(stateActions);
 				}
 			}
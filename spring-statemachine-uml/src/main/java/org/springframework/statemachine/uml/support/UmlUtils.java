@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2020 the original author or authors.
+ * Copyright 2016-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,14 +38,12 @@ import org.eclipse.uml2.uml.Transition;
 import org.eclipse.uml2.uml.Trigger;
 import org.eclipse.uml2.uml.UMLPackage;
 import org.eclipse.uml2.uml.resource.UMLResource;
-import org.springframework.expression.spel.SpelCompilerMode;
-import org.springframework.expression.spel.SpelParserConfiguration;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.action.Actions;
 import org.springframework.statemachine.action.SpelExpressionAction;
 import org.springframework.statemachine.config.model.StateMachineComponentResolver;
+import org.springframework.statemachine.support.SpelExpressionCache;
 import org.springframework.statemachine.transition.TransitionKind;
 import org.springframework.util.StringUtils;
 
@@ -156,9 +154,7 @@ public abstract class UmlUtils {
 			} else {
 				String expression = UmlUtils.resolveBodyByLanguage(UmlModelParser.LANGUAGE_SPEL, (OpaqueBehavior)transition.getEffect());
 				if (StringUtils.hasText(expression)) {
-					SpelExpressionParser parser = new SpelExpressionParser(
-							new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
-					action = new SpelExpressionAction<String, String>(parser.parseExpression(expression));
+					action = new SpelExpressionAction<String, String>(SpelExpressionCache.getDefault().getExpression(expression));
 				}
 			}
 		}
@@ -202,9 +198,7 @@ public abstract class UmlUtils {
 			} else {
 				String expression = UmlUtils.resolveBodyByLanguage(UmlModelParser.LANGUAGE_SPEL, (OpaqueBehavior)transition.getEffect());
 				if (StringUtils.hasText(expression)) {
-					SpelExpressionParser parser = new SpelExpressionParser(
-							new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
-					action = new SpelExpressionAction<String, String>(parser.parseExpression(expression));
+					action = new SpelExpressionAction<String, String>(SpelExpressionCache.getDefault().getExpression(expression));
 				}
 			}
 		}
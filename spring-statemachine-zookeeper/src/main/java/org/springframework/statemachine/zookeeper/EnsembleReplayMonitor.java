@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.statemachine.zookeeper;
+
+import java.time.Duration;
+
+/**
+ * {@code EnsembleReplayMonitor} is notified when a {@link ZookeeperStateMachineEnsemble}
+ * has caught up with changes it missed.
+ *
+ * @author Janne Valkealahti
+ *
+ */
+public interface EnsembleReplayMonitor {
+
+	/**
+	 * Called when a replay of missed changes completes.
+	 *
+	 * @param lag the number of versions ensemble was behind
+	 * @param duration the duration of a replay
+	 * @param snapshot true if a current state was used as a snapshot instead of replaying a log
+	 */
+	void replayed(int lag, Duration duration, boolean snapshot);
+}
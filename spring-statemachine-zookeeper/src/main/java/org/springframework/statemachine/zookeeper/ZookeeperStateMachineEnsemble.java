@@ -16,12 +16,15 @@
 package org.springframework.statemachine.zookeeper;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -84,6 +87,9 @@ public class ZookeeperStateMachineEnsemble<S, E> extends StateMachineEnsembleObj
 	private final List<StateMachine<S, E>> joined = new ArrayList<StateMachine<S,E>>();
 	private final Object joinLock = new Object();
 	private final ConnectionStateListener connectionListener = new LocalConnectionStateListener();
+	private final AtomicBoolean replaying = new AtomicBoolean();
+	private final AtomicBoolean replayRequested = new AtomicBoolean();
+	private volatile EnsembleReplayMonitor replayMonitor;
 
 	/**
 	 * Instantiates a new zookeeper state machine ensemble.
@@ -135,6 +141,15 @@ public class ZookeeperStateMachineEnsemble<S, E> extends StateMachineEnsembleObj
 		setAutoStartup(true);
 	}
 
+	/**
+	 * Sets the monitor notified when missed changes have been replayed.
+	 *
+	 * @param replayMonitor the new replay monitor
+	 */
+	public void setReplayMonitor(EnsembleReplayMonitor replayMonitor) {
+		this.replayMonitor = replayMonitor;
+	}
+
 	@Override
 	protected void onInit() throws Exception {
 		initPaths();
@@ -417,11 +432,7 @@ public class ZookeeperStateMachineEnsemble<S, E> extends StateMachineEnsembleObj
 			switch (event.getType()) {
 			case NodeDataChanged:
 				try {
-					// re-read once if we did read log history
-					// there might be unread change
-					if (handleDataChange()) {
-						handleDataChange();
-					}
+					handleDataChange();
 				} catch (Exception e) {
 					log.error("Error handling event", e);
 				}
@@ -437,12 +448,17 @@ public class ZookeeperStateMachineEnsemble<S, E> extends StateMachineEnsembleObj
 
 	/**
 	 * Handles internal logic of reading and comparing current
-	 * wrapper references and re-plays logs if needed.
+	 * wrapper references and re-plays logs if needed. Replay itself
+	 * happens asynchronously and if a change is discovered while
+	 * replay is in progress, another round is done after it completes.
 	 *
-	 * @return true if log is replayed
 	 * @throws Exception if error occurred
 	 */
-	private boolean handleDataChange() throws Exception {
+	private void handleDataChange() throws Exception {
+		if (replaying.get()) {
+			replayRequested.set(true);
+			return;
+		}
 		StateWrapper currentWrapper = stateRef.get();
 		StateWrapper notifyWrapper = notifyRef.get();
 		StateWrapper newWrapper = readCurrentContext();
@@ -454,45 +470,123 @@ public class ZookeeperStateMachineEnsemble<S, E> extends StateMachineEnsembleObj
 			// simply used to check if we don't need to replay, if so
 			// we can just try to notify
 			mayNotifyStateChanged(newWrapper);
+		} else if (replaying.compareAndSet(false, true)) {
+			replay(notifyWrapper, newWrapper);
 		} else {
-			final int start = (notifyWrapper != null ? (notifyWrapper.version) : 0) % logSize;
-			int count = newWrapper.version - (notifyWrapper != null ? (notifyWrapper.version) : 0);
-			if (log.isDebugEnabled()) {
-				log.debug("Events missed, trying to replay start " + start + " count " + count);
-			}
-			for (int i = start; i < (start + count); i++) {
-				Stat stat = new Stat();
-				StateMachineContext<S, E> context = ((ZookeeperStateMachinePersist<S, E>) persist).readLog(i, stat);
-				int ver = (stat.getVersion() - 1) * logSize + (i + 1);
-
-				// check if we're behind more than a log size meaning we can't
-				// replay full history, notify and break out from a loop
-				if (i + logSize < ver) {
-					notifyError(new StateMachineEnsembleException("Current version behind more than log size"));
-					break;
-				}
-				if (log.isDebugEnabled()) {
-					log.debug("Replay position " + i + " with version " + ver);
-					log.debug("Context in position " + i + " " + context);
-				}
+			replayRequested.set(true);
+		}
+	}
 
-				StateWrapper wrapper = new StateWrapper(context, ver);
+	/**
+	 * Replays missed versions from a log. All log slots are requested
+	 * with background reads at once and results are applied in version
+	 * order when all reads have completed. If we're behind more than a
+	 * log size, current state is used as a snapshot.
+	 */
+	private void replay(StateWrapper notifyWrapper, StateWrapper newWrapper) {
+		final long start = System.nanoTime();
+		final int from = (notifyWrapper != null ? notifyWrapper.version : 0) + 1;
+		final int lag = newWrapper.version - from + 1;
+		if (log.isDebugEnabled()) {
+			log.debug("Events missed, trying to replay from version " + from + " count " + lag);
+		}
+		if (lag <= 0) {
+			replayCompleted(lag, start, false);
+			return;
+		}
+		if (lag > logSize) {
+			installSnapshot(newWrapper);
+			replayCompleted(lag, start, true);
+			return;
+		}
 
-				// need to set stateRef when replaying if its
-				// context is not set or otherwise just set
-				// if stateRef still is currentWrapper
-				StateWrapper currentWrapperx = stateRef.get();
-				if (currentWrapperx.context == null) {
-					stateRef.set(wrapper);
-				} else if (wrapper.version == currentWrapperx.version + 1) {
-					stateRef.set(wrapper);
+		List<Stat> stats = new ArrayList<>(lag);
+		List<CompletableFuture<StateMachineContext<S, E>>> futures = new ArrayList<>(lag);
+		for (int version = from; version <= newWrapper.version; version++) {
+			Stat stat = new Stat();
+			stats.add(stat);
+			futures.add(((ZookeeperStateMachinePersist<S, E>) persist).readLogAsync((version - 1) % logSize, stat));
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((v, t) -> {
+			boolean snapshot = false;
+			try {
+				if (t != null) {
+					log.warn("Error reading log, using current state", t);
+					installSnapshot(readCurrentContext());
+					snapshot = true;
+				} else {
+					for (int i = 0; i < lag; i++) {
+						int version = from + i;
+						// slot version tells how many times it's been written,
+						// if it's been written more than expected we fell out
+						// from a log ring while reading it.
+						int expectedSlotVersion = (version - 1) / logSize + 1;
+						if (stats.get(i).getVersion() != expectedSlotVersion) {
+							if (log.isDebugEnabled()) {
+								log.debug("Log position for version " + version + " overwritten, using current state");
+							}
+							installSnapshot(readCurrentContext());
+							snapshot = true;
+							break;
+						}
+						StateMachineContext<S, E> context = futures.get(i).join();
+						if (log.isDebugEnabled()) {
+							log.debug("Replay version " + version + " context " + context);
+						}
+						StateWrapper wrapper = new StateWrapper(context, version);
+
+						// need to set stateRef when replaying if its
+						// context is not set or otherwise just set
+						// if stateRef is one version behind
+						StateWrapper currentWrapper = stateRef.get();
+						if (currentWrapper.context == null) {
+							stateRef.set(wrapper);
+						} else if (wrapper.version == currentWrapper.version + 1) {
+							stateRef.set(wrapper);
+						}
+						mayNotifyStateChanged(wrapper);
+					}
 				}
-				mayNotifyStateChanged(wrapper);
+			} catch (Exception e) {
+				log.error("Error replaying log", e);
+			} finally {
+				replayCompleted(lag, start, snapshot);
+			}
+		});
+	}
+
+	private void replayCompleted(int lag, long start, boolean snapshot) {
+		EnsembleReplayMonitor monitor = replayMonitor;
+		if (monitor != null && lag > 0) {
+			monitor.replayed(lag, Duration.ofNanos(System.nanoTime() - start), snapshot);
+		}
+		replaying.set(false);
+		// re-read once if we did replay as there might be an
+		// unread change, or a change was discovered while replaying.
+		if (replayRequested.getAndSet(false) || lag > 0) {
+			try {
+				handleDataChange();
+			} catch (Exception e) {
+				log.error("Error handling event", e);
+			}
+		}
+	}
+
+	/**
+	 * Use a current state as a snapshot when a log cannot be replayed.
+	 * Joined machines are notified as joined again with a snapshot
+	 * context which resets them into it.
+	 */
+	private void installSnapshot(StateWrapper wrapper) {
+		log.warn("Current version behind more than log size, resetting to version " + wrapper.version);
+		stateRef.set(wrapper);
+		notifyRef.set(wrapper);
+		synchronized (joinLock) {
+			for (StateMachine<S, E> stateMachine : joined) {
+				notifyJoined(stateMachine, wrapper.context);
 			}
-			// did we replay
-			return count > 0;
 		}
-		return false;
 	}
 
 	private class LocalConnectionStateListener implements ConnectionStateListener {
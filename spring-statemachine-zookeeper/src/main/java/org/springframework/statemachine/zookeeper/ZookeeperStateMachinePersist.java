@@ -18,12 +18,14 @@ package org.springframework.statemachine.zookeeper;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.api.transaction.CuratorTransaction;
 import org.apache.curator.framework.api.transaction.CuratorTransactionFinal;
 import org.apache.curator.framework.api.transaction.CuratorTransactionResult;
+import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.data.Stat;
 import org.springframework.statemachine.StateMachineContext;
 import org.springframework.statemachine.StateMachineException;
@@ -145,6 +147,39 @@ public class ZookeeperStateMachinePersist<S, E> implements StateMachinePersist<S
 		return deserialize(curatorClient.getData().storingStatIn(stat).forPath(logPath + "/" + version));
 	}
 
+	/**
+	 * Read a log slot using a curator background operation. Version of a given
+	 * {@link Stat} is set before returned future completes. Allows multiple
+	 * reads to be pipelined without waiting each one to complete.
+	 *
+	 * @param slot the log slot
+	 * @param stat the stat to populate
+	 * @return the future completing with a context
+	 */
+	public CompletableFuture<StateMachineContext<S, E>> readLogAsync(int slot, Stat stat) {
+		CompletableFuture<StateMachineContext<S, E>> future = new CompletableFuture<>();
+		try {
+			curatorClient.getData().inBackground((client, event) -> {
+				if (event.getResultCode() != KeeperException.Code.OK.intValue()) {
+					future.completeExceptionally(KeeperException.create(KeeperException.Code.get(event.getResultCode()),
+							event.getPath()));
+					return;
+				}
+				try {
+					if (event.getStat() != null) {
+						stat.setVersion(event.getStat().getVersion());
+					}
+					future.complete(deserialize(event.getData()));
+				} catch (Exception e) {
+					future.completeExceptionally(e);
+				}
+			}).forPath(logPath + "/" + slot);
+		} catch (Exception e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
 	private byte[] serialize(StateMachineContext<S, E> context) {
 		Kryo kryo = kryoThreadLocal.get();
 		ByteArrayOutputStream out = new ByteArrayOutputStream();
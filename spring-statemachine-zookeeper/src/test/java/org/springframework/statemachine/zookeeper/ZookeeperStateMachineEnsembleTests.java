@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2021 the original author or authors.
+ * Copyright 2015-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.statemachine.zookeeper;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -580,6 +581,8 @@ public class ZookeeperStateMachineEnsembleTests extends AbstractZookeeperTests {
 				context.getBean("curatorClient", CuratorFramework.class);
 		OverflowControlZookeeperStateMachineEnsemble ensemble =
 				new OverflowControlZookeeperStateMachineEnsemble(curatorClient, "/foo", true, 4);
+		TestReplayMonitor replayMonitor = new TestReplayMonitor();
+		ensemble.setReplayMonitor(replayMonitor);
 
 		TestEnsembleListener listener = new TestEnsembleListener();
 		ensemble.addEnsembleListener(listener);
@@ -613,12 +616,72 @@ public class ZookeeperStateMachineEnsembleTests extends AbstractZookeeperTests {
 		}
 		assertThat(listener.errors).withFailMessage(reason).isEmpty();
 
-		// this should actually cause ensemble to fail
+		// we're now behind more than a log size so ensemble
+		// should fall back to current state as a snapshot
+		listener.reset(1, 0, 1);
 		for (int i = 10; i < 11; i++) {
 			ensemble.setState(new DefaultStateMachineContext<String, String>("S" + i, "E" + i,
 					new HashMap<String, Object>(), new DefaultExtendedState()));
 		}
-		assertThat(listener.errorLatch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.joinedLatch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.joinedContext.getState()).isEqualTo("S10");
+		assertThat(listener.errors).isEmpty();
+		assertThat(replayMonitor.latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(replayMonitor.lags).containsExactly(11);
+		assertThat(replayMonitor.snapshots).containsExactly(true);
+	}
+
+	@Test
+	public void testReplayMonitor() throws Exception {
+		context.register(ZkServerConfig.class, BaseConfig.class);
+		context.refresh();
+		CuratorFramework curatorClient =
+				context.getBean("curatorClient", CuratorFramework.class);
+		OverflowControlZookeeperStateMachineEnsemble ensemble =
+				new OverflowControlZookeeperStateMachineEnsemble(curatorClient, "/foo", true, 8);
+		TestReplayMonitor replayMonitor = new TestReplayMonitor();
+		ensemble.setReplayMonitor(replayMonitor);
+
+		TestEnsembleListener listener = new TestEnsembleListener();
+		ensemble.addEnsembleListener(listener);
+
+		ensemble.afterPropertiesSet();
+		ensemble.start();
+
+		ensemble.join(new TestStateMachine());
+		assertThat(listener.joinedLatch.await(3, TimeUnit.SECONDS)).isTrue();
+
+		listener.reset(0, 4);
+		for (int i = 0; i < 4; i++) {
+			ensemble.setState(new DefaultStateMachineContext<String, String>("S" + i, "E" + i,
+					new HashMap<String, Object>(), new DefaultExtendedState()));
+		}
+
+		ensemble.enabled = true;
+		TestUtils.callMethod("registerWatcherForStatePath", ensemble);
+		ensemble.setState(new DefaultStateMachineContext<String, String>("S4", "E4",
+				new HashMap<String, Object>(), new DefaultExtendedState()));
+
+		assertThat(listener.eventLatch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(replayMonitor.latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.events).extracting(StateMachineContext::getEvent).containsExactly("E0", "E1", "E2", "E3", "E4");
+		assertThat(listener.errors).isEmpty();
+		assertThat(replayMonitor.lags).containsExactly(5);
+		assertThat(replayMonitor.snapshots).containsExactly(false);
+	}
+
+	private static class TestReplayMonitor implements EnsembleReplayMonitor {
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		final List<Integer> lags = new ArrayList<>();
+		final List<Boolean> snapshots = new ArrayList<>();
+
+		@Override
+		public void replayed(int lag, Duration duration, boolean snapshot) {
+			lags.add(lag);
+			snapshots.add(snapshot);
+			latch.countDown();
+		}
 	}
 
 	private class OverflowControlZookeeperStateMachineEnsemble extends ZookeeperStateMachineEnsemble<String, String> {
@@ -651,9 +714,11 @@ public class ZookeeperStateMachineEnsembleTests extends AbstractZookeeperTests {
 		volatile CountDownLatch errorLatch = new CountDownLatch(1);
 		volatile List<Exception> errors = new ArrayList<Exception>();
 		volatile List<StateMachineContext<String, String>> events = new ArrayList<StateMachineContext<String,String>>();
+		volatile StateMachineContext<String, String> joinedContext;
 
 		@Override
 		public void stateMachineJoined(StateMachine<String, String> stateMachine, StateMachineContext<String, String> context) {
+			joinedContext = context;
 			joinedLatch.countDown();
 		}
 